@@ -0,0 +1,93 @@
+package sistemreward.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.CustomerRegistry;
+import sistemreward.Money;
+import sistemreward.RewardSystem;
+
+/**
+ * Benchmark jalur accrual: kalkulasi poin dan penambahan saldo.
+ *
+ * <p>Member dipilih secara acak dari populasi berukuran {@code members}, sehingga
+ * populasi besar ikut mengukur efek cache miss saat membaca objek {@link Customer}.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#accruePoints(Customer, long)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccrualBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int members;
+
+    private final RewardSystem rewardSystem = new RewardSystem();
+    private final long amount = Money.ofRupiah(150000);
+    private CustomerRegistry registry;
+    private Customer[] customers;
+    private int[] order;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        registry = new CustomerRegistry();
+        customers = new Customer[members];
+        for (int i = 0; i < members; i++) {
+            customers[i] = new Customer(i + 1, "Member " + (i + 1), Money.ofRupiah(random.nextLong(1, 5_000_000)));
+            customers[i].setPoints(random.nextLong(0, 8000));
+            registry.upsert(customers[i]);
+        }
+        order = new int[1 << 16];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = random.nextInt(members);
+        }
+    }
+
+    private Customer next() {
+        return customers[order[cursor++ & (order.length - 1)]];
+    }
+
+    @Benchmark
+    public long calculateRewardPoints() {
+        return rewardSystem.calculateRewardPoints(next());
+    }
+
+    @Benchmark
+    public long calculateEarnedPoints() {
+        return rewardSystem.calculateEarnedPoints(amount, next().getPoints());
+    }
+
+    @Benchmark
+    public long accruePoints() {
+        return rewardSystem.accruePoints(next(), amount);
+    }
+
+    @Benchmark
+    public long registryLookupAndAccrue() {
+        Customer customer = registry.get(order[cursor++ & (order.length - 1)] + 1);
+        return rewardSystem.accruePoints(customer, amount);
+    }
+}
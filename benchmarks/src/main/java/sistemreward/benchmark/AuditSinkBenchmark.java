@@ -0,0 +1,79 @@
+package sistemreward.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.AsyncEventSink;
+import sistemreward.Money;
+import sistemreward.RedemptionStatus;
+import sistemreward.Tier;
+
+/**
+ * Benchmark biaya emit event audit di thread checkout.
+ *
+ * <p>Yang diukur hanya sisi producer: klaim slot dan salin field. Writer
+ * menulis ke {@link OutputStream#nullOutputStream()}, jadi dengan policy
+ * {@code BLOCK} angka ini juga menunjukkan batas throughput writer, sedangkan
+ * {@code DROP} dan {@code SAMPLE} menunjukkan biaya saat buffer penuh.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see AsyncEventSink
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditSinkBenchmark {
+
+    @Param({"BLOCK", "DROP", "SAMPLE"})
+    public AsyncEventSink.Policy policy;
+
+    private final long amount = Money.ofRupiah(150000);
+    private AsyncEventSink sink;
+
+    @Setup
+    public void setUp() {
+        sink = new AsyncEventSink(OutputStream.nullOutputStream(), 8192, policy, 8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        sink.close();
+    }
+
+    @Benchmark
+    public void emitAccrual() {
+        sink.onAccrual(1001, amount, 7500, 12500, Tier.GOLD);
+    }
+
+    @Benchmark
+    public void emitRedemption() {
+        sink.onRedemption(1001, "V50K", RedemptionStatus.SUCCESS, 100, 12400);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void emitAccrualContended() {
+        sink.onAccrual(1001, amount, 7500, 12500, Tier.GOLD);
+    }
+}
@@ -0,0 +1,107 @@
+package sistemreward.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.ExpiryResult;
+import sistemreward.PointExpiry;
+import sistemreward.PointLots;
+
+/**
+ * Benchmark sweep kadaluarsa poin malam hari untuk dataset sintetis 10 juta lot.
+ *
+ * <p>Setiap member mendapat {@code lotsPerMember} lot yang tersebar acak
+ * dalam 365 hari terakhir, dengan masa berlaku 365 hari, sehingga setiap
+ * malam sekitar 1/365 lot kadaluarsa. Setiap invocation memajukan jam satu
+ * hari; skor adalah waktu untuk {@value #NIGHTS} malam berturut-turut.</p>
+ *
+ * <ul>
+ *   <li>{@code timerWheel} - {@link PointExpiry#expireDue(long)}, hanya member yang jatuh tempo</li>
+ *   <li>{@code fullScan} - pembanding: periksa lot semua member setiap malam</li>
+ * </ul>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see PointExpiry
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, batchSize = ExpiryBenchmark.NIGHTS)
+@Measurement(iterations = 5, batchSize = ExpiryBenchmark.NIGHTS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class ExpiryBenchmark {
+
+    static final int NIGHTS = 30;
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long VALIDITY = 365 * DAY;
+
+    @Param({"1000000"})
+    public int members;
+
+    @Param({"10"})
+    public int lotsPerMember;
+
+    private Customer[] customers;
+    private PointExpiry expiry;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        long start = 1_735_689_600_000L;
+        SplittableRandom random = new SplittableRandom(42);
+        expiry = new PointExpiry(VALIDITY, PointExpiry.DEFAULT_TICK_MILLIS, start);
+        customers = new Customer[members];
+        long[] earnedAt = new long[lotsPerMember];
+        for (int i = 0; i < members; i++) {
+            Customer customer = new Customer(i + 1, "Member " + (i + 1), 0);
+            for (int l = 0; l < lotsPerMember; l++) {
+                earnedAt[l] = start - VALIDITY + random.nextLong(VALIDITY);
+            }
+            Arrays.sort(earnedAt);
+            for (long at : earnedAt) {
+                long points = 1 + random.nextLong(500);
+                expiry.accrue(customer, points, at);
+            }
+            customers[i] = customer;
+        }
+        now = start;
+    }
+
+    @Benchmark
+    public ExpiryResult timerWheel() {
+        now += DAY;
+        return expiry.expireDue(now);
+    }
+
+    @Benchmark
+    public long fullScan() {
+        now += DAY;
+        long expired = 0;
+        for (Customer customer : customers) {
+            PointLots lots = customer.getPointLots();
+            if (lots.getNextExpiry() <= now) {
+                long points = lots.expire(now);
+                customer.expirePoints(points);
+                expired += points;
+            }
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,109 @@
+package sistemreward.benchmark;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.CustomerRegistry;
+import sistemreward.RewardHttpServer;
+import sistemreward.RewardSystem;
+
+/**
+ * Load test lokal untuk {@link RewardHttpServer}: request HTTP sungguhan lewat loopback.
+ *
+ * <p>Server dan client berjalan di JVM yang sama; angka ini mengukur
+ * throughput end-to-end (parsing HTTP, routing, JSON, engine), bukan jaringan.
+ * Untuk load test dari luar JVM, jalankan {@code RewardHttpServer} lalu pakai
+ * {@code wrk} atau {@code hey}.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardHttpServer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+@Threads(16)
+public class HttpApiBenchmark {
+
+    @Param({"10000"})
+    public int members;
+
+    private RewardHttpServer server;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry();
+        for (int i = 1; i <= members; i++) {
+            registry.upsert(new Customer(i, "Member " + i, 0));
+        }
+        server = RewardHttpServer.start(new InetSocketAddress("127.0.0.1", 0), new RewardSystem(), registry);
+        baseUrl = "http://127.0.0.1:" + server.getPort();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    /**
+     * Member acak per thread, supaya request tersebar ke seluruh registry.
+     */
+    @State(Scope.Thread)
+    public static class Picker {
+        private long seed = System.nanoTime();
+
+        long next(int members) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            return 1 + ((seed >>> 33) % members);
+        }
+    }
+
+    @Benchmark
+    public int getMember(Picker picker) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/members/" + picker.next(members)))
+                .GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int postTransaction(Picker picker) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/members/" + picker.next(members) + "/transactions"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":150000}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,129 @@
+package sistemreward.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.BatchResult;
+import sistemreward.Customer;
+import sistemreward.CustomerRegistry;
+import sistemreward.ImportResult;
+import sistemreward.RewardSystem;
+import sistemreward.TransactionImporter;
+
+/**
+ * Benchmark throughput {@link TransactionImporter} untuk satu file besar.
+ *
+ * <p>{@code parseOnly} menyerahkan batch ke handler kosong, jadi hanya
+ * mengukur baca file + parsing; {@code importAndAccrue} meneruskan batch ke
+ * {@code RewardSystem.processBatch}. Throughput dilaporkan sebagai
+ * counter {@code megabytes} (MB per detik dengan mode throughput).</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TransactionImporter
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+
+    @Param({"CSV", "NDJSON"})
+    public TransactionImporter.Format format;
+
+    @Param({"2000000"})
+    public int rows;
+
+    @Param({"100000"})
+    public int members;
+
+    private Path file;
+    private TransactionImporter parseOnly;
+    private TransactionImporter accrual;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("import-benchmark", format == TransactionImporter.Format.CSV ? ".csv" : ".ndjson");
+        long seed = 42;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            if (format == TransactionImporter.Format.CSV) {
+                writer.write("memberId,amount,timestamp\n");
+            }
+            for (int i = 0; i < rows; i++) {
+                seed = seed * 6364136223846793005L + 1442695040888963407L;
+                long memberId = 1 + ((seed >>> 33) % members);
+                long rupiah = 10_000 + ((seed >>> 17) & 0xFFFFF);
+                long timestamp = 1_730_000_000_000L + i;
+                if (format == TransactionImporter.Format.CSV) {
+                    writer.write(memberId + "," + rupiah + ".50," + timestamp + "\n");
+                } else {
+                    writer.write("{\"memberId\":" + memberId + ",\"amount\":" + rupiah
+                            + ".50,\"timestamp\":" + timestamp + "}\n");
+                }
+            }
+        }
+        parseOnly = new TransactionImporter(batch -> new BatchResult(batch.size(), batch.size(), 0, 0, 0, 0, 0),
+                TransactionImporter.DEFAULT_BATCH_SIZE, TransactionImporter.DEFAULT_BUFFER_SIZE);
+        CustomerRegistry registry = new CustomerRegistry();
+        for (int i = 1; i <= members; i++) {
+            registry.upsert(new Customer(i, "Member " + i, 0));
+        }
+        accrual = new TransactionImporter(new RewardSystem(), registry);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Jumlah megabyte yang diproses, dilaporkan JMH sebagai MB/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+
+        long add(ImportResult result) {
+            megabytes += result.getBytes() / 1e6;
+            return result.getRecords();
+        }
+    }
+
+    @Benchmark
+    public long parseOnly(Bytes bytes) throws IOException {
+        return bytes.add(parseOnly.importFile(file, format));
+    }
+
+    @Benchmark
+    public long importAndAccrue(Bytes bytes) throws IOException {
+        return bytes.add(accrual.importFile(file, format));
+    }
+}
@@ -0,0 +1,105 @@
+package sistemreward.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.PointExpiry;
+import sistemreward.PointLots;
+
+/**
+ * Benchmark redeem di bawah contention untuk member yang punya lot poin.
+ *
+ * <p>Member tanpa lot di-redeem dengan satu CAS di saldo. Member yang punya
+ * lot di-redeem di bawah monitor {@link PointLots} member tersebut, karena
+ * saldo dan lot FIFO harus berubah bersama. {@code withLots} membandingkan
+ * kedua jalur; {@code hotMembers = 1} adalah kasus terburuk, semua thread
+ * berebut satu member.</p>
+ *
+ * <ul>
+ *   <li>{@code redeem} - 4 thread, seperti beberapa terminal POS untuk member yang sama</li>
+ *   <li>{@code redeemSingleThread} - pembanding tanpa contention</li>
+ * </ul>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#deductPoints(long, PointLots.Changes)
+ * @see RedemptionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LotRedemptionBenchmark {
+
+    /**
+     * Poin awal yang cukup besar supaya redeem tidak pernah gagal karena habis.
+     */
+    private static final long INITIAL_POINTS = Long.MAX_VALUE / 4;
+    private static final long EARNED_AT = 1_735_689_600_000L;
+
+    @Param({"1", "16", "1024"})
+    public int hotMembers;
+
+    @Param({"false", "true"})
+    public boolean withLots;
+
+    private Customer[] customers;
+
+    @Setup
+    public void setUp() {
+        PointExpiry expiry = new PointExpiry(TimeUnit.DAYS.toMillis(365), PointExpiry.DEFAULT_TICK_MILLIS, EARNED_AT);
+        customers = new Customer[hotMembers];
+        for (int i = 0; i < hotMembers; i++) {
+            customers[i] = new Customer(i + 1, "Member " + (i + 1), 0);
+            if (withLots) {
+                // Satu lot besar: redeem selalu mengambil dari kepala antrian tanpa menghapus lot
+                expiry.accrue(customers[i], INITIAL_POINTS, EARNED_AT);
+            } else {
+                customers[i].setPoints(INITIAL_POINTS);
+            }
+        }
+    }
+
+    /**
+     * Posisi member per thread, supaya pemilihan member tidak ikut berebut.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        Customer pick(Customer[] customers) {
+            int i = next;
+            next = i + 1 == customers.length ? 0 : i + 1;
+            return customers[i];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long redeem(Cursor cursor) {
+        return cursor.pick(customers).deductPoints(1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long redeemSingleThread(Cursor cursor) {
+        return cursor.pick(customers).deductPoints(1);
+    }
+}
@@ -0,0 +1,66 @@
+package sistemreward.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.LatencyHistogram;
+import sistemreward.LatencySnapshot;
+import sistemreward.RewardMetrics;
+
+/**
+ * Benchmark biaya instrumentasi yang selalu aktif di jalur panas.
+ *
+ * <p>{@code recordAccrual} adalah biaya tambahan per {@code checkReward}
+ * di luar dua pemanggilan {@code nanoTime}; {@code timedRecord} memasukkan
+ * keduanya. Versi {@code Contended} mengukur efek stripe saat 4 thread
+ * merekam ke histogram yang sama.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardMetrics
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private final RewardMetrics metrics = new RewardMetrics();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Benchmark
+    public void recordAccrual() {
+        metrics.recordAccrual(7500, 1_250);
+    }
+
+    @Benchmark
+    public void timedRecord() {
+        long start = System.nanoTime();
+        histogram.record(System.nanoTime() - start);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordAccrualContended() {
+        metrics.recordAccrual(7500, 1_250);
+    }
+
+    @Benchmark
+    public LatencySnapshot snapshot() {
+        return histogram.snapshot();
+    }
+}
@@ -0,0 +1,90 @@
+package sistemreward.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.AccrualPipeline;
+import sistemreward.Customer;
+import sistemreward.CustomerRegistry;
+import sistemreward.Money;
+import sistemreward.RewardSystem;
+
+/**
+ * Benchmark throughput {@link AccrualPipeline} untuk 1 - 8 shard.
+ *
+ * <p>Setiap invocation mengirim {@value #ROWS} transaksi ke member acak lalu
+ * menunggu semuanya selesai, jadi skor adalah transaksi per detik end-to-end.
+ * Skala terhadap jumlah shard hanya terlihat jika jumlah core minimal sama
+ * dengan jumlah shard ditambah satu thread producer.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see AccrualPipeline
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    @Param({"100000"})
+    public int members;
+
+    private final long amount = Money.ofRupiah(150000);
+    private AccrualPipeline pipeline;
+    private long[] memberIds;
+
+    @Setup
+    public void setUp() {
+        CustomerRegistry registry = new CustomerRegistry();
+        for (int i = 1; i <= members; i++) {
+            registry.upsert(new Customer(i, "Member " + i, 0));
+        }
+        RewardSystem rewardSystem = new RewardSystem();
+        pipeline = new AccrualPipeline(rewardSystem, registry, shards, AccrualPipeline.DEFAULT_QUEUE_CAPACITY);
+        memberIds = new long[ROWS];
+        long seed = 42;
+        for (int i = 0; i < ROWS; i++) {
+            seed = seed * 6364136223846793005L + 1442695040888963407L;
+            memberIds[i] = 1 + ((seed >>> 33) % members);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long submitAndAwait() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        for (long memberId : memberIds) {
+            pipeline.submit(memberId, amount, now);
+        }
+        pipeline.awaitIdle();
+        return pipeline.getApplied();
+    }
+}
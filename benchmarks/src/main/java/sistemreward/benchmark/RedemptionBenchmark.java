@@ -0,0 +1,115 @@
+package sistemreward.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.Money;
+import sistemreward.RedemptionStatus;
+import sistemreward.RewardSystem;
+import sistemreward.Voucher;
+import sistemreward.VoucherCatalog;
+
+/**
+ * Benchmark redeem poin di bawah contention.
+ *
+ * <p>Semua thread berbagi {@code hotMembers} member. Dengan {@code hotMembers = 1}
+ * setiap redeem berebut CAS di saldo yang sama (kasus terburuk satu member
+ * dipakai di banyak terminal); makin besar nilainya, makin jarang tabrakan.
+ * {@code redeemHotVoucher} menambahkan satu voucher flash sale berstok terbatas
+ * yang diperebutkan semua thread.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#redeemPoints(long)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedemptionBenchmark {
+
+    /**
+     * Saldo awal yang cukup besar supaya redeem tidak pernah gagal karena habis.
+     */
+    private static final long INITIAL_POINTS = Long.MAX_VALUE / 2;
+
+    @Param({"1", "16", "1024"})
+    public int hotMembers;
+
+    private final RewardSystem rewardSystem = new RewardSystem();
+    private final long amount = Money.ofRupiah(20000);
+    private Customer[] customers;
+    private Voucher hotVoucher;
+
+    @Setup
+    public void setUp() {
+        hotVoucher = new Voucher("FLASH", "Voucher Flash Sale", 1, Money.ofRupiah(50000), Long.MAX_VALUE / 2,
+                Voucher.ALWAYS_VALID_FROM, Voucher.ALWAYS_VALID_UNTIL);
+        rewardSystem.setVoucherCatalog(new VoucherCatalog(List.of(hotVoucher)));
+        customers = new Customer[hotMembers];
+        for (int i = 0; i < hotMembers; i++) {
+            customers[i] = new Customer(i + 1, "Member " + (i + 1), 0);
+            customers[i].setPoints(INITIAL_POINTS);
+        }
+    }
+
+    /**
+     * Posisi member per thread, supaya pemilihan member tidak ikut berebut.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        Customer pick(Customer[] customers) {
+            int i = next;
+            next = i + 1 == customers.length ? 0 : i + 1;
+            return customers[i];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean redeem(Cursor cursor) {
+        return cursor.pick(customers).redeemPoints(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public RedemptionStatus redeemHotVoucher(Cursor cursor) {
+        return rewardSystem.tryRedeem(cursor.pick(customers), hotVoucher);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public boolean mixedRedeem(Cursor cursor) {
+        return cursor.pick(customers).redeemPoints(1);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public long mixedAccrue(Cursor cursor) {
+        return rewardSystem.accruePoints(cursor.pick(customers), amount);
+    }
+}
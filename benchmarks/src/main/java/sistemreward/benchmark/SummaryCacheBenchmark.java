@@ -0,0 +1,128 @@
+package sistemreward.benchmark;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.CustomerRegistry;
+import sistemreward.MemberSummary;
+import sistemreward.MemberSummaryCache;
+import sistemreward.Money;
+import sistemreward.RewardMetrics;
+import sistemreward.RewardSystem;
+
+/**
+ * Benchmark layar profil member: ringkasan dari {@link MemberSummaryCache} vs dihitung setiap request.
+ *
+ * <p>1 juta member dengan 20 transaksi masing-masing; member yang dibuka
+ * mengikuti distribusi Zipf (s = 0.9), seperti trafik aplikasi sungguhan di
+ * mana sebagian kecil member membuka profilnya berkali-kali. Setiap 32
+ * request ada satu accrual yang meng-invalidasi ringkasan member tersebut.
+ * Hit rate dicetak di akhir setiap iterasi.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see MemberSummaryCache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class SummaryCacheBenchmark {
+
+    private static final int MEMBERS = 1_000_000;
+    private static final int TRACE = 1 << 20;
+    private static final int WRITE_EVERY = 32;
+
+    @Param({"10000", "100000"})
+    public int cacheSize;
+
+    private RewardSystem rewardSystem;
+    private CustomerRegistry registry;
+    private MemberSummaryCache cache;
+    private long[] trace;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rewardSystem = new RewardSystem();
+        registry = new CustomerRegistry();
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= MEMBERS; i++) {
+            Customer customer = new Customer(i, "Member " + i, 0);
+            for (int t = 0; t < 20; t++) {
+                customer.addTransaction(Money.ofRupiah(random.nextLong(10_000, 500_000)), now - t * 3_600_000L);
+            }
+            registry.upsert(customer);
+        }
+        cache = new MemberSummaryCache(rewardSystem, registry::get, cacheSize);
+        rewardSystem.setMemberSummaryCache(cache);
+
+        double[] cdf = new double[MEMBERS];
+        double sum = 0;
+        for (int i = 0; i < MEMBERS; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            cdf[i] = sum;
+        }
+        trace = new long[TRACE];
+        for (int i = 0; i < TRACE; i++) {
+            int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+            rank = rank < 0 ? -rank - 1 : rank;
+            // Acak ID supaya member populer tersebar di semua shard
+            trace[i] = 1 + (rank * 2_654_435_761L) % MEMBERS;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void printHitRate() {
+        RewardMetrics metrics = rewardSystem.getMetrics();
+        System.out.printf(" [hitRate=%.3f, evictions=%d, invalidations=%d]%n", metrics.getSummaryCacheHitRate(),
+                metrics.getSummaryCacheEvictionCount(), metrics.getSummaryCacheInvalidationCount());
+    }
+
+    @Benchmark
+    public MemberSummary cached() {
+        int i = next();
+        long memberId = trace[i];
+        if ((i & (WRITE_EVERY - 1)) == 0) {
+            rewardSystem.accruePoints(registry.get(memberId), Money.ofRupiah(50_000));
+        }
+        return cache.get(memberId);
+    }
+
+    @Benchmark
+    public MemberSummary uncached() {
+        int i = next();
+        long memberId = trace[i];
+        if ((i & (WRITE_EVERY - 1)) == 0) {
+            rewardSystem.accruePoints(registry.get(memberId), Money.ofRupiah(50_000));
+        }
+        return rewardSystem.summarize(registry.get(memberId), MemberSummaryCache.DEFAULT_RECENT_TRANSACTIONS);
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = (i + 1) & (TRACE - 1);
+        return i;
+    }
+}
@@ -0,0 +1,95 @@
+package sistemreward.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Customer;
+import sistemreward.Money;
+import sistemreward.RewardSystem;
+import sistemreward.Tier;
+import sistemreward.TierQualification;
+import sistemreward.TierTable;
+
+/**
+ * Benchmark penentuan tier dari saldo poin.
+ *
+ * <p>Saldo diacak merata di semua tier supaya branch predictor tidak bisa
+ * menebak hasil lookup. {@code getTierRollingSpend} mengukur tier berbasis
+ * belanja 12 bulan ({@link TierQualification#ROLLING_SPEND}) untuk member
+ * yang belanjanya tersebar di beberapa bulan.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TierTable#lookup(long)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TierLookupBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int members;
+
+    private final RewardSystem rewardSystem = new RewardSystem();
+    private final RewardSystem rollingSystem = new RewardSystem();
+    private final TierTable tierTable = TierTable.DEFAULT;
+    private long[] points;
+    private Customer[] customers;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rollingSystem.setTierQualification(TierQualification.ROLLING_SPEND);
+        long now = System.currentTimeMillis();
+        long month = 30L * 24 * 60 * 60 * 1000;
+        points = new long[members];
+        customers = new Customer[members];
+        for (int i = 0; i < members; i++) {
+            points[i] = random.nextLong(0, 8000);
+            customers[i] = new Customer(i + 1, "Member " + (i + 1), 0);
+            customers[i].setPoints(points[i]);
+            for (int m = 0; m < 18; m += 3) {
+                customers[i].getRollingSpend().add(Money.ofRupiah(random.nextLong(0, 2_000_000)), now - m * month);
+            }
+        }
+    }
+
+    @Benchmark
+    public Tier tierTableLookup() {
+        int i = cursor;
+        cursor = i + 1 == members ? 0 : i + 1;
+        return tierTable.lookup(points[i]);
+    }
+
+    @Benchmark
+    public Tier getTier() {
+        int i = cursor;
+        cursor = i + 1 == members ? 0 : i + 1;
+        return rewardSystem.getTier(customers[i]);
+    }
+
+    @Benchmark
+    public Tier getTierRollingSpend() {
+        int i = cursor;
+        cursor = i + 1 == members ? 0 : i + 1;
+        return rollingSystem.getTier(customers[i]);
+    }
+}
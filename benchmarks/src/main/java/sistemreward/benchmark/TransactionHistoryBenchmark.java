@@ -0,0 +1,130 @@
+package sistemreward.benchmark;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sistemreward.Transaction;
+import sistemreward.TransactionHistory;
+
+/**
+ * Benchmark append, iterasi, paging, dan format riwayat transaksi pada berbagai panjang history.
+ *
+ * <p>{@code append} memulai history baru setiap kali mencapai {@code historySize},
+ * sehingga biaya pertumbuhan array ikut terukur dan memory tetap terbatas.
+ * {@code readBackwardPage} membaca satu halaman 20 transaksi dari tengah
+ * history; throughput-nya seharusnya sama untuk semua {@code historySize}.
+ * {@code formatTimestamp} dibandingkan dengan {@code SimpleDateFormat} yang
+ * dibuat ulang setiap tampilan, seperti versi lama.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TransactionHistory
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionHistoryBenchmark {
+
+    private static final long START_MILLIS = 1_700_000_000_000L;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"16", "1024", "65536"})
+    public int historySize;
+
+    private TransactionHistory growing;
+    private TransactionHistory full;
+    private final SumVisitor visitor = new SumVisitor();
+    private long rangeFrom;
+    private long rangeTo;
+    private long middleCursor;
+
+    /**
+     * Visitor yang menjumlahkan nominal, dipakai ulang supaya iterasi tidak mengalokasi.
+     */
+    static final class SumVisitor implements TransactionHistory.Visitor {
+        long sum;
+
+        @Override
+        public void visit(int index, long amount, long epochMillis) {
+            sum += amount;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        growing = new TransactionHistory();
+        full = new TransactionHistory();
+        for (int i = 0; i < historySize; i++) {
+            full.append(1_000_000L + i, START_MILLIS + i * 60_000L);
+        }
+        // 10% transaksi di tengah history
+        rangeFrom = START_MILLIS + (historySize * 9L / 20) * 60_000L;
+        rangeTo = START_MILLIS + (historySize * 11L / 20) * 60_000L;
+        middleCursor = historySize / 2;
+    }
+
+    @Benchmark
+    public int append() {
+        TransactionHistory history = growing;
+        if (history.size() == historySize) {
+            history = new TransactionHistory();
+            growing = history;
+        }
+        history.append(1_000_000L, START_MILLIS);
+        return history.size();
+    }
+
+    @Benchmark
+    public long forEach() {
+        visitor.sum = 0;
+        full.forEach(visitor);
+        return visitor.sum;
+    }
+
+    @Benchmark
+    public long forEachInRange() {
+        visitor.sum = 0;
+        full.forEachInRange(rangeFrom, rangeTo, visitor);
+        return visitor.sum;
+    }
+
+    @Benchmark
+    public long streamInRange() {
+        return full.stream(rangeFrom, rangeTo).mapToLong(Transaction::getAmount).sum();
+    }
+
+    @Benchmark
+    public long readBackwardPage() {
+        visitor.sum = 0;
+        full.readBackward(middleCursor, PAGE_SIZE, visitor);
+        return visitor.sum;
+    }
+
+    @Benchmark
+    public String formatTimestamp() {
+        return TransactionHistory.formatTimestamp(START_MILLIS);
+    }
+
+    @Benchmark
+    public String formatSimpleDateFormat() {
+        return new SimpleDateFormat("dd/MM/yyyy HH:mm:ss").format(new Date(START_MILLIS));
+    }
+}
@@ -0,0 +1,116 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link AccrualPipeline}: publish ring buffer dari banyak producer
+ * dengan antrian kecil tidak pernah menghilangkan atau menggandakan transaksi,
+ * dan error journal menghentikan pipeline tanpa menghitung batch-nya sebagai ditolak.
+ */
+class AccrualPipelineTest {
+
+    private static final int MEMBERS = 200;
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 20_000;
+
+    @Test
+    void concurrentProducersApplyEveryTransactionOnce() throws Exception {
+        CustomerRegistry registry = new CustomerRegistry(8);
+        for (long id = 1; id <= MEMBERS; id++) {
+            registry.upsert(new Customer(id, "M" + id, 0L));
+        }
+        RewardSystem rewardSystem = new RewardSystem();
+        AtomicLongArray expectedSpend = new AtomicLongArray(MEMBERS + 1);
+        AtomicLongArray expectedCount = new AtomicLongArray(MEMBERS + 1);
+
+        // Antrian 16 slot memaksa producer menunggu wrap-around berkali-kali
+        try (AccrualPipeline pipeline = new AccrualPipeline(rewardSystem, registry, 3, 16)) {
+            List<Thread> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                long seed = p;
+                Thread producer = new Thread(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        int id = 1 + random.nextInt(MEMBERS);
+                        long amount = Money.ofRupiah(1 + random.nextInt(100));
+                        expectedSpend.addAndGet(id, amount);
+                        expectedCount.incrementAndGet(id);
+                        pipeline.submit(id, amount, 1_700_000_000_000L + i);
+                    }
+                });
+                producers.add(producer);
+                producer.start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            pipeline.submit(MEMBERS + 1, Money.ofRupiah(10), 1_700_000_000_000L);
+            pipeline.submit(1, -1, 1_700_000_000_000L);
+            pipeline.awaitIdle();
+
+            assertEquals(PRODUCERS * PER_PRODUCER + 2, pipeline.getSubmitted());
+            assertEquals(PRODUCERS * PER_PRODUCER, pipeline.getApplied());
+            assertEquals(1, pipeline.getUnknownMember());
+            assertEquals(1, pipeline.getRejected());
+            assertEquals(0, pipeline.getPending());
+        }
+
+        for (int id = 1; id <= MEMBERS; id++) {
+            Customer customer = registry.get(id);
+            assertEquals(expectedSpend.get(id), customer.getTotalSpent(), "member " + id);
+            assertEquals(expectedCount.get(id), customer.getTransactionHistory().size(), "member " + id);
+        }
+    }
+
+    @Test
+    void journalFailureStopsPipelineAndReportsUnconfirmed(@TempDir Path directory) throws Exception {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        registry.upsert(new Customer(1, "Alice", 0L));
+        BalanceJournal journal = BalanceJournal.open(directory, registry);
+        RewardSystem rewardSystem = new RewardSystem();
+        rewardSystem.setJournal(journal);
+        // Channel tertutup: group commit berikutnya gagal setelah saldo dikreditkan
+        journal.close();
+
+        try (AccrualPipeline pipeline = new AccrualPipeline(rewardSystem, registry, 1, 16)) {
+            for (int i = 0; i < 3; i++) {
+                pipeline.submit(1, Money.ofRupiah(1_000), 1_700_000_000_000L + i);
+            }
+            pipeline.awaitIdle();
+
+            assertInstanceOf(UncheckedIOException.class, pipeline.getFailure());
+            assertTrue(pipeline.getUnconfirmed() >= 1);
+            assertEquals(3, pipeline.getUnconfirmed() + pipeline.getRejected());
+            assertEquals(0, pipeline.getApplied());
+            assertEquals(1, rewardSystem.getMetrics().getPipelineFailureCount());
+            // Hanya batch yang gagal yang sempat mengubah saldo
+            assertEquals(pipeline.getUnconfirmed() * 50, registry.get(1).getPoints());
+
+            IllegalStateException stopped = assertThrows(IllegalStateException.class,
+                    () -> pipeline.submit(1, Money.ofRupiah(1_000), 1_700_000_000_000L));
+            assertSame(pipeline.getFailure(), stopped.getCause());
+        }
+    }
+
+    @Test
+    void submitAfterCloseIsRejected() {
+        AccrualPipeline pipeline = new AccrualPipeline(new RewardSystem(), new CustomerRegistry(1), 1, 4);
+        pipeline.close();
+
+        assertThrows(IllegalStateException.class, () -> pipeline.submit(1, 100, 0));
+    }
+}
@@ -0,0 +1,179 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link AsyncEventSink}: format JSON Lines, urutan event, dan
+ * perilaku BLOCK/DROP/SAMPLE saat writer tertinggal.
+ */
+class AsyncEventSinkTest {
+
+    @Test
+    void writesJsonLinesInOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AsyncEventSink sink = new AsyncEventSink(out, 16, AsyncEventSink.Policy.BLOCK, 1)) {
+            sink.onAccrual(1001, 15_000_000, 7_500, 12_500, Tier.GOLD);
+            sink.onRedemption(1001, "V\"50K", RedemptionStatus.SUCCESS, 100, 12_400);
+            sink.onRedemption(1002, null, RedemptionStatus.NOT_FOUND, 0, 0);
+        }
+
+        List<String> lines = lines(out);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).matches("\\{\"ts\":\\d+,\"type\":\"ACCRUAL\",\"memberId\":1001,\"amountSen\":15000000,"
+                + "\"points\":7500,\"balance\":12500,\"tier\":\"GOLD\"}"), lines.get(0));
+        assertTrue(lines.get(1).endsWith(",\"type\":\"REDEMPTION\",\"memberId\":1001,\"voucher\":\"V\\\"50K\","
+                + "\"status\":\"SUCCESS\",\"points\":-100,\"balance\":12400}"), lines.get(1));
+        assertTrue(lines.get(2).contains("\"voucher\":null,\"status\":\"NOT_FOUND\""), lines.get(2));
+    }
+
+    @Test
+    void blockPolicyKeepsEveryEventFromConcurrentProducers() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncEventSink sink = new AsyncEventSink(out, 4, AsyncEventSink.Policy.BLOCK, 1);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            long memberId = p;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    sink.onAccrual(memberId, i, i, i, Tier.BRONZE);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        sink.close();
+
+        List<String> lines = lines(out);
+        assertEquals(8_000, lines.size());
+        assertEquals(0, sink.getDropped());
+        // Urutan per producer tetap terjaga
+        long[] next = new long[4];
+        for (String line : lines) {
+            int member = Integer.parseInt(line.replaceAll(".*\"memberId\":(\\d+),.*", "$1"));
+            long amount = Long.parseLong(line.replaceAll(".*\"amountSen\":(\\d+),.*", "$1"));
+            assertEquals(next[member]++, amount, line);
+        }
+    }
+
+    @Test
+    void dropPolicyDiscardsEventsWhenBufferIsFull() throws Exception {
+        GatedStream out = new GatedStream();
+        AsyncEventSink sink = new AsyncEventSink(out, 4, AsyncEventSink.Policy.DROP, 1);
+        sink.onAccrual(0, 0, 0, 0, Tier.BRONZE);
+        // Writer sudah mengambil event pertama dan tertahan di flush
+        assertTrue(out.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 10; i++) {
+            sink.onAccrual(i, i, i, i, Tier.BRONZE);
+        }
+
+        assertEquals(4, sink.getPending());
+        assertEquals(6, sink.getDropped());
+
+        out.release.countDown();
+        sink.close();
+        assertEquals(5, lines(out.bytes).size());
+    }
+
+    @Test
+    void samplePolicyKeepsOneInNWhenBufferIsAlmostFull() throws Exception {
+        GatedStream out = new GatedStream();
+        AsyncEventSink sink = new AsyncEventSink(out, 8, AsyncEventSink.Policy.SAMPLE, 2);
+        sink.onAccrual(0, 0, 0, 0, Tier.BRONZE);
+        assertTrue(out.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 20; i++) {
+            sink.onAccrual(i, i, i, i, Tier.BRONZE);
+        }
+
+        // 6 slot pertama (di bawah 3/4) selalu diterima, lalu 1 dari 2 sampai penuh
+        assertEquals(8, sink.getPending());
+        assertEquals(12, sink.getDropped());
+
+        out.release.countDown();
+        sink.close();
+        assertEquals(9, lines(out.bytes).size());
+    }
+
+    @Test
+    void eventsAfterCloseAreDropped() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncEventSink sink = new AsyncEventSink(out, 4, AsyncEventSink.Policy.BLOCK, 1);
+        sink.close();
+
+        sink.onAccrual(1, 1, 1, 1, Tier.BRONZE);
+
+        assertEquals(1, sink.getDropped());
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void writeFailureStillDrainsBuffer() throws IOException {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk penuh");
+            }
+        };
+        AsyncEventSink sink = new AsyncEventSink(failing, 2, AsyncEventSink.Policy.BLOCK, 1);
+
+        // Dengan BLOCK, producer akan tertahan selamanya jika writer berhenti mengosongkan buffer
+        for (int i = 0; i < 1_000; i++) {
+            sink.onAccrual(i, i, i, i, Tier.BRONZE);
+        }
+
+        assertEquals(0, sink.getDropped());
+        try {
+            sink.close();
+        } catch (IOException expected) {
+            // Stream yang gagal juga boleh gagal saat ditutup
+        }
+        assertEquals(0, sink.getPending());
+    }
+
+    private static List<String> lines(ByteArrayOutputStream out) {
+        String text = out.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? List.of() : List.of(text.split("\n"));
+    }
+
+    /**
+     * Stream yang menahan write pertama sampai {@code release} dibuka.
+     */
+    private static final class GatedStream extends OutputStream {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            synchronized (bytes) {
+                bytes.write(b, off, len);
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link BalanceJournal}: replay delta WAL, pemotongan record
+ * terakhir yang terpotong, checkpoint fuzzy, crash tanpa close, dan journal
+ * yang rusak setelah write gagal.
+ */
+class BalanceJournalTest {
+
+    private static final long EXPIRES_AT = 1_800_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayRestoresBalancesExpiredPointsAndLots() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        try (BalanceJournal journal = BalanceJournal.open(directory, registry)) {
+            Customer alice = new Customer(1001L, "Alice", 0L);
+            registry.upsert(alice);
+            journal.awaitDurable(appendSample(journal, alice));
+        }
+
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        BalanceJournal.open(directory, recovered).close();
+
+        assertSample(recovered.get(1001L));
+        assertEquals("Alice", recovered.get(1001L).getName());
+    }
+
+    @Test
+    void tornTailIsTruncatedOnReopen() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        try (BalanceJournal journal = BalanceJournal.open(directory, registry)) {
+            journal.awaitDurable(appendSample(journal, alice));
+        }
+        Path segment = onlySegment();
+        long validLength = Files.size(segment);
+        // Crash di tengah write: header record baru tertulis, body belum
+        Files.write(segment, new byte[] {0, 0, 0, 64, 1, 2, 3, 4, 5, 6}, StandardOpenOption.APPEND);
+
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        try (BalanceJournal journal = BalanceJournal.open(directory, recovered)) {
+            assertEquals(validLength, Files.size(segment));
+            Customer restored = recovered.get(1001L);
+            assertSample(restored);
+
+            journal.awaitDurable(addPoints(journal, restored, 5));
+        }
+
+        CustomerRegistry reopened = new CustomerRegistry(4);
+        BalanceJournal.open(directory, reopened).close();
+        assertEquals(705, reopened.get(1001L).getPoints());
+    }
+
+    @Test
+    void corruptedRecordStopsReplay() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        long firstLength;
+        try (BalanceJournal journal = BalanceJournal.open(directory, registry)) {
+            firstLength = appendSample(journal, alice);
+            journal.awaitDurable(firstLength);
+            journal.awaitDurable(addPoints(journal, alice, 100));
+        }
+        Path segment = onlySegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(segment, bytes);
+
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        BalanceJournal.open(directory, recovered).close();
+
+        assertSample(recovered.get(1001L));
+        assertEquals(firstLength, Files.size(segment));
+    }
+
+    @Test
+    void checkpointThenReplayNewerRecords() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        Customer bob = new Customer(1002L, "Bob", 0L);
+        registry.upsert(alice);
+        registry.upsert(bob);
+        try (BalanceJournal journal = BalanceJournal.open(directory, registry)) {
+            appendSample(journal, alice);
+            journal.awaitDurable(addPoints(journal, bob, 10));
+            journal.checkpoint(registry);
+
+            journal.awaitDurable(addPoints(journal, bob, 42));
+        }
+
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        BalanceJournal.open(directory, recovered).close();
+
+        assertSample(recovered.get(1001L));
+        assertEquals(52, recovered.get(1002L).getPoints());
+        assertEquals("Bob", recovered.get(1002L).getName());
+    }
+
+    @Test
+    void lotChangesAfterSnapshotAreMergedWithSnapshotLots() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        try (BalanceJournal journal = BalanceJournal.open(directory, registry)) {
+            appendSample(journal, alice);
+            journal.checkpoint(registry);
+
+            // Redeem 500 memakai sisa lot pertama (400) dan 100 dari lot kedua
+            BalanceJournal.Delta delta = new BalanceJournal.Delta();
+            alice.beginUpdate();
+            try {
+                assertEquals(200, alice.deductPoints(500, delta));
+                journal.awaitDurable(journal.append(alice, delta.points(-500).redeemed(500)));
+            } finally {
+                alice.endUpdate();
+            }
+        }
+
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        BalanceJournal.open(directory, recovered).close();
+
+        Customer restored = recovered.get(1001L);
+        assertEquals(200, restored.getPoints());
+        assertEquals(700, restored.getRedeemedPoints());
+        assertArrayEquals(new long[] {300, EXPIRES_AT + 1}, restored.getPointLots().toArray());
+    }
+
+    @Test
+    void crashDuringWritesRecoversEveryAcknowledgedDelta() throws Exception {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer[] members = new Customer[4];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = new Customer(2001L + i, "M" + i, 0L);
+            registry.upsert(members[i]);
+        }
+        BalanceJournal journal = BalanceJournal.open(directory, registry);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] writers = new Thread[2];
+        for (int w = 0; w < writers.length; w++) {
+            writers[w] = new Thread(() -> {
+                // Dua writer mengubah member yang sama tanpa lock
+                while (running.get()) {
+                    for (Customer member : members) {
+                        journal.awaitDurable(addPoints(journal, member, 1));
+                    }
+                }
+            });
+            writers[w].start();
+        }
+        for (int i = 0; i < 5; i++) {
+            journal.checkpoint(registry);
+            Thread.sleep(5);
+        }
+        running.set(false);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        // Crash: journal tidak ditutup, hanya record yang sudah durable yang tersisa
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        BalanceJournal.open(directory, recovered).close();
+
+        for (Customer member : members) {
+            assertTrue(member.getPoints() > 0);
+            assertEquals(member.getPoints(), recovered.get(member.getMemberId()).getPoints());
+        }
+    }
+
+    @Test
+    void acknowledgedAccrualIsDurableInLedger() throws IOException {
+        Path ledgerDirectory = directory.resolve("ledger");
+        Path journalDirectory = directory.resolve("journal");
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        TransactionLedger ledger = TransactionLedger.open(ledgerDirectory, 4096);
+        BalanceJournal journal = BalanceJournal.open(journalDirectory, registry);
+        RewardSystem rewardSystem = new RewardSystem();
+        rewardSystem.setLedger(ledger);
+        rewardSystem.setJournal(journal);
+
+        rewardSystem.checkReward(alice, Money.ofRupiah(1_000), EXPIRES_AT);
+        rewardSystem.checkReward(alice, Money.ofRupiah(2_000), EXPIRES_AT + 1);
+
+        // Tanpa checkpoint maupun close: group commit sudah mem-force record ledger
+        assertEquals(2, ledger.getSyncedRecords());
+
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        BalanceJournal.open(journalDirectory, recovered).close();
+        try (TransactionLedger reopened = TransactionLedger.open(ledgerDirectory, 4096)) {
+            Customer restored = recovered.get(1001L);
+            assertEquals(150, restored.getPoints());
+            assertEquals(Money.ofRupiah(3_000), restored.getTotalSpent());
+            assertEquals(2, reopened.count(1001L));
+        }
+        ledger.close();
+    }
+
+    @Test
+    void writeFailureBreaksJournalPermanently() throws IOException {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        BalanceJournal journal = BalanceJournal.open(directory, registry);
+        journal.close();
+
+        // Channel sudah tertutup: write berikutnya gagal
+        long lsn = addPoints(journal, alice, 1);
+        UncheckedIOException first = assertThrows(UncheckedIOException.class, () -> journal.awaitDurable(lsn));
+        assertNotNull(first.getCause());
+
+        assertThrows(UncheckedIOException.class, () -> addPoints(journal, alice, 1));
+        assertThrows(IOException.class, () -> journal.checkpoint(registry));
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(p -> p.getFileName().toString().startsWith("wal-")).toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private static long addPoints(BalanceJournal journal, Customer customer, long points) {
+        customer.beginUpdate();
+        try {
+            customer.addPoints(points);
+            return journal.append(customer, new BalanceJournal.Delta().points(points));
+        } finally {
+            customer.endUpdate();
+        }
+    }
+
+    /**
+     * Belanja Rp 250.000 di tier Silver, dua lot (600 dan 400), redeem 200 dari
+     * lot tertua, lalu 100 poin kadaluarsa; dicatat sebagai satu delta.
+     */
+    private static long appendSample(BalanceJournal journal, Customer customer) {
+        BalanceJournal.Delta delta = new BalanceJournal.Delta();
+        customer.beginUpdate();
+        try {
+            customer.addSpend(Money.ofRupiah(250_000), EXPIRES_AT);
+            customer.addTierSpend(Tier.SILVER, Money.ofRupiah(250_000));
+            delta.spend(Tier.SILVER, Money.ofRupiah(250_000));
+            PointLots lots = customer.getPointLots();
+            synchronized (lots) {
+                delta.lot(600, lots.add(600, EXPIRES_AT));
+                delta.lot(400, lots.add(400, EXPIRES_AT + 1));
+                customer.addPoints(1_000);
+            }
+            customer.deductPoints(200, delta);
+            customer.expirePoints(100);
+            delta.points(1_000 - 200 - 100).redeemed(200).expired(100);
+            return journal.append(customer, delta);
+        } finally {
+            customer.endUpdate();
+        }
+    }
+
+    private static void assertSample(Customer customer) {
+        assertNotNull(customer);
+        assertEquals(Money.ofRupiah(250_000), customer.getTotalSpent());
+        assertEquals(700, customer.getPoints());
+        assertEquals(200, customer.getRedeemedPoints());
+        assertEquals(100, customer.getExpiredPoints());
+        assertEquals(Money.ofRupiah(250_000), customer.getTierSpend(Tier.SILVER));
+        assertArrayEquals(new long[] {400, EXPIRES_AT, 400, EXPIRES_AT + 1}, customer.getPointLots().toArray());
+    }
+}
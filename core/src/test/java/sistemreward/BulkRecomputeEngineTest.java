@@ -0,0 +1,157 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link BulkRecomputeEngine}: koreksi berupa selisih aturan lama
+ * dan baru, sehingga promo, redeem, dan recompute berulang tidak terpengaruh,
+ * serta koreksi yang terpotong di saldo 0.
+ */
+class BulkRecomputeEngineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final BulkRecomputeEngine engine = new BulkRecomputeEngine(pool);
+
+    @AfterEach
+    void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void rateChangeAppliesOnlyTheDifference() {
+        RewardSystem previous = withBonusPromo(new RewardSystem(TierTable.DEFAULT, 500));
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1L, "Alice", 0L);
+        registry.upsert(alice);
+        // 5% dari Rp 1.000 = 50 poin, ditambah bonus promo 500
+        previous.checkReward(alice, Money.ofRupiah(1_000), System.currentTimeMillis());
+        assertEquals(550, alice.getPoints());
+        alice.redeemPoints(100);
+
+        RewardSystem doubled = new RewardSystem(TierTable.DEFAULT, 1_000);
+        RecomputeResult result = engine.recompute(registry, previous, doubled, null);
+
+        assertEquals(500, alice.getPoints());
+        assertEquals(50, result.getPointsDelta());
+        assertEquals(100, alice.getRedeemedPoints());
+    }
+
+    @Test
+    void sameRulesAreIdempotent() {
+        RewardSystem rules = withBonusPromo(new RewardSystem());
+        CustomerRegistry registry = new CustomerRegistry(4);
+        for (long id = 1; id <= 2_000; id++) {
+            Customer customer = new Customer(id, "M" + id, 0L);
+            registry.upsert(customer);
+            rules.checkReward(customer, Money.ofRupiah(id * 37), System.currentTimeMillis());
+        }
+        long[] before = balances(registry);
+
+        for (int run = 0; run < 3; run++) {
+            RecomputeResult result = engine.recompute(registry, rules, rules, null);
+            assertEquals(0, result.getPointsDelta());
+            assertEquals(0, result.getTierChanges());
+        }
+
+        assertArrayEquals(before, balances(registry));
+    }
+
+    @Test
+    void lowerRateTrimsOldestLots() {
+        RewardSystem previous = new RewardSystem(TierTable.DEFAULT, 500);
+        previous.setPointExpiry(new PointExpiry(365L * 86_400_000L));
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1L, "Alice", 0L);
+        registry.upsert(alice);
+        long now = System.currentTimeMillis();
+        previous.checkReward(alice, Money.ofRupiah(1_000), now - 1_000);
+        previous.checkReward(alice, Money.ofRupiah(1_000), now);
+        assertEquals(100, alice.getPoints());
+
+        engine.recompute(registry, previous, new RewardSystem(TierTable.DEFAULT, 100), null);
+
+        assertEquals(20, alice.getPoints());
+        assertEquals(20, alice.getPointLots().getTotal());
+        assertEquals(1, alice.getPointLots().size());
+    }
+
+    @Test
+    void rerunSkipsMembersAlreadyAtNewRules() {
+        RewardSystem previous = new RewardSystem(TierTable.DEFAULT, 500);
+        CustomerRegistry registry = new CustomerRegistry(4);
+        for (long id = 1; id <= 2_000; id++) {
+            Customer customer = new Customer(id, "M" + id, 0L);
+            registry.upsert(customer);
+            previous.checkReward(customer, Money.ofRupiah(1_000), System.currentTimeMillis());
+        }
+        RewardSystem doubled = new RewardSystem(TierTable.DEFAULT, 1_000);
+
+        RecomputeResult first = engine.recompute(registry, previous, doubled, null);
+        long[] after = balances(registry);
+        // Misalnya checkpoint di akhir run pertama gagal dan operator mengulang
+        RecomputeResult retry = engine.recompute(registry, previous, doubled, null);
+
+        assertEquals(2_000 * 50L, first.getPointsDelta());
+        assertEquals(0, first.getSkippedMembers());
+        assertEquals(0, retry.getPointsDelta());
+        assertEquals(2_000, retry.getSkippedMembers());
+        assertArrayEquals(after, balances(registry));
+    }
+
+    @Test
+    void memberCreatedUnderNewRulesIsSkipped() {
+        RewardSystem previous = new RewardSystem(TierTable.DEFAULT, 500);
+        RewardSystem doubled = new RewardSystem(TierTable.DEFAULT, 1_000);
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer bob = new Customer(2L, "Bob", 0L);
+        registry.upsert(bob);
+        doubled.checkReward(bob, Money.ofRupiah(1_000), System.currentTimeMillis());
+
+        RecomputeResult result = engine.recompute(registry, previous, doubled, null);
+
+        assertEquals(100, bob.getPoints());
+        assertEquals(1, result.getSkippedMembers());
+        assertEquals(0, result.getPointsDelta());
+    }
+
+    @Test
+    void clampedCorrectionIsReported() {
+        RewardSystem previous = new RewardSystem(TierTable.DEFAULT, 1_000);
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1L, "Alice", 0L);
+        registry.upsert(alice);
+        previous.checkReward(alice, Money.ofRupiah(1_000), System.currentTimeMillis());
+        alice.redeemPoints(80);
+        RewardSystem halved = new RewardSystem(TierTable.DEFAULT, 500);
+
+        RecomputeResult result = engine.recompute(registry, previous, halved, null);
+
+        // Koreksi -50, tetapi saldo tinggal 20
+        assertEquals(0, alice.getPoints());
+        assertEquals(-20, result.getPointsDelta());
+        assertEquals(30, result.getClampedPoints());
+        assertEquals(halved.getRulesFingerprint(), alice.getRulesFingerprint());
+    }
+
+    private static RewardSystem withBonusPromo(RewardSystem rewardSystem) {
+        rewardSystem.setPromotionEngine(new PromotionEngine(List.of(new PromotionRule("BONUS", 1,
+                PromotionRule.NO_MULTIPLIER, 500, PromotionRule.ANY_CATEGORY, 0, PromotionRule.ALL_DAYS,
+                PromotionRule.ALWAYS_VALID_FROM, PromotionRule.ALWAYS_VALID_UNTIL, false))));
+        return rewardSystem;
+    }
+
+    private static long[] balances(CustomerRegistry registry) {
+        long[] points = new long[2_001];
+        for (Customer customer : registry.snapshot()) {
+            points[(int) customer.getMemberId()] = customer.getPoints();
+        }
+        return points;
+    }
+}
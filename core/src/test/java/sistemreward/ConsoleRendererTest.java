@@ -0,0 +1,120 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link ConsoleRenderer}: isi banner reward dan penukaran, format
+ * bonus tier, dan satu banner utuh per pemanggilan walau dari banyak thread.
+ */
+class ConsoleRendererTest {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final ConsoleRenderer renderer =
+            new ConsoleRenderer(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+
+    @Test
+    void rewardBannerShowsPointsTierAndNextTier() {
+        renderer.renderReward(new RewardResult("Andi", Money.ofRupiah(150_000), 7_650, 7_650,
+                Tier.BRONZE, Tier.SILVER, Tier.GOLD, 1_250, 250));
+
+        String text = output();
+        assertTrue(text.contains("Pelanggan Andi mendapat 7650 poin baru!"), text);
+        assertTrue(text.contains("Total poin sekarang: 7650"), text);
+        assertTrue(text.contains("Tier: " + Tier.SILVER.getDisplayName()), text);
+        assertTrue(text.contains("bonus +2.5% poin!"), text);
+        assertTrue(text.contains("1250 poin lagi untuk naik ke Gold!"), text);
+    }
+
+    @Test
+    void highestTierHasNoNextTierMessage() {
+        renderer.renderReward(new RewardResult("Budi", Money.ofRupiah(10_000), 110, 9_000,
+                Tier.PLATINUM, Tier.PLATINUM, null, 0, 1_000));
+
+        String text = output();
+        assertTrue(text.contains("tier tertinggi dengan bonus +10% poin!"), text);
+        assertFalse(text.contains("naik ke"), text);
+    }
+
+    @Test
+    void redemptionMessagesFollowStatus() {
+        Voucher voucher = VoucherCatalog.DEFAULT.find("V50K");
+        renderer.renderRedemption(new RedemptionResult(RedemptionStatus.SUCCESS, "V50K", voucher, 400));
+        assertTrue(output().contains("Voucher Rp 50.000 telah ditukarkan!"));
+        assertTrue(output().contains("Sisa poin: 400"));
+
+        assertRedemption(new RedemptionResult(RedemptionStatus.INSUFFICIENT_POINTS, "V50K", voucher, 30),
+                "Anda memerlukan 100 poin", "Poin Anda saat ini: 30");
+        assertRedemption(new RedemptionResult(RedemptionStatus.OUT_OF_STOCK, "V50K", voucher, 30),
+                "Stok Voucher Rp 50.000 sudah habis!");
+        assertRedemption(new RedemptionResult(RedemptionStatus.NOT_VALID, "V50K", voucher, 30),
+                "Voucher Rp 50.000 sedang tidak berlaku!");
+        assertRedemption(new RedemptionResult(RedemptionStatus.NOT_FOUND, "XYZ", null, 30),
+                "Voucher XYZ tidak ditemukan!");
+        assertRedemption(new RedemptionResult(RedemptionStatus.NOT_FOUND, null, null, 30),
+                "Pilihan tidak valid!");
+    }
+
+    @Test
+    void tierInfoListsEveryTierRange() {
+        Customer customer = new Customer("Citra", 0);
+        customer.setPoints(600);
+
+        renderer.renderTierInfo(customer, TierTable.DEFAULT);
+
+        String text = output();
+        assertTrue(text.contains("Tier Anda Saat Ini: " + Tier.SILVER.getDisplayName()), text);
+        assertTrue(text.contains("Bronze   : 0 - 499 poin (Bonus: 0%)"), text);
+        assertTrue(text.contains("Silver   : 500 - 1999 poin (Bonus: +2%)"), text);
+        assertTrue(text.contains("Platinum : 5000+ poin (Bonus: +10%)"), text);
+    }
+
+    @Test
+    void concurrentBannersDoNotInterleave() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String name = "Member" + t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    renderer.renderReward(new RewardResult(name, 100, 5, 5,
+                            Tier.BRONZE, Tier.BRONZE, Tier.SILVER, 495, 0));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Setiap banner diawali baris kosong; isinya harus berurutan utuh
+        String[] banners = output().split("\n╔", -1);
+        assertEquals(801, banners.length);
+        for (int i = 1; i < banners.length; i++) {
+            assertTrue(banners[i].matches("(?s)═+╗\n.*REWARD BERHASIL.*\n✨ Pelanggan Member\\d mendapat 5 poin baru!\n"
+                    + "📊 Total poin sekarang: 5\n.*naik ke Silver!\n(\n)?"), banners[i]);
+        }
+    }
+
+    private void assertRedemption(RedemptionResult result, String... expected) {
+        bytes.reset();
+        renderer.renderRedemption(result);
+        String text = output();
+        for (String line : expected) {
+            assertTrue(text.contains(line), text);
+        }
+    }
+
+    private String output() {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link CustomerRegistry}: backward-shift deletion harus menjaga
+ * rantai probing tetap utuh tanpa tombstone.
+ */
+class CustomerRegistryTest {
+
+    @Test
+    void removeKeepsProbeChainsReachable() {
+        // Satu shard dan key berurutan memaksa cluster panjang yang saling bertumpuk
+        CustomerRegistry registry = new CustomerRegistry(1);
+        Map<Long, Customer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int round = 0; round < 20_000; round++) {
+            long id = 1 + random.nextInt(512);
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(id), registry.remove(id));
+            } else {
+                Customer customer = new Customer(id, "M" + id, 0L);
+                registry.upsert(customer);
+                expected.put(id, customer);
+            }
+            if (round % 1000 == 0) {
+                assertContents(expected, registry);
+            }
+        }
+        assertContents(expected, registry);
+    }
+
+    @Test
+    void removeMissingReturnsNull() {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        registry.upsert(new Customer(7L, "A", 0L));
+
+        assertNull(registry.remove(8L));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void putIfAbsentKeepsExisting() {
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer first = new Customer(7L, "A", 0L);
+        registry.upsert(first);
+
+        assertSame(first, registry.putIfAbsent(new Customer(7L, "B", 0L)));
+        assertSame(first, registry.get(7L));
+    }
+
+    private static void assertContents(Map<Long, Customer> expected, CustomerRegistry registry) {
+        assertEquals(expected.size(), registry.size());
+        for (long id = 1; id <= 512; id++) {
+            assertSame(expected.get(id), registry.get(id), "member " + id);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link ExpiryWheel}: cascade antar level tidak pernah memproses
+ * member sebelum deadline-nya, dan tidak ada member yang hilang.
+ */
+class ExpiryWheelTest {
+
+    @Test
+    void cascadeFiresEveryEntryOnItsTick() {
+        ExpiryWheel wheel = new ExpiryWheel(1, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Customer, Long> deadlines = new HashMap<>();
+        // Deadline tersebar di level 0 sampai level 2 (di atas 64² tick)
+        for (int i = 1; i <= 2_000; i++) {
+            Customer customer = new Customer(i, "M" + i, 0L);
+            long deadline = 1 + random.nextLong(300_000);
+            deadlines.put(customer, deadline);
+            wheel.schedule(customer, deadline);
+        }
+        assertEquals(2_000, wheel.size());
+
+        List<Customer> fired = new ArrayList<>();
+        long now = 0;
+        while (now < 300_000) {
+            now += 1 + random.nextInt(5_000);
+            long at = now;
+            wheel.advance(at, customer -> {
+                long deadline = deadlines.get(customer);
+                assertTrue(deadline <= at, "diproses sebelum deadline " + deadline + " pada " + at);
+                fired.add(customer);
+            });
+            deadlines.keySet().removeAll(fired);
+            fired.clear();
+            for (long deadline : deadlines.values()) {
+                assertTrue(deadline > at, "terlewat: deadline " + deadline + " pada " + at);
+            }
+        }
+        assertTrue(deadlines.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() {
+        ExpiryWheel wheel = new ExpiryWheel(10, 1_000);
+        Customer customer = new Customer(1L, "A", 0L);
+        wheel.schedule(customer, 500);
+
+        assertEquals(0, wheel.advance(1_009, c -> { }));
+        assertEquals(1, wheel.advance(1_010, c -> { }));
+    }
+
+    @Test
+    void farDeadlineSurvivesIdleJump() {
+        ExpiryWheel wheel = new ExpiryWheel(1, 0);
+        Customer customer = new Customer(1L, "A", 0L);
+        long deadline = (1L << 18) + 12_345;
+        wheel.schedule(customer, deadline);
+
+        assertEquals(0, wheel.advance(deadline - 1, c -> { }));
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advance(deadline, c -> { }));
+    }
+}
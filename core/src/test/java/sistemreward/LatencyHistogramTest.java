@@ -0,0 +1,132 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link LatencyHistogram}: index bucket log-linear, batas atas
+ * bucket, presisi relatif, dan kuantil dari banyak thread.
+ */
+class LatencyHistogramTest {
+
+    private static final int SUB = LatencyHistogram.SUB_BUCKETS;
+
+    @Test
+    void smallValuesAreExact() {
+        for (int value = 0; value < 2 * SUB; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.highestEquivalentValue(value));
+        }
+        // Setelah 2 * SUB_BUCKETS, lebar bucket mulai 2
+        int index = LatencyHistogram.indexOf(2 * SUB);
+        assertEquals(index, LatencyHistogram.indexOf(2 * SUB + 1));
+        assertEquals(2 * SUB + 1, LatencyHistogram.highestEquivalentValue(index));
+        assertEquals(index + 1, LatencyHistogram.indexOf(2 * SUB + 2));
+    }
+
+    @Test
+    void everyValueFallsInsideItsBucketWithinRelativeError() {
+        List<Long> values = new ArrayList<>();
+        for (int exponent = 0; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            values.add(power - 1);
+            values.add(power);
+            values.add(power + 1);
+        }
+        values.add(Long.MAX_VALUE);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 10_000; i++) {
+            values.add(random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63));
+        }
+
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            long lowest = index == 0 ? 0 : LatencyHistogram.highestEquivalentValue(index - 1) + 1;
+            assertTrue(lowest <= value && value <= highest, value + " di luar bucket " + index);
+            assertTrue(highest - lowest <= lowest / SUB, "bucket " + index + " terlalu lebar");
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void bucketsAreContiguousAndIncreasing() {
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        for (int index = 0; index < last; index++) {
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+            assertEquals(index + 1, LatencyHistogram.indexOf(highest + 1));
+        }
+    }
+
+    @Test
+    void snapshotReportsQuantilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(50_000_500, snapshot.getMeanNanos());
+        assertEquals(100_000_000, snapshot.getMaxNanos());
+        assertWithin(50_000_000, snapshot.getP50Nanos());
+        assertWithin(90_000_000, snapshot.getP90Nanos());
+        assertWithin(99_000_000, snapshot.getP99Nanos());
+        assertWithin(99_900_000, snapshot.getP999Nanos());
+    }
+
+    @Test
+    void emptyNegativeAndSingleSample() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getP99Nanos());
+
+        histogram.record(-5);
+        assertEquals(0, histogram.snapshot().getMaxNanos());
+
+        LatencyHistogram single = new LatencyHistogram();
+        single.record(1_000_003);
+        LatencySnapshot snapshot = single.snapshot();
+        // Kuantil dibatasi nilai maksimum, bukan batas atas bucket
+        assertEquals(1_000_003, snapshot.getP50Nanos());
+        assertEquals(1_000_003, snapshot.getP999Nanos());
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        assertEquals(80_000, snapshot.getCount());
+        assertEquals(10_000, snapshot.getMaxNanos());
+        assertWithin(5_000, snapshot.getP50Nanos());
+    }
+
+    /**
+     * Kuantil boleh melebihi nilai sebenarnya sebesar lebar satu bucket.
+     */
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / SUB,
+                "diharapkan sekitar " + expected + ", didapat " + actual);
+    }
+}
@@ -0,0 +1,132 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link MemberSummaryCache}: admisi W-TinyLFU, invalidasi, dan
+ * load yang bersamaan dengan invalidasi.
+ */
+class MemberSummaryCacheTest {
+
+    @Test
+    void hotMembersSurviveOneShotScan() {
+        RewardSystem rewardSystem = new RewardSystem();
+        AtomicInteger hotLoads = new AtomicInteger();
+        MemberSummaryCache cache = new MemberSummaryCache(rewardSystem, id -> {
+            if (id <= 100) {
+                hotLoads.incrementAndGet();
+            }
+            return new Customer(id, "M" + id, 0L);
+        }, 200);
+
+        for (int round = 0; round < 8; round++) {
+            for (long id = 1; id <= 100; id++) {
+                cache.get(id);
+            }
+        }
+        int loadsBeforeScan = hotLoads.get();
+        // Export semua member: setiap ID hanya dibaca sekali
+        for (long id = 10_000; id < 10_300; id++) {
+            cache.get(id);
+        }
+        for (long id = 1; id <= 100; id++) {
+            cache.get(id);
+        }
+
+        assertTrue(hotLoads.get() - loadsBeforeScan <= 5,
+                "member populer tergusur scan: " + (hotLoads.get() - loadsBeforeScan));
+        assertTrue(cache.size() <= 200);
+    }
+
+    @Test
+    void sizeNeverExceedsMaximum() {
+        MemberSummaryCache cache = new MemberSummaryCache(new RewardSystem(),
+                id -> new Customer(id, "M" + id, 0L), 1_000);
+        for (long id = 1; id <= 20_000; id++) {
+            cache.get(id % 3 == 0 ? id % 500 + 1 : id);
+            assertTrue(cache.size() <= 1_000);
+        }
+    }
+
+    @Test
+    void accrualInvalidatesSummary() {
+        RewardSystem rewardSystem = new RewardSystem();
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        MemberSummaryCache cache = new MemberSummaryCache(rewardSystem, registry::get, 100);
+        rewardSystem.setMemberSummaryCache(cache);
+
+        MemberSummary before = cache.get(1001L);
+        assertSame(before, cache.get(1001L));
+        rewardSystem.checkReward(alice, Money.ofRupiah(1_000), System.currentTimeMillis());
+
+        MemberSummary after = cache.get(1001L);
+        assertEquals(alice.getPoints(), after.getPoints());
+        assertEquals(1, after.getTransactionCount());
+        assertEquals(Money.ofRupiah(1_000), after.getRecentAmount(0));
+    }
+
+    @Test
+    void loadRacingInvalidationIsNotCached() {
+        RewardSystem rewardSystem = new RewardSystem();
+        AtomicReference<MemberSummaryCache> holder = new AtomicReference<>();
+        MemberSummaryCache cache = new MemberSummaryCache(rewardSystem, id -> {
+            // Saldo berubah selagi ringkasan sedang dihitung
+            holder.get().invalidate(id);
+            return new Customer(id, "M" + id, 0L);
+        }, 100);
+        holder.set(cache);
+
+        cache.get(7L);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidatingAnotherMemberKeepsConcurrentLoad() {
+        RewardSystem rewardSystem = new RewardSystem();
+        AtomicReference<MemberSummaryCache> holder = new AtomicReference<>();
+        MemberSummaryCache cache = new MemberSummaryCache(rewardSystem, id -> {
+            // Satu shard: member lain di shard yang sama berubah selagi member 7 dihitung
+            holder.get().invalidate(8L);
+            return new Customer(id, "M" + id, 0L);
+        }, 100);
+        holder.set(cache);
+
+        MemberSummary loaded = cache.get(7L);
+
+        assertEquals(1, cache.size());
+        assertSame(loaded, cache.get(7L));
+    }
+
+    @Test
+    void unknownMemberIsNotCached() {
+        MemberSummaryCache cache = new MemberSummaryCache(new RewardSystem(), id -> null, 100);
+
+        assertNull(cache.get(7L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void rollingSpendSummaryExpiresAtMonthBoundary() {
+        RewardSystem rewardSystem = new RewardSystem();
+        Customer alice = new Customer(1001L, "Alice", 0L);
+
+        assertEquals(Long.MAX_VALUE, rewardSystem.summarize(alice, 0).getValidUntilMillis());
+
+        rewardSystem.setTierQualification(TierQualification.ROLLING_SPEND);
+        long now = System.currentTimeMillis();
+        long validUntil = rewardSystem.summarize(alice, 0).getValidUntilMillis();
+        assertTrue(validUntil > now);
+        assertEquals(RollingSpend.nextMonthStart(now), validUntil);
+    }
+}
@@ -0,0 +1,46 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link Money}: konversi input desimal dan batas digitnya.
+ */
+class MoneyTest {
+
+    @Test
+    void decimalInputRoundsHalfUp() {
+        assertEquals(12_346, Money.ofRupiah(new BigDecimal("123.455")));
+        assertEquals(12_345, Money.ofRupiah(new BigDecimal("123.454999")));
+        assertEquals(150_000_000, Money.ofRupiah(new BigDecimal("1.5E6")));
+    }
+
+    @Test
+    void hugeExponentsAreRejectedQuickly() {
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            assertThrows(ArithmeticException.class, () -> Money.ofRupiah(new BigDecimal("1e999999999")));
+            assertThrows(ArithmeticException.class, () -> Money.ofRupiah(new BigDecimal("1e-999999999")));
+            assertThrows(ArithmeticException.class, () -> Money.ofRupiah(new BigDecimal("1e-19")));
+        });
+    }
+
+    @Test
+    void valuesBeyondLongAreRejected() {
+        assertThrows(ArithmeticException.class, () -> Money.ofRupiah(new BigDecimal("99999999999999999")));
+        assertThrows(ArithmeticException.class, () -> Money.ofRupiah(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE / 100 * 100, Money.ofRupiah(new BigDecimal(Long.MAX_VALUE / 100)));
+    }
+
+    @Test
+    void applyRateFloorsWithoutOverflow() {
+        assertEquals(5, Money.applyRate(Money.ofRupiah(100), 500, Money.BASIS_POINTS));
+        assertEquals(4, Money.applyRate(Money.ofRupiah(99), 500, Money.BASIS_POINTS));
+        assertEquals(Long.MAX_VALUE / 100 / 20, Money.applyRate(Long.MAX_VALUE, 500, Money.BASIS_POINTS));
+    }
+}
@@ -0,0 +1,147 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link PromotionEngine}: bitset lebih dari satu word, rule
+ * eksklusif, dan hasil yang sama dengan evaluasi rule satu per satu.
+ */
+class PromotionEngineTest {
+
+    private static final ZoneOffset WIB = ZoneOffset.ofHours(7);
+    /** Sabtu, 2 November 2024 12:00 WIB. */
+    private static final long SATURDAY = 1_730_523_600_000L;
+    /** Senin, 4 November 2024 12:00 WIB. */
+    private static final long MONDAY = SATURDAY + 2 * 86_400_000L;
+
+    @Test
+    void matchesRulesInEveryWord() {
+        List<PromotionRule> rules = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            rules.add(rule("C" + i, i, PromotionRule.NO_MULTIPLIER, i + 1, i, 0, false));
+        }
+        PromotionEngine engine = new PromotionEngine(rules);
+
+        assertEquals(1, engine.calculateBonus(100, 1, MONDAY, 0));
+        assertEquals(64, engine.calculateBonus(100, 1, MONDAY, 63));
+        assertEquals(65, engine.calculateBonus(100, 1, MONDAY, 64));
+        assertEquals(150, engine.calculateBonus(100, 1, MONDAY, 149));
+        assertEquals(0, engine.calculateBonus(100, 1, MONDAY, 150));
+        assertEquals(0, engine.calculateBonus(100, 1, MONDAY, PromotionEngine.NO_CATEGORY));
+    }
+
+    @Test
+    void exclusiveRuleStopsLowerPriorities() {
+        PromotionEngine engine = new PromotionEngine(List.of(
+                rule("DOUBLE", 30, 20_000, 0, PromotionRule.ANY_CATEGORY, 0, false),
+                rule("EXCLUSIVE", 20, 15_000, 10, PromotionRule.ANY_CATEGORY, Money.ofRupiah(100_000), true),
+                rule("BONUS", 10, PromotionRule.NO_MULTIPLIER, 500, PromotionRule.ANY_CATEGORY, 0, false)));
+
+        // Di bawah minimum belanja rule eksklusif: DOUBLE + BONUS
+        assertEquals(100 + 500, engine.calculateBonus(100, Money.ofRupiah(50_000), MONDAY, 3));
+        // DOUBLE + EXCLUSIVE = 1.5x tambahan, BONUS tidak dievaluasi
+        assertEquals(150 + 10, engine.calculateBonus(100, Money.ofRupiah(100_000), MONDAY, 3));
+    }
+
+    @Test
+    void zeroAmountNeverMatches() {
+        PromotionEngine engine = new PromotionEngine(List.of(
+                rule("BONUS", 10, PromotionRule.NO_MULTIPLIER, 500, PromotionRule.ANY_CATEGORY, 0, false)));
+
+        assertEquals(500, engine.calculateBonus(0, 1, MONDAY, PromotionEngine.NO_CATEGORY));
+        assertEquals(0, engine.calculateBonus(0, 0, MONDAY, PromotionEngine.NO_CATEGORY));
+        assertEquals(0, engine.calculateBonus(0, -100, MONDAY, PromotionEngine.NO_CATEGORY));
+    }
+
+    @Test
+    void weekendRuleFollowsWibCalendar() {
+        PromotionEngine engine = new PromotionEngine(List.of(new PromotionRule("WEEKEND2X", 10, 20_000, 0,
+                PromotionRule.ANY_CATEGORY, 0, PromotionRule.WEEKEND, PromotionRule.ALWAYS_VALID_FROM,
+                PromotionRule.ALWAYS_VALID_UNTIL, false)));
+
+        assertEquals(100, engine.calculateBonus(100, 1, SATURDAY, PromotionEngine.NO_CATEGORY));
+        assertEquals(0, engine.calculateBonus(100, 1, MONDAY, PromotionEngine.NO_CATEGORY));
+        // Senin 00:30 WIB masih Minggu di UTC
+        long mondayEarly = MONDAY - 11 * 3_600_000L - 30 * 60_000L;
+        assertEquals(0, engine.calculateBonus(100, 1, mondayEarly, PromotionEngine.NO_CATEGORY));
+    }
+
+    @Test
+    void duplicateIdIsRejected() {
+        List<PromotionRule> rules = List.of(
+                rule("DUP", 1, PromotionRule.NO_MULTIPLIER, 1, PromotionRule.ANY_CATEGORY, 0, false),
+                rule("DUP", 2, PromotionRule.NO_MULTIPLIER, 1, PromotionRule.ANY_CATEGORY, 0, false));
+
+        assertThrows(IllegalArgumentException.class, () -> new PromotionEngine(rules));
+    }
+
+    @Test
+    void matchesRuleByRuleEvaluation() {
+        SplittableRandom random = new SplittableRandom(11);
+        List<PromotionRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long from = random.nextInt(4) == 0 ? PromotionRule.ALWAYS_VALID_FROM
+                    : SATURDAY + random.nextLong(-30, 30) * 86_400_000L;
+            long until = random.nextInt(4) == 0 ? PromotionRule.ALWAYS_VALID_UNTIL
+                    : Math.max(from, SATURDAY - 30 * 86_400_000L) + random.nextLong(1, 40) * 86_400_000L;
+            rules.add(new PromotionRule("R" + i, random.nextInt(50),
+                    PromotionRule.NO_MULTIPLIER + random.nextInt(3) * 2_500L, random.nextInt(20),
+                    random.nextInt(3) == 0 ? PromotionRule.ANY_CATEGORY : random.nextInt(10),
+                    Money.ofRupiah(random.nextInt(5) * 50_000L), 1 + random.nextInt(PromotionRule.ALL_DAYS),
+                    from, until, random.nextInt(25) == 0));
+        }
+        PromotionEngine engine = new PromotionEngine(rules);
+        List<PromotionRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(PromotionRule::getPriority).reversed());
+
+        for (int i = 0; i < 5_000; i++) {
+            long basePoints = random.nextLong(0, 100_000);
+            long amount = Money.ofRupiah(random.nextInt(300_000));
+            long time = SATURDAY + random.nextLong(-40L * 86_400_000L, 40L * 86_400_000L);
+            int category = random.nextInt(12) - 1;
+            assertEquals(expectedBonus(ordered, basePoints, amount, time, category),
+                    engine.calculateBonus(basePoints, amount, time, category));
+        }
+    }
+
+    private static long expectedBonus(List<PromotionRule> ordered, long basePoints, long amount, long time,
+                                      int category) {
+        if (amount <= 0) {
+            return 0;
+        }
+        DayOfWeek day = Instant.ofEpochMilli(time).atOffset(WIB).getDayOfWeek();
+        long extra = 0;
+        long bonus = 0;
+        for (PromotionRule rule : ordered) {
+            boolean matches = (rule.getCategory() == PromotionRule.ANY_CATEGORY || rule.getCategory() == category)
+                    && (rule.getDayMask() & PromotionRule.days(day)) != 0
+                    && amount >= rule.getMinAmount()
+                    && time >= rule.getValidFrom() && time < rule.getValidUntil();
+            if (matches) {
+                extra += rule.getMultiplierBasisPoints() - PromotionRule.NO_MULTIPLIER;
+                bonus += rule.getBonusPoints();
+                if (rule.isExclusive()) {
+                    break;
+                }
+            }
+        }
+        return basePoints * extra / Money.BASIS_POINTS + bonus;
+    }
+
+    private static PromotionRule rule(String id, int priority, long multiplier, long bonus, int category,
+                                      long minAmount, boolean exclusive) {
+        return new PromotionRule(id, priority, multiplier, bonus, category, minAmount, PromotionRule.ALL_DAYS,
+                PromotionRule.ALWAYS_VALID_FROM, PromotionRule.ALWAYS_VALID_UNTIL, exclusive);
+    }
+}
@@ -0,0 +1,100 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link RewardHttpServer}: input yang tidak valid menjadi 4xx,
+ * sedangkan exception dari engine menjadi 500 tanpa detail.
+ */
+class RewardHttpServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private RewardHttpServer server;
+
+    @AfterEach
+    void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+        client.close();
+    }
+
+    @Test
+    void registerAndAccrue() throws Exception {
+        start(new RewardSystem());
+
+        assertEquals(201, post("/members", "{\"memberId\":1,\"name\":\"Alice\"}").statusCode());
+        assertEquals(409, post("/members", "{\"memberId\":1,\"name\":\"Alice\"}").statusCode());
+
+        HttpResponse<String> accrual = post("/members/1/transactions", "{\"amount\":\"1000\"}");
+        assertEquals(200, accrual.statusCode());
+        assertTrue(accrual.body().contains("\"earnedPoints\":50"), accrual.body());
+
+        HttpResponse<String> history = get("/members/1/history?limit=10");
+        assertEquals(200, history.statusCode());
+        assertTrue(history.body().contains("\"nextCursor\":-1"), history.body());
+    }
+
+    @Test
+    void invalidInputIsRejectedWith4xx() throws Exception {
+        start(new RewardSystem());
+        post("/members", "{\"memberId\":1,\"name\":\"Alice\"}");
+
+        assertEquals(400, post("/members/1/transactions", "{\"amount\":\"abc\"}").statusCode());
+        assertEquals(400, post("/members/1/transactions", "{\"amount\":\"-5\"}").statusCode());
+        assertEquals(400, post("/members/1/transactions", "{\"amount\":\"1e999999999\"}").statusCode());
+        assertEquals(400, post("/members/1/transactions", "{\"amount\":").statusCode());
+        assertEquals(400, get("/members/1/history?cursor=5").statusCode());
+        assertEquals(400, get("/members/1/history?limit=4294967301").statusCode());
+        assertEquals(404, get("/members/2").statusCode());
+        assertEquals(404, get("/unknown").statusCode());
+        assertEquals(405, get("/members/1/transactions").statusCode());
+    }
+
+    @Test
+    void engineFailureBecomesGeneric500() throws Exception {
+        RewardSystem failing = new RewardSystem() {
+            @Override
+            public RewardResult checkReward(Customer customer, long amount, long epochMillis, int category) {
+                throw new IllegalArgumentException("detail internal engine");
+            }
+        };
+        start(failing);
+        post("/members", "{\"memberId\":1,\"name\":\"Alice\"}");
+
+        HttpResponse<String> response = post("/members/1/transactions", "{\"amount\":\"1000\"}");
+
+        assertEquals(500, response.statusCode());
+        assertFalse(response.body().contains("detail internal engine"), response.body());
+        assertEquals(1, failing.getMetrics().getServerErrorCount());
+    }
+
+    private void start(RewardSystem rewardSystem) throws IOException {
+        server = RewardHttpServer.start(new InetSocketAddress("127.0.0.1", 0), rewardSystem, new CustomerRegistry(4));
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
@@ -0,0 +1,134 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link RewardSystem}: redeem yang berjalan bersamaan dengan
+ * kadaluarsa poin, waktu lot, transaksi kosong, dan rebuild rolling spend.
+ */
+class RewardSystemTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void redeemRacingExpiryKeepsBalanceEqualToLots() throws Exception {
+        PointExpiry expiry = new PointExpiry(1_000, 1, 0);
+        Customer customer = new Customer(1L, "Alice", 0L);
+        for (int i = 0; i < 10_000; i++) {
+            expiry.accrue(customer, 10, i);
+        }
+        PointLots lots = customer.getPointLots();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> violation = new AtomicReference<>();
+
+        Thread redeemer = new Thread(() -> {
+            while (running.get()) {
+                customer.redeemPoints(7);
+            }
+        });
+        Thread checker = new Thread(() -> {
+            while (running.get()) {
+                synchronized (lots) {
+                    if (customer.getPoints() != lots.getTotal()) {
+                        violation.compareAndSet(null, customer.getPoints() + " != " + lots.getTotal());
+                    }
+                }
+            }
+        });
+        redeemer.start();
+        checker.start();
+        for (long now = 0; now <= 12_000; now += 3) {
+            expiry.expireDue(now);
+        }
+        running.set(false);
+        redeemer.join();
+        checker.join();
+
+        assertEquals(null, violation.get());
+        assertEquals(0, customer.getPoints());
+        assertEquals(0, lots.getTotal());
+        assertEquals(100_000, customer.getRedeemedPoints() + customer.getExpiredPoints());
+    }
+
+    @Test
+    void lotExpiresFromTransactionTime() {
+        RewardSystem rewardSystem = new RewardSystem();
+        long validity = 365 * DAY;
+        long earnedAt = (System.currentTimeMillis() / DAY - 30) * DAY;
+        rewardSystem.setPointExpiry(new PointExpiry(validity, DAY, earnedAt));
+        Customer customer = new Customer(1L, "Alice", 0L);
+
+        long earned = rewardSystem.checkReward(customer, Money.ofRupiah(10_000), earnedAt).getEarnedPoints();
+
+        assertTrue(earned > 0);
+        assertArrayEquals(new long[] {earned, earnedAt + validity}, customer.getPointLots().toArray());
+        assertEquals(0, rewardSystem.expirePoints(earnedAt + validity - 1).getExpiredPoints());
+        assertEquals(earned, rewardSystem.expirePoints(earnedAt + validity).getExpiredPoints());
+        assertEquals(0, customer.getPoints());
+    }
+
+    @Test
+    void zeroAmountTransactionsAreNotRecorded() {
+        RewardSystem rewardSystem = new RewardSystem();
+        rewardSystem.setPromotionEngine(new PromotionEngine(List.of(new PromotionRule("BONUS", 1,
+                PromotionRule.NO_MULTIPLIER, 500, PromotionRule.ANY_CATEGORY, 0, PromotionRule.ALL_DAYS,
+                PromotionRule.ALWAYS_VALID_FROM, PromotionRule.ALWAYS_VALID_UNTIL, false))));
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer customer = new Customer(1L, "Alice", 0L);
+        registry.upsert(customer);
+
+        assertEquals(0, rewardSystem.checkReward(customer, 0, System.currentTimeMillis()).getEarnedPoints());
+        TransactionBatch batch = new TransactionBatch(4);
+        batch.add(1L, 0, System.currentTimeMillis());
+        batch.add(1L, 0, System.currentTimeMillis());
+        BatchResult result = rewardSystem.processBatch(registry, batch);
+
+        assertEquals(2, result.getAppliedRecords());
+        assertEquals(0, result.getPointsEarned());
+        assertEquals(0, customer.getPoints());
+        assertEquals(0, customer.getTransactionHistory().size());
+    }
+
+    @Test
+    void rebuildRollingSpendFromLedger() throws Exception {
+        long now = System.currentTimeMillis();
+        try (TransactionLedger ledger = TransactionLedger.open(directory, 4096)) {
+            RewardSystem rewardSystem = new RewardSystem();
+            rewardSystem.setLedger(ledger);
+            Customer customer = new Customer(1L, "Alice", 0L);
+            rewardSystem.checkReward(customer, Money.ofRupiah(100), now - 10 * DAY);
+            rewardSystem.checkReward(customer, Money.ofRupiah(200), now - 40 * DAY);
+            rewardSystem.checkReward(customer, Money.ofRupiah(400), now - 400 * DAY);
+            rewardSystem.checkReward(new Customer(2L, "Bob", 0L), Money.ofRupiah(800), now - DAY);
+        }
+
+        // Setelah restart: saldo dari journal, rolling spend kosong
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1L, "Alice", 0L);
+        registry.upsert(alice);
+        try (TransactionLedger ledger = TransactionLedger.open(directory, 4096)) {
+            RewardSystem rewardSystem = new RewardSystem();
+            assertThrows(IllegalStateException.class, () -> rewardSystem.rebuildRollingSpend(registry));
+            rewardSystem.setLedger(ledger);
+            rewardSystem.rebuildRollingSpend(registry);
+            rewardSystem.rebuildRollingSpend(registry);
+        }
+
+        assertEquals(Money.ofRupiah(300), alice.getRollingSpend().getTotal(now));
+    }
+}
@@ -0,0 +1,67 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link RollingSpend}: pergantian bulan di zona WIB dan bucket
+ * yang keluar dari jendela.
+ */
+class RollingSpendTest {
+
+    @Test
+    void monthBoundaryFollowsBusinessZone() {
+        RollingSpend spend = new RollingSpend(2);
+        // 31 Januari 23:30 WIB = 31 Januari 16:30 UTC, 1 Februari 00:30 WIB = 31 Januari 17:30 UTC
+        long januaryLate = at(2025, 1, 31, 23, 30);
+        long februaryEarly = at(2025, 2, 1, 0, 30);
+        spend.add(100, januaryLate);
+        spend.add(200, februaryEarly);
+
+        assertEquals(300, spend.getTotal(februaryEarly));
+        assertEquals(100, spend.getTotal(januaryLate));
+        assertEquals(BusinessClock.startOfDay(LocalDate.of(2025, 2, 1)),
+                RollingSpend.nextMonthStart(januaryLate));
+    }
+
+    @Test
+    void oldBucketsLeaveTheWindow() {
+        RollingSpend spend = new RollingSpend(3);
+        spend.add(1, at(2025, 1, 15, 12, 0));
+        spend.add(10, at(2025, 2, 15, 12, 0));
+        spend.add(100, at(2025, 3, 15, 12, 0));
+
+        assertEquals(111, spend.getTotal(at(2025, 3, 31, 23, 59)));
+        assertEquals(110, spend.getTotal(at(2025, 4, 1, 0, 0)));
+        assertEquals(100, spend.getTotal(at(2025, 5, 1, 0, 0)));
+        assertEquals(0, spend.getTotal(at(2026, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void spendOutsideWindowIsIgnored() {
+        RollingSpend spend = new RollingSpend(12);
+        spend.add(500, at(2025, 6, 1, 0, 0));
+        spend.add(7, at(2024, 6, 1, 0, 0));
+        spend.add(3, at(2024, 7, 1, 0, 0));
+
+        assertEquals(503, spend.getTotal(at(2025, 6, 2, 0, 0)));
+    }
+
+    @Test
+    void clearResetsWindow() {
+        RollingSpend spend = new RollingSpend(12);
+        spend.add(500, at(2025, 6, 1, 0, 0));
+        spend.clear();
+        spend.add(5, at(2024, 1, 1, 0, 0));
+
+        assertEquals(5, spend.getTotal(at(2024, 1, 2, 0, 0)));
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).toInstant(BusinessClock.ZONE).toEpochMilli();
+    }
+}
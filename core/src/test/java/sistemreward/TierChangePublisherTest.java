@@ -0,0 +1,105 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link TierChangePublisher}: urutan pengiriman, antrian penuh,
+ * executor yang menolak task, dan close.
+ */
+class TierChangePublisherTest {
+
+    @Test
+    void closeDeliversQueuedEventsInOrder() {
+        TierChangePublisher publisher = new TierChangePublisher();
+        List<Long> received = new ArrayList<>();
+        TierChangePublisher.Subscription subscription = publisher.subscribe("log", event -> {
+            received.add(event.getMemberId());
+        });
+        for (long id = 0; id < 500; id++) {
+            publisher.publish(event(id));
+        }
+
+        publisher.close();
+
+        assertEquals(500, subscription.getDelivered());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void fullQueueDropsNewestEvents() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        TierChangePublisher publisher = new TierChangePublisher(tasks::add);
+        TierChangePublisher.Subscription subscription = publisher.subscribe("crm", event -> { }, 2);
+        for (long id = 0; id < 5; id++) {
+            publisher.publish(event(id));
+        }
+        assertEquals(2, subscription.getQueueDepth());
+        assertEquals(3, subscription.getDropped());
+
+        tasks.remove().run();
+
+        assertEquals(0, subscription.getQueueDepth());
+        assertEquals(2, subscription.getDelivered());
+    }
+
+    @Test
+    void rejectedExecutionCountsQueuedEventsAsDropped() {
+        TierChangePublisher publisher = new TierChangePublisher(task -> {
+            throw new RejectedExecutionException("shutdown");
+        });
+        TierChangePublisher.Subscription subscription = publisher.subscribe("crm", event -> { });
+
+        publisher.publish(event(1));
+        publisher.publish(event(2));
+
+        assertEquals(0, subscription.getQueueDepth());
+        assertEquals(2, subscription.getDropped());
+        assertEquals(0, subscription.getDelivered());
+    }
+
+    @Test
+    void publishAfterCloseIsDropped() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        TierChangePublisher publisher = new TierChangePublisher(tasks::add);
+        TierChangePublisher.Subscription subscription = publisher.subscribe("crm", event -> { });
+        publisher.close();
+
+        publisher.publish(event(1));
+
+        assertEquals(1, subscription.getDropped());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    void failingListenerDoesNotStopDelivery() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        TierChangePublisher publisher = new TierChangePublisher(tasks::add);
+        TierChangePublisher.Subscription subscription = publisher.subscribe("crm", event -> {
+            if (event.getMemberId() == 1) {
+                throw new IllegalStateException("CRM down");
+            }
+        });
+        for (long id = 0; id < 3; id++) {
+            publisher.publish(event(id));
+        }
+
+        tasks.remove().run();
+
+        assertEquals(1, subscription.getFailed());
+        assertEquals(2, subscription.getDelivered());
+    }
+
+    private static TierChangeEvent event(long memberId) {
+        return new TierChangeEvent(memberId, "M" + memberId, Tier.BRONZE, Tier.SILVER, 1_000L);
+    }
+}
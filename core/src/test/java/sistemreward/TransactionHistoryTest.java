@@ -0,0 +1,78 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test untuk {@link TransactionHistory}: paging mundur dengan cursor dan
+ * query rentang waktu untuk history yang urut maupun tidak.
+ */
+class TransactionHistoryTest {
+
+    @Test
+    void readBackwardPagesNewestFirst() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 7; i++) {
+            history.append(i * 10L, 1_000L + i);
+        }
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Long> cursors = new ArrayList<>();
+        long cursor = TransactionLedger.NEWEST;
+        while (cursor != TransactionLedger.END) {
+            cursor = history.readBackward(cursor, 3, (index, amount, time) -> {
+                assertEquals(index * 10L, amount);
+                indexes.add(index);
+            });
+            cursors.add(cursor);
+        }
+
+        assertEquals(List.of(6, 5, 4, 3, 2, 1, 0), indexes);
+        assertEquals(List.of(3L, 0L, TransactionLedger.END), cursors);
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(100, 1_000L);
+        TransactionHistory.Visitor ignore = (index, amount, time) -> { };
+
+        assertThrows(IllegalArgumentException.class, () -> history.readBackward(1, 10, ignore));
+        assertThrows(IllegalArgumentException.class, () -> history.readBackward(-2, 10, ignore));
+        assertEquals(TransactionLedger.END, history.readBackward(TransactionLedger.END, 10, ignore));
+        assertEquals(TransactionLedger.END, new TransactionHistory().readBackward(TransactionLedger.NEWEST, 10, ignore));
+    }
+
+    @Test
+    void rangeQueryHandlesUnsortedHistory() {
+        TransactionHistory history = new TransactionHistory();
+        history.append(100, 5_000L);
+        history.append(200, 1_000L);
+        history.append(300, 6_000L);
+
+        List<Long> amounts = new ArrayList<>();
+        history.forEachInRange(4_000L, 7_000L, (index, amount, time) -> amounts.add(amount));
+
+        assertEquals(List.of(100L, 300L), amounts);
+        assertEquals(List.of(200L), history.stream(0L, 2_000L)
+                .map(Transaction::getAmount).collect(Collectors.toList()));
+    }
+
+    @Test
+    void rangeQueryOnSortedHistoryUsesBounds() {
+        TransactionHistory history = new TransactionHistory();
+        for (int i = 0; i < 100; i++) {
+            history.append(i, 1_000L + i);
+        }
+
+        assertEquals(List.of(10L, 11L, 12L), history.stream(1_010L, 1_013L)
+                .map(Transaction::getAmount).collect(Collectors.toList()));
+        assertEquals(0, history.stream(2_000L, 3_000L).count());
+    }
+}
@@ -0,0 +1,193 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link TransactionImporter}: variasi CSV dan NDJSON, pembulatan
+ * nominal, baris tidak valid, baris yang terpotong di batas buffer, dan batching.
+ */
+class TransactionImporterTest {
+
+    private final List<long[]> records = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @Test
+    void csvAcceptsHeaderSeparatorsSpacesAndCrlf() throws IOException {
+        ImportResult result = run(TransactionImporter.Format.CSV, 16, 1 << 10,
+                "memberId,amount,timestamp\r\n"
+                + "1001,150000,1730000000000\r\n"
+                + "\r\n"
+                + "  1002 ; 75000.50 ;1730000000123\n"
+                + "1003,\t0,0");
+
+        assertEquals(3, result.getLines());
+        assertEquals(3, result.getRecords());
+        assertEquals(0, result.getMalformedLines());
+        assertEquals(-1, result.getFirstMalformedLine());
+        assertRecord(0, 1001, 15_000_000, 1_730_000_000_000L);
+        assertRecord(1, 1002, 7_500_050, 1_730_000_000_123L);
+        assertRecord(2, 1003, 0, 0);
+    }
+
+    @Test
+    void amountIsRoundedHalfUpToSen() throws IOException {
+        ImportResult result = run(TransactionImporter.Format.CSV, 16, 1 << 10,
+                "1,0.004,0\n1,0.005,0\n1,1.999,0\n1,2.5,0\n1,3.12999,0\n1,10.,0\n");
+
+        // "10." tanpa digit desimal tidak valid
+        assertEquals(1, result.getMalformedLines());
+        assertEquals(5, records.size());
+        long[] expected = {0, 1, 200, 250, 313};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], records.get(i)[1], "baris " + (i + 1));
+        }
+    }
+
+    @Test
+    void malformedCsvLinesAreCountedAndSkipped() throws IOException {
+        ImportResult result = run(TransactionImporter.Format.CSV, 16, 1 << 10,
+                "1001,100,1\n"
+                + "abc,100,1\n"
+                + "1002,100\n"
+                + "1003,-100,1\n"
+                + "1004,100,1,extra\n"
+                + "1005|100|1\n"
+                + "99999999999999999999,100,1\n"
+                + "1006,100,1\n");
+
+        assertEquals(8, result.getLines());
+        assertEquals(6, result.getMalformedLines());
+        assertEquals(2, result.getFirstMalformedLine());
+        assertEquals(2, result.getRecords());
+        assertRecord(1, 1006, 10_000, 1);
+    }
+
+    @Test
+    void ndjsonAcceptsAnyFieldOrderAndIgnoresOtherFields() throws IOException {
+        ImportResult result = run(TransactionImporter.Format.NDJSON, 16, 1 << 10,
+                "{\"memberId\":1001,\"amount\":150000,\"timestamp\":1730000000000}\n"
+                + " { \"timestamp\" : 5 , \"store\":\"Jl. \\\"Sudirman\\\", Jakarta\", \"amount\":\"75000.50\","
+                + " \"memberId\":\"1002\", \"void\":false, \"note\":null }\r\n");
+
+        assertEquals(0, result.getMalformedLines());
+        assertRecord(0, 1001, 15_000_000, 1_730_000_000_000L);
+        assertRecord(1, 1002, 7_500_050, 5);
+    }
+
+    @Test
+    void malformedJsonLinesAreCountedAndSkipped() throws IOException {
+        ImportResult result = run(TransactionImporter.Format.NDJSON, 16, 1 << 10,
+                "{\"memberId\":1,\"amount\":100}\n"
+                + "{}\n"
+                + "[1,2,3]\n"
+                + "{\"memberId\":1,\"amount\":100,\"timestamp\":1,\"items\":[1,2]}\n"
+                + "{\"memberId\":1,\"amount\":-100,\"timestamp\":1}\n"
+                + "{\"memberId\":1,\"amount\":100,\"timestamp\":1} trailing\n"
+                + "{\"memberId\":1,\"amount\":\"100,\"timestamp\":1}\n"
+                + "{\"memberId\":1,\"amount\":100,\"timestamp\":1\n"
+                + "{\"memberId\":7,\"amount\":100,\"timestamp\":1}\n");
+
+        assertEquals(9, result.getLines());
+        assertEquals(8, result.getMalformedLines());
+        assertEquals(1, result.getFirstMalformedLine());
+        assertEquals(1, records.size());
+        assertRecord(0, 7, 10_000, 1);
+    }
+
+    @Test
+    void linesSpanningBufferBoundariesAreParsedWhole() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            text.append(i).append(',').append(i * 3).append('.').append(i % 100).append(',').append(i * 7).append('\n');
+        }
+
+        ImportResult result = run(TransactionImporter.Format.CSV, 64, 24, text.toString());
+
+        assertEquals(text.length(), result.getBytes());
+        assertEquals(1_000, result.getRecords());
+        assertEquals(0, result.getMalformedLines());
+        for (int i = 0; i < 1_000; i++) {
+            assertRecord(i, i, i * 300L + (i % 100 < 10 ? (i % 100) * 10 : i % 100), i * 7L);
+        }
+    }
+
+    @Test
+    void lineLongerThanBufferFailsImport() {
+        String line = "1001,150000,1730000000000" + " ".repeat(64) + "\n";
+
+        IOException error = assertThrows(IOException.class,
+                () -> run(TransactionImporter.Format.CSV, 16, 32, "1,1,1\n" + line));
+        assertTrue(error.getMessage().contains("Baris 2"), error.getMessage());
+    }
+
+    @Test
+    void recordsAreHandedOverInBatchesAndCountersAreSummed() throws IOException {
+        TransactionImporter importer = new TransactionImporter(batch -> {
+            batchSizes.add(batch.size());
+            return new BatchResult(batch.size(), batch.size() - 1, 1, 0, batch.size() - 1, 10, 1);
+        }, 2, 1 << 10);
+
+        ImportResult result = importer.importChannel(channel("1,1,1\n2,2,2\n3,3,3\n4,4,4\n5,5,5\n"),
+                TransactionImporter.Format.CSV);
+
+        assertEquals(List.of(2, 2, 1), batchSizes);
+        assertEquals(3, result.getBatches());
+        assertEquals(5, result.getRecords());
+        assertEquals(2, result.getAppliedRecords());
+        assertEquals(3, result.getUnknownMemberRecords());
+        assertEquals(30, result.getPointsEarned());
+        assertEquals(3, result.getTierChanges());
+    }
+
+    @Test
+    void importFileDetectsFormatFromExtension(@TempDir Path directory) throws IOException {
+        assertEquals(TransactionImporter.Format.NDJSON, TransactionImporter.Format.detect(Path.of("pos.JSONL")));
+        assertEquals(TransactionImporter.Format.NDJSON, TransactionImporter.Format.detect(Path.of("pos.ndjson")));
+        assertEquals(TransactionImporter.Format.CSV, TransactionImporter.Format.detect(Path.of("pos.txt")));
+
+        Path file = Files.writeString(directory.resolve("pos.ndjson"),
+                "{\"memberId\":1,\"amount\":2,\"timestamp\":3}\n", StandardCharsets.UTF_8);
+        ImportResult result = importer(16, 1 << 10).importFile(file);
+
+        assertEquals(1, result.getRecords());
+        assertRecord(0, 1, 200, 3);
+    }
+
+    private ImportResult run(TransactionImporter.Format format, int batchSize, int bufferSize, String text)
+            throws IOException {
+        return importer(batchSize, bufferSize).importChannel(channel(text), format);
+    }
+
+    private TransactionImporter importer(int batchSize, int bufferSize) {
+        return new TransactionImporter(batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                records.add(new long[] {batch.getMemberId(i), batch.getAmount(i), batch.getTimestamp(i)});
+            }
+            return new BatchResult(batch.size(), batch.size(), 0, 0, batch.size(), 0, 0);
+        }, batchSize, bufferSize);
+    }
+
+    private static ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void assertRecord(int index, long memberId, long amountSen, long timestamp) {
+        assertArrayEquals(new long[] {memberId, amountSen, timestamp}, records.get(index), "record " + index);
+    }
+}
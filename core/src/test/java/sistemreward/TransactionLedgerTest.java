@@ -0,0 +1,177 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link TransactionLedger}: paging mundur lintas segment, validasi
+ * cursor, query rentang waktu, dan recovery dari tail yang robek atau segment
+ * yang hilang.
+ */
+class TransactionLedgerTest {
+
+    /** Sepuluh record per segment. */
+    private static final int SEGMENT_SIZE = 10 * TransactionLedger.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readBackwardPagesAcrossSegments() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 25; i++) {
+                ledger.append(i % 2 == 0 ? 1L : 2L, i, 1_000L + i);
+            }
+            assertEquals(13, ledger.count(1L));
+            assertEquals(12, ledger.count(2L));
+
+            List<Long> amounts = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            long cursor = TransactionLedger.NEWEST;
+            while (cursor != TransactionLedger.END) {
+                cursor = ledger.readBackward(1L, cursor, 3, (index, amount, time) -> {
+                    indexes.add(index);
+                    amounts.add(amount);
+                });
+            }
+            assertEquals(13, amounts.size());
+            for (int k = 0; k < 13; k++) {
+                assertEquals(12 - k, indexes.get(k));
+                assertEquals(2L * (12 - k), amounts.get(k));
+            }
+        }
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            ledger.append(1L, 100, 1_000L);
+            long bobRecord = ledger.append(2L, 200, 1_000L);
+            TransactionHistory.Visitor ignore = (index, amount, time) -> { };
+
+            assertThrows(IllegalArgumentException.class, () -> ledger.readBackward(1L, 2, 10, ignore));
+            assertThrows(IllegalArgumentException.class, () -> ledger.readBackward(1L, 1_000_000, 10, ignore));
+            assertThrows(IllegalArgumentException.class, () -> ledger.readBackward(1L, -5, 10, ignore));
+            assertThrows(IllegalArgumentException.class, () -> ledger.readBackward(1L, bobRecord, 10, ignore));
+            assertEquals(TransactionLedger.END, ledger.readBackward(1L, TransactionLedger.END, 10, ignore));
+            assertEquals(TransactionLedger.END, ledger.readBackward(3L, TransactionLedger.NEWEST, 10, ignore));
+        }
+    }
+
+    @Test
+    void recoveryStopsAtBrokenChain() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 6; i++) {
+                ledger.append(1L, 100 + i, 1_000L + i);
+            }
+        }
+        // Writeback tidak berurutan: record 3 hanya sebagian yang sampai ke disk
+        try (FileChannel channel = FileChannel.open(directory.resolve("ledger-00000000.seg"),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 99L), 3L * TransactionLedger.RECORD_SIZE + 32);
+        }
+
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            assertEquals(3, ledger.count(1L));
+            assertEquals(3, ledger.append(1L, 500, 2_000L));
+        }
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            List<Long> amounts = new ArrayList<>();
+            ledger.forEach((memberId, amount, time) -> amounts.add(amount));
+            assertEquals(List.of(100L, 101L, 102L, 500L), amounts);
+        }
+    }
+
+    @Test
+    void missingSegmentIsRejected() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 25; i++) {
+                ledger.append(1L, i, 1_000L + i);
+            }
+        }
+        Files.delete(directory.resolve("ledger-00000001.seg"));
+
+        assertThrows(IOException.class, () -> TransactionLedger.open(directory, SEGMENT_SIZE));
+    }
+
+    @Test
+    void differentSegmentSizeIsRejected() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            ledger.append(1L, 100, 1_000L);
+        }
+
+        assertThrows(IOException.class, () -> TransactionLedger.open(directory, 2 * SEGMENT_SIZE));
+    }
+
+    @Test
+    void forEachVisitsRecordsInOrder() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 15; i++) {
+                ledger.append(1L + i % 3, i, 1_000L + i);
+            }
+            List<Long> members = new ArrayList<>();
+            List<Long> times = new ArrayList<>();
+            ledger.forEach((memberId, amount, time) -> {
+                members.add(memberId);
+                times.add(time);
+            });
+            for (int i = 0; i < 15; i++) {
+                assertEquals(1L + i % 3, members.get(i));
+                assertEquals(1_000L + i, times.get(i));
+            }
+        }
+    }
+
+    @Test
+    void rangeQueryReturnsNewestFirst() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            for (int i = 0; i < 30; i++) {
+                ledger.append(1L + i % 2, i, 1_000L + i);
+            }
+            List<Long> times = new ArrayList<>();
+            ledger.forEachInRange(1L, 1_010L, 1_020L, (index, amount, time) -> {
+                assertEquals(time - 1_000L, 2L * index);
+                times.add(time);
+            });
+            assertEquals(List.of(1_018L, 1_016L, 1_014L, 1_012L, 1_010L), times);
+
+            assertEquals(times, ledger.stream(1L, 1_010L, 1_020L)
+                    .map(Transaction::getEpochMillis).collect(Collectors.toList()));
+            assertEquals(List.of(1_018L), ledger.stream(1L, 1_010L, 1_020L).limit(1)
+                    .map(Transaction::getEpochMillis).collect(Collectors.toList()));
+            assertEquals(0, ledger.stream(3L, 0L, Long.MAX_VALUE).count());
+        }
+    }
+
+    @Test
+    void rangeQueryScansFullChainAfterOutOfOrderTransaction() throws IOException {
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            ledger.append(1L, 100, 5_000L);
+            // Import data lama: transaksi lebih tua dicatat belakangan
+            ledger.append(1L, 200, 1_000L);
+            ledger.append(1L, 300, 6_000L);
+            ledger.append(1L, 400, 2_000L);
+        }
+        try (TransactionLedger ledger = TransactionLedger.open(directory, SEGMENT_SIZE)) {
+            List<Long> amounts = new ArrayList<>();
+            ledger.forEachInRange(1L, 4_000L, 7_000L, (index, amount, time) -> amounts.add(amount));
+            assertEquals(List.of(300L, 100L), amounts);
+
+            assertEquals(List.of(400L, 200L), ledger.stream(1L, 0L, 3_000L)
+                    .map(Transaction::getAmount).collect(Collectors.toList()));
+        }
+    }
+}
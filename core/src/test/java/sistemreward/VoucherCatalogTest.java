@@ -0,0 +1,104 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link VoucherCatalog}: format file, masa berlaku di zona WIB,
+ * lookup by ID dan urutan menu, serta file yang tidak valid.
+ */
+class VoucherCatalogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadParsesStockValidityAndMenuOrder() throws IOException {
+        VoucherCatalog catalog = VoucherCatalog.load(write(
+                "# id;nama;poin;nilai (Rp);stok;berlaku dari;berlaku sampai",
+                "",
+                "V50K;Voucher Rp 50.000;100;50000;-;-;-",
+                "  PROMO12 ; Voucher Harbolnas ; 150 ; 100000 ; 500 ; 2025-12-01 ; 2025-12-12  "));
+
+        assertEquals(2, catalog.size());
+        assertEquals("V50K", catalog.get(0).getId());
+        Voucher promo = catalog.find("PROMO12");
+        assertSame(promo, catalog.get(1));
+        assertEquals("Voucher Harbolnas", promo.getName());
+        assertEquals(150, promo.getPointCost());
+        assertEquals(Money.ofRupiah(100_000), promo.getFaceValue());
+        assertEquals(500, promo.getStock());
+        assertTrue(catalog.find("V50K").isUnlimitedStock());
+        assertNull(catalog.find("V100K"));
+    }
+
+    @Test
+    void validityFollowsBusinessZoneAndIncludesLastDay() throws IOException {
+        Voucher promo = VoucherCatalog.load(write("PROMO12;Harbolnas;150;100000;500;2025-12-01;2025-12-12"))
+                .find("PROMO12");
+
+        assertFalse(promo.isValidAt(at(2025, 11, 30, 23, 59)));
+        assertTrue(promo.isValidAt(at(2025, 12, 1, 0, 0)));
+        assertTrue(promo.isValidAt(at(2025, 12, 12, 23, 59)));
+        assertFalse(promo.isValidAt(at(2025, 12, 13, 0, 0)));
+    }
+
+    @Test
+    void invalidLineRejectsWholeFile() throws IOException {
+        Path file = write(
+                "V50K;Voucher Rp 50.000;100;50000;-;-;-",
+                "V100K;Voucher Rp 100.000;abc;100000;-;-;-");
+
+        IOException error = assertThrows(IOException.class, () -> VoucherCatalog.load(file));
+        assertTrue(error.getMessage().contains("baris 2"), error.getMessage());
+        assertThrows(IOException.class, () -> VoucherCatalog.load(write("V50K;Voucher;100;50000;-;-")));
+        assertThrows(IOException.class, () -> VoucherCatalog.load(write("V50K;Voucher;100;50000;-;2025-13-01;-")));
+        assertThrows(IOException.class, () -> VoucherCatalog.load(write("V50K;Voucher;100;50000;-2;-;-")));
+    }
+
+    @Test
+    void duplicateIdIsRejected() throws IOException {
+        Path file = write(
+                "V50K;Voucher Rp 50.000;100;50000;-;-;-",
+                "V50K;Voucher lain;200;100000;-;-;-");
+
+        assertThrows(IOException.class, () -> VoucherCatalog.load(file));
+        Voucher voucher = VoucherCatalog.DEFAULT.get(0);
+        assertThrows(IllegalArgumentException.class, () -> new VoucherCatalog(List.of(voucher, voucher)));
+    }
+
+    @Test
+    void reloadSwapsCatalogAndKeepsOldOneOnError() throws IOException {
+        RewardSystem rewardSystem = new RewardSystem();
+        VoucherCatalog loaded = rewardSystem.reloadVoucherCatalog(write("PROMO;Promo;100;50000;2;-;-"));
+        assertSame(loaded, rewardSystem.getVoucherCatalog());
+        assertEquals(2, rewardSystem.getVoucherInventory().getAvailable(loaded.find("PROMO")));
+
+        Path broken = write("PROMO;Promo;100");
+        assertThrows(IOException.class, () -> rewardSystem.reloadVoucherCatalog(broken));
+
+        assertSame(loaded, rewardSystem.getVoucherCatalog());
+    }
+
+    private Path write(String... lines) throws IOException {
+        return Files.write(Files.createTempFile(directory, "vouchers", ".csv"), List.of(lines), StandardCharsets.UTF_8);
+    }
+
+    private static long at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).toInstant(BusinessClock.ZONE).toEpochMilli();
+    }
+}
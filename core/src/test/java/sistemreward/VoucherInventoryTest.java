@@ -0,0 +1,153 @@
+package sistemreward;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test untuk {@link VoucherInventory}: reserve tanpa oversell, sync katalog,
+ * jumlah terjual yang bertahan setelah restart, dan redeem yang dibatalkan
+ * saat journal gagal.
+ */
+class VoucherInventoryTest {
+
+    private static final long EXPIRES_AT = 1_800_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentReserveNeverOversells() throws InterruptedException {
+        Voucher voucher = limited("PROMO", 100);
+        VoucherInventory inventory = new VoucherInventory(new VoucherCatalog(List.of(voucher)));
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                start.countDown();
+                for (int i = 0; i < 50; i++) {
+                    if (inventory.reserve(voucher)) {
+                        reserved.incrementAndGet();
+                        inventory.commit(voucher);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, reserved.get());
+        assertEquals(0, inventory.getAvailable(voucher));
+        assertEquals(100, inventory.getSold(voucher));
+    }
+
+    @Test
+    void releaseReturnsUnitAndSyncKeepsSoldUnits() {
+        Voucher voucher = limited("PROMO", 3);
+        VoucherInventory inventory = new VoucherInventory(new VoucherCatalog(List.of(voucher)));
+        assertTrue(inventory.reserve(voucher));
+        inventory.commit(voucher);
+        assertTrue(inventory.reserve(voucher));
+        inventory.release(voucher);
+        assertEquals(2, inventory.getAvailable(voucher));
+
+        // Alokasi dinaikkan dari 3 ke 5: unit yang sudah terjual tidak kembali
+        Voucher reloaded = limited("PROMO", 5);
+        inventory.sync(new VoucherCatalog(List.of(reloaded)));
+
+        assertEquals(4, inventory.getAvailable(reloaded));
+        assertEquals(1, inventory.getSold(reloaded));
+    }
+
+    @Test
+    void restoredSalesAreSubtractedFromCatalogLoadedLater() {
+        Voucher voucher = limited("PROMO", 10);
+        VoucherInventory inventory = new VoucherInventory(VoucherCatalog.DEFAULT);
+        inventory.restoreSold(Map.of("PROMO", 4L));
+        assertFalse(inventory.reserve(voucher));
+
+        inventory.sync(new VoucherCatalog(List.of(voucher)));
+
+        assertEquals(6, inventory.getAvailable(voucher));
+        assertEquals(4, inventory.getSold(voucher));
+    }
+
+    @Test
+    void soldStockSurvivesRestart() throws IOException {
+        Voucher voucher = limited("PROMO", 3);
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        try (BalanceJournal journal = BalanceJournal.open(directory, registry)) {
+            RewardSystem rewardSystem = rewardSystem(journal, voucher);
+            rewardSystem.checkReward(alice, Money.ofRupiah(10_000), EXPIRES_AT);
+            assertEquals(RedemptionStatus.SUCCESS, rewardSystem.tryRedeem(alice, voucher));
+            journal.checkpoint(registry);
+            assertEquals(RedemptionStatus.SUCCESS, rewardSystem.tryRedeem(alice, voucher));
+        }
+
+        // Satu penjualan dari snapshot, satu dari replay log
+        CustomerRegistry recovered = new CustomerRegistry(4);
+        try (BalanceJournal journal = BalanceJournal.open(directory, recovered)) {
+            assertEquals(Map.of("PROMO", 2L), journal.getVoucherSales());
+            RewardSystem rewardSystem = rewardSystem(journal, voucher);
+            VoucherInventory inventory = rewardSystem.getVoucherInventory();
+
+            assertEquals(1, inventory.getAvailable(voucher));
+            assertEquals(2, inventory.getSold(voucher));
+            assertEquals(300, recovered.get(1001L).getPoints());
+        }
+    }
+
+    @Test
+    void journalFailureCancelsRedemption() throws IOException {
+        Voucher voucher = limited("PROMO", 3);
+        CustomerRegistry registry = new CustomerRegistry(4);
+        Customer alice = new Customer(1001L, "Alice", 0L);
+        registry.upsert(alice);
+        BalanceJournal journal = BalanceJournal.open(directory, registry);
+        RewardSystem rewardSystem = rewardSystem(journal, voucher);
+        rewardSystem.setPointExpiry(new PointExpiry(1_000L, 1_000L, 0L));
+        rewardSystem.checkReward(alice, Money.ofRupiah(1_000), 10L);
+        rewardSystem.checkReward(alice, Money.ofRupiah(2_000), 20L);
+        long[] lots = alice.getPointLots().toArray();
+        journal.close();
+
+        assertThrows(UncheckedIOException.class, () -> rewardSystem.tryRedeem(alice, voucher));
+
+        VoucherInventory inventory = rewardSystem.getVoucherInventory();
+        assertEquals(3, inventory.getAvailable(voucher));
+        assertEquals(0, inventory.getSold(voucher));
+        assertEquals(150, alice.getPoints());
+        assertEquals(0, alice.getRedeemedPoints());
+        assertArrayEquals(lots, alice.getPointLots().toArray());
+    }
+
+    private static RewardSystem rewardSystem(BalanceJournal journal, Voucher voucher) {
+        RewardSystem rewardSystem = new RewardSystem();
+        rewardSystem.setJournal(journal);
+        rewardSystem.setVoucherCatalog(new VoucherCatalog(List.of(voucher)));
+        return rewardSystem;
+    }
+
+    private static Voucher limited(String id, long stock) {
+        return new Voucher(id, "Voucher " + id, 100, Money.ofRupiah(50_000), stock,
+                Voucher.ALWAYS_VALID_FROM, Voucher.ALWAYS_VALID_UNTIL);
+    }
+}
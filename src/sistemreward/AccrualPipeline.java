@@ -0,0 +1,483 @@
+package sistemreward;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipeline accrual paralel dengan urutan terjamin per member.
+ *
+ * <p>Member di-hash ke salah satu dari N shard. Setiap shard punya antrian
+ * ring buffer sendiri dan tepat satu thread worker yang mengambil sampai
+ * {@value #MAX_BATCH} transaksi sekaligus dan menerapkannya dengan
+ * {@link RewardSystem#processBatch(CustomerRegistry, TransactionBatch)}, sehingga
+ * satu batch hanya menunggu satu group commit journal, bukan satu fsync per
+ * transaksi. Karena satu member
+ * selalu jatuh ke shard yang sama, transaksinya diproses berurutan oleh satu
+ * thread - tidak ada dua thread yang meng-update member yang sama bersamaan,
+ * tanpa lock di objek {@link Customer}. Member yang berbeda shard diproses
+ * paralel, jadi throughput naik hampir linier dengan jumlah shard selama
+ * jumlah core mencukupi.</p>
+ *
+ * <p>Seperti {@code processBatch}, poin dihitung dari total nominal member
+ * dalam satu batch dengan tier di awal batch, tanpa kategori promo.</p>
+ *
+ * <p><strong>Ordering:</strong></p>
+ * <ul>
+ *   <li>🔢 Transaksi satu member diproses sesuai urutan {@code submit}</li>
+ *   <li>🔀 Tidak ada jaminan urutan antar member</li>
+ *   <li>⏸️ Jika antrian shard penuh, {@code submit} menunggu (back-pressure), tidak membuang</li>
+ * </ul>
+ *
+ * <p><strong>Kegagalan:</strong> Jika {@code processBatch} melempar exception
+ * (misalnya journal rusak), sebagian atau seluruh batch mungkin sudah
+ * diterapkan ke saldo di memori tanpa pernah durable. Batch itu dihitung di
+ * {@link #getUnconfirmed()}, bukan di {@link #getRejected()}, dan tidak boleh
+ * dikirim ulang - saldo yang benar ditentukan oleh replay journal saat
+ * restart. Pipeline lalu berhenti: transaksi yang masih di antrian tidak
+ * diterapkan dan dihitung sebagai ditolak (aman dikirim ulang), dan
+ * {@code submit} berikutnya gagal. Penyebabnya tersedia di
+ * {@link #getFailure()}.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * try (AccrualPipeline pipeline = new AccrualPipeline(rewardSystem, registry, 8, 65_536)) {
+ *     for (...) {
+ *         pipeline.submit(memberId, Money.ofRupiah(rupiah), epochMillis);
+ *     }
+ *     pipeline.awaitIdle();
+ *     System.out.println(pipeline.getApplied() + " transaksi diproses");
+ * }
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#processBatch(CustomerRegistry, TransactionBatch)
+ */
+public class AccrualPipeline implements AutoCloseable {
+
+    /**
+     * Kapasitas antrian per shard default.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 65_536;
+
+    /**
+     * Jumlah transaksi maksimum yang diterapkan worker dalam satu batch.
+     *
+     * @since 3.0
+     */
+    public static final int MAX_BATCH = 1024;
+
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final long BLOCKED_PARK_NANOS = 10_000L;
+
+    private final RewardSystem rewardSystem;
+    private final CustomerRegistry registry;
+    private final Shard[] shards;
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    private volatile boolean closed;
+
+    /**
+     * Constructor dengan satu shard per core dan kapasitas antrian default.
+     *
+     * @param rewardSystem engine reward
+     * @param registry registry tempat member dicari
+     *
+     * @since 3.0
+     */
+    public AccrualPipeline(RewardSystem rewardSystem, CustomerRegistry registry) {
+        this(rewardSystem, registry, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor dengan jumlah shard dan kapasitas antrian sendiri.
+     *
+     * @param rewardSystem engine reward
+     * @param registry registry tempat member dicari
+     * @param shardCount jumlah shard (= jumlah thread worker)
+     * @param queueCapacity kapasitas antrian per shard (dibulatkan ke pangkat dua)
+     *
+     * @throws IllegalArgumentException jika shardCount atau queueCapacity tidak valid
+     *
+     * @since 3.0
+     */
+    public AccrualPipeline(RewardSystem rewardSystem, CustomerRegistry registry, int shardCount, int queueCapacity) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Jumlah shard harus positif: " + shardCount);
+        }
+        if (queueCapacity <= 0 || queueCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Kapasitas antrian tidak valid: " + queueCapacity);
+        }
+        int size = Integer.highestOneBit(queueCapacity);
+        if (size < queueCapacity) {
+            size <<= 1;
+        }
+        this.rewardSystem = rewardSystem;
+        this.registry = registry;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(size);
+        }
+        for (int i = 0; i < shardCount; i++) {
+            Thread worker = new Thread(shards[i]::drainLoop, "accrual-shard-" + i);
+            worker.setDaemon(true);
+            shards[i].worker = worker;
+            worker.start();
+        }
+    }
+
+    /**
+     * Mengirim satu transaksi ke shard member-nya.
+     *
+     * <p>Aman dipanggil dari banyak thread. Validasi (member terdaftar, nominal
+     * tidak negatif) dilakukan di worker dan terlihat di counter.</p>
+     *
+     * @param memberId ID member
+     * @param amount nominal transaksi dalam sen
+     * @param epochMillis waktu transaksi dalam epoch millis
+     *
+     * @throws IllegalStateException jika pipeline sudah ditutup atau berhenti karena error
+     *
+     * @since 3.0
+     */
+    public void submit(long memberId, long amount, long epochMillis) {
+        shards[shardOf(memberId)].offer(memberId, amount, epochMillis);
+    }
+
+    /**
+     * Mengirim semua baris batch sesuai urutannya.
+     *
+     * @param batch kumpulan transaksi; boleh dipakai ulang setelah method ini kembali
+     *
+     * @throws IllegalStateException jika pipeline sudah ditutup atau berhenti karena error
+     *
+     * @since 3.0
+     */
+    public void submit(TransactionBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            submit(batch.getMemberId(i), batch.getAmount(i), batch.getTimestamp(i));
+        }
+    }
+
+    /**
+     * Menunggu sampai semua transaksi yang sudah di-submit sebelum pemanggilan ini selesai diproses.
+     *
+     * @throws InterruptedException jika thread pemanggil di-interrupt
+     *
+     * @since 3.0
+     */
+    public void awaitIdle() throws InterruptedException {
+        for (Shard shard : shards) {
+            long target = shard.claimSequence.get();
+            while (shard.consumeSequence.get() < target) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.unpark(shard.worker);
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Menentukan shard untuk satu member.
+     *
+     * @param memberId ID member
+     * @return index shard, 0 sampai {@link #getShardCount()} - 1
+     *
+     * @since 3.0
+     */
+    public int shardOf(long memberId) {
+        return (int) Long.remainderUnsigned(CustomerRegistry.mix(memberId), shards.length);
+    }
+
+    /**
+     * Getter untuk jumlah shard.
+     *
+     * @return jumlah shard
+     *
+     * @since 3.0
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi yang sudah di-submit.
+     *
+     * @return jumlah transaksi yang diterima antrian
+     *
+     * @since 3.0
+     */
+    public long getSubmitted() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.claimSequence.get();
+        }
+        return total;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi yang masih di antrian.
+     *
+     * @return jumlah transaksi yang belum diproses
+     *
+     * @since 3.0
+     */
+    public long getPending() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.claimSequence.get() - shard.consumeSequence.get();
+        }
+        return total;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi yang berhasil dicatat.
+     *
+     * @return jumlah transaksi yang diterapkan
+     *
+     * @since 3.0
+     */
+    public long getApplied() {
+        long total = 0;
+        for (Shard shard : shards) {
+            shard.consumeSequence.get();
+            total += shard.applied;
+        }
+        return total;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi dengan member yang tidak terdaftar.
+     *
+     * @return jumlah transaksi yang dilewati
+     *
+     * @since 3.0
+     */
+    public long getUnknownMember() {
+        long total = 0;
+        for (Shard shard : shards) {
+            shard.consumeSequence.get();
+            total += shard.unknown;
+        }
+        return total;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi yang ditolak karena nominal negatif atau
+     * ID tidak valid, ditambah transaksi yang tidak diterapkan karena
+     * pipeline sudah berhenti. Transaksi ini tidak mengubah saldo.
+     *
+     * @return jumlah transaksi yang ditolak
+     *
+     * @since 3.0
+     */
+    public long getRejected() {
+        long total = 0;
+        for (Shard shard : shards) {
+            shard.consumeSequence.get();
+            total += shard.rejected;
+        }
+        return total;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi di batch yang gagal saat diterapkan.
+     *
+     * <p>Transaksi ini mungkin sudah mengubah saldo di memori tetapi belum
+     * tentu durable. Jangan dikirim ulang: setelah restart, journal
+     * menentukan mana yang benar-benar tercatat. Setiap batch yang gagal juga
+     * dihitung di {@link RewardMetrics#getPipelineFailureCount()}.</p>
+     *
+     * @return jumlah transaksi yang statusnya tidak pasti
+     *
+     * @see #getFailure()
+     *
+     * @since 3.0
+     */
+    public long getUnconfirmed() {
+        long total = 0;
+        for (Shard shard : shards) {
+            shard.consumeSequence.get();
+            total += shard.unconfirmed;
+        }
+        return total;
+    }
+
+    /**
+     * Error pertama yang menghentikan pipeline.
+     *
+     * @return exception dari {@code processBatch}, atau {@code null} jika pipeline masih berjalan normal
+     *
+     * @since 3.0
+     */
+    public RuntimeException getFailure() {
+        return failure.get();
+    }
+
+    /**
+     * Getter untuk total poin yang ditambahkan lewat pipeline.
+     *
+     * @return total poin
+     *
+     * @since 3.0
+     */
+    public long getPointsEarned() {
+        long total = 0;
+        for (Shard shard : shards) {
+            shard.consumeSequence.get();
+            total += shard.pointsEarned;
+        }
+        return total;
+    }
+
+    /**
+     * Memproses semua transaksi yang tersisa, lalu menghentikan worker.
+     *
+     * <p>Panggil setelah semua producer berhenti submit. Transaksi yang
+     * di-submit setelah close ditolak dengan {@link IllegalStateException}.</p>
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        closed = true;
+        boolean interrupted = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.worker);
+            while (true) {
+                try {
+                    shard.worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Satu shard: ring buffer kolumnar multi-producer, satu consumer.
+     *
+     * <p>Counter hasil hanya ditulis worker dan diterbitkan lewat
+     * {@code consumeSequence}, jadi pembaca cukup membaca sequence dulu.</p>
+     */
+    private final class Shard {
+        private final long[] memberIds;
+        private final long[] amounts;
+        private final long[] timestamps;
+        private final AtomicLongArray published;
+        private final int mask;
+
+        /** Sequence berikutnya yang akan diklaim producer. */
+        private final AtomicLong claimSequence = new AtomicLong();
+        /** Sequence berikutnya yang akan diproses worker; slot di bawahnya boleh dipakai ulang. */
+        private final AtomicLong consumeSequence = new AtomicLong();
+
+        private Thread worker;
+        private volatile boolean sleeping;
+
+        private long applied;
+        private long unknown;
+        private long rejected;
+        private long unconfirmed;
+        private long pointsEarned;
+        private final TransactionBatch batch = new TransactionBatch(MAX_BATCH);
+
+        Shard(int size) {
+            this.memberIds = new long[size];
+            this.amounts = new long[size];
+            this.timestamps = new long[size];
+            this.published = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                published.set(i, -1L);
+            }
+            this.mask = size - 1;
+        }
+
+        void offer(long memberId, long amount, long epochMillis) {
+            long sequence;
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("AccrualPipeline sudah ditutup");
+                }
+                RuntimeException error = failure.get();
+                if (error != null) {
+                    throw new IllegalStateException("AccrualPipeline berhenti karena error", error);
+                }
+                sequence = claimSequence.get();
+                if (sequence - consumeSequence.get() >= memberIds.length) {
+                    LockSupport.unpark(worker);
+                    LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                    continue;
+                }
+                if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+            }
+            int index = (int) sequence & mask;
+            memberIds[index] = memberId;
+            amounts[index] = amount;
+            timestamps[index] = epochMillis;
+            // Volatile set (bukan lazySet) supaya worker yang baru mau tidur pasti melihatnya
+            published.set(index, sequence);
+            if (sleeping) {
+                LockSupport.unpark(worker);
+            }
+        }
+
+        void drainLoop() {
+            long sequence = consumeSequence.get();
+            while (true) {
+                while (batch.size() < MAX_BATCH && published.get((int) sequence & mask) == sequence) {
+                    int index = (int) sequence & mask;
+                    batch.add(memberIds[index], amounts[index], timestamps[index]);
+                    sequence++;
+                }
+                if (batch.size() > 0) {
+                    process();
+                    batch.clear();
+                    // Slot baru boleh dipakai ulang dan awaitIdle baru selesai setelah batch diterapkan
+                    consumeSequence.lazySet(sequence);
+                    continue;
+                }
+                if (closed && claimSequence.get() == sequence) {
+                    return;
+                }
+                sleeping = true;
+                if (published.get((int) sequence & mask) != sequence && !closed) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+
+        private void process() {
+            if (failure.get() != null) {
+                rejected += batch.size();
+                return;
+            }
+            try {
+                BatchResult result = rewardSystem.processBatch(registry, batch);
+                applied += result.getAppliedRecords();
+                unknown += result.getUnknownMemberRecords();
+                rejected += result.getRejectedRecords();
+                pointsEarned += result.getPointsEarned();
+            } catch (RuntimeException e) {
+                // Misalnya journal rusak: batch bisa sudah masuk saldo, jadi bukan "ditolak"
+                unconfirmed += batch.size();
+                rewardSystem.getMetrics().countPipelineFailure();
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+}
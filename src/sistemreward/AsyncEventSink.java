@@ -0,0 +1,335 @@
+package sistemreward;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link EventSink} asinkron dengan ring buffer berukuran tetap dan satu thread writer.
+ *
+ * <p>Thread checkout hanya mengklaim satu slot dengan CAS, menyalin beberapa
+ * field primitif ke slot yang sudah dialokasi sejak awal, lalu menandai slot
+ * tersebut sudah terbit. Tidak ada alokasi, lock, string, maupun I/O di
+ * thread pemanggil. Thread writer mengambil event secara batch, memformatnya
+ * sebagai JSON Lines, dan melakukan satu {@code flush} per batch.</p>
+ *
+ * <p><strong>Back-pressure</strong> saat writer tertinggal:</p>
+ * <ul>
+ *   <li>⏸️ {@link Policy#BLOCK} - pemanggil menunggu slot kosong, tidak ada event hilang</li>
+ *   <li>🗑️ {@link Policy#DROP} - event dibuang jika buffer penuh</li>
+ *   <li>🎲 {@link Policy#SAMPLE} - jika buffer terisi 3/4 atau lebih, hanya 1 dari
+ *       setiap {@code sampleEvery} event yang disimpan; jika penuh, event dibuang</li>
+ * </ul>
+ *
+ * <p><strong>Format output</strong> (satu baris per event):</p>
+ * <pre>
+ * {"ts":1730000000000,"type":"ACCRUAL","memberId":1001,"amountSen":15000000,"points":7500,"balance":12500,"tier":"GOLD"}
+ * {"ts":1730000000123,"type":"REDEMPTION","memberId":1001,"voucher":"V50K","status":"SUCCESS","points":-100,"balance":12400}
+ * </pre>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * try (AsyncEventSink audit = new AsyncEventSink(
+ *         Files.newOutputStream(Path.of("audit.jsonl"), CREATE, APPEND),
+ *         8192, AsyncEventSink.Policy.DROP, 1)) {
+ *     rewardSystem.setEventSink(audit);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#setEventSink(EventSink)
+ */
+public class AsyncEventSink implements EventSink {
+
+    /**
+     * Kebijakan saat ring buffer penuh.
+     *
+     * @since 3.0
+     */
+    public enum Policy {
+        /** Tunggu sampai ada slot kosong. */
+        BLOCK,
+        /** Buang event baru. */
+        DROP,
+        /** Simpan sebagian event saat buffer hampir penuh. */
+        SAMPLE
+    }
+
+    private static final int TYPE_ACCRUAL = 1;
+    private static final int TYPE_REDEMPTION = 2;
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 100_000L;
+    private static final long BLOCKED_PARK_NANOS = 10_000L;
+
+    private final Slot[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final Policy policy;
+    private final int sampleEvery;
+    private final int sampleThreshold;
+
+    /** Sequence berikutnya yang akan diklaim producer. */
+    private final AtomicLong claimSequence = new AtomicLong();
+    /** Sequence berikutnya yang akan dibaca writer; slot di bawahnya boleh dipakai ulang. */
+    private final AtomicLong consumeSequence = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private final Writer writer;
+    private final Thread writerThread;
+    private final StringBuilder line = new StringBuilder(192);
+    private volatile boolean closed;
+
+    /**
+     * Constructor sink asinkron.
+     *
+     * @param out stream tujuan, ditutup saat sink ditutup
+     * @param capacity jumlah slot ring buffer (dibulatkan ke pangkat dua)
+     * @param policy kebijakan saat buffer penuh
+     * @param sampleEvery untuk {@link Policy#SAMPLE}: simpan 1 dari setiap N event
+     *                    saat buffer hampir penuh (diabaikan untuk policy lain)
+     *
+     * @throws IllegalArgumentException jika capacity atau sampleEvery tidak positif
+     *
+     * @since 3.0
+     */
+    public AsyncEventSink(OutputStream out, int capacity, Policy policy, int sampleEvery) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Kapasitas buffer tidak valid: " + capacity);
+        }
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("sampleEvery harus positif: " + sampleEvery);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Slot[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1L);
+        }
+        this.mask = size - 1;
+        this.policy = policy;
+        this.sampleEvery = sampleEvery;
+        this.sampleThreshold = size - (size >>> 2);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.writerThread = new Thread(this::drainLoop, "audit-event-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    @Override
+    public void onAccrual(long memberId, long amount, long earnedPoints, long newBalance, Tier tier) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.type = TYPE_ACCRUAL;
+        slot.epochMillis = System.currentTimeMillis();
+        slot.memberId = memberId;
+        slot.amount = amount;
+        slot.points = earnedPoints;
+        slot.balance = newBalance;
+        slot.tier = tier;
+        publish(sequence);
+    }
+
+    @Override
+    public void onRedemption(long memberId, String voucherId, RedemptionStatus status,
+                             long pointsSpent, long remainingPoints) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.type = TYPE_REDEMPTION;
+        slot.epochMillis = System.currentTimeMillis();
+        slot.memberId = memberId;
+        slot.voucherId = voucherId;
+        slot.status = status;
+        slot.points = -pointsSpent;
+        slot.balance = remainingPoints;
+        publish(sequence);
+    }
+
+    /**
+     * Getter untuk jumlah event yang dibuang karena buffer penuh atau sampling.
+     *
+     * @return jumlah event yang dibuang
+     *
+     * @since 3.0
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Getter untuk jumlah event yang sedang menunggu ditulis.
+     *
+     * @return jumlah event di buffer
+     *
+     * @since 3.0
+     */
+    public long getPending() {
+        return claimSequence.get() - consumeSequence.get();
+    }
+
+    /**
+     * Menulis semua event yang tersisa, lalu menutup stream tujuan.
+     *
+     * <p>Event yang dikirim setelah close dibuang.</p>
+     *
+     * @throws IOException jika stream gagal ditutup
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+
+    /**
+     * Mengklaim satu slot sesuai policy.
+     *
+     * @return sequence slot, atau -1 jika event dibuang
+     */
+    private long claim() {
+        while (!closed) {
+            long current = claimSequence.get();
+            long used = current - consumeSequence.get();
+            if (used >= slots.length) {
+                if (policy != Policy.BLOCK) {
+                    dropped.increment();
+                    return -1L;
+                }
+                LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+                continue;
+            }
+            if (policy == Policy.SAMPLE && used >= sampleThreshold
+                    && sampleCounter.getAndIncrement() % sampleEvery != 0) {
+                dropped.increment();
+                return -1L;
+            }
+            if (claimSequence.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+        dropped.increment();
+        return -1L;
+    }
+
+    private void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Loop thread writer: ambil event secara batch, format, tulis, flush per batch.
+     */
+    private void drainLoop() {
+        long sequence = consumeSequence.get();
+        boolean dirty = false;
+        boolean failed = false;
+        while (true) {
+            int drained = 0;
+            while (drained < MAX_BATCH && published.get((int) sequence & mask) == sequence) {
+                Slot slot = slots[(int) sequence & mask];
+                if (!failed) {
+                    try {
+                        write(slot);
+                        dirty = true;
+                    } catch (IOException e) {
+                        failed = reportFailure(e);
+                    }
+                }
+                slot.tier = null;
+                slot.voucherId = null;
+                slot.status = null;
+                sequence++;
+                consumeSequence.lazySet(sequence);
+                drained++;
+            }
+            if (drained > 0) {
+                continue;
+            }
+            if (dirty && !failed) {
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    failed = reportFailure(e);
+                }
+                dirty = false;
+            }
+            if (closed && claimSequence.get() == sequence) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void write(Slot slot) throws IOException {
+        StringBuilder text = line;
+        text.setLength(0);
+        text.append("{\"ts\":").append(slot.epochMillis);
+        if (slot.type == TYPE_ACCRUAL) {
+            text.append(",\"type\":\"ACCRUAL\",\"memberId\":").append(slot.memberId)
+                    .append(",\"amountSen\":").append(slot.amount)
+                    .append(",\"points\":").append(slot.points)
+                    .append(",\"balance\":").append(slot.balance)
+                    .append(",\"tier\":\"").append(slot.tier.name()).append("\"}\n");
+        } else {
+            text.append(",\"type\":\"REDEMPTION\",\"memberId\":").append(slot.memberId)
+                    .append(",\"voucher\":");
+            Json.appendString(text, slot.voucherId);
+            text.append(",\"status\":\"").append(slot.status.name())
+                    .append("\",\"points\":").append(slot.points)
+                    .append(",\"balance\":").append(slot.balance).append("}\n");
+        }
+        writer.append(text);
+    }
+
+    /**
+     * Writer gagal: laporkan sekali, lalu tetap kosongkan buffer supaya
+     * producer dengan policy BLOCK tidak tertahan selamanya.
+     */
+    private static boolean reportFailure(IOException e) {
+        System.err.println("❌ Audit log gagal ditulis, event berikutnya dibuang: " + e.getMessage());
+        return true;
+    }
+
+    /**
+     * Slot ring buffer yang dipakai ulang; hanya ditulis oleh producer yang
+     * mengklaimnya dan dibaca writer setelah sequence-nya terbit.
+     */
+    private static final class Slot {
+        int type;
+        long epochMillis;
+        long memberId;
+        long amount;
+        long points;
+        long balance;
+        Tier tier;
+        String voucherId;
+        RedemptionStatus status;
+    }
+}
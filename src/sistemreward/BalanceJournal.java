@@ -0,0 +1,1096 @@
+package sistemreward;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Write-ahead log untuk saldo member, dengan group commit dan snapshot berkala.
+ *
+ * <p>Setiap kali saldo member berubah (accrual, redeem, kadaluarsa),
+ * {@link RewardSystem} mencatat perubahannya ke log sebagai {@link Delta}:
+ * selisih belanja, poin, poin redeem, poin kadaluarsa, dan lot yang
+ * bertambah atau berkurang. Ukuran record sebanding dengan operasinya, bukan
+ * dengan jumlah lot member. State lengkap (termasuk semua lot) hanya ditulis
+ * di snapshot. Record pertama setiap member didahului record member berisi
+ * nama dan sidik aturan poinnya.</p>
+ *
+ * <p><strong>Penjualan voucher:</strong> Delta dari redeem voucher berstok
+ * terbatas membawa ID vouchernya. Journal menghitung penjualan per voucher di
+ * bawah lock-nya sendiri dan menyimpan hitungan itu di snapshot, tepat pada
+ * LSN snapshot; replay menambahkan setiap record voucher sesudahnya. Hasilnya
+ * tersedia di {@link #getVoucherSales()} dan dipulihkan ke
+ * {@link VoucherInventory} oleh {@link RewardSystem#setJournal(BalanceJournal)},
+ * sehingga stok yang sudah terjual tidak kembali setelah restart.</p>
+ *
+ * <p><strong>Snapshot tanpa lock per member:</strong> Perubahan dibungkus
+ * {@link Customer#beginUpdate()} / {@link Customer#endUpdate()} sampai
+ * record-nya di-append. Checkpoint membaca member hanya saat tidak ada update
+ * yang berjalan dan mengulang jika versi member berubah selama dibaca (pola
+ * seqlock), lalu menyimpan LSN record terakhir member di snapshot. Saat
+ * replay, record member dengan LSN &lt;= nilai itu sudah tercakup di snapshot
+ * dan dilewati, sehingga delta tidak pernah diterapkan dua kali.</p>
+ *
+ * <p><strong>Group commit:</strong> {@link #append(Customer, Delta)} hanya menulis ke buffer
+ * di memory. {@link #awaitDurable(long)} memblokir sampai record sudah di-fsync.
+ * Thread pertama yang menunggu menjadi leader dan melakukan satu
+ * {@code write + force} untuk semua record yang terkumpul; thread lain yang
+ * datang selama fsync berjalan ikut di fsync berikutnya. Satu fsync melayani
+ * banyak transaksi sekaligus. Sebelum fsync log, leader mem-force record
+ * {@link TransactionLedger} yang baru ({@link TransactionLedger#syncAppended()}),
+ * sehingga saldo yang sudah durable tidak pernah mendahului transaksinya di
+ * ledger.</p>
+ *
+ * <p><strong>Kegagalan I/O:</strong> Jika write atau fsync gagal, journal
+ * ditandai rusak: record di buffer tidak pernah dianggap durable, dan setiap
+ * {@link #append(Customer, Delta)}, {@link #awaitDurable(long)}, serta checkpoint
+ * berikutnya gagal dengan {@link UncheckedIOException}/{@link IOException}.
+ * Retry fsync setelah gagal tidak aman (page cache bisa sudah membuang data
+ * kotor), jadi journal harus dibuka ulang, yang akan me-replay log dari disk.</p>
+ *
+ * <p><strong>File di direktori journal:</strong></p>
+ * <ul>
+ *   <li>📝 {@code wal-<lsn>.log} - segment log, {@code lsn} = posisi logis byte pertamanya</li>
+ *   <li>📸 {@code snapshot-<lsn>.snap} - snapshot semua member, valid sampai posisi {@code lsn}</li>
+ * </ul>
+ *
+ * <p><strong>Checkpoint:</strong> {@link #checkpoint(CustomerRegistry)} memutar log ke
+ * segment baru, menulis snapshot (fuzzy - member tetap bisa bertransaksi),
+ * lalu menghapus segment dan snapshot lama. Saat recovery hanya snapshot
+ * terakhir dan log sesudahnya yang dibaca, sehingga waktu startup dibatasi
+ * oleh ukuran snapshot, bukan panjang history.</p>
+ *
+ * <p><strong>Record format (big endian):</strong></p>
+ * <pre>
+ * int length | int crc32(body) | body
+ * member = byte 1 | long memberId | long rulesFingerprint | short nameLength | UTF-8 name
+ * delta  = byte 2 | long memberId | short voucherIdLength | UTF-8 voucherId
+ *        | long spent | byte tier (-1 = tanpa tier)
+ *        | long points | long redeemedPoints | long expiredPoints
+ *        | int lotCount | (long points | long expiresAt) × lotCount
+ * </pre>
+ * <p>Poin lot di record delta bertanda: positif untuk lot baru, negatif untuk
+ * poin yang diambil dari lot (redeem atau kadaluarsa).</p>
+ *
+ * <p>Snapshot berisi state lengkap setiap member, masing-masing diawali {@code int length}:</p>
+ * <pre>
+ * long memberId | long totalSpent | long points | long redeemedPoints | long expiredPoints
+ * | long journalLsn | long rulesFingerprint | byte tierCount | long tierSpend × tierCount
+ * | int lotCount | (long points | long expiresAt) × lotCount | short nameLength | UTF-8 name
+ * </pre>
+ * <p>Sesudah semua member: {@code int voucherCount | (short idLength | UTF-8 id | long sold) × voucherCount}.</p>
+ *
+ * <p><strong>Crash safety:</strong> Setelah snapshot di-rename, segment baru
+ * dibuat, atau file lama dihapus, direktori journal ikut di-fsync supaya
+ * perubahan nama file juga durable. Kegagalan checkpoint berkala tersedia di
+ * {@link #getCheckpointFailure()}.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * CustomerRegistry registry = new CustomerRegistry();
+ * BalanceJournal journal = BalanceJournal.open(Path.of("data/journal"), registry);
+ * journal.scheduleCheckpoints(registry, 5, TimeUnit.MINUTES);
+ *
+ * RewardSystem rewardSystem = new RewardSystem();
+ * rewardSystem.setJournal(journal);
+ *
+ * // Di luar RewardSystem: ubah saldo lalu catat delta-nya
+ * customer.beginUpdate();
+ * try {
+ *     customer.addPoints(100);
+ *     journal.awaitDurable(journal.append(customer, new BalanceJournal.Delta().points(100)));
+ * } finally {
+ *     customer.endUpdate();
+ * }
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#setJournal(BalanceJournal)
+ */
+public class BalanceJournal implements Closeable {
+
+    /**
+     * Kapasitas awal buffer record yang belum di-fsync.
+     *
+     * @since 3.0
+     */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private static final int FRAME_HEADER = 8;
+    private static final int SNAPSHOT_MAGIC = 0x53525350; // "SRSP"
+    private static final int SNAPSHOT_VERSION = 4;
+    private static final byte RECORD_MEMBER = 1;
+    private static final byte RECORD_DELTA = 2;
+    private static final int MEMBER_FIXED_LENGTH = 1 + 2 * Long.BYTES + Short.BYTES;
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long appendedLsn;
+    private long durableLsn;
+    private boolean flushing;
+    /** Kegagalan write/fsync pertama; setelah di-set journal tidak bisa dipakai lagi. */
+    private IOException failure;
+    private ScheduledExecutorService scheduler;
+    private volatile TransactionLedger ledger;
+    private volatile IOException checkpointFailure;
+    /** Penjualan per voucher sampai {@code appendedLsn}, dijaga oleh {@code lock}. */
+    private final Map<String, Long> voucherSales;
+
+    private BalanceJournal(Path directory, long startLsn, Map<String, Long> voucherSales) throws IOException {
+        this.directory = directory;
+        this.appendedLsn = startLsn;
+        this.durableLsn = startLsn;
+        this.voucherSales = voucherSales;
+        this.channel = openSegment(startLsn);
+    }
+
+    /**
+     * Membuka journal dan memulihkan saldo semua member ke registry.
+     *
+     * <p><strong>Recovery flow:</strong></p>
+     * <ol>
+     *   <li>Load snapshot terbaru (jika ada) ke registry</li>
+     *   <li>Replay segment log sesudah posisi snapshot, berurutan; delta yang
+     *       sudah tercakup di snapshot dilewati</li>
+     *   <li>Record terakhir yang terpotong (crash di tengah write) dibuang
+     *       dan file di-truncate</li>
+     *   <li>Lot member yang berubah di log disusun ulang dari snapshot dan delta lotnya</li>
+     *   <li>Penjualan voucher dihitung dari snapshot ditambah record voucher di log</li>
+     *   <li>Buka segment log baru untuk record berikutnya</li>
+     * </ol>
+     *
+     * @param directory direktori journal
+     * @param registry registry yang akan diisi saldo hasil recovery
+     * @return journal yang siap dipakai
+     *
+     * @throws IOException jika file journal tidak bisa dibaca, snapshot rusak,
+     *         atau log berisi delta untuk member yang tidak dikenal
+     *
+     * @since 3.0
+     */
+    public static BalanceJournal open(Path directory, CustomerRegistry registry) throws IOException {
+        Files.createDirectories(directory);
+        long snapshotLsn = -1;
+        for (long lsn : list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            snapshotLsn = lsn;
+        }
+        long lsn = 0;
+        Map<String, Long> voucherSales = new HashMap<>();
+        if (snapshotLsn >= 0) {
+            loadSnapshot(directory.resolve(fileName(SNAPSHOT_PREFIX, snapshotLsn, SNAPSHOT_SUFFIX)), registry,
+                    voucherSales);
+            lsn = snapshotLsn;
+        }
+        Map<Customer, TreeMap<Long, Long>> lotChanges = new HashMap<>();
+        for (long segmentLsn : list(directory, LOG_PREFIX, LOG_SUFFIX)) {
+            if (segmentLsn < lsn) {
+                continue;
+            }
+            lsn = segmentLsn + replay(directory.resolve(fileName(LOG_PREFIX, segmentLsn, LOG_SUFFIX)),
+                    segmentLsn, registry, lotChanges, voucherSales);
+        }
+        lotChanges.forEach(BalanceJournal::restoreLots);
+        return new BalanceJournal(directory, lsn, voucherSales);
+    }
+
+    /**
+     * Mencatat satu perubahan saldo member ke buffer log.
+     *
+     * <p>Tidak ada lock per member: hanya lock journal yang dipegang selama
+     * record disalin ke buffer. Pemanggil harus sudah menerapkan perubahannya
+     * ke {@code customer} dan masih berada di dalam
+     * {@link Customer#beginUpdate()}, supaya checkpoint tidak menulis
+     * snapshot yang berisi perubahan ini tanpa LSN-nya.</p>
+     *
+     * <p>Record belum durable sampai {@link #awaitDurable(long)} dipanggil
+     * dengan LSN yang dikembalikan.</p>
+     *
+     * @param customer member yang saldonya berubah (harus punya ID &gt; 0)
+     * @param delta perubahan yang sudah diterapkan ke member
+     * @return LSN akhir record ini
+     *
+     * @throws UncheckedIOException jika journal sudah rusak karena write atau fsync gagal
+     *
+     * @since 3.0
+     */
+    public long append(Customer customer, Delta delta) {
+        // Member yang belum pernah dicatat butuh record member supaya replay bisa membuatnya
+        byte[] name = customer.getJournalLsn() == 0 ? customer.getName().getBytes(StandardCharsets.UTF_8) : null;
+        int deltaLength = delta.bodyLength();
+        lock.lock();
+        try {
+            checkUsable();
+            if (name != null) {
+                int memberLength = MEMBER_FIXED_LENGTH + name.length;
+                beginRecord(memberLength)
+                        .put(RECORD_MEMBER)
+                        .putLong(customer.getMemberId())
+                        .putLong(customer.getRulesFingerprint())
+                        .putShort((short) name.length)
+                        .put(name);
+                endRecord(memberLength);
+            }
+            delta.writeTo(beginRecord(deltaLength), customer.getMemberId());
+            endRecord(deltaLength);
+            if (delta.voucherId != null) {
+                voucherSales.merge(delta.voucherId, 1L, Long::sum);
+            }
+            customer.setJournalLsn(appendedLsn);
+            return appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menunggu sampai semua record hingga {@code lsn} sudah di-fsync ke disk.
+     *
+     * @param lsn LSN dari {@link #append(Customer, Delta)}
+     *
+     * @throws UncheckedIOException jika write atau fsync gagal, sekarang atau sebelumnya
+     *
+     * @since 3.0
+     */
+    public void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                checkUsable();
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushPending();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Jumlah voucher berstok terbatas yang terjual per ID voucher, termasuk
+     * hasil recovery dan record yang belum durable.
+     *
+     * @return salinan map ID voucher → jumlah terjual
+     *
+     * @see VoucherInventory#restoreSold(Map)
+     *
+     * @since 3.0
+     */
+    public Map<String, Long> getVoucherSales() {
+        lock.lock();
+        try {
+            return Map.copyOf(voucherSales);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Memasang ledger yang record barunya di-force di setiap group commit, dan
+     * di-{@link TransactionLedger#sync() sync} sebelum setiap checkpoint dan
+     * saat journal ditutup, supaya total belanja di log maupun snapshot tidak
+     * mendahului transaksi yang sudah durable di ledger.
+     *
+     * @param ledger ledger transaksi, atau {@code null}
+     *
+     * @see RewardSystem#setLedger(TransactionLedger)
+     */
+    void setLedger(TransactionLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Menulis snapshot semua member di registry dan membuang log yang sudah tercakup.
+     *
+     * <p>Snapshot ditulis ke file sementara, di-fsync, lalu di-rename secara atomik,
+     * sehingga crash di tengah checkpoint tidak pernah merusak snapshot lama.
+     * Ledger yang terpasang di-sync lebih dulu.</p>
+     *
+     * @param registry registry berisi semua member
+     * @return LSN tempat snapshot berlaku
+     *
+     * @throws IOException jika snapshot gagal ditulis
+     *
+     * @since 3.0
+     */
+    public synchronized long checkpoint(CustomerRegistry registry) throws IOException {
+        TransactionLedger source = ledger;
+        if (source != null) {
+            source.sync();
+        }
+        long mark;
+        Map<String, Long> sales;
+        lock.lock();
+        try {
+            mark = rotate();
+            // Tepat di LSN snapshot: record voucher sesudahnya ada di segment baru
+            sales = Map.copyOf(voucherSales);
+        } finally {
+            lock.unlock();
+        }
+        Path target = directory.resolve(fileName(SNAPSHOT_PREFIX, mark, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        Customer[] members = registry.snapshot();
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(mark);
+            out.writeInt(members.length);
+            ByteBuffer body = ByteBuffer.allocate(256);
+            for (Customer customer : members) {
+                MemberState state = MemberState.capture(customer);
+                int length = state.bodyLength();
+                if (body.capacity() < length) {
+                    body = ByteBuffer.allocate(Math.max(length, body.capacity() * 2));
+                }
+                body.clear();
+                state.writeTo(body);
+                out.writeInt(length);
+                out.write(body.array(), 0, length);
+            }
+            out.writeInt(sales.size());
+            for (Map.Entry<String, Long> sale : sales.entrySet()) {
+                out.writeUTF(sale.getKey());
+                out.writeLong(sale.getValue());
+            }
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        boolean deleted = false;
+        for (long lsn : list(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (lsn < mark) {
+                deleted |= Files.deleteIfExists(directory.resolve(fileName(SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX)));
+            }
+        }
+        for (long lsn : list(directory, LOG_PREFIX, LOG_SUFFIX)) {
+            if (lsn < mark) {
+                deleted |= Files.deleteIfExists(directory.resolve(fileName(LOG_PREFIX, lsn, LOG_SUFFIX)));
+            }
+        }
+        if (deleted) {
+            syncDirectory();
+        }
+        return mark;
+    }
+
+    /**
+     * Kegagalan checkpoint berkala terakhir.
+     *
+     * <p>Checkpoint yang gagal tidak menghentikan jadwal; percobaan berikutnya
+     * tetap berjalan, dan nilai ini kembali {@code null} setelah ada checkpoint
+     * berkala yang berhasil. Selama gagal, log tidak dibuang sehingga ukurannya
+     * dan waktu recovery terus bertambah - pantau nilai ini dari health check.</p>
+     *
+     * @return exception terakhir, atau {@code null} jika checkpoint berkala terakhir berhasil
+     *
+     * @see #scheduleCheckpoints(CustomerRegistry, long, TimeUnit)
+     *
+     * @since 3.0
+     */
+    public IOException getCheckpointFailure() {
+        return checkpointFailure;
+    }
+
+    /**
+     * Menjalankan {@link #checkpoint(CustomerRegistry)} secara berkala di thread daemon.
+     *
+     * <p>Kegagalan tidak membatalkan jadwal dan dicatat di
+     * {@link #getCheckpointFailure()}.</p>
+     *
+     * @param registry registry yang di-snapshot
+     * @param period jarak antar checkpoint
+     * @param unit satuan waktu {@code period}
+     *
+     * @throws IllegalStateException jika checkpoint berkala sudah dijadwalkan
+     *
+     * @since 3.0
+     */
+    public synchronized void scheduleCheckpoints(CustomerRegistry registry, long period, TimeUnit unit) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Checkpoint berkala sudah dijadwalkan");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "balance-journal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint(registry);
+                checkpointFailure = null;
+            } catch (IOException e) {
+                checkpointFailure = e;
+            } catch (UncheckedIOException e) {
+                checkpointFailure = e.getCause();
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Menghentikan checkpoint berkala, fsync semua record tersisa dan ledger
+     * yang terpasang, lalu menutup file log.
+     *
+     * @throws IOException jika fsync atau penutupan file gagal
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdown();
+            }
+        }
+        TransactionLedger source = ledger;
+        if (source != null) {
+            source.sync();
+        }
+        lock.lock();
+        try {
+            drain();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Leader group commit: ambil semua record di buffer, lalu write + fsync
+     * tanpa memegang lock supaya thread lain tetap bisa append.
+     * Dipanggil dengan {@code lock} terpegang dan {@code flushing == false}.
+     */
+    private void flushPending() {
+        flushing = true;
+        ByteBuffer batch = pending;
+        pending = spare;
+        spare = null;
+        long target = appendedLsn;
+        FileChannel out = channel;
+        TransactionLedger source = ledger;
+        lock.unlock();
+        IOException error = null;
+        try {
+            if (source != null) {
+                // Transaksi di ledger harus durable sebelum saldo yang dihitung darinya
+                source.syncAppended();
+            }
+            batch.flip();
+            while (batch.hasRemaining()) {
+                out.write(batch);
+            }
+            out.force(false);
+        } catch (IOException e) {
+            error = e;
+        } catch (UncheckedIOException e) {
+            error = e.getCause();
+        } finally {
+            lock.lock();
+            batch.clear();
+            spare = batch;
+            flushing = false;
+            if (error == null) {
+                durableLsn = target;
+            } else if (failure == null) {
+                // Record di batch ini sudah dibuang: LSN sesudahnya tidak boleh dilaporkan durable
+                failure = error;
+            }
+            flushed.signalAll();
+        }
+        checkUsable();
+    }
+
+    /**
+     * Gagal jika journal sudah rusak. Dipanggil dengan {@code lock} terpegang.
+     */
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Journal tidak bisa dipakai setelah write/fsync gagal", failure);
+        }
+    }
+
+    /**
+     * Menunggu sampai semua record di buffer durable dan tidak ada leader yang
+     * masih menulis ke channel. Selama menunggu, lock dilepas sehingga thread
+     * lain bisa append dan menjadi leader baru; karena itu kondisinya dicek
+     * ulang terhadap {@code appendedLsn} terbaru. Dipanggil dengan {@code lock}
+     * terpegang.
+     */
+    private void drain() {
+        while (flushing || durableLsn < appendedLsn) {
+            if (flushing) {
+                flushed.awaitUninterruptibly();
+            } else {
+                awaitDurable(appendedLsn);
+            }
+        }
+    }
+
+    /**
+     * Fsync record tersisa lalu mulai segment log baru di LSN saat ini.
+     *
+     * @return LSN awal segment baru
+     */
+    private long rotate() throws IOException {
+        lock.lock();
+        try {
+            drain();
+            channel.close();
+            channel = openSegment(appendedLsn);
+            return appendedLsn;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Menulis header record ke buffer. Dipanggil dengan {@code lock} terpegang.
+     *
+     * @return buffer tempat body ditulis
+     */
+    private ByteBuffer beginRecord(int bodyLength) {
+        return ensureCapacity(FRAME_HEADER + bodyLength).putInt(bodyLength).putInt(0);
+    }
+
+    /**
+     * Mengisi CRC record yang body-nya baru ditulis dan memajukan LSN.
+     */
+    private void endRecord(int bodyLength) {
+        int start = pending.position() - bodyLength - FRAME_HEADER;
+        crc.reset();
+        crc.update(pending.array(), start + FRAME_HEADER, bodyLength);
+        pending.putInt(start + Integer.BYTES, (int) crc.getValue());
+        appendedLsn += FRAME_HEADER + bodyLength;
+    }
+
+    private ByteBuffer ensureCapacity(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        return pending;
+    }
+
+    private FileChannel openSegment(long lsn) throws IOException {
+        Path file = directory.resolve(fileName(LOG_PREFIX, lsn, LOG_SUFFIX));
+        boolean created = Files.notExists(file);
+        FileChannel segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segment.position(segment.size());
+        if (created) {
+            syncDirectory();
+        }
+        return segment;
+    }
+
+    /**
+     * Fsync direktori journal supaya file yang baru dibuat, di-rename, atau
+     * dihapus tetap seperti itu setelah crash.
+     */
+    private void syncDirectory() throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows tidak mengizinkan direktori dibuka sebagai channel; metadata di sana sudah sinkron
+        }
+    }
+
+    /**
+     * Replay satu segment log ke registry.
+     *
+     * <p>Perubahan lot dikumpulkan per member di {@code lotChanges} (kadaluarsa
+     * → poin) dan baru diterapkan setelah semua segment dibaca.</p>
+     *
+     * @return jumlah byte valid di segment (sisa yang terpotong di-truncate)
+     */
+    private static long replay(Path segment, long segmentLsn, CustomerRegistry registry,
+                               Map<Customer, TreeMap<Long, Long>> lotChanges,
+                               Map<String, Long> voucherSales) throws IOException {
+        long valid = 0;
+        CRC32 checksum = new CRC32();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            byte[] body = new byte[256];
+            while (true) {
+                int length;
+                int expected;
+                try {
+                    length = in.readInt();
+                    expected = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0) {
+                    break;
+                }
+                if (body.length < length) {
+                    body = new byte[length];
+                }
+                if (in.readNBytes(body, 0, length) < length) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(body, 0, length);
+                if ((int) checksum.getValue() != expected) {
+                    break;
+                }
+                valid += FRAME_HEADER + length;
+                apply(ByteBuffer.wrap(body, 0, length), segmentLsn + valid, registry, lotChanges, voucherSales);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            if (channel.size() > valid) {
+                channel.truncate(valid);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Menerapkan satu record log yang berakhir di {@code lsn}.
+     */
+    private static void apply(ByteBuffer record, long lsn, CustomerRegistry registry,
+                              Map<Customer, TreeMap<Long, Long>> lotChanges,
+                              Map<String, Long> voucherSales) throws IOException {
+        byte kind = record.get();
+        long memberId = record.getLong();
+        Customer customer = registry.get(memberId);
+        if (kind == RECORD_MEMBER) {
+            long rulesFingerprint = record.getLong();
+            byte[] name = new byte[record.getShort() & 0xFFFF];
+            record.get(name);
+            if (customer == null) {
+                customer = new Customer(memberId, new String(name, StandardCharsets.UTF_8), 0);
+                customer.setRulesFingerprint(rulesFingerprint);
+                registry.upsert(customer);
+            }
+            return;
+        }
+        if (kind != RECORD_DELTA) {
+            throw new IOException("Jenis record journal tidak dikenal: " + kind);
+        }
+        if (customer == null) {
+            throw new IOException("Delta untuk member " + memberId + " tanpa record member");
+        }
+        byte[] voucherId = new byte[record.getShort() & 0xFFFF];
+        if (voucherId.length > 0) {
+            // Hitungan voucher di snapshot berhenti tepat di awal segment, jadi selalu dihitung
+            record.get(voucherId);
+            voucherSales.merge(new String(voucherId, StandardCharsets.UTF_8), 1L, Long::sum);
+        }
+        if (lsn <= customer.getJournalLsn()) {
+            // Sudah tercakup di snapshot
+            return;
+        }
+        long spent = record.getLong();
+        int tier = record.get();
+        Tier[] tiers = Tier.values();
+        customer.restoreDelta(spent, tier >= 0 && tier < tiers.length ? tiers[tier] : null,
+                record.getLong(), record.getLong(), record.getLong());
+        int lotCount = record.getInt();
+        if (lotCount > 0) {
+            TreeMap<Long, Long> lots = lotChanges.computeIfAbsent(customer, c -> new TreeMap<>());
+            for (int i = 0; i < lotCount; i++) {
+                long points = record.getLong();
+                lots.merge(record.getLong(), points, Long::sum);
+            }
+        }
+        customer.setJournalLsn(lsn);
+    }
+
+    /**
+     * Menyusun ulang lot member dari lot snapshot ditambah perubahan lot di log.
+     */
+    private static void restoreLots(Customer customer, TreeMap<Long, Long> changes) {
+        PointLots lots = customer.getPointLots();
+        long[] current = lots.toArray();
+        for (int i = 0; i + 1 < current.length; i += 2) {
+            changes.merge(current[i + 1], current[i], Long::sum);
+        }
+        long[] merged = new long[changes.size() * 2];
+        int length = 0;
+        for (Map.Entry<Long, Long> lot : changes.entrySet()) {
+            if (lot.getValue() > 0) {
+                merged[length++] = lot.getValue();
+                merged[length++] = lot.getKey();
+            }
+        }
+        lots.restore(Arrays.copyOf(merged, length));
+    }
+
+    private static void loadSnapshot(Path snapshot, CustomerRegistry registry, Map<String, Long> voucherSales)
+            throws IOException {
+        try (InputStream file = Files.newInputStream(snapshot)) {
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Format snapshot tidak dikenal: " + snapshot);
+            }
+            in.readLong();
+            int count = in.readInt();
+            byte[] body = new byte[256];
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length <= 0) {
+                    throw new IOException("Panjang record snapshot tidak valid: " + length);
+                }
+                if (body.length < length) {
+                    body = new byte[length];
+                }
+                in.readFully(body, 0, length);
+                MemberState.readFrom(ByteBuffer.wrap(body, 0, length)).restore(registry);
+            }
+            int vouchers = in.readInt();
+            for (int i = 0; i < vouchers; i++) {
+                voucherSales.put(in.readUTF(), in.readLong());
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Checksum snapshot tidak cocok: " + snapshot);
+            }
+        }
+    }
+
+    /**
+     * Perubahan saldo satu member dari satu operasi, dicatat sebagai satu record log.
+     *
+     * <p>Semua nilai berupa selisih yang sudah diterapkan ke member (setelah
+     * pembulatan atau batas saldo 0), dan perubahan lot dicatat per lot dengan
+     * waktu kadaluarsanya. Karena itu delta milik member yang sama bisa
+     * diterapkan dalam urutan apa pun dengan hasil yang sama, dan dua thread
+     * boleh mengubah member yang sama tanpa lock.</p>
+     *
+     * <p>Delta menerima perubahan lot langsung dari {@link PointLots}, misalnya
+     * {@link PointExpiry#accrue(Customer, long, long, PointLots.Changes)} dan
+     * {@link Customer#deductPoints(long, PointLots.Changes)}.</p>
+     *
+     * @since 3.0
+     */
+    public static final class Delta implements PointLots.Changes {
+        private static final int FIXED_LENGTH = 1 + 5 * Long.BYTES + Short.BYTES + 1 + Integer.BYTES;
+        private static final long[] NO_LOTS = new long[0];
+        private static final byte[] NO_VOUCHER = new byte[0];
+
+        private long spent;
+        private Tier tier;
+        private long points;
+        private long redeemedPoints;
+        private long expiredPoints;
+        private long[] lots = NO_LOTS;
+        private int lotLength;
+        private String voucherId;
+        private byte[] voucherIdBytes = NO_VOUCHER;
+
+        /**
+         * Menambahkan belanja ke total belanja dan ke belanja per tier.
+         *
+         * @param tier tier saat belanja terjadi
+         * @param amount nominal dalam sen
+         * @return delta ini
+         *
+         * @since 3.0
+         */
+        public Delta spend(Tier tier, long amount) {
+            this.tier = tier;
+            this.spent += amount;
+            return this;
+        }
+
+        /**
+         * Menambahkan perubahan saldo poin.
+         *
+         * @param points poin yang ditambahkan (positif) atau dikurangi (negatif)
+         * @return delta ini
+         *
+         * @since 3.0
+         */
+        public Delta points(long points) {
+            this.points += points;
+            return this;
+        }
+
+        /**
+         * Menambahkan poin yang di-redeem.
+         *
+         * @param points poin yang di-redeem
+         * @return delta ini
+         *
+         * @since 3.0
+         */
+        public Delta redeemed(long points) {
+            this.redeemedPoints += points;
+            return this;
+        }
+
+        /**
+         * Menambahkan poin yang kadaluarsa.
+         *
+         * @param points poin yang dikurangi dari saldo karena kadaluarsa
+         * @return delta ini
+         *
+         * @since 3.0
+         */
+        public Delta expired(long points) {
+            this.expiredPoints += points;
+            return this;
+        }
+
+        /**
+         * Menandai delta ini sebagai penjualan satu unit voucher berstok terbatas.
+         *
+         * @param voucherId ID voucher yang terjual
+         * @return delta ini
+         *
+         * @see BalanceJournal#getVoucherSales()
+         *
+         * @since 3.0
+         */
+        public Delta voucher(String voucherId) {
+            this.voucherId = voucherId;
+            this.voucherIdBytes = voucherId.getBytes(StandardCharsets.UTF_8);
+            return this;
+        }
+
+        @Override
+        public void lot(long points, long expiresAtMillis) {
+            if (lotLength + 2 > lots.length) {
+                lots = Arrays.copyOf(lots, Math.max(4, lots.length * 2));
+            }
+            lots[lotLength++] = points;
+            lots[lotLength++] = expiresAtMillis;
+        }
+
+        /**
+         * Perubahan lot yang sudah dilaporkan, berpasangan {@code [poin, kadaluarsa, ...]}.
+         */
+        long[] lots() {
+            return Arrays.copyOf(lots, lotLength);
+        }
+
+        int bodyLength() {
+            return FIXED_LENGTH + voucherIdBytes.length + lotLength * Long.BYTES;
+        }
+
+        void writeTo(ByteBuffer buffer, long memberId) {
+            buffer.put(RECORD_DELTA)
+                    .putLong(memberId)
+                    .putShort((short) voucherIdBytes.length)
+                    .put(voucherIdBytes)
+                    .putLong(spent)
+                    .put((byte) (tier == null ? -1 : tier.ordinal()))
+                    .putLong(points)
+                    .putLong(redeemedPoints)
+                    .putLong(expiredPoints)
+                    .putInt(lotLength / 2);
+            for (int i = 0; i < lotLength; i++) {
+                buffer.putLong(lots[i]);
+            }
+        }
+    }
+
+    /**
+     * State lengkap satu member di snapshot.
+     */
+    private static final class MemberState {
+        private static final int FIXED_LENGTH = 7 * Long.BYTES + 1 + Integer.BYTES + Short.BYTES;
+        private static final int CAPTURE_SPINS = 64;
+
+        private final long memberId;
+        private final long totalSpent;
+        private final long points;
+        private final long redeemedPoints;
+        private final long expiredPoints;
+        private final long[] tierSpend;
+        private final long journalLsn;
+        private final long rulesFingerprint;
+        private final long[] lots;
+        private final byte[] name;
+
+        private MemberState(long memberId, long totalSpent, long points, long redeemedPoints, long expiredPoints,
+                            long journalLsn, long rulesFingerprint, long[] tierSpend, long[] lots, byte[] name) {
+            this.memberId = memberId;
+            this.totalSpent = totalSpent;
+            this.points = points;
+            this.redeemedPoints = redeemedPoints;
+            this.expiredPoints = expiredPoints;
+            this.journalLsn = journalLsn;
+            this.rulesFingerprint = rulesFingerprint;
+            this.tierSpend = tierSpend;
+            this.lots = lots;
+            this.name = name;
+        }
+
+        /**
+         * Membaca state member yang konsisten dengan LSN record terakhirnya.
+         *
+         * <p>Dibaca hanya saat tidak ada update member yang berjalan, dan diulang
+         * jika versi member berubah selama dibaca. Tidak ada lock yang menahan
+         * accrual atau redeem; checkpoint yang menunggu.</p>
+         */
+        static MemberState capture(Customer customer) {
+            for (int attempt = 0; ; attempt++) {
+                long version = customer.stableVersion();
+                if (version >= 0) {
+                    MemberState state = read(customer);
+                    if (customer.stableVersion() == version) {
+                        return state;
+                    }
+                }
+                if (attempt < CAPTURE_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        private static MemberState read(Customer customer) {
+            Tier[] tiers = Tier.values();
+            long[] tierSpend = new long[tiers.length];
+            for (Tier tier : tiers) {
+                tierSpend[tier.ordinal()] = customer.getTierSpend(tier);
+            }
+            return new MemberState(customer.getMemberId(), customer.getTotalSpent(), customer.getPoints(),
+                    customer.getRedeemedPoints(), customer.getExpiredPoints(), customer.getJournalLsn(),
+                    customer.getRulesFingerprint(), tierSpend, customer.getPointLots().toArray(),
+                    customer.getName().getBytes(StandardCharsets.UTF_8));
+        }
+
+        int bodyLength() {
+            return FIXED_LENGTH + (tierSpend.length + lots.length) * Long.BYTES + name.length;
+        }
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putLong(memberId)
+                    .putLong(totalSpent)
+                    .putLong(points)
+                    .putLong(redeemedPoints)
+                    .putLong(expiredPoints)
+                    .putLong(journalLsn)
+                    .putLong(rulesFingerprint)
+                    .put((byte) tierSpend.length);
+            for (long spend : tierSpend) {
+                buffer.putLong(spend);
+            }
+            buffer.putInt(lots.length / 2);
+            for (long value : lots) {
+                buffer.putLong(value);
+            }
+            buffer.putShort((short) name.length).put(name);
+        }
+
+        static MemberState readFrom(ByteBuffer buffer) {
+            long memberId = buffer.getLong();
+            long totalSpent = buffer.getLong();
+            long points = buffer.getLong();
+            long redeemedPoints = buffer.getLong();
+            long expiredPoints = buffer.getLong();
+            long journalLsn = buffer.getLong();
+            long rulesFingerprint = buffer.getLong();
+            long[] tierSpend = new long[buffer.get() & 0xFF];
+            for (int i = 0; i < tierSpend.length; i++) {
+                tierSpend[i] = buffer.getLong();
+            }
+            long[] lots = new long[buffer.getInt() * 2];
+            for (int i = 0; i < lots.length; i++) {
+                lots[i] = buffer.getLong();
+            }
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            return new MemberState(memberId, totalSpent, points, redeemedPoints, expiredPoints,
+                    journalLsn, rulesFingerprint, tierSpend, lots, name);
+        }
+
+        void restore(CustomerRegistry registry) {
+            Customer customer = registry.get(memberId);
+            if (customer == null) {
+                customer = new Customer(memberId, new String(name, StandardCharsets.UTF_8), 0);
+                registry.upsert(customer);
+            }
+            customer.restoreBalances(totalSpent, points, redeemedPoints, expiredPoints, tierSpend, lots);
+            customer.setRulesFingerprint(rulesFingerprint);
+            customer.setJournalLsn(journalLsn);
+        }
+    }
+
+    /**
+     * Daftar LSN dari file dengan prefix/suffix tertentu, urut naik.
+     */
+    private static List<Long> list(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    result.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // bukan file milik journal
+                }
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static String fileName(String prefix, long lsn, String suffix) {
+        return String.format("%s%020d%s", prefix, lsn, suffix);
+    }
+}
@@ -0,0 +1,136 @@
+package sistemreward;
+
+/**
+ * Ringkasan hasil pemrosesan satu {@link TransactionBatch}.
+ *
+ * <p>Objek immutable berisi angka agregat saja - tidak ada detail per baris -
+ * supaya hasil batch berisi jutaan transaksi tetap kecil.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#processBatch(CustomerRegistry, TransactionBatch)
+ */
+public final class BatchResult {
+
+    private final int records;
+    private final int appliedRecords;
+    private final int unknownMemberRecords;
+    private final int rejectedRecords;
+    private final int members;
+    private final long pointsEarned;
+    private final int tierChanges;
+
+    /**
+     * Constructor untuk ringkasan batch.
+     *
+     * @param records total baris yang diterima
+     * @param appliedRecords baris yang berhasil dicatat
+     * @param unknownMemberRecords baris yang dilewati karena member tidak terdaftar
+     * @param rejectedRecords baris yang ditolak karena nominal negatif atau ID tidak valid
+     * @param members jumlah member yang saldonya diupdate
+     * @param pointsEarned total poin yang ditambahkan
+     * @param tierChanges jumlah member yang tier-nya berubah
+     *
+     * @since 3.0
+     */
+    public BatchResult(int records, int appliedRecords, int unknownMemberRecords,
+                       int rejectedRecords, int members, long pointsEarned, int tierChanges) {
+        this.records = records;
+        this.appliedRecords = appliedRecords;
+        this.unknownMemberRecords = unknownMemberRecords;
+        this.rejectedRecords = rejectedRecords;
+        this.members = members;
+        this.pointsEarned = pointsEarned;
+        this.tierChanges = tierChanges;
+    }
+
+    /**
+     * Getter untuk total baris yang diterima.
+     *
+     * @return total baris yang diterima
+     *
+     * @since 3.0
+     */
+    public int getRecords() {
+        return records;
+    }
+
+    /**
+     * Getter untuk baris yang berhasil dicatat ke history dan saldo.
+     *
+     * @return baris yang berhasil dicatat ke history dan saldo
+     *
+     * @since 3.0
+     */
+    public int getAppliedRecords() {
+        return appliedRecords;
+    }
+
+    /**
+     * Getter untuk baris yang dilewati karena member tidak ada di registry.
+     *
+     * @return baris yang dilewati karena member tidak ada di registry
+     *
+     * @since 3.0
+     */
+    public int getUnknownMemberRecords() {
+        return unknownMemberRecords;
+    }
+
+    /**
+     * Getter untuk baris yang ditolak karena nominal negatif atau ID member tidak valid.
+     *
+     * @return baris yang ditolak karena nominal negatif atau ID member tidak valid
+     *
+     * @since 3.0
+     */
+    public int getRejectedRecords() {
+        return rejectedRecords;
+    }
+
+    /**
+     * Getter untuk jumlah member yang saldonya diupdate.
+     *
+     * @return jumlah member yang saldonya diupdate
+     *
+     * @since 3.0
+     */
+    public int getMembers() {
+        return members;
+    }
+
+    /**
+     * Getter untuk total poin yang ditambahkan ke semua member.
+     *
+     * @return total poin yang ditambahkan ke semua member
+     *
+     * @since 3.0
+     */
+    public long getPointsEarned() {
+        return pointsEarned;
+    }
+
+    /**
+     * Getter untuk jumlah member yang tier-nya berubah karena batch ini.
+     *
+     * @return jumlah member yang tier-nya berubah karena batch ini
+     *
+     * @since 3.0
+     */
+    public int getTierChanges() {
+        return tierChanges;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult[records=" + records
+                + ", applied=" + appliedRecords
+                + ", unknownMember=" + unknownMemberRecords
+                + ", rejected=" + rejectedRecords
+                + ", members=" + members
+                + ", pointsEarned=" + pointsEarned
+                + ", tierChanges=" + tierChanges + "]";
+    }
+}
@@ -0,0 +1,279 @@
+package sistemreward;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Engine untuk menghitung ulang saldo poin dan tier semua member secara paralel.
+ *
+ * <p>Dipakai ketika threshold tier atau point rate berubah. Snapshot member
+ * dari {@link CustomerRegistry} dibagi secara rekursif menjadi partisi kecil
+ * dan dihitung di {@link ForkJoinPool}; setiap partisi mengembalikan statistiknya
+ * sendiri lalu digabung saat join, sehingga tidak ada counter bersama di jalur panas.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * // Point rate naik dari 5% ke 6%
+ * RewardSystem newRules = new RewardSystem(TierTable.DEFAULT, 600);
+ * BulkRecomputeEngine engine = new BulkRecomputeEngine();
+ *
+ * RecomputeResult result = engine.recompute(registry, oldRules, newRules,
+ *         (done, total) -> System.out.println(done + "/" + total));
+ * System.out.println(result.getMembersPerSecond() + " member/detik");
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#calculateTierPoints(Customer)
+ */
+public class BulkRecomputeEngine {
+
+    /**
+     * Jumlah member maksimum per partisi sebelum tidak dipecah lagi.
+     *
+     * @since 3.0
+     */
+    private static final int PARTITION_SIZE = 4096;
+
+    /** Index statistik partisi. */
+    private static final int TIER_CHANGES = 0;
+    private static final int POINTS_DELTA = 1;
+    private static final int SKIPPED = 2;
+    private static final int CLAMPED = 3;
+    private static final int STATS = 4;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Callback untuk melaporkan progress recompute.
+     *
+     * <p><strong>⚠️ Important:</strong> Dipanggil dari worker thread setiap
+     * kali satu partisi selesai, jadi implementasinya harus thread-safe dan cepat.</p>
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Dipanggil setelah satu partisi selesai dihitung.
+         *
+         * @param processed jumlah member yang sudah selesai sejauh ini
+         * @param total jumlah member yang dihitung ulang
+         */
+        void onProgress(long processed, long total);
+    }
+
+    /**
+     * Constructor default yang memakai {@link ForkJoinPool#commonPool()}.
+     *
+     * @since 3.0
+     */
+    public BulkRecomputeEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor dengan ForkJoinPool sendiri, misalnya untuk membatasi jumlah core.
+     *
+     * @param pool pool tempat partisi dijalankan
+     *
+     * @since 3.0
+     */
+    public BulkRecomputeEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Menghitung ulang saldo poin semua member di registry dari aturan
+     * {@code previousRules} ke aturan {@code newRules}.
+     *
+     * <p>Setiap member mendapat koreksi sebesar selisih
+     * {@link RewardSystem#calculateTierPoints(Customer)} kedua engine, yaitu poin
+     * dari belanja per tier yang berlaku saat transaksi. Poin promo, redeem, dan
+     * kadaluarsa tidak disentuh.</p>
+     *
+     * <p><strong>Idempotent:</strong> setiap member mencatat sidik aturan yang
+     * tercermin di saldonya ({@link Customer#getRulesFingerprint()}). Member yang
+     * sidiknya sudah sama dengan {@link RewardSystem#getRulesFingerprint()} milik
+     * {@code newRules} dilewati, jadi recompute yang diulang - misalnya setelah
+     * checkpoint gagal - tidak menambahkan selisih dua kali. Member lain dianggap
+     * masih memakai {@code previousRules}.</p>
+     *
+     * <p>Saldo tidak pernah dibuat negatif. Koreksi negatif yang lebih besar dari
+     * saldo dipotong sampai 0 dan sisanya dilaporkan di
+     * {@link RecomputeResult#getClampedPoints()}.</p>
+     *
+     * <p>Koreksi diterapkan dengan CAS di dalam monitor {@link PointLots} member,
+     * sehingga accrual, redeem, atau sweep kadaluarsa yang berjalan bersamaan
+     * tidak hilang. Jika saldo turun di bawah total lot, lot paling tua ikut
+     * dipotong supaya sweep tidak mengkadaluarsakan poin yang sudah tidak ada.</p>
+     *
+     * <p>Jika {@link RewardSystem#getJournal()} terpasang, hasil recompute
+     * dipersistenkan dengan satu {@link BalanceJournal#checkpoint(CustomerRegistry)}.
+     * {@link MemberSummaryCache} yang terpasang di kedua engine dikosongkan,
+     * karena saldo dan tier member berubah tanpa lewat accrual.</p>
+     *
+     * @param registry registry berisi semua member
+     * @param previousRules engine dengan tier table dan point rate yang dipakai saat accrual
+     * @param newRules engine dengan tier table dan point rate yang baru
+     * @param listener callback progress, boleh {@code null}
+     * @return ringkasan hasil recompute termasuk throughput
+     *
+     * @throws UncheckedIOException jika checkpoint journal gagal
+     *
+     * @since 3.0
+     */
+    public RecomputeResult recompute(CustomerRegistry registry, RewardSystem previousRules,
+                                     RewardSystem newRules, ProgressListener listener) {
+        long start = System.nanoTime();
+        Customer[] members = registry.snapshot();
+        Progress progress = new Progress(members.length, listener);
+        long[] stats = pool.invoke(new PartitionTask(members, 0, members.length, previousRules, newRules,
+                progress));
+        invalidateSummaries(previousRules);
+        if (newRules != previousRules) {
+            invalidateSummaries(newRules);
+        }
+        BalanceJournal journal = newRules.getJournal();
+        if (journal != null) {
+            // Recompute menyentuh semua member: satu snapshot lebih ringkas daripada satu record per member
+            try {
+                journal.checkpoint(registry);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Checkpoint setelah recompute gagal", e);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new RecomputeResult(members.length, stats[TIER_CHANGES], stats[POINTS_DELTA], stats[SKIPPED],
+                stats[CLAMPED], elapsed);
+    }
+
+    /**
+     * Mengosongkan cache ringkasan engine setelah recompute, jika terpasang.
+     */
+    private static void invalidateSummaries(RewardSystem rewardSystem) {
+        MemberSummaryCache cache = rewardSystem.getMemberSummaryCache();
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Menghitung ulang satu member dan mencatat hasilnya ke {@code stats}.
+     *
+     * <p>Sidik aturan dicek ulang dan diganti di dalam monitor lot, supaya dua
+     * recompute yang berjalan bersamaan tidak sama-sama menerapkan selisihnya.</p>
+     */
+    private static void recomputeMember(Customer customer, RewardSystem previousRules,
+                                        RewardSystem newRules, TierTable tierTable, long[] stats) {
+        long target = newRules.getRulesFingerprint();
+        if (customer.getRulesFingerprint() == target) {
+            stats[SKIPPED]++;
+            return;
+        }
+        long delta = newRules.calculateTierPoints(customer) - previousRules.calculateTierPoints(customer);
+        long oldPoints;
+        long newPoints;
+        PointLots lots = customer.getPointLots();
+        // Tidak dicatat ke log: hasil recompute dipersistenkan oleh checkpoint di akhir
+        customer.beginUpdate();
+        try {
+            synchronized (lots) {
+                if (customer.getRulesFingerprint() == target) {
+                    stats[SKIPPED]++;
+                    return;
+                }
+                do {
+                    oldPoints = customer.getPoints();
+                    newPoints = Math.max(0, oldPoints + delta);
+                } while (delta != 0 && !customer.compareAndSetPoints(oldPoints, newPoints));
+                long excess = lots.getTotal() - newPoints;
+                if (excess > 0) {
+                    lots.consume(excess);
+                }
+                customer.setRulesFingerprint(target);
+            }
+        } finally {
+            customer.endUpdate();
+        }
+        stats[POINTS_DELTA] += newPoints - oldPoints;
+        stats[CLAMPED] += newPoints - oldPoints - delta;
+        if (tierTable.lookup(oldPoints) != tierTable.lookup(newPoints)) {
+            stats[TIER_CHANGES]++;
+        }
+    }
+
+    /**
+     * Counter progress bersama; hanya disentuh sekali per partisi.
+     */
+    private static final class Progress {
+        private final long total;
+        private final ProgressListener listener;
+        private final LongAdder processed = new LongAdder();
+
+        Progress(long total, ProgressListener listener) {
+            this.total = total;
+            this.listener = listener;
+        }
+
+        void add(int count) {
+            processed.add(count);
+            if (listener != null) {
+                listener.onProgress(processed.sum(), total);
+            }
+        }
+    }
+
+    /**
+     * Partisi member {@code [from, to)}. Hasil: {@code [tierChanges, pointsDelta, skipped, clamped]}.
+     *
+     * <p>{@link RecursiveTask} mewarisi {@code Serializable}, tetapi task ini
+     * hanya hidup di dalam pool dan tidak pernah diserialisasi.</p>
+     */
+    @SuppressWarnings("serial")
+    private static final class PartitionTask extends RecursiveTask<long[]> {
+        private final Customer[] members;
+        private final int from;
+        private final int to;
+        private final RewardSystem previousRules;
+        private final RewardSystem newRules;
+        private final Progress progress;
+
+        PartitionTask(Customer[] members, int from, int to, RewardSystem previousRules, RewardSystem newRules,
+                      Progress progress) {
+            this.members = members;
+            this.from = from;
+            this.to = to;
+            this.previousRules = previousRules;
+            this.newRules = newRules;
+            this.progress = progress;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= PARTITION_SIZE) {
+                long[] stats = new long[STATS];
+                TierTable tierTable = newRules.getTierTable();
+                for (int i = from; i < to; i++) {
+                    recomputeMember(members[i], previousRules, newRules, tierTable, stats);
+                }
+                progress.add(to - from);
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            PartitionTask left = new PartitionTask(members, from, mid, previousRules, newRules, progress);
+            left.fork();
+            long[] right = new PartitionTask(members, mid, to, previousRules, newRules, progress).compute();
+            long[] stats = left.join();
+            for (int i = 0; i < STATS; i++) {
+                stats[i] += right[i];
+            }
+            return stats;
+        }
+    }
+}
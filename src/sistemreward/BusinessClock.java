@@ -0,0 +1,76 @@
+package sistemreward;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Zona waktu bisnis untuk semua aturan kalender sistem reward: WIB (UTC+7).
+ *
+ * <p>Batas hari dan bulan tidak boleh mengikuti zona default JVM, karena
+ * server biasanya berjalan di UTC. Semua komponen yang memotong waktu per
+ * hari atau per bulan memakai konstanta di sini:</p>
+ * <ul>
+ *   <li>📅 Hari dan tanggal berlaku promo ({@link PromotionEngine})</li>
+ *   <li>🎫 Tanggal berlaku voucher ({@link VoucherCatalog})</li>
+ *   <li>📊 Bulan rolling spend ({@link RollingSpend})</li>
+ *   <li>🕒 Tampilan waktu transaksi ({@link TransactionHistory#TIMESTAMP_FORMAT})</li>
+ * </ul>
+ *
+ * <p>Offset disimpan juga dalam millis supaya jalur transaksi bisa menghitung
+ * hari tanpa membuat objek tanggal.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ */
+public final class BusinessClock {
+
+    /**
+     * Zona waktu bisnis: WIB (UTC+7, tanpa daylight saving).
+     *
+     * @since 3.0
+     */
+    public static final ZoneOffset ZONE = ZoneOffset.ofHours(7);
+
+    /**
+     * Offset {@link #ZONE} dalam millis.
+     *
+     * @since 3.0
+     */
+    public static final long ZONE_OFFSET_MILLIS = ZONE.getTotalSeconds() * 1000L;
+
+    /**
+     * Jumlah millis dalam satu hari.
+     *
+     * @since 3.0
+     */
+    public static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private BusinessClock() {
+        // Utility class
+    }
+
+    /**
+     * Hari kalender (epoch day) di zona bisnis.
+     *
+     * @param epochMillis waktu dalam epoch millis
+     * @return jumlah hari sejak 1970-01-01 di zona WIB
+     *
+     * @since 3.0
+     */
+    public static long epochDay(long epochMillis) {
+        return Math.floorDiv(epochMillis + ZONE_OFFSET_MILLIS, MILLIS_PER_DAY);
+    }
+
+    /**
+     * Awal hari (00:00 WIB) dari tanggal kalender.
+     *
+     * @param date tanggal kalender
+     * @return epoch millis awal hari tersebut
+     *
+     * @since 3.0
+     */
+    public static long startOfDay(LocalDate date) {
+        return date.toEpochDay() * MILLIS_PER_DAY - ZONE_OFFSET_MILLIS;
+    }
+}
@@ -0,0 +1,195 @@
+package sistemreward;
+
+import java.io.PrintStream;
+
+/**
+ * Menampilkan hasil operasi {@link RewardSystem} ke console.
+ *
+ * <p>{@link RewardSystem} hanya mengembalikan objek hasil ({@link RewardResult},
+ * {@link RedemptionResult}) tanpa I/O sama sekali; semua banner dan pesan
+ * dibangun di sini. Caller headless (batch, API, benchmark) cukup tidak
+ * memakai renderer ini dan tidak membayar biaya string maupun I/O.</p>
+ *
+ * <p>Setiap banner dibangun di satu {@link StringBuilder} lalu ditulis dengan satu
+ * pemanggilan {@code print}, sehingga lock {@link PrintStream} hanya diambil sekali
+ * per banner dan banner dari thread berbeda tidak saling bersilangan.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * ConsoleRenderer renderer = new ConsoleRenderer();
+ * renderer.renderReward(rewardSystem.checkReward(customer, Money.ofRupiah(150000)));
+ * renderer.renderRedemption(rewardSystem.redeemVoucher(customer, "V50K"));
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Main
+ */
+public class ConsoleRenderer {
+
+    private final PrintStream out;
+
+    /**
+     * Constructor default yang menulis ke {@link System#out}.
+     *
+     * @since 3.0
+     */
+    public ConsoleRenderer() {
+        this(System.out);
+    }
+
+    /**
+     * Constructor dengan output stream tertentu.
+     *
+     * @param out stream tujuan output
+     *
+     * @since 3.0
+     */
+    public ConsoleRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Menampilkan banner reward setelah transaksi.
+     *
+     * @param result hasil accrual dari {@link RewardSystem#checkReward(Customer, long)}
+     *
+     * @since 3.0
+     */
+    public void renderReward(RewardResult result) {
+        StringBuilder text = new StringBuilder(256);
+        text.append("\n╔════════════════════════════════════╗\n");
+        text.append("║      REWARD BERHASIL!             ║\n");
+        text.append("╚════════════════════════════════════╝\n");
+        text.append("✨ Pelanggan ").append(result.getCustomerName()).append(" mendapat ")
+                .append(result.getEarnedPoints()).append(" poin baru!\n");
+        text.append("📊 Total poin sekarang: ").append(result.getNewBalance()).append('\n');
+        text.append("🏆 Tier: ").append(result.getTier().getDisplayName()).append('\n');
+        appendTierMessage(text, result);
+        out.print(text);
+    }
+
+    /**
+     * Menampilkan hasil penukaran voucher.
+     *
+     * @param result hasil dari {@link RewardSystem#redeemVoucher(Customer, String)}
+     *               atau {@link RewardSystem#redeemVoucher(Customer, int)}
+     *
+     * @since 3.0
+     */
+    public void renderRedemption(RedemptionResult result) {
+        StringBuilder text = new StringBuilder(256);
+        Voucher voucher = result.getVoucher();
+        switch (result.getStatus()) {
+            case SUCCESS:
+                text.append("\n╔════════════════════════════════════╗\n");
+                text.append("║   PENUKARAN BERHASIL! 🎉          ║\n");
+                text.append("╚════════════════════════════════════╝\n");
+                text.append("✅ ").append(voucher.getName()).append(" telah ditukarkan!\n");
+                text.append("💳 Poin terpakai: ").append(result.getPointsNeeded()).append('\n');
+                text.append("📊 Sisa poin: ").append(result.getRemainingPoints()).append('\n');
+                break;
+            case NOT_FOUND:
+                if (result.getVoucherId() == null) {
+                    text.append("❌ Pilihan tidak valid!\n");
+                } else {
+                    text.append("❌ Voucher ").append(result.getVoucherId()).append(" tidak ditemukan!\n");
+                }
+                break;
+            case NOT_VALID:
+                text.append("\n❌ ").append(voucher.getName()).append(" sedang tidak berlaku!\n");
+                break;
+            case OUT_OF_STOCK:
+                text.append("\n❌ Stok ").append(voucher.getName()).append(" sudah habis!\n");
+                break;
+            case INSUFFICIENT_POINTS:
+                text.append("\n❌ Poin Anda tidak cukup!\n");
+                text.append("💡 Anda memerlukan ").append(result.getPointsNeeded()).append(" poin\n");
+                text.append("📊 Poin Anda saat ini: ").append(result.getRemainingPoints()).append('\n');
+                break;
+        }
+        out.print(text);
+    }
+
+    /**
+     * Menampilkan tier pelanggan saat ini beserta daftar semua tier.
+     *
+     * @param customer objek Customer yang dicek
+     * @param tierTable tabel tier yang dipakai
+     *
+     * @since 3.0
+     */
+    public void renderTierInfo(Customer customer, TierTable tierTable) {
+        long points = customer.getPoints();
+        StringBuilder text = new StringBuilder(512);
+        text.append("\n╔════════════════════════════════════╗\n");
+        text.append("║      SISTEM TIER REWARD           ║\n");
+        text.append("╚════════════════════════════════════╝\n");
+        text.append("\n📊 Tier Anda Saat Ini: ").append(tierTable.lookup(points).getDisplayName()).append('\n');
+        text.append("🎯 Poin Anda: ").append(points).append('\n');
+        text.append("\n📋 Daftar Tier:\n");
+        for (Tier tier : Tier.values()) {
+            Tier next = tierTable.next(tier);
+            text.append(tier.getIcon()).append(' ').append(String.format("%-9s", tier.getLabel())).append(": ")
+                    .append(tierTable.getThreshold(tier));
+            if (next == null) {
+                text.append('+');
+            } else {
+                text.append(" - ").append(tierTable.getThreshold(next) - 1);
+            }
+            text.append(" poin (Bonus: ").append(formatBonus(tierTable.getBonusBasisPoints(tier))).append(")\n");
+        }
+        out.print(text);
+    }
+
+    /**
+     * Menampilkan pesan member tidak ditemukan di registry.
+     *
+     * @param memberId ID member yang dicari
+     *
+     * @since 3.0
+     */
+    public void renderMemberNotFound(long memberId) {
+        out.println("❌ Member " + memberId + " tidak ditemukan!");
+    }
+
+    /**
+     * Pesan motivasi sesuai tier: sisa poin untuk naik tier dan bonus yang didapat.
+     */
+    private static void appendTierMessage(StringBuilder text, RewardResult result) {
+        String bonus = formatBonus(result.getBonusBasisPoints());
+        Tier next = result.getNextTier();
+        text.append('\n');
+        switch (result.getTier()) {
+            case BRONZE:
+                text.append("💡 Kumpulkan ").append(result.getPointsToNextTier())
+                        .append(" poin lagi untuk naik ke ").append(next.getLabel()).append("!\n");
+                break;
+            case SILVER:
+                text.append("🎉 Selamat! Anda mendapat bonus ").append(bonus).append(" poin!\n");
+                text.append("💡 ").append(result.getPointsToNextTier())
+                        .append(" poin lagi untuk naik ke ").append(next.getLabel()).append("!\n");
+                break;
+            case GOLD:
+                text.append("🎉 Luar biasa! Anda mendapat bonus ").append(bonus).append(" poin!\n");
+                text.append("💡 ").append(result.getPointsToNextTier())
+                        .append(" poin lagi untuk naik ke ").append(next.getLabel()).append("!\n");
+                break;
+            case PLATINUM:
+                text.append("👑 Fantastis! Anda di tier tertinggi dengan bonus ").append(bonus).append(" poin!\n");
+                break;
+        }
+    }
+
+    /**
+     * Format bonus basis points menjadi persentase, misalnya 200 → "+2%", 250 → "+2.5%".
+     */
+    private static String formatBonus(int basisPoints) {
+        String percent = basisPoints % 100 == 0
+                ? String.valueOf(basisPoints / 100)
+                : String.valueOf(basisPoints / 100.0);
+        return basisPoints == 0 ? "0%" : "+" + percent + "%";
+    }
+}
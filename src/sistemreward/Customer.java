@@ -0,0 +1,878 @@
+package sistemreward;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Model representasi pelanggan dalam sistem reward loyalty program.
+ * 
+ * <p>Class ini menyimpan data pelanggan termasuk identitas, financial data,
+ * poin reward, dan riwayat transaksi lengkap. Mendukung operasi CRUD untuk
+ * manajemen poin dan transaksi.</p>
+ * 
+ * <p><strong>Key Features:</strong></p>
+ * <ul>
+ *   <li>💰 Tracking total spending pelanggan</li>
+ *   <li>🎯 Manajemen poin reward</li>
+ *   <li>📝 History semua transaksi dengan timestamp</li>
+ *   <li>💳 Redeem points untuk voucher</li>
+ * </ul>
+ * 
+ * <p><strong>Thread safety:</strong> Saldo poin disimpan dalam {@link AtomicLong}
+ * dan diubah hanya lewat operasi CAS, sehingga beberapa terminal POS bisa
+ * memproses member yang sama bersamaan tanpa double-spend dan tanpa lock.
+ * Total belanja juga diakumulasi dengan {@link AtomicLong}.</p>
+ *
+ * <p>Pengecualiannya member yang punya lot poin ({@link PointLots}): redeem,
+ * accrual berlot, dan sweep kadaluarsa memegang monitor lot member itu,
+ * karena saldo dan antrian lot FIFO harus berubah bersama. Monitor ini per
+ * member, jadi tidak ada kontensi antar member; biayanya untuk satu member
+ * yang diperebutkan diukur di {@code LotRedemptionBenchmark}.</p>
+ * 
+ * <p><strong>Money:</strong> Semua nominal uang dalam satuan sen (1/100 Rupiah),
+ * lihat {@link Money}.</p>
+ * 
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * Customer customer = new Customer("John Doe", Money.ofRupiah(250000));
+ * customer.addTransaction(Money.ofRupiah(150000));
+ * customer.redeemPoints(100);
+ * customer.displayInfo();
+ * }</pre>
+ * 
+ * @author Sistem Reward Team
+ * @version 2.0
+ * @since 1.0
+ * 
+ * @see RewardSystem
+ * @see TransactionHistory
+ */
+public final class Customer {
+    private static final long UPDATE_VERSION = 1L << 16;
+    private static final long UPDATES_IN_FLIGHT = UPDATE_VERSION - 1;
+
+    private final long memberId;
+    private String name;
+    private final AtomicLong totalSpent;
+    private final AtomicLong points;
+    private final AtomicLong redeemedPoints;
+    private final AtomicLong expiredPoints;
+    private final AtomicLongArray tierSpend;
+    private final TransactionHistory transactionHistory;
+    private final RollingSpend rollingSpend;
+    private final PointLots pointLots;
+    private final AtomicLong rulesFingerprint = new AtomicLong();
+    /** Jumlah update yang sedang berjalan (bit bawah) dan nomor versi (bit atas). */
+    private final AtomicLong updates = new AtomicLong();
+    /** LSN akhir record {@link BalanceJournal} terakhir milik member ini, 0 jika belum ada. */
+    private volatile long journalLsn;
+
+    /**
+     * Constructor untuk membuat instance Customer baru.
+     * 
+     * <p>Inisialisasi pelanggan dengan nama dan total belanja awal.
+     * Transaksi pertama akan otomatis ditambahkan ke history jika
+     * totalSpent > 0.</p>
+     * 
+     * <p><strong>⚠️ Important:</strong> Constructor ini tidak langsung menghitung poin.
+     * Gunakan {@link RewardSystem#checkReward(Customer, long)} untuk menghitung poin.</p>
+     * 
+     * @param name nama lengkap pelanggan (tidak boleh null atau kosong)
+     * @param totalSpent total belanja awal dalam sen (harus >= 0)
+     * 
+     * @throws IllegalArgumentException jika totalSpent negatif
+     * 
+     * @see #addTransaction(long)
+     * 
+     * @since 1.0
+     */
+    public Customer(String name, long totalSpent) {
+        this(0L, name, totalSpent);
+    }
+
+    /**
+     * Constructor untuk membuat Customer yang terdaftar dengan ID member.
+     * 
+     * <p>ID member dipakai sebagai key di {@link CustomerRegistry}, sehingga
+     * pelanggan bisa dicari tanpa harus memegang referensi objeknya.</p>
+     * 
+     * @param memberId ID member unik (harus &gt; 0 untuk disimpan di registry)
+     * @param name nama lengkap pelanggan (tidak boleh null atau kosong)
+     * @param totalSpent total belanja awal dalam sen (harus >= 0)
+     * 
+     * @see CustomerRegistry#upsert(Customer)
+     * 
+     * @since 3.0
+     */
+    public Customer(long memberId, String name, long totalSpent) {
+        this.memberId = memberId;
+        this.name = name;
+        this.totalSpent = new AtomicLong();
+        this.points = new AtomicLong();
+        this.redeemedPoints = new AtomicLong();
+        this.expiredPoints = new AtomicLong();
+        this.tierSpend = new AtomicLongArray(Tier.values().length);
+        this.transactionHistory = new TransactionHistory();
+        this.rollingSpend = new RollingSpend();
+        this.pointLots = new PointLots();
+        
+        // Tambahkan transaksi pertama
+        if (totalSpent > 0) {
+            addTransaction(totalSpent);
+        }
+    }
+
+    /**
+     * Getter untuk ID member pelanggan.
+     * 
+     * @return ID member, atau {@code 0} jika pelanggan dibuat tanpa ID
+     * 
+     * @see CustomerRegistry
+     * 
+     * @since 3.0
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Getter untuk nama pelanggan.
+     * 
+     * @return nama lengkap pelanggan (never null)
+     * 
+     * @since 1.0
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter untuk total akumulasi belanja pelanggan.
+     * 
+     * <p>Value ini terupdate otomatis setiap kali ada transaksi baru
+     * melalui method {@link #addTransaction(long)}.</p>
+     * 
+     * @return total belanja dalam sen (always >= 0)
+     * 
+     * @see #addTransaction(long)
+     * @see Money#format(long)
+     * 
+     * @since 1.0
+     */
+    public long getTotalSpent() {
+        return totalSpent.get();
+    }
+
+    /**
+     * Getter untuk jumlah poin reward yang dimiliki pelanggan saat ini.
+     * 
+     * <p>Poin dapat bertambah melalui transaksi dan berkurang saat redeem voucher.</p>
+     * 
+     * @return jumlah poin saat ini (can be 0 or positive)
+     * 
+     * @see #setPoints(long)
+     * @see #redeemPoints(long)
+     * 
+     * @since 1.0
+     */
+    public long getPoints() {
+        return points.get();
+    }
+
+    /**
+     * Setter untuk mengupdate total poin pelanggan.
+     * 
+     * <p><strong>⚠️ Note:</strong> Method ini biasanya dipanggil oleh
+     * {@link RewardSystem} setelah kalkulasi poin. Tidak disarankan
+     * untuk digunakan langsung kecuali ada kebutuhan khusus.</p>
+     * 
+     * @param points jumlah poin baru yang akan di-set (should be >= 0)
+     * 
+     * @see RewardSystem#checkReward(Customer, long)
+     * 
+     * @since 1.0
+     */
+    public void setPoints(long points) {
+        this.points.set(points);
+    }
+    
+    /**
+     * Mengganti saldo poin secara atomik hanya jika saldo saat ini masih sama
+     * dengan {@code expectedPoints} (compare-and-set).
+     * 
+     * <p>Dipakai oleh {@link RewardSystem} untuk pola read-compute-update:
+     * baca saldo, hitung saldo baru, lalu CAS. Jika gagal berarti ada thread
+     * lain yang mengubah saldo di antaranya, dan kalkulasi harus diulang.</p>
+     * 
+     * @param expectedPoints saldo poin yang diharapkan saat ini
+     * @param newPoints saldo poin baru
+     * @return {@code true} jika saldo berhasil diganti
+     * 
+     * @see RewardSystem#checkReward(Customer)
+     * 
+     * @since 3.0
+     */
+    public boolean compareAndSetPoints(long expectedPoints, long newPoints) {
+        return points.compareAndSet(expectedPoints, newPoints);
+    }
+    
+    /**
+     * Menambahkan poin ke saldo pelanggan secara atomik.
+     * 
+     * <p>Dipakai oleh accrual incremental: poin hasil transaksi baru
+     * ditambahkan ke saldo, bukan menimpa saldo.</p>
+     * 
+     * @param delta jumlah poin yang ditambahkan (should be &gt;= 0)
+     * @return saldo poin setelah ditambahkan
+     * 
+     * @see RewardSystem#accruePoints(Customer, long)
+     * 
+     * @since 3.0
+     */
+    public long addPoints(long delta) {
+        return points.addAndGet(delta);
+    }
+    
+    /**
+     * Menambahkan transaksi baru ke history dan update total spending.
+     * 
+     * <p>Setiap transaksi akan disimpan dengan timestamp otomatis dan
+     * total belanja pelanggan akan diupdate. Method ini tidak menghitung
+     * poin - gunakan {@link RewardSystem#accruePoints(Customer, long)} setelahnya.</p>
+     * 
+     * <p><strong>Process flow:</strong></p>
+     * <ol>
+     *   <li>Update totalSpent dengan menambah amount</li>
+     *   <li>Catat nominal dan timestamp saat ini ke {@link TransactionHistory}</li>
+     * </ol>
+     * 
+     * @param amount jumlah belanja dalam sen (should be > 0)
+     * 
+     * @see TransactionHistory#append(long, long)
+     * @see RewardSystem#checkReward(Customer, long)
+     * 
+     * @since 2.0
+     */
+    public void addTransaction(long amount) {
+        addTransaction(amount, System.currentTimeMillis());
+    }
+    
+    /**
+     * Menambahkan transaksi dengan timestamp yang sudah diketahui.
+     * 
+     * <p>Dipakai untuk transaksi yang masuk belakangan, misalnya upload
+     * batch akhir hari dari POS, sehingga history menyimpan waktu transaksi
+     * sebenarnya, bukan waktu diproses.</p>
+     * 
+     * @param amount jumlah belanja dalam sen (should be > 0)
+     * @param epochMillis waktu transaksi dalam epoch millis
+     * 
+     * @see RewardSystem#processBatch(CustomerRegistry, TransactionBatch)
+     * 
+     * @since 3.0
+     */
+    public void addTransaction(long amount, long epochMillis) {
+        addSpend(amount, epochMillis);
+        transactionHistory.append(amount, epochMillis);
+    }
+    
+    /**
+     * Mencatat belanja ke total belanja dan rolling spend tanpa menyimpannya
+     * ke {@link TransactionHistory} di heap.
+     * 
+     * <p>Dipakai {@link RewardSystem} saat {@link TransactionLedger} terpasang:
+     * history member dibaca dari ledger, jadi tidak perlu disalin ke heap.</p>
+     * 
+     * @param amount jumlah belanja dalam sen (should be > 0)
+     * @param epochMillis waktu transaksi dalam epoch millis
+     * 
+     * @see RewardSystem#setLedger(TransactionLedger)
+     * 
+     * @since 3.0
+     */
+    public void addSpend(long amount, long epochMillis) {
+        this.totalSpent.addAndGet(amount);
+        rollingSpend.add(amount, epochMillis);
+    }
+    
+    /**
+     * Mencatat belanja yang sudah diberi poin dengan bonus tier tertentu.
+     * 
+     * <p>Dipanggil {@link RewardSystem} setiap accrual dengan tier yang berlaku
+     * saat itu, sehingga {@link BulkRecomputeEngine} bisa menghitung ulang poin
+     * dengan tier yang berlaku waktu transaksi, bukan tier saldo hari ini.</p>
+     * 
+     * @param tier tier yang menentukan bonus saat accrual
+     * @param amount nominal yang diberi poin dalam sen
+     * 
+     * @see RewardSystem#calculateTierPoints(Customer)
+     * 
+     * @since 3.0
+     */
+    public void addTierSpend(Tier tier, long amount) {
+        tierSpend.addAndGet(tier.ordinal(), amount);
+    }
+    
+    /**
+     * Getter untuk total belanja yang diberi poin selama member berada di tier tertentu.
+     * 
+     * @param tier tier yang dicek
+     * @return total belanja dalam sen (always &gt;= 0)
+     * 
+     * @see #addTierSpend(Tier, long)
+     * 
+     * @since 3.0
+     */
+    public long getTierSpend(Tier tier) {
+        return tierSpend.get(tier.ordinal());
+    }
+    
+    /**
+     * Getter untuk riwayat transaksi pelanggan.
+     * 
+     * <p>Riwayat disimpan kolumnar dalam array primitif dan mendukung
+     * iterasi serta query rentang waktu tanpa membuat objek per transaksi.</p>
+     * 
+     * @return riwayat transaksi (never null, live view)
+     * 
+     * @see TransactionHistory#forEach(TransactionHistory.Visitor)
+     * 
+     * @since 3.0
+     */
+    public TransactionHistory getTransactionHistory() {
+        return transactionHistory;
+    }
+    
+    /**
+     * Getter untuk total belanja bergulir 12 bulan terakhir.
+     * 
+     * <p>Di-update setiap {@link #addTransaction(long, long)}, sehingga total
+     * jendela bisa dibaca tanpa memindai history.</p>
+     * 
+     * @return agregat belanja per bulan (never null, live view)
+     * 
+     * @see TierQualification#ROLLING_SPEND
+     * 
+     * @since 3.0
+     */
+    public RollingSpend getRollingSpend() {
+        return rollingSpend;
+    }
+    
+    /**
+     * Getter untuk lot poin yang masih punya masa berlaku.
+     * 
+     * <p>Kosong selama {@link PointExpiry} tidak diaktifkan.</p>
+     * 
+     * @return lot poin, paling tua lebih dulu (never null, live view)
+     * 
+     * @see RewardSystem#setPointExpiry(PointExpiry)
+     * 
+     * @since 3.0
+     */
+    public PointLots getPointLots() {
+        return pointLots;
+    }
+    
+    /**
+     * Mengurangi poin pelanggan untuk penukaran voucher atau reward.
+     * 
+     * <p>Method ini memvalidasi apakah poin cukup sebelum melakukan pengurangan.
+     * Jika poin tidak cukup, tidak ada perubahan yang dilakukan.</p>
+     * 
+     * <p>Pengecekan dan pengurangan dilakukan dalam satu CAS loop, sehingga dua
+     * redeem bersamaan tidak mungkin sama-sama lolos dengan saldo yang sama.</p>
+     * 
+     * <p>Jika point expiry aktif, poin diambil dari lot paling tua lebih dulu
+     * (FIFO), sehingga poin yang paling cepat kadaluarsa terpakai duluan.
+     * Selama member masih punya lot, CAS saldo dan pemakaian lot dilakukan di
+     * bawah monitor {@link PointLots} - monitor yang sama dengan sweep
+     * kadaluarsa - sehingga sweep tidak pernah membuang lot yang poinnya sudah
+     * dipakai redeem ini.</p>
+     * 
+     * <p><strong>Use case:</strong></p>
+     * <ul>
+     *   <li>Redeem voucher belanja</li>
+     *   <li>Tukar poin dengan hadiah</li>
+     *   <li>Gunakan poin untuk diskon</li>
+     * </ul>
+     * 
+     * @param pointsToRedeem jumlah poin yang akan dikurangi (must be > 0)
+     * @return {@code true} jika redeem berhasil, {@code false} jika poin tidak cukup
+     * 
+     * @see RewardSystem#redeemVoucher(Customer, int)
+     * 
+     * @since 2.0
+     */
+    public boolean redeemPoints(long pointsToRedeem) {
+        return deductPoints(pointsToRedeem) >= 0;
+    }
+    
+    /**
+     * Sama seperti {@link #redeemPoints(long)}, tetapi mengembalikan saldo tepat
+     * setelah pengurangan ini, sehingga caller bisa mengetahui perubahan tier
+     * tanpa membaca ulang saldo yang mungkin sudah diubah thread lain.
+     * 
+     * @param pointsToRedeem jumlah poin yang akan dikurangi (must be > 0)
+     * @return sisa poin setelah pengurangan, atau -1 jika poin tidak cukup
+     * 
+     * @since 3.0
+     */
+    public long deductPoints(long pointsToRedeem) {
+        return deductPoints(pointsToRedeem, null);
+    }
+    
+    /**
+     * Sama seperti {@link #deductPoints(long)}, dan melaporkan lot yang terpakai.
+     * 
+     * @param pointsToRedeem jumlah poin yang akan dikurangi (must be > 0)
+     * @param changes penerima perubahan lot, boleh {@code null}
+     * @return sisa poin setelah pengurangan, atau -1 jika poin tidak cukup
+     * 
+     * @see PointLots#consume(long, PointLots.Changes)
+     * 
+     * @since 3.0
+     */
+    public long deductPoints(long pointsToRedeem, PointLots.Changes changes) {
+        while (true) {
+            long current = points.get();
+            if (current < pointsToRedeem) {
+                return -1;
+            }
+            // Dibaca sesudah saldo: lot selalu dicatat sebelum poinnya masuk ke saldo
+            if (pointLots.getTotal() > 0) {
+                return deductPointsWithLots(pointsToRedeem, changes);
+            }
+            long remaining = current - pointsToRedeem;
+            if (points.compareAndSet(current, remaining)) {
+                redeemedPoints.addAndGet(pointsToRedeem);
+                return remaining;
+            }
+        }
+    }
+    
+    /**
+     * Jalur {@link #deductPoints(long)} untuk member yang punya lot: saldo dan lot
+     * diubah bersama di bawah monitor {@link PointLots}.
+     */
+    private long deductPointsWithLots(long pointsToRedeem, PointLots.Changes changes) {
+        synchronized (pointLots) {
+            while (true) {
+                long current = points.get();
+                if (current < pointsToRedeem) {
+                    return -1;
+                }
+                long remaining = current - pointsToRedeem;
+                if (points.compareAndSet(current, remaining)) {
+                    redeemedPoints.addAndGet(pointsToRedeem);
+                    pointLots.consume(pointsToRedeem, changes);
+                    return remaining;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Mengembalikan poin dari redeem yang dibatalkan, beserta lot asalnya.
+     * 
+     * <p>Member tidak dijadwalkan ulang di timer wheel; pakai
+     * {@link PointExpiry#refund(Customer, long, long[])} jika lot bisa kadaluarsa.</p>
+     * 
+     * @param pointsToRefund poin yang sebelumnya dikurangi oleh {@link #deductPoints(long, PointLots.Changes)}
+     * @param consumedLots lot yang terpakai, seperti dilaporkan ke {@link PointLots.Changes}
+     * @return saldo poin setelah dikembalikan
+     * 
+     * @see PointLots#unconsume(long[])
+     * 
+     * @since 3.0
+     */
+    public long refundPoints(long pointsToRefund, long[] consumedLots) {
+        synchronized (pointLots) {
+            pointLots.unconsume(consumedLots);
+            redeemedPoints.addAndGet(-pointsToRefund);
+            return points.addAndGet(pointsToRefund);
+        }
+    }
+
+    /**
+     * Mengurangi saldo karena lot poin kadaluarsa.
+     * 
+     * <p>Saldo tidak pernah menjadi negatif: jika saldo sudah lebih kecil
+     * dari poin lot, hanya sisa saldo yang dikurangi.</p>
+     * 
+     * <p><strong>⚠️ Note:</strong> {@link PointExpiry} memanggil method ini di
+     * bawah monitor {@link PointLots} yang sama dengan tempat lot dibuang,
+     * supaya tidak bisa menyela {@link #deductPoints(long)}.</p>
+     * 
+     * @param pointsToExpire poin dari lot yang kadaluarsa
+     * @return poin yang benar-benar dikurangi dari saldo
+     * 
+     * @see PointExpiry
+     * 
+     * @since 3.0
+     */
+    public long expirePoints(long pointsToExpire) {
+        while (true) {
+            long current = points.get();
+            long taken = Math.min(current, pointsToExpire);
+            if (points.compareAndSet(current, current - taken)) {
+                expiredPoints.addAndGet(taken);
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan saldo pelanggan dari data persisten.
+     * 
+     * <p><strong>⚠️ Note:</strong> Hanya dipakai oleh {@link BalanceJournal}
+     * saat recovery, sebelum member mulai bertransaksi. History transaksi
+     * dan rolling spend tidak ikut dipulihkan; lihat {@link TransactionLedger}
+     * dan {@link RewardSystem#rebuildRollingSpend(CustomerRegistry)}.</p>
+     * 
+     * @param totalSpent total belanja dalam sen
+     * @param points saldo poin
+     * @param redeemedPoints total poin yang sudah di-redeem
+     * @param expiredPoints total poin yang sudah kadaluarsa
+     * @param tierSpend belanja per tier, urut {@link Tier#ordinal()} (boleh lebih pendek)
+     * @param lots lot poin dari {@link PointLots#toArray()}
+     * 
+     * @since 3.0
+     */
+    public void restoreBalances(long totalSpent, long points, long redeemedPoints, long expiredPoints,
+                                long[] tierSpend, long[] lots) {
+        this.totalSpent.set(totalSpent);
+        this.redeemedPoints.set(redeemedPoints);
+        this.expiredPoints.set(expiredPoints);
+        for (int i = 0; i < this.tierSpend.length(); i++) {
+            this.tierSpend.set(i, i < tierSpend.length ? tierSpend[i] : 0);
+        }
+        synchronized (pointLots) {
+            pointLots.restore(lots);
+            this.points.set(points);
+        }
+    }
+    
+    /**
+     * Menerapkan satu delta saldo dari log {@link BalanceJournal}.
+     * 
+     * <p><strong>⚠️ Note:</strong> Hanya dipakai oleh {@link BalanceJournal}
+     * saat recovery. Lot dipulihkan terpisah setelah semua record dibaca.</p>
+     * 
+     * @param spent tambahan total belanja dalam sen
+     * @param tier tier tempat belanja dicatat, atau {@code null}
+     * @param points perubahan saldo poin
+     * @param redeemed tambahan poin yang di-redeem
+     * @param expired tambahan poin yang kadaluarsa
+     * 
+     * @since 3.0
+     */
+    public void restoreDelta(long spent, Tier tier, long points, long redeemed, long expired) {
+        totalSpent.addAndGet(spent);
+        if (tier != null) {
+            tierSpend.addAndGet(tier.ordinal(), spent);
+        }
+        this.points.addAndGet(points);
+        redeemedPoints.addAndGet(redeemed);
+        expiredPoints.addAndGet(expired);
+    }
+    
+    /**
+     * Menandai awal perubahan saldo yang akan dicatat ke {@link BalanceJournal}.
+     * 
+     * <p>Harus dipasangkan dengan {@link #endUpdate()} di blok {@code finally},
+     * setelah record perubahan di-append. Selama ada update yang berjalan,
+     * snapshot journal menunggu, sehingga snapshot tidak pernah berisi saldo
+     * yang record-nya belum ada di log. Tidak ada lock: update member yang
+     * sama boleh berjalan bersamaan.</p>
+     */
+    void beginUpdate() {
+        updates.incrementAndGet();
+    }
+    
+    /**
+     * Menandai akhir perubahan yang dibuka dengan {@link #beginUpdate()}.
+     */
+    void endUpdate() {
+        updates.addAndGet(UPDATE_VERSION - 1);
+    }
+    
+    /**
+     * Versi update member saat tidak ada update yang berjalan.
+     * 
+     * @return versi saat ini, atau -1 jika ada update yang sedang berjalan
+     */
+    long stableVersion() {
+        long state = updates.get();
+        return (state & UPDATES_IN_FLIGHT) == 0 ? state : -1;
+    }
+    
+    /**
+     * LSN akhir record journal terakhir milik member ini.
+     * 
+     * @return LSN, atau 0 jika member belum pernah dicatat ke log
+     */
+    long getJournalLsn() {
+        return journalLsn;
+    }
+    
+    /**
+     * Mengganti LSN record journal terakhir; dipanggil {@link BalanceJournal}.
+     * 
+     * @param lsn LSN akhir record
+     */
+    void setJournalLsn(long lsn) {
+        journalLsn = lsn;
+    }
+    
+    /**
+     * Getter untuk total poin yang sudah pernah di-redeem seumur hidup.
+     * 
+     * @return total poin yang sudah di-redeem (always >= 0)
+     * 
+     * @see #redeemPoints(long)
+     * 
+     * @since 3.0
+     */
+    public long getRedeemedPoints() {
+        return redeemedPoints.get();
+    }
+    
+    /**
+     * Getter untuk total poin yang sudah kadaluarsa seumur hidup.
+     * 
+     * @return total poin kadaluarsa (always >= 0)
+     * 
+     * @see PointExpiry
+     * 
+     * @since 3.0
+     */
+    public long getExpiredPoints() {
+        return expiredPoints.get();
+    }
+    
+    /**
+     * Getter untuk sidik aturan poin yang tercermin di saldo member ini.
+     * 
+     * @return sidik dari {@link RewardSystem#getRulesFingerprint()}, atau 0 jika
+     *         member belum pernah accrual maupun di-recompute
+     * 
+     * @see BulkRecomputeEngine
+     * 
+     * @since 3.0
+     */
+    public long getRulesFingerprint() {
+        return rulesFingerprint.get();
+    }
+    
+    /**
+     * Mengganti sidik aturan poin member, misalnya setelah recompute atau recovery.
+     * 
+     * @param fingerprint sidik dari {@link RewardSystem#getRulesFingerprint()}
+     * 
+     * @since 3.0
+     */
+    public void setRulesFingerprint(long fingerprint) {
+        rulesFingerprint.set(fingerprint);
+    }
+    
+    /**
+     * Mengisi sidik aturan poin jika member belum punya sidik.
+     * 
+     * <p>Dipanggil di setiap accrual: member baru mencatat aturan engine yang
+     * memberinya poin pertama kali, sedangkan sidik yang sudah ada hanya
+     * diganti oleh recompute.</p>
+     * 
+     * @param fingerprint sidik dari {@link RewardSystem#getRulesFingerprint()}
+     * 
+     * @since 3.0
+     */
+    public void stampRulesFingerprint(long fingerprint) {
+        if (rulesFingerprint.get() == 0) {
+            rulesFingerprint.compareAndSet(0, fingerprint);
+        }
+    }
+
+    /**
+     * Menampilkan informasi lengkap pelanggan ke console output.
+     * 
+     * <p>Informasi yang ditampilkan meliputi:</p>
+     * <ul>
+     *   <li>👤 Nama pelanggan</li>
+     *   <li>💰 Total belanja (formatted Rupiah)</li>
+     *   <li>🎯 Poin reward saat ini</li>
+     *   <li>📝 Jumlah transaksi yang pernah dilakukan</li>
+     * </ul>
+     * 
+     * <p>Output menggunakan format Rupiah dengan thousand separator
+     * untuk kemudahan pembacaan.</p>
+     * 
+     * @see #displayTransactionHistory()
+     * @see #displayInfo(TransactionLedger)
+     * 
+     * @since 1.0
+     */
+    public void displayInfo() {
+        displayInfo(null);
+    }
+    
+    /**
+     * Menampilkan informasi pelanggan dengan jumlah transaksi dari ledger.
+     * 
+     * <p>Jika ledger terpasang, transaksi dicatat di ledger dan tidak di
+     * {@link #getTransactionHistory()}, jadi jumlah transaksi harus dibaca
+     * dari {@link TransactionLedger#count(long)}.</p>
+     * 
+     * @param ledger ledger tempat transaksi member ini dicatat, atau {@code null}
+     *               untuk memakai history di memori
+     * 
+     * @see RewardSystem#getLedger()
+     * 
+     * @since 3.0
+     */
+    public void displayInfo(TransactionLedger ledger) {
+        long count = ledger != null && memberId > 0 ? ledger.count(memberId) : transactionHistory.size();
+        System.out.println("Nama Pelanggan : " + name);
+        System.out.println("Total Belanja  : Rp " + Money.format(totalSpent.get()));
+        System.out.println("Poin Saat Ini  : " + points.get());
+        System.out.println("Jumlah Transaksi: " + count);
+    }
+    
+    /**
+     * Menampilkan riwayat transaksi lengkap pelanggan ke console.
+     * 
+     * <p>Setiap transaksi ditampilkan dengan format:</p>
+     * <ul>
+     *   <li>📅 Tanggal dan waktu transaksi (dd/MM/yyyy HH:mm:ss)</li>
+     *   <li>💵 Nominal transaksi (formatted Rupiah)</li>
+     *   <li>🔢 Nomor urut transaksi</li>
+     * </ul>
+     * 
+     * <p>Jika belum ada transaksi, akan menampilkan pesan informasi.
+     * Di akhir list ditampilkan total jumlah transaksi.</p>
+     * 
+     * <p><strong>Example output:</strong></p>
+     * <pre>
+     * 1. Rp 250,000 - 26/10/2025 14:30:45
+     * 2. Rp 150,000 - 26/10/2025 15:20:12
+     * 
+     * Total: 2 transaksi
+     * </pre>
+     * 
+     * @see #addTransaction(long)
+     * @see #displayTransactionHistory(long, int)
+     * @see TransactionHistory
+     * 
+     * @since 2.0
+     */
+    public void displayTransactionHistory() {
+        System.out.println("\n╔════════════════════════════════════╗");
+        System.out.println("║     RIWAYAT TRANSAKSI             ║");
+        System.out.println("╚════════════════════════════════════╝");
+        
+        // Jumlah diambil sekali supaya total konsisten dengan baris yang dicetak
+        int count = transactionHistory.size();
+        
+        if (count == 0) {
+            System.out.println("Belum ada transaksi.");
+            return;
+        }
+        
+        for (int i = 0; i < count; i++) {
+            System.out.println((i + 1) + ". Rp " + Money.format(transactionHistory.getAmount(i)) + 
+                             " - " + TransactionHistory.formatTimestamp(transactionHistory.getEpochMillis(i)));
+        }
+        
+        System.out.println("\nTotal: " + count + " transaksi");
+    }
+    
+    /**
+     * Menampilkan satu halaman riwayat transaksi, dari yang terbaru ke terlama.
+     * 
+     * <p>Untuk member dengan puluhan ribu transaksi, {@link #displayTransactionHistory()}
+     * mencetak terlalu banyak baris. Method ini hanya membaca {@code pageSize}
+     * transaksi mulai dari cursor, jadi waktu tampil halaman ke-N tidak
+     * bergantung pada panjang history.</p>
+     * 
+     * <p><strong>Example usage:</strong></p>
+     * <pre>{@code
+     * long cursor = customer.displayTransactionHistory(TransactionLedger.NEWEST, 10);
+     * // halaman berikutnya
+     * cursor = customer.displayTransactionHistory(cursor, 10);
+     * }</pre>
+     * 
+     * @param cursor {@link TransactionLedger#NEWEST} untuk halaman pertama,
+     *               atau nilai kembalian pemanggilan sebelumnya
+     * @param pageSize jumlah transaksi per halaman
+     * @return cursor halaman berikutnya, atau {@link TransactionLedger#END} jika sudah habis
+     * 
+     * @throws IllegalArgumentException jika cursor di luar rentang history
+     * 
+     * @see TransactionHistory#readBackward(long, int, TransactionHistory.Visitor)
+     * 
+     * @since 3.0
+     */
+    public long displayTransactionHistory(long cursor, int pageSize) {
+        System.out.println("\n╔════════════════════════════════════╗");
+        System.out.println("║     RIWAYAT TRANSAKSI             ║");
+        System.out.println("╚════════════════════════════════════╝");
+        
+        int count = transactionHistory.size();
+        if (count == 0) {
+            System.out.println("Belum ada transaksi.");
+            return TransactionLedger.END;
+        }
+        
+        long next = transactionHistory.readBackward(cursor, pageSize, (index, amount, epochMillis) ->
+                System.out.println((index + 1) + ". Rp " + Money.format(amount) + 
+                                 " - " + TransactionHistory.formatTimestamp(epochMillis)));
+        
+        System.out.println("\nTotal: " + count + " transaksi"
+                + (next == TransactionLedger.END ? "" : " (masih ada halaman berikutnya)"));
+        return next;
+    }
+    
+    /**
+     * Menampilkan satu halaman riwayat transaksi dari {@link TransactionLedger}.
+     * 
+     * <p>Berbeda dengan {@link #displayTransactionHistory()} yang membaca history
+     * di heap, method ini membaca langsung dari ledger di disk, dari transaksi
+     * terbaru ke terlama. History sepanjang apapun tidak perlu dimuat sekaligus.</p>
+     * 
+     * <p><strong>Example usage:</strong></p>
+     * <pre>{@code
+     * long cursor = customer.displayTransactionHistory(ledger, TransactionLedger.NEWEST, 10);
+     * // halaman berikutnya
+     * cursor = customer.displayTransactionHistory(ledger, cursor, 10);
+     * }</pre>
+     * 
+     * @param ledger ledger tempat transaksi member ini dicatat
+     * @param cursor {@link TransactionLedger#NEWEST} untuk halaman pertama,
+     *               atau nilai kembalian pemanggilan sebelumnya
+     * @param pageSize jumlah transaksi per halaman
+     * @return cursor halaman berikutnya, atau {@link TransactionLedger#END} jika sudah habis
+     * 
+     * @see TransactionLedger#readBackward(long, long, int, TransactionHistory.Visitor)
+     * 
+     * @since 3.0
+     */
+    public long displayTransactionHistory(TransactionLedger ledger, long cursor, int pageSize) {
+        System.out.println("\n╔════════════════════════════════════╗");
+        System.out.println("║     RIWAYAT TRANSAKSI (LEDGER)    ║");
+        System.out.println("╚════════════════════════════════════╝");
+        
+        long total = ledger.count(memberId);
+        if (total == 0) {
+            System.out.println("Belum ada transaksi.");
+            return TransactionLedger.END;
+        }
+        
+        long next = ledger.readBackward(memberId, cursor, pageSize, (index, amount, epochMillis) ->
+                System.out.println((index + 1) + ". Rp " + Money.format(amount) + 
+                                 " - " + TransactionHistory.formatTimestamp(epochMillis)));
+        
+        System.out.println("\nTotal: " + total + " transaksi"
+                + (next == TransactionLedger.END ? "" : " (masih ada halaman berikutnya)"));
+        return next;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,424 @@
+package sistemreward;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Registry in-memory untuk semua pelanggan, diindeks dengan ID member bertipe {@code long}.
+ *
+ * <p>Registry dibagi menjadi beberapa shard (jumlahnya pangkat dua). Setiap shard
+ * adalah open-addressing hash map dengan key primitif {@code long} (linear probing,
+ * tanpa boxing dan tanpa object Entry) yang dijaga oleh {@link StampedLock} sendiri.
+ * Akibatnya operasi untuk member yang berbeda shard tidak pernah berebut lock yang sama.</p>
+ *
+ * <p><strong>Concurrency model:</strong></p>
+ * <ul>
+ *   <li>🔍 {@link #get(long)} memakai optimistic read - tidak menulis ke shared memory
+ *       sama sekali, sehingga lookup scale di semua core</li>
+ *   <li>✏️ {@link #upsert(Customer)} dan {@link #remove(long)} mengambil write lock
+ *       hanya pada shard milik member tersebut</li>
+ *   <li>🔀 Shard dipilih dari bit atas hash, slot dari bit bawah hash, supaya
+ *       distribusi di dalam shard tetap merata</li>
+ * </ul>
+ *
+ * <p><strong>⚠️ Important:</strong> ID member harus positif ({@code > 0}).
+ * Nilai {@code 0} dipakai sebagai penanda slot kosong.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * CustomerRegistry registry = new CustomerRegistry();
+ * registry.upsert(new Customer(1001L, "Alice", Money.ofRupiah(500000)));
+ *
+ * Customer alice = registry.get(1001L);
+ * RewardResult result = rewardSystem.checkReward(registry, 1001L, Money.ofRupiah(150000));
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer
+ * @see RewardSystem#checkReward(CustomerRegistry, long, long)
+ */
+public class CustomerRegistry {
+
+    /**
+     * Kapasitas awal tabel di setiap shard (harus pangkat dua).
+     *
+     * @since 3.0
+     */
+    private static final int INITIAL_SHARD_CAPACITY = 16;
+
+    /**
+     * Batas maksimum jumlah shard yang diizinkan.
+     *
+     * @since 3.0
+     */
+    private static final int MAX_SHARD_COUNT = 1 << 16;
+
+    private final Shard[] shards;
+    private final int shardShift;
+
+    /**
+     * Constructor default dengan jumlah shard otomatis.
+     *
+     * <p>Jumlah shard = pangkat dua terdekat di atas {@code 4 × jumlah core},
+     * cukup untuk membuat kemungkinan dua thread menulis ke shard yang sama kecil.</p>
+     *
+     * @since 3.0
+     */
+    public CustomerRegistry() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Constructor dengan jumlah shard yang ditentukan sendiri.
+     *
+     * @param shardCount jumlah shard yang diinginkan (akan dibulatkan ke pangkat dua)
+     *
+     * @throws IllegalArgumentException jika shardCount tidak positif atau terlalu besar
+     *
+     * @since 3.0
+     */
+    public CustomerRegistry(int shardCount) {
+        if (shardCount <= 0 || shardCount > MAX_SHARD_COUNT) {
+            throw new IllegalArgumentException("Jumlah shard tidak valid: " + shardCount);
+        }
+        int count = Integer.highestOneBit(shardCount);
+        if (count < shardCount) {
+            count <<= 1;
+        }
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        // Shard diambil dari bit teratas hash; untuk 1 shard shift 64 tidak valid di Java
+        this.shardShift = count == 1 ? 0 : 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Mencari pelanggan berdasarkan ID member.
+     *
+     * @param memberId ID member yang dicari (harus &gt; 0)
+     * @return objek Customer, atau {@code null} jika member tidak terdaftar
+     *
+     * @throws IllegalArgumentException jika memberId tidak positif
+     *
+     * @since 3.0
+     */
+    public Customer get(long memberId) {
+        checkMemberId(memberId);
+        long hash = mix(memberId);
+        return shardFor(hash).get(memberId, hash);
+    }
+
+    /**
+     * Menambahkan pelanggan baru atau mengganti pelanggan dengan ID yang sama.
+     *
+     * @param customer objek Customer dengan {@link Customer#getMemberId()} &gt; 0
+     * @return Customer lama yang tergantikan, atau {@code null} jika member baru
+     *
+     * @throws IllegalArgumentException jika ID member customer tidak positif
+     *
+     * @since 3.0
+     */
+    public Customer upsert(Customer customer) {
+        long memberId = customer.getMemberId();
+        checkMemberId(memberId);
+        long hash = mix(memberId);
+        return shardFor(hash).put(memberId, hash, customer, false);
+    }
+
+    /**
+     * Menambahkan pelanggan hanya jika ID member belum terdaftar.
+     *
+     * <p>Pengecekan dan penambahan dilakukan atomik di bawah lock shard, sehingga
+     * dua registrasi bersamaan dengan ID yang sama tidak saling menimpa.</p>
+     *
+     * @param customer objek Customer dengan {@link Customer#getMemberId()} &gt; 0
+     * @return Customer yang sudah terdaftar dengan ID tersebut, atau {@code null}
+     *         jika customer berhasil ditambahkan
+     *
+     * @throws IllegalArgumentException jika ID member customer tidak positif
+     *
+     * @since 3.0
+     */
+    public Customer putIfAbsent(Customer customer) {
+        long memberId = customer.getMemberId();
+        checkMemberId(memberId);
+        long hash = mix(memberId);
+        return shardFor(hash).put(memberId, hash, customer, true);
+    }
+
+    /**
+     * Menghapus pelanggan dari registry.
+     *
+     * @param memberId ID member yang akan dihapus (harus &gt; 0)
+     * @return Customer yang dihapus, atau {@code null} jika member tidak terdaftar
+     *
+     * @throws IllegalArgumentException jika memberId tidak positif
+     *
+     * @since 3.0
+     */
+    public Customer remove(long memberId) {
+        checkMemberId(memberId);
+        long hash = mix(memberId);
+        return shardFor(hash).remove(memberId, hash);
+    }
+
+    /**
+     * Menghitung total pelanggan yang terdaftar di semua shard.
+     *
+     * <p><strong>Note:</strong> Nilai ini hanya snapshot - bisa berubah
+     * jika ada upsert/remove yang berjalan bersamaan.</p>
+     *
+     * @return jumlah pelanggan terdaftar
+     *
+     * @since 3.0
+     */
+    public int size() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.size();
+        }
+        return total;
+    }
+
+    /**
+     * Mengambil snapshot semua pelanggan yang terdaftar.
+     *
+     * <p>Setiap shard di-copy di bawah read lock-nya sendiri, jadi snapshot
+     * konsisten per shard tapi tidak atomik untuk seluruh registry. Cocok
+     * untuk pekerjaan bulk seperti {@link BulkRecomputeEngine}.</p>
+     *
+     * @return array berisi semua pelanggan (urutan tidak ditentukan)
+     *
+     * @since 3.0
+     */
+    public Customer[] snapshot() {
+        Customer[][] parts = new Customer[shards.length][];
+        int total = 0;
+        for (int i = 0; i < shards.length; i++) {
+            parts[i] = shards[i].values();
+            total += parts[i].length;
+        }
+        Customer[] all = new Customer[total];
+        int offset = 0;
+        for (Customer[] part : parts) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        return all;
+    }
+
+    /**
+     * Getter untuk jumlah shard di registry ini.
+     *
+     * @return jumlah shard (selalu pangkat dua)
+     *
+     * @since 3.0
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    private Shard shardFor(long hash) {
+        return shards[(int) (hash >>> shardShift) & (shards.length - 1)];
+    }
+
+    private static void checkMemberId(long memberId) {
+        if (memberId <= 0) {
+            throw new IllegalArgumentException("ID member harus positif: " + memberId);
+        }
+    }
+
+    /**
+     * Finalizer MurmurHash3 64-bit, supaya ID member yang berurutan tersebar merata.
+     */
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Satu shard registry: open-addressing table {@code long → Customer}
+     * dengan linear probing dan backward-shift deletion (tanpa tombstone).
+     *
+     * <p>Array {@code keys} dan {@code values} disimpan dalam satu objek {@link Table}
+     * agar pembaca optimistic selalu melihat pasangan array dengan panjang yang sama.</p>
+     *
+     * @since 3.0
+     */
+    private static final class Shard {
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_SHARD_CAPACITY);
+        private int size;
+
+        Customer get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                Customer found = table.find(key, hash);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return table.find(key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Customer put(long key, long hash, Customer value, boolean onlyIfAbsent) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                int index = (int) hash & mask;
+                while (t.keys[index] != 0L) {
+                    if (t.keys[index] == key) {
+                        Customer previous = t.values[index];
+                        if (!onlyIfAbsent) {
+                            t.values[index] = value;
+                        }
+                        return previous;
+                    }
+                    index = (index + 1) & mask;
+                }
+                t.keys[index] = key;
+                t.values[index] = value;
+                if (++size > (t.keys.length >>> 1)) {
+                    table = t.resize();
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Customer remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                Table t = table;
+                int mask = t.keys.length - 1;
+                int index = (int) hash & mask;
+                while (t.keys[index] != 0L) {
+                    if (t.keys[index] == key) {
+                        Customer removed = t.values[index];
+                        t.shiftBack(index);
+                        size--;
+                        return removed;
+                    }
+                    index = (index + 1) & mask;
+                }
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Customer[] values() {
+            long stamp = lock.readLock();
+            try {
+                Customer[] result = new Customer[size];
+                int n = 0;
+                for (Customer value : table.values) {
+                    if (value != null) {
+                        result[n++] = value;
+                    }
+                }
+                return result;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Pasangan array key/value untuk satu shard. Load factor dijaga maksimal 0.5.
+     */
+    private static final class Table {
+        final long[] keys;
+        final Customer[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Customer[capacity];
+        }
+
+        Customer find(long key, long hash) {
+            int mask = keys.length - 1;
+            int index = (int) hash & mask;
+            // Dibatasi panjang tabel: pembaca optimistic bisa melihat tabel yang sedang diubah
+            for (int probes = 0; probes < keys.length; probes++) {
+                long k = keys[index];
+                if (k == key) {
+                    return values[index];
+                }
+                if (k == 0L) {
+                    return null;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        Table resize() {
+            Table bigger = new Table(keys.length << 1);
+            int mask = bigger.keys.length - 1;
+            for (int i = 0; i < keys.length; i++) {
+                long k = keys[i];
+                if (k != 0L) {
+                    int index = (int) mix(k) & mask;
+                    while (bigger.keys[index] != 0L) {
+                        index = (index + 1) & mask;
+                    }
+                    bigger.keys[index] = k;
+                    bigger.values[index] = values[i];
+                }
+            }
+            return bigger;
+        }
+
+        /**
+         * Backward-shift deletion: geser entry berikutnya dalam cluster ke slot kosong
+         * agar rantai probing tetap utuh tanpa tombstone.
+         */
+        void shiftBack(int hole) {
+            int mask = keys.length - 1;
+            int index = hole;
+            while (true) {
+                index = (index + 1) & mask;
+                long k = keys[index];
+                if (k == 0L) {
+                    break;
+                }
+                int home = (int) mix(k) & mask;
+                // Entry boleh pindah ke hole jika home-nya tidak berada di antara (hole, index]
+                boolean movable = hole <= index
+                        ? (home <= hole || home > index)
+                        : (home <= hole && home > index);
+                if (movable) {
+                    keys[hole] = k;
+                    values[hole] = values[index];
+                    hole = index;
+                }
+            }
+            keys[hole] = 0L;
+            values[hole] = null;
+        }
+    }
+}
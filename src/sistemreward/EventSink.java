@@ -0,0 +1,48 @@
+package sistemreward;
+
+import java.io.Closeable;
+
+/**
+ * Tujuan event audit dari {@link RewardSystem}: setiap accrual dan percobaan redeem.
+ *
+ * <p>Method dipanggil langsung di jalur checkout, jadi implementasi harus
+ * cepat dan tidak boleh melakukan I/O di thread pemanggil. Parameter sengaja
+ * berupa nilai primitif dan referensi yang sudah ada (tanpa objek event),
+ * supaya implementasi bisa menyalinnya ke slot yang sudah dialokasi.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see AsyncEventSink
+ * @see RewardSystem#setEventSink(EventSink)
+ */
+public interface EventSink extends Closeable {
+
+    /**
+     * Dipanggil setelah poin ditambahkan ke saldo member.
+     *
+     * @param memberId ID member (0 untuk pelanggan tanpa ID)
+     * @param amount nominal transaksi dalam sen
+     * @param earnedPoints poin yang didapat
+     * @param newBalance saldo poin setelah accrual
+     * @param tier tier setelah accrual
+     *
+     * @since 3.0
+     */
+    void onAccrual(long memberId, long amount, long earnedPoints, long newBalance, Tier tier);
+
+    /**
+     * Dipanggil setelah setiap percobaan penukaran voucher, berhasil atau tidak.
+     *
+     * @param memberId ID member (0 untuk pelanggan tanpa ID)
+     * @param voucherId ID voucher yang ditukar
+     * @param status hasil penukaran
+     * @param pointsSpent poin yang terpotong (0 jika gagal)
+     * @param remainingPoints saldo poin setelah percobaan
+     *
+     * @since 3.0
+     */
+    void onRedemption(long memberId, String voucherId, RedemptionStatus status,
+                      long pointsSpent, long remainingPoints);
+}
@@ -0,0 +1,106 @@
+package sistemreward;
+
+/**
+ * Ringkasan satu sweep kadaluarsa poin oleh {@link PointExpiry#expireDue(long, PointExpiry.Listener)}.
+ *
+ * <p>{@link #getVisitedMembers()} adalah member yang entri timer wheel-nya
+ * jatuh tempo; member lain tidak disentuh sama sekali.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#expirePoints(long)
+ */
+public final class ExpiryResult {
+
+    private final long visitedMembers;
+    private final long expiredMembers;
+    private final long expiredLots;
+    private final long expiredPoints;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor untuk ringkasan sweep.
+     *
+     * @param visitedMembers member yang diperiksa karena jatuh tempo di timer wheel
+     * @param expiredMembers member yang saldonya berkurang
+     * @param expiredLots jumlah lot yang kadaluarsa
+     * @param expiredPoints total poin yang kadaluarsa
+     * @param elapsedNanos durasi sweep dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public ExpiryResult(long visitedMembers, long expiredMembers, long expiredLots, long expiredPoints,
+                        long elapsedNanos) {
+        this.visitedMembers = visitedMembers;
+        this.expiredMembers = expiredMembers;
+        this.expiredLots = expiredLots;
+        this.expiredPoints = expiredPoints;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Getter untuk jumlah member yang diperiksa.
+     *
+     * @return jumlah member yang jatuh tempo di timer wheel
+     *
+     * @since 3.0
+     */
+    public long getVisitedMembers() {
+        return visitedMembers;
+    }
+
+    /**
+     * Getter untuk jumlah member yang punya lot kadaluarsa.
+     *
+     * @return jumlah member
+     *
+     * @since 3.0
+     */
+    public long getExpiredMembers() {
+        return expiredMembers;
+    }
+
+    /**
+     * Getter untuk jumlah lot yang kadaluarsa.
+     *
+     * @return jumlah lot
+     *
+     * @since 3.0
+     */
+    public long getExpiredLots() {
+        return expiredLots;
+    }
+
+    /**
+     * Getter untuk total poin yang kadaluarsa.
+     *
+     * @return total poin
+     *
+     * @since 3.0
+     */
+    public long getExpiredPoints() {
+        return expiredPoints;
+    }
+
+    /**
+     * Getter untuk durasi sweep.
+     *
+     * @return durasi dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiryResult[visitedMembers=" + visitedMembers
+                + ", expiredMembers=" + expiredMembers
+                + ", expiredLots=" + expiredLots
+                + ", expiredPoints=" + expiredPoints
+                + ", elapsedMs=" + elapsedNanos / 1_000_000 + "]";
+    }
+}
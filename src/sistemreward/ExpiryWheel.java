@@ -0,0 +1,204 @@
+package sistemreward;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Timer wheel hierarkis untuk menjadwalkan member ke waktu kadaluarsa lot berikutnya.
+ *
+ * <p>Empat level masing-masing 64 slot. Level 0 menampung deadline dalam 64
+ * tick ke depan, level 1 dalam 64² tick, dan seterusnya; dengan tick 1 jam
+ * jangkauannya lebih dari 1900 tahun. Saat waktu berjalan, slot level atas
+ * yang jatuh tempo diturunkan (cascade) ke level bawah, dan slot level 0
+ * untuk tick berjalan dikosongkan. Setiap entri paling banyak turun 3 kali,
+ * jadi biaya satu sweep sebanding dengan entri yang jatuh tempo ditambah
+ * jumlah tick yang dilewati - bukan jumlah member.</p>
+ *
+ * <p>Entri disimpan di pool array (linked list per slot dengan index
+ * {@code int}), tanpa objek per entri.</p>
+ *
+ * <p><strong>Thread safety:</strong> {@link #schedule(Customer, long)} boleh
+ * dipanggil dari banyak thread. {@link #advance(long, Consumer)} hanya dijalankan
+ * satu thread pada satu waktu, dan callback dijalankan di luar lock wheel
+ * sehingga accrual yang menjadwalkan member baru tidak tertahan sweep.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see PointExpiry
+ */
+final class ExpiryWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long tickMillis;
+    private final int[] heads = new int[LEVELS * SLOTS];
+
+    private Customer[] customers = new Customer[INITIAL_CAPACITY];
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int freeList = NIL;
+    private int allocated;
+    private int size;
+    /** Tick terakhir yang sudah diproses. */
+    private long currentTick;
+
+    /** Hanya dipakai thread yang sedang menjalankan advance. */
+    private final Object sweepLock = new Object();
+    private Customer[] due = new Customer[INITIAL_CAPACITY];
+
+    /**
+     * Constructor wheel.
+     *
+     * @param tickMillis resolusi wheel
+     * @param nowMillis waktu awal; deadline sebelum waktu ini jatuh tempo di tick berikutnya
+     */
+    ExpiryWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis harus positif: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        Arrays.fill(heads, NIL);
+    }
+
+    /**
+     * Menjadwalkan member untuk diproses saat deadline lewat.
+     *
+     * <p>Deadline dibulatkan ke atas ke tick berikutnya, jadi member tidak
+     * pernah diproses lebih awal dari deadline-nya.</p>
+     *
+     * @param customer member yang dijadwalkan
+     * @param deadlineMillis waktu kadaluarsa dalam epoch millis
+     */
+    synchronized void schedule(Customer customer, long deadlineMillis) {
+        int entry = allocate();
+        customers[entry] = customer;
+        deadlines[entry] = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        insert(entry);
+        size++;
+    }
+
+    /**
+     * Jumlah member yang sedang terjadwal.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Memajukan wheel sampai {@code nowMillis} dan menjalankan action untuk
+     * setiap member yang deadline-nya sudah lewat.
+     *
+     * @param nowMillis waktu acuan
+     * @param action dijalankan di thread pemanggil, di luar lock wheel
+     * @return jumlah member yang diproses
+     */
+    int advance(long nowMillis, Consumer<Customer> action) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        int visited = 0;
+        synchronized (sweepLock) {
+            while (true) {
+                int count;
+                synchronized (this) {
+                    if (currentTick >= target) {
+                        break;
+                    }
+                    if (size == 0) {
+                        currentTick = target;
+                        break;
+                    }
+                    currentTick++;
+                    cascade();
+                    count = drain((int) currentTick & (SLOTS - 1));
+                }
+                for (int i = 0; i < count; i++) {
+                    Customer customer = due[i];
+                    due[i] = null;
+                    action.accept(customer);
+                }
+                visited += count;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Menurunkan slot level atas yang jatuh tempo di tick berjalan, dari level tertinggi ke bawah.
+     */
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < LEVELS && (currentTick & ((1L << ((top + 1) * SLOT_BITS)) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            int slot = level * SLOTS + ((int) (currentTick >>> (level * SLOT_BITS)) & (SLOTS - 1));
+            int entry = heads[slot];
+            heads[slot] = NIL;
+            while (entry != NIL) {
+                int following = next[entry];
+                insert(entry);
+                entry = following;
+            }
+        }
+    }
+
+    /**
+     * Memindahkan isi slot level 0 ke buffer {@code due} dan membebaskan entrinya.
+     */
+    private int drain(int slot) {
+        int count = 0;
+        int entry = heads[slot];
+        heads[slot] = NIL;
+        while (entry != NIL) {
+            if (count == due.length) {
+                due = Arrays.copyOf(due, count << 1);
+            }
+            due[count++] = customers[entry];
+            int following = next[entry];
+            release(entry);
+            entry = following;
+        }
+        size -= count;
+        return count;
+    }
+
+    /**
+     * Menaruh entri di level terendah yang jangkauannya mencakup deadline.
+     */
+    private void insert(int entry) {
+        long deadline = deadlines[entry];
+        long diff = deadline ^ currentTick;
+        int level = diff < SLOTS ? 0
+                : Math.min((63 - Long.numberOfLeadingZeros(diff)) / SLOT_BITS, LEVELS - 1);
+        int slot = level * SLOTS + ((int) (deadline >>> (level * SLOT_BITS)) & (SLOTS - 1));
+        next[entry] = heads[slot];
+        heads[slot] = entry;
+    }
+
+    private int allocate() {
+        if (freeList != NIL) {
+            int entry = freeList;
+            freeList = next[entry];
+            return entry;
+        }
+        if (allocated == customers.length) {
+            int capacity = allocated << 1;
+            customers = Arrays.copyOf(customers, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int entry) {
+        customers[entry] = null;
+        next[entry] = freeList;
+        freeList = entry;
+    }
+}
@@ -0,0 +1,238 @@
+package sistemreward;
+
+/**
+ * Ringkasan hasil satu import file transaksi oleh {@link TransactionImporter}.
+ *
+ * <p>Angka accrual adalah jumlah dari semua {@link BatchResult} yang dihasilkan
+ * selama import. Karena file diproses per batch, satu member yang muncul di
+ * beberapa batch dihitung sekali per batch di {@link #getMemberUpdates()}.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TransactionImporter#importFile(java.nio.file.Path)
+ */
+public final class ImportResult {
+
+    private final long bytes;
+    private final long lines;
+    private final long malformedLines;
+    private final long firstMalformedLine;
+    private final long records;
+    private final long appliedRecords;
+    private final long unknownMemberRecords;
+    private final long rejectedRecords;
+    private final long memberUpdates;
+    private final long pointsEarned;
+    private final long tierChanges;
+    private final int batches;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor untuk ringkasan import.
+     *
+     * @param bytes jumlah byte yang dibaca
+     * @param lines jumlah baris data (tanpa baris kosong dan header)
+     * @param malformedLines baris yang tidak bisa di-parse
+     * @param firstMalformedLine nomor baris (1-based) pertama yang tidak bisa di-parse, atau -1
+     * @param records baris yang diteruskan ke engine
+     * @param appliedRecords baris yang berhasil dicatat
+     * @param unknownMemberRecords baris yang dilewati karena member tidak terdaftar
+     * @param rejectedRecords baris yang ditolak engine
+     * @param memberUpdates jumlah update saldo member, dihitung per batch
+     * @param pointsEarned total poin yang ditambahkan
+     * @param tierChanges jumlah perubahan tier
+     * @param batches jumlah batch yang diproses
+     * @param elapsedNanos durasi import
+     *
+     * @since 3.0
+     */
+    public ImportResult(long bytes, long lines, long malformedLines, long firstMalformedLine,
+                        long records, long appliedRecords, long unknownMemberRecords, long rejectedRecords,
+                        long memberUpdates, long pointsEarned, long tierChanges, int batches,
+                        long elapsedNanos) {
+        this.bytes = bytes;
+        this.lines = lines;
+        this.malformedLines = malformedLines;
+        this.firstMalformedLine = firstMalformedLine;
+        this.records = records;
+        this.appliedRecords = appliedRecords;
+        this.unknownMemberRecords = unknownMemberRecords;
+        this.rejectedRecords = rejectedRecords;
+        this.memberUpdates = memberUpdates;
+        this.pointsEarned = pointsEarned;
+        this.tierChanges = tierChanges;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Getter untuk jumlah byte yang dibaca.
+     *
+     * @return ukuran file yang diproses
+     *
+     * @since 3.0
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Getter untuk jumlah baris data.
+     *
+     * @return jumlah baris data, tanpa baris kosong dan header
+     *
+     * @since 3.0
+     */
+    public long getLines() {
+        return lines;
+    }
+
+    /**
+     * Getter untuk jumlah baris yang tidak bisa di-parse.
+     *
+     * @return jumlah baris rusak
+     *
+     * @since 3.0
+     */
+    public long getMalformedLines() {
+        return malformedLines;
+    }
+
+    /**
+     * Getter untuk nomor baris rusak pertama, untuk membantu memperbaiki file.
+     *
+     * @return nomor baris (1-based), atau -1 jika semua baris valid
+     *
+     * @since 3.0
+     */
+    public long getFirstMalformedLine() {
+        return firstMalformedLine;
+    }
+
+    /**
+     * Getter untuk jumlah baris yang diteruskan ke engine.
+     *
+     * @return jumlah transaksi yang di-parse
+     *
+     * @since 3.0
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Getter untuk jumlah baris yang berhasil dicatat.
+     *
+     * @return jumlah transaksi yang diterapkan
+     *
+     * @since 3.0
+     */
+    public long getAppliedRecords() {
+        return appliedRecords;
+    }
+
+    /**
+     * Getter untuk jumlah baris dengan member yang tidak terdaftar.
+     *
+     * @return jumlah transaksi yang dilewati
+     *
+     * @since 3.0
+     */
+    public long getUnknownMemberRecords() {
+        return unknownMemberRecords;
+    }
+
+    /**
+     * Getter untuk jumlah baris yang ditolak engine.
+     *
+     * @return jumlah transaksi yang ditolak
+     *
+     * @since 3.0
+     */
+    public long getRejectedRecords() {
+        return rejectedRecords;
+    }
+
+    /**
+     * Getter untuk jumlah update saldo member, dihitung sekali per member per batch.
+     *
+     * @return jumlah update saldo
+     *
+     * @since 3.0
+     */
+    public long getMemberUpdates() {
+        return memberUpdates;
+    }
+
+    /**
+     * Getter untuk total poin yang ditambahkan.
+     *
+     * @return total poin
+     *
+     * @since 3.0
+     */
+    public long getPointsEarned() {
+        return pointsEarned;
+    }
+
+    /**
+     * Getter untuk jumlah perubahan tier.
+     *
+     * @return jumlah perubahan tier
+     *
+     * @since 3.0
+     */
+    public long getTierChanges() {
+        return tierChanges;
+    }
+
+    /**
+     * Getter untuk jumlah batch yang diproses.
+     *
+     * @return jumlah batch
+     *
+     * @since 3.0
+     */
+    public int getBatches() {
+        return batches;
+    }
+
+    /**
+     * Getter untuk durasi import.
+     *
+     * @return durasi dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Menghitung throughput import.
+     *
+     * @return MB (10^6 byte) per detik
+     *
+     * @since 3.0
+     */
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes * 1_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult[bytes=" + bytes
+                + ", lines=" + lines
+                + ", malformedLines=" + malformedLines
+                + ", records=" + records
+                + ", appliedRecords=" + appliedRecords
+                + ", unknownMemberRecords=" + unknownMemberRecords
+                + ", rejectedRecords=" + rejectedRecords
+                + ", pointsEarned=" + pointsEarned
+                + ", tierChanges=" + tierChanges
+                + ", batches=" + batches
+                + ", elapsedMs=" + elapsedNanos / 1_000_000 + "]";
+    }
+}
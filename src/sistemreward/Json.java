@@ -0,0 +1,221 @@
+package sistemreward;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utilitas JSON minimal untuk API HTTP dan audit log, tanpa library eksternal.
+ *
+ * <p>Hanya mendukung yang dibutuhkan aplikasi ini: menulis string ber-escape
+ * dan membaca objek datar ({@code {"key": value, ...}}) dengan nilai string,
+ * angka, boolean, atau {@code null}. Objek atau array bersarang ditolak.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardHttpServer
+ * @see AsyncEventSink
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Menulis string sebagai literal JSON, atau {@code null} jika value null.
+     *
+     * @param text tujuan
+     * @param value string yang ditulis
+     * @return {@code text}, untuk chaining
+     *
+     * @since 3.0
+     */
+    static StringBuilder appendString(StringBuilder text, String value) {
+        if (value == null) {
+            return text.append("null");
+        }
+        text.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    text.append("\\\"");
+                    break;
+                case '\\':
+                    text.append("\\\\");
+                    break;
+                case '\n':
+                    text.append("\\n");
+                    break;
+                case '\r':
+                    text.append("\\r");
+                    break;
+                case '\t':
+                    text.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        text.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        text.append(c);
+                    }
+            }
+        }
+        return text.append('"');
+    }
+
+    /**
+     * Membaca objek JSON datar.
+     *
+     * <p>Nilai string dikembalikan tanpa tanda kutip dan sudah di-unescape;
+     * angka dan boolean dikembalikan sebagai teks aslinya; {@code null}
+     * dikembalikan sebagai {@code null}.</p>
+     *
+     * @param json teks JSON
+     * @return map nama field ke nilai
+     *
+     * @throws IllegalArgumentException jika JSON tidak valid atau berisi objek/array bersarang
+     *
+     * @since 3.0
+     */
+    static Map<String, String> parseObject(String json) {
+        Parser parser = new Parser(json);
+        Map<String, String> fields = new HashMap<>();
+        parser.skipWhitespace();
+        parser.expect('{');
+        parser.skipWhitespace();
+        if (parser.peek() == '}') {
+            parser.pos++;
+        } else {
+            while (true) {
+                parser.skipWhitespace();
+                String key = parser.readString();
+                parser.skipWhitespace();
+                parser.expect(':');
+                parser.skipWhitespace();
+                fields.put(key, parser.readValue());
+                parser.skipWhitespace();
+                char c = parser.next();
+                if (c == '}') {
+                    break;
+                }
+                if (c != ',') {
+                    throw parser.error("',' atau '}'");
+                }
+            }
+        }
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("akhir input");
+        }
+        return fields;
+    }
+
+    /**
+     * Parser recursive-descent satu level.
+     */
+    private static final class Parser {
+        private final String json;
+        private int pos;
+
+        Parser(String json) {
+            this.json = json;
+        }
+
+        char peek() {
+            if (pos >= json.length()) {
+                throw error("karakter lagi");
+            }
+            return json.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char expected) {
+            if (next() != expected) {
+                pos--;
+                throw error("'" + expected + "'");
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw error("nilai datar");
+            }
+            int start = pos;
+            while (pos < json.length() && ",}] \t\r\n".indexOf(json.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = json.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("nilai");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > json.length()) {
+                            throw error("4 digit hex");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("4 digit hex");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+        }
+
+        IllegalArgumentException error(String expected) {
+            return new IllegalArgumentException("JSON tidak valid di posisi " + pos + ": diharapkan " + expected);
+        }
+    }
+}
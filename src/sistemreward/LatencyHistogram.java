@@ -0,0 +1,178 @@
+package sistemreward;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latency bergaya HDR: bucket log-linear dengan presisi relatif tetap.
+ *
+ * <p>Setiap rentang pangkat dua dibagi menjadi {@value #SUB_BUCKETS} sub-bucket
+ * linear, sehingga error kuantil maksimal sekitar 1.6% di seluruh rentang
+ * nanodetik sampai jam, dengan jumlah bucket tetap (tanpa alokasi saat
+ * merekam). Nilai di bawah {@value #SUB_BUCKETS} ns disimpan persis.</p>
+ *
+ * <p><strong>Concurrency model:</strong></p>
+ * <ul>
+ *   <li>✏️ {@link #record(long)} lock-free: satu {@code getAndIncrement} di
+ *       stripe milik thread pemanggil, supaya thread yang merekam nilai yang
+ *       sama tidak berebut cache line yang sama</li>
+ *   <li>🔍 {@link #snapshot()} menjumlahkan semua stripe; hasilnya konsisten
+ *       secara kasar (bukan atomic snapshot), cukup untuk monitoring</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * long start = System.nanoTime();
+ * doWork();
+ * histogram.record(System.nanoTime() - start);
+ * System.out.println(histogram.snapshot().getP99Nanos());
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardMetrics
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Jumlah bit sub-bucket per rentang pangkat dua.
+     *
+     * @since 3.0
+     */
+    private static final int SUB_BUCKET_BITS = 6;
+
+    /**
+     * Jumlah sub-bucket per rentang pangkat dua.
+     *
+     * @since 3.0
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_MASK = SUB_BUCKETS - 1;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int MAX_STRIPES = 8;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Constructor dengan jumlah stripe sesuai jumlah prosesor (maksimal 8).
+     *
+     * @since 3.0
+     */
+    public LatencyHistogram() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        int count = Integer.highestOneBit(processors);
+        if (count < processors) {
+            count <<= 1;
+        }
+        this.stripes = new AtomicLongArray[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * Merekam satu nilai latency.
+     *
+     * @param nanos durasi dalam nanodetik; nilai negatif dianggap 0
+     *
+     * @since 3.0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        stripes[stripe()].getAndIncrement(indexOf(value));
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Menghitung ringkasan histogram saat ini.
+     *
+     * @return snapshot berisi jumlah sampel, rata-rata, kuantil, dan maksimum
+     *
+     * @since 3.0
+     */
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long c = stripe.get(i);
+                counts[i] += c;
+                total += c;
+            }
+        }
+        long maxNanos = max.get();
+        if (total == 0) {
+            return new LatencySnapshot(0, 0, 0, 0, 0, 0, 0);
+        }
+        double[] percentiles = {50.0, 90.0, 99.0, 99.9};
+        long[] values = new long[percentiles.length];
+        int next = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT && next < percentiles.length; i++) {
+            seen += counts[i];
+            while (next < percentiles.length && seen >= rank(percentiles[next], total)) {
+                values[next++] = Math.min(highestEquivalentValue(i), maxNanos);
+            }
+        }
+        while (next < percentiles.length) {
+            values[next++] = maxNanos;
+        }
+        return new LatencySnapshot(total, sum.sum() / total, values[0], values[1], values[2], values[3], maxNanos);
+    }
+
+    /**
+     * Urutan sampel (1-based) untuk sebuah persentil.
+     */
+    private static long rank(double percentile, long total) {
+        return Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+    }
+
+    /**
+     * Index bucket untuk sebuah nilai: linear di bawah {@link #SUB_BUCKETS},
+     * lalu {@link #SUB_BUCKETS} sub-bucket untuk setiap pangkat dua.
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & SUB_BUCKET_MASK;
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    /**
+     * Nilai terbesar yang masuk ke bucket {@code index}.
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (index & SUB_BUCKET_MASK)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Stripe untuk thread pemanggil, dipilih dari hash ID thread.
+     */
+    private int stripe() {
+        if (stripeMask == 0) {
+            return 0;
+        }
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+}
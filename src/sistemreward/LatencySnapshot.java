@@ -0,0 +1,162 @@
+package sistemreward;
+
+import java.util.Locale;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Ringkasan immutable dari {@link LatencyHistogram} pada satu titik waktu.
+ *
+ * <p>Semua nilai dalam nanodetik. Lewat JMX, objek ini tampil sebagai
+ * {@code CompositeData} dengan satu item per getter.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardMetricsMXBean
+ */
+public final class LatencySnapshot {
+
+    private final long count;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    /**
+     * Constructor untuk snapshot latency.
+     *
+     * @param count jumlah sampel
+     * @param meanNanos rata-rata
+     * @param p50Nanos median
+     * @param p90Nanos persentil 90
+     * @param p99Nanos persentil 99
+     * @param p999Nanos persentil 99.9
+     * @param maxNanos nilai terbesar
+     *
+     * @since 3.0
+     */
+    @ConstructorParameters({"count", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos", "maxNanos"})
+    public LatencySnapshot(long count, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                           long p999Nanos, long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Getter untuk jumlah sampel.
+     *
+     * @return jumlah sampel
+     *
+     * @since 3.0
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Getter untuk rata-rata latency.
+     *
+     * @return rata-rata dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    /**
+     * Getter untuk median latency.
+     *
+     * @return persentil 50 dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    /**
+     * Getter untuk persentil 90.
+     *
+     * @return persentil 90 dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    /**
+     * Getter untuk persentil 99.
+     *
+     * @return persentil 99 dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    /**
+     * Getter untuk persentil 99.9.
+     *
+     * @return persentil 99.9 dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    /**
+     * Getter untuk latency terbesar.
+     *
+     * @return nilai maksimum dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count
+                + " mean=" + formatNanos(meanNanos)
+                + " p50=" + formatNanos(p50Nanos)
+                + " p90=" + formatNanos(p90Nanos)
+                + " p99=" + formatNanos(p99Nanos)
+                + " p99.9=" + formatNanos(p999Nanos)
+                + " max=" + formatNanos(maxNanos);
+    }
+
+    /**
+     * Format durasi dengan satuan yang mudah dibaca, misalnya 850ns, 12.4µs, 3.1ms.
+     *
+     * @param nanos durasi dalam nanodetik
+     * @return durasi terformat
+     *
+     * @since 3.0
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+        }
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,205 @@
+package sistemreward;
+
+import java.util.Arrays;
+
+/**
+ * Hash map primitif {@code long → int} dengan open addressing (linear probing).
+ *
+ * <p>Dipakai sebagai index sementara di jalur batch, misalnya untuk memetakan
+ * ID member ke nomor grup, dan sebagai index entri di {@link MemberSummaryCache}.
+ * Tidak ada boxing, tidak ada objek Entry, dan {@link #clear()} memakai ulang
+ * array yang sama sehingga satu instance bisa dipakai untuk banyak batch
+ * tanpa alokasi baru.</p>
+ *
+ * <p><strong>⚠️ Important:</strong> Class ini tidak thread-safe dan key
+ * {@code 0} tidak didukung (dipakai sebagai penanda slot kosong).</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#processBatch(CustomerRegistry, TransactionBatch)
+ */
+public final class LongIntMap {
+
+    /**
+     * Nilai yang dikembalikan {@link #get(long)} jika key tidak ditemukan.
+     *
+     * @since 3.0
+     */
+    public static final int NO_VALUE = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Constructor dengan perkiraan jumlah key yang akan disimpan.
+     *
+     * @param expectedSize perkiraan jumlah key (tabel dibuat cukup besar untuk load factor 0.5)
+     *
+     * @since 3.0
+     */
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Mencari value untuk key tertentu.
+     *
+     * @param key key yang dicari (harus != 0)
+     * @return value, atau {@link #NO_VALUE} jika tidak ada
+     *
+     * @since 3.0
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        int index = (int) CustomerRegistry.mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != 0L) {
+            if (k == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Mengembalikan value untuk key, atau menyimpan {@code valueIfAbsent} jika key belum ada.
+     *
+     * @param key key yang dicari (harus != 0)
+     * @param valueIfAbsent value yang disimpan jika key baru
+     * @return value yang sudah ada, atau {@code valueIfAbsent} jika key baru
+     *
+     * @since 3.0
+     */
+    public int putIfAbsent(long key, int valueIfAbsent) {
+        int mask = keys.length - 1;
+        int index = (int) CustomerRegistry.mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != 0L) {
+            if (k == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = valueIfAbsent;
+        if (++size > (keys.length >>> 1)) {
+            resize();
+        }
+        return valueIfAbsent;
+    }
+
+    /**
+     * Menyimpan atau mengganti value untuk key.
+     *
+     * @param key key (harus != 0)
+     * @param value value baru
+     *
+     * @since 3.0
+     */
+    public void put(long key, int value) {
+        int mask = keys.length - 1;
+        int index = (int) CustomerRegistry.mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != 0L) {
+            if (k == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > (keys.length >>> 1)) {
+            resize();
+        }
+    }
+
+    /**
+     * Menghapus key dari map.
+     *
+     * <p>Slot kosong diisi ulang dengan menggeser entri berikutnya di rantai
+     * probing (backward shift), jadi tidak ada tombstone dan lookup tetap cepat
+     * meskipun key sering dihapus dan ditambah.</p>
+     *
+     * @param key key yang dihapus (harus != 0)
+     * @return value yang dihapus, atau {@link #NO_VALUE} jika key tidak ada
+     *
+     * @since 3.0
+     */
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        int index = (int) CustomerRegistry.mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != key) {
+            if (k == 0L) {
+                return NO_VALUE;
+            }
+            index = (index + 1) & mask;
+        }
+        int removed = values[index];
+        int hole = index;
+        while (true) {
+            index = (index + 1) & mask;
+            k = keys[index];
+            if (k == 0L) {
+                break;
+            }
+            int home = (int) CustomerRegistry.mix(k) & mask;
+            // Geser entri ke hole hanya jika home-nya tidak berada di antara hole dan posisinya sekarang
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = k;
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        keys[hole] = 0L;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Getter untuk jumlah key yang tersimpan.
+     *
+     * @return jumlah key
+     *
+     * @since 3.0
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mengosongkan map tanpa melepas array internal.
+     *
+     * @since 3.0
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldKeys.length << 1];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k != 0L) {
+                int index = (int) CustomerRegistry.mix(k) & mask;
+                while (keys[index] != 0L) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = k;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
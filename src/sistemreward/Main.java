@@ -1,3 +1,9 @@
+package sistemreward;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 /**
@@ -5,10 +11,34 @@ import java.util.Scanner;
  */
 public class Main {
 
+    /**
+     * File katalog voucher yang dimuat saat startup jika ada.
+     * 
+     * @since 3.0
+     */
+    private static final Path VOUCHER_CATALOG_FILE = Path.of("vouchers.csv");
+    
+    /**
+     * File rule promo poin yang dimuat saat startup jika ada.
+     * 
+     * @since 3.0
+     */
+    private static final Path PROMOTIONS_FILE = Path.of("promotions.csv");
+    
+    /**
+     * Jumlah transaksi per halaman di menu riwayat transaksi.
+     * 
+     * @since 3.0
+     */
+    private static final int HISTORY_PAGE_SIZE = 10;
+
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         Customer customer = null;
         RewardSystem rewardSystem = new RewardSystem();
+        ConsoleRenderer renderer = new ConsoleRenderer();
+        loadVoucherCatalog(rewardSystem);
+        loadPromotions(rewardSystem);
         
         System.out.println("╔════════════════════════════════════╗");
         System.out.println("║   SISTEM REWARD PELANGGAN v2.0    ║");
@@ -19,16 +49,16 @@ public class Main {
         String name = scanner.nextLine();
         
         System.out.print("Masukkan total belanja awal (Rp): ");
-        double totalSpent = scanner.nextDouble();
+        BigDecimal totalSpent = scanner.nextBigDecimal();
         
-        while (totalSpent < 0) {
+        while (totalSpent.signum() < 0) {
             System.out.println("❌ Total belanja tidak boleh negatif!");
             System.out.print("Masukkan total belanja awal (Rp): ");
-            totalSpent = scanner.nextDouble();
+            totalSpent = scanner.nextBigDecimal();
         }
         
-        customer = new Customer(name, totalSpent);
-        rewardSystem.checkReward(customer);
+        customer = new Customer(name, 0);
+        renderer.renderReward(rewardSystem.checkReward(customer, Money.ofRupiah(totalSpent)));
         
         // Menu utama
         boolean running = true;
@@ -52,16 +82,16 @@ public class Main {
                     displayCustomerInfo(customer, rewardSystem);
                     break;
                 case 2:
-                    addNewTransaction(scanner, customer, rewardSystem);
+                    addNewTransaction(scanner, customer, rewardSystem, renderer);
                     break;
                 case 3:
-                    redeemPoints(scanner, customer, rewardSystem);
+                    redeemPoints(scanner, customer, rewardSystem, renderer);
                     break;
                 case 4:
-                    customer.displayTransactionHistory();
+                    displayTransactionHistory(scanner, customer);
                     break;
                 case 5:
-                    rewardSystem.displayTierInfo(customer);
+                    renderer.renderTierInfo(customer, rewardSystem.getTierTable());
                     break;
                 case 6:
                     System.out.println("\n✨ Terima kasih telah menggunakan sistem reward!");
@@ -74,6 +104,51 @@ public class Main {
         }
         
         scanner.close();
+        rewardSystem.getTierChangePublisher().close();
+    }
+    
+    /**
+     * Memuat katalog voucher dari {@link #VOUCHER_CATALOG_FILE} jika file tersebut ada.
+     * 
+     * <p>Jika file tidak ada atau tidak valid, katalog bawaan tetap dipakai.</p>
+     * 
+     * @param rewardSystem objek RewardSystem yang katalognya diganti
+     * 
+     * @see RewardSystem#reloadVoucherCatalog(Path)
+     * 
+     * @since 3.0
+     */
+    private static void loadVoucherCatalog(RewardSystem rewardSystem) {
+        if (!Files.exists(VOUCHER_CATALOG_FILE)) {
+            return;
+        }
+        try {
+            rewardSystem.reloadVoucherCatalog(VOUCHER_CATALOG_FILE);
+        } catch (IOException e) {
+            System.out.println("⚠️ Katalog voucher tidak bisa dimuat, memakai katalog bawaan: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Memuat rule promo dari {@link #PROMOTIONS_FILE} jika file tersebut ada.
+     * 
+     * <p>Jika file tidak ada atau tidak valid, poin dihitung tanpa promo.</p>
+     * 
+     * @param rewardSystem objek RewardSystem yang rule promonya diganti
+     * 
+     * @see RewardSystem#reloadPromotions(Path)
+     * 
+     * @since 3.0
+     */
+    private static void loadPromotions(RewardSystem rewardSystem) {
+        if (!Files.exists(PROMOTIONS_FILE)) {
+            return;
+        }
+        try {
+            rewardSystem.reloadPromotions(PROMOTIONS_FILE);
+        } catch (IOException e) {
+            System.out.println("⚠️ Rule promo tidak bisa dimuat, poin dihitung tanpa promo: " + e.getMessage());
+        }
     }
     
     /**
@@ -85,7 +160,7 @@ public class Main {
      * @param customer objek Customer yang informasinya akan ditampilkan
      * @param rewardSystem objek RewardSystem untuk mendapatkan tier pelanggan
      * 
-     * @see Customer#displayInfo()
+     * @see Customer#displayInfo(TransactionLedger)
      * @see RewardSystem#getTier(Customer)
      * 
      * @since 2.0
@@ -94,8 +169,33 @@ public class Main {
         System.out.println("\n╔════════════════════════════════════╗");
         System.out.println("║     INFORMASI PELANGGAN           ║");
         System.out.println("╚════════════════════════════════════╝");
-        customer.displayInfo();
-        System.out.println("Tier Saat Ini  : " + rewardSystem.getTier(customer));
+        customer.displayInfo(rewardSystem.getLedger());
+        System.out.println("Tier Saat Ini  : " + rewardSystem.getTier(customer).getDisplayName());
+    }
+    
+    /**
+     * Menampilkan riwayat transaksi per halaman, dari yang terbaru.
+     * 
+     * <p>Setelah setiap halaman user ditanya apakah ingin melihat halaman
+     * berikutnya, sehingga member dengan history panjang tidak langsung
+     * membanjiri console.</p>
+     * 
+     * @param scanner objek Scanner untuk membaca input user
+     * @param customer objek Customer yang riwayatnya ditampilkan
+     * 
+     * @see Customer#displayTransactionHistory(long, int)
+     * 
+     * @since 3.0
+     */
+    private static void displayTransactionHistory(Scanner scanner, Customer customer) {
+        long cursor = customer.displayTransactionHistory(TransactionLedger.NEWEST, HISTORY_PAGE_SIZE);
+        while (cursor != TransactionLedger.END) {
+            System.out.print("Tampilkan halaman berikutnya? (y/n): ");
+            if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                return;
+            }
+            cursor = customer.displayTransactionHistory(cursor, HISTORY_PAGE_SIZE);
+        }
     }
     
     /**
@@ -113,29 +213,30 @@ public class Main {
      * @param scanner objek Scanner untuk membaca input user
      * @param customer objek Customer yang melakukan transaksi
      * @param rewardSystem objek RewardSystem untuk menghitung reward
+     * @param renderer renderer untuk menampilkan hasil reward
      * 
      * @throws java.util.InputMismatchException jika input bukan angka
      * 
-     * @see Customer#addTransaction(double)
-     * @see RewardSystem#checkReward(Customer)
+     * @see RewardSystem#checkReward(Customer, long)
+     * @see ConsoleRenderer#renderReward(RewardResult)
      * 
      * @since 2.0
      */
-    private static void addNewTransaction(Scanner scanner, Customer customer, RewardSystem rewardSystem) {
+    private static void addNewTransaction(Scanner scanner, Customer customer, RewardSystem rewardSystem,
+                                          ConsoleRenderer renderer) {
         System.out.println("\n╔════════════════════════════════════╗");
         System.out.println("║      TRANSAKSI BARU               ║");
         System.out.println("╚════════════════════════════════════╝");
         System.out.print("Masukkan jumlah belanja (Rp): ");
-        double amount = scanner.nextDouble();
+        BigDecimal amount = scanner.nextBigDecimal();
         scanner.nextLine();
         
-        if (amount < 0) {
+        if (amount.signum() < 0) {
             System.out.println("❌ Jumlah belanja tidak boleh negatif!");
             return;
         }
         
-        customer.addTransaction(amount);
-        rewardSystem.checkReward(customer);
+        renderer.renderReward(rewardSystem.checkReward(customer, Money.ofRupiah(amount)));
     }
     
     /**
@@ -145,39 +246,49 @@ public class Main {
      * dan memproses penukaran poin. Sistem akan mengecek apakah poin cukup sebelum
      * melakukan penukaran.</p>
      * 
-     * <p><strong>Voucher yang tersedia:</strong></p>
-     * <ul>
-     *   <li>Voucher Rp 50.000 → 100 poin</li>
-     *   <li>Voucher Rp 100.000 → 200 poin</li>
-     *   <li>Voucher Rp 250.000 → 500 poin</li>
-     *   <li>Voucher Rp 500.000 → 1000 poin</li>
-     * </ul>
+     * <p>Daftar voucher diambil dari {@link VoucherCatalog} yang aktif di
+     * {@code rewardSystem}, sehingga menambah voucher cukup dengan mengubah file katalog.</p>
      * 
      * @param scanner objek Scanner untuk membaca pilihan user
      * @param customer objek Customer yang akan menukar poin
      * @param rewardSystem objek RewardSystem untuk memproses penukaran
+     * @param renderer renderer untuk menampilkan hasil penukaran
      * 
      * @see RewardSystem#redeemVoucher(Customer, int)
-     * @see Customer#redeemPoints(int)
+     * @see ConsoleRenderer#renderRedemption(RedemptionResult)
+     * @see Customer#redeemPoints(long)
      * 
      * @since 2.0
      */
-    private static void redeemPoints(Scanner scanner, Customer customer, RewardSystem rewardSystem) {
+    private static void redeemPoints(Scanner scanner, Customer customer, RewardSystem rewardSystem,
+                                     ConsoleRenderer renderer) {
         System.out.println("\n╔════════════════════════════════════╗");
         System.out.println("║      TUKAR POIN                   ║");
         System.out.println("╚════════════════════════════════════╝");
         System.out.println("Poin Anda saat ini: " + customer.getPoints());
         System.out.println("\n📋 Daftar Voucher:");
-        System.out.println("1. Voucher Rp 50.000  - 100 poin");
-        System.out.println("2. Voucher Rp 100.000 - 200 poin");
-        System.out.println("3. Voucher Rp 250.000 - 500 poin");
-        System.out.println("4. Voucher Rp 500.000 - 1000 poin");
-        System.out.println("5. Kembali");
-        System.out.print("\nPilih voucher (1-5): ");
+        
+        VoucherCatalog catalog = rewardSystem.getVoucherCatalog();
+        VoucherInventory inventory = rewardSystem.getVoucherInventory();
+        int nameWidth = 0;
+        for (Voucher voucher : catalog.getVouchers()) {
+            nameWidth = Math.max(nameWidth, voucher.getName().length());
+        }
+        for (int i = 0; i < catalog.size(); i++) {
+            Voucher voucher = catalog.get(i);
+            System.out.println((i + 1) + ". " + String.format("%-" + nameWidth + "s", voucher.getName())
+                    + " - " + voucher.getPointCost() + " poin"
+                    + (voucher.isUnlimitedStock() ? "" : " (sisa " + inventory.getAvailable(voucher) + ")"));
+        }
+        System.out.println((catalog.size() + 1) + ". Kembali");
+        System.out.print("\nPilih voucher (1-" + (catalog.size() + 1) + "): ");
         
         int voucherChoice = scanner.nextInt();
         scanner.nextLine();
         
-        rewardSystem.redeemVoucher(customer, voucherChoice);
+        if (voucherChoice == catalog.size() + 1) {
+            return;
+        }
+        renderer.renderRedemption(rewardSystem.redeemVoucher(customer, voucherChoice));
     }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package sistemreward;
+
+/**
+ * Ringkasan satu member untuk layar profil: saldo, tier, sisa poin ke tier
+ * berikutnya, dan beberapa transaksi terakhir.
+ *
+ * <p>Objek immutable, dihitung sekali oleh {@link RewardSystem#summarize(Customer, int)}
+ * dan bisa disimpan di {@link MemberSummaryCache}. Transaksi terakhir disimpan
+ * kolumnar dan diurutkan dari yang terbaru; aksesnya lewat index, tanpa
+ * membuat objek per transaksi.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see MemberSummaryCache
+ */
+public final class MemberSummary {
+
+    private final long memberId;
+    private final String name;
+    private final long points;
+    private final long qualifyingPoints;
+    private final Tier tier;
+    private final Tier nextTier;
+    private final long pointsToNextTier;
+    private final long totalSpent;
+    private final long redeemedPoints;
+    private final int transactionCount;
+    private final long[] recentAmounts;
+    private final long[] recentEpochMillis;
+    private final long validUntilMillis;
+
+    /**
+     * Constructor untuk ringkasan member.
+     *
+     * @param memberId ID member
+     * @param name nama member
+     * @param points saldo poin
+     * @param qualifyingPoints poin penentu tier
+     * @param tier tier saat ini
+     * @param nextTier tier berikutnya, atau {@code null} jika sudah tier tertinggi
+     * @param pointsToNextTier sisa poin ke tier berikutnya
+     * @param totalSpent total belanja dalam sen
+     * @param redeemedPoints total poin yang sudah ditukar
+     * @param transactionCount jumlah transaksi di history
+     * @param recentAmounts nominal transaksi terakhir, terbaru lebih dulu (array diambil alih, tidak di-copy)
+     * @param recentEpochMillis waktu transaksi terakhir, sejajar dengan {@code recentAmounts}
+     * @param validUntilMillis batas waktu ringkasan boleh dipakai tanpa perubahan saldo
+     *
+     * @since 3.0
+     */
+    MemberSummary(long memberId, String name, long points, long qualifyingPoints, Tier tier, Tier nextTier,
+                  long pointsToNextTier, long totalSpent, long redeemedPoints, int transactionCount,
+                  long[] recentAmounts, long[] recentEpochMillis, long validUntilMillis) {
+        this.memberId = memberId;
+        this.name = name;
+        this.points = points;
+        this.qualifyingPoints = qualifyingPoints;
+        this.tier = tier;
+        this.nextTier = nextTier;
+        this.pointsToNextTier = pointsToNextTier;
+        this.totalSpent = totalSpent;
+        this.redeemedPoints = redeemedPoints;
+        this.transactionCount = transactionCount;
+        this.recentAmounts = recentAmounts;
+        this.recentEpochMillis = recentEpochMillis;
+        this.validUntilMillis = validUntilMillis;
+    }
+
+    /**
+     * Getter untuk ID member.
+     *
+     * @return ID member
+     *
+     * @since 3.0
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Getter untuk nama member.
+     *
+     * @return nama member
+     *
+     * @since 3.0
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter untuk saldo poin.
+     *
+     * @return saldo poin saat ringkasan dibuat
+     *
+     * @since 3.0
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Getter untuk poin penentu tier.
+     *
+     * @return poin penentu tier (lihat {@link RewardSystem#getQualifyingPoints(Customer)})
+     *
+     * @since 3.0
+     */
+    public long getQualifyingPoints() {
+        return qualifyingPoints;
+    }
+
+    /**
+     * Getter untuk tier saat ini.
+     *
+     * @return tier member
+     *
+     * @since 3.0
+     */
+    public Tier getTier() {
+        return tier;
+    }
+
+    /**
+     * Getter untuk tier berikutnya.
+     *
+     * @return tier berikutnya, atau {@code null} jika sudah tier tertinggi
+     *
+     * @since 3.0
+     */
+    public Tier getNextTier() {
+        return nextTier;
+    }
+
+    /**
+     * Getter untuk sisa poin ke tier berikutnya.
+     *
+     * @return sisa poin, atau {@code 0} jika sudah tier tertinggi
+     *
+     * @since 3.0
+     */
+    public long getPointsToNextTier() {
+        return pointsToNextTier;
+    }
+
+    /**
+     * Getter untuk total belanja.
+     *
+     * @return total belanja dalam sen
+     *
+     * @since 3.0
+     */
+    public long getTotalSpent() {
+        return totalSpent;
+    }
+
+    /**
+     * Getter untuk total poin yang sudah ditukar.
+     *
+     * @return total poin yang di-redeem
+     *
+     * @since 3.0
+     */
+    public long getRedeemedPoints() {
+        return redeemedPoints;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi di history member.
+     *
+     * @return jumlah transaksi seluruhnya (bukan hanya yang ada di ringkasan)
+     *
+     * @since 3.0
+     */
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi terakhir yang ada di ringkasan.
+     *
+     * @return jumlah transaksi terakhir
+     *
+     * @since 3.0
+     */
+    public int getRecentTransactionCount() {
+        return recentAmounts.length;
+    }
+
+    /**
+     * Getter untuk nominal transaksi terakhir ke-{@code index}.
+     *
+     * @param index 0 = transaksi terbaru
+     * @return nominal dalam sen
+     *
+     * @throws IndexOutOfBoundsException jika index di luar {@link #getRecentTransactionCount()}
+     *
+     * @since 3.0
+     */
+    public long getRecentAmount(int index) {
+        return recentAmounts[index];
+    }
+
+    /**
+     * Getter untuk waktu transaksi terakhir ke-{@code index}.
+     *
+     * @param index 0 = transaksi terbaru
+     * @return waktu transaksi dalam epoch millis
+     *
+     * @throws IndexOutOfBoundsException jika index di luar {@link #getRecentTransactionCount()}
+     *
+     * @since 3.0
+     */
+    public long getRecentEpochMillis(int index) {
+        return recentEpochMillis[index];
+    }
+
+    @Override
+    public String toString() {
+        return "MemberSummary[memberId=" + memberId
+                + ", name=" + name
+                + ", points=" + points
+                + ", tier=" + tier
+                + ", pointsToNextTier=" + pointsToNextTier
+                + ", transactionCount=" + transactionCount
+                + ", recentTransactions=" + recentAmounts.length + "]";
+    }
+
+    /**
+     * Batas waktu ringkasan ini masih akurat walaupun saldo member tidak berubah.
+     *
+     * <p>Dengan {@link TierQualification#ROLLING_SPEND}, tier bisa turun saat
+     * bulan berganti dan belanja tertua keluar dari jendela; ringkasan berlaku
+     * sampai awal bulan berikutnya (WIB). Dengan mode lain nilainya
+     * {@link Long#MAX_VALUE}.</p>
+     *
+     * @return epoch millis, eksklusif
+     *
+     * @since 3.0
+     */
+    public long getValidUntilMillis() {
+        return validUntilMillis;
+    }
+}
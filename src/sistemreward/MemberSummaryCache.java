@@ -0,0 +1,461 @@
+package sistemreward;
+
+import java.util.Arrays;
+import java.util.function.LongFunction;
+
+/**
+ * Cache read-through untuk {@link MemberSummary} dengan batas ukuran dan eviction W-TinyLFU.
+ *
+ * <p>Layar profil member (HTTP {@code GET /members/{id}}, dashboard CS) membaca
+ * saldo, tier, sisa poin ke tier berikutnya, dan transaksi terakhir jauh
+ * lebih sering daripada saldonya berubah. Cache ini menyimpan ringkasan yang
+ * sudah dihitung, dan baru memanggil loader (registry hari ini, storage
+ * persisten nanti) saat miss.</p>
+ *
+ * <p><strong>Eviction W-TinyLFU</strong> per shard:</p>
+ * <ul>
+ *   <li>🪟 Window LRU (1% kapasitas) menampung entri baru supaya burst singkat tetap kena hit</li>
+ *   <li>🧪 Entri yang keluar dari window bersaing dengan korban LRU di segmen
+ *       probation; yang menang ditentukan frekuensi akses dari {@link FrequencySketch}</li>
+ *   <li>🛡️ Entri probation yang diakses lagi naik ke segmen protected (80% area utama)</li>
+ * </ul>
+ * <p>Scan sekali lewat (misalnya export semua member) tidak menggusur member
+ * yang sering dibuka, berbeda dengan LRU biasa.</p>
+ *
+ * <p><strong>Invalidasi:</strong> pasang cache dengan
+ * {@link RewardSystem#setMemberSummaryCache(MemberSummaryCache)}; setiap
+ * accrual, redeem, dan kadaluarsa poin lewat {@link RewardSystem} menghapus
+ * entri member tersebut. Setiap load mencatat penanda per member; invalidasi
+ * member itu menghapus penandanya, jadi load yang berjalan bersamaan tidak
+ * disimpan dan ringkasan lama tidak pernah masuk cache setelah saldonya
+ * berubah. Invalidasi member lain di shard yang sama tidak mengganggu load. {@link BulkRecomputeEngine} dan
+ * {@link RewardSystem#setTierQualification(TierQualification)} mengosongkan
+ * cache; perubahan saldo lain yang tidak lewat {@link RewardSystem} harus
+ * diikuti {@link #invalidate(long)}. Ringkasan yang melewati
+ * {@link MemberSummary#getValidUntilMillis()} (pergantian bulan untuk
+ * {@link TierQualification#ROLLING_SPEND}) dihitung ulang saat dibaca.</p>
+ *
+ * <p>Hit, miss, eviction, dan invalidasi dihitung di {@link RewardMetrics}
+ * (JMX dan {@code GET /metrics}).</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * MemberSummaryCache cache = new MemberSummaryCache(rewardSystem, registry::get, 100_000);
+ * rewardSystem.setMemberSummaryCache(cache);
+ *
+ * MemberSummary summary = cache.get(1001L);
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see MemberSummary
+ * @see RewardSystem#summarize(Customer, int)
+ */
+public final class MemberSummaryCache {
+
+    /**
+     * Jumlah transaksi terakhir default di setiap ringkasan.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_RECENT_TRANSACTIONS = 5;
+
+    private static final int MAX_SHARDS = 16;
+    private static final int MIN_SHARD_SIZE = 256;
+
+    private final RewardSystem rewardSystem;
+    private final LongFunction<Customer> loader;
+    private final RewardMetrics metrics;
+    private final int maximumSize;
+    private final int recentTransactions;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    /**
+     * Constructor dengan {@value #DEFAULT_RECENT_TRANSACTIONS} transaksi terakhir per ringkasan.
+     *
+     * @param rewardSystem engine yang menghitung ringkasan dan mencatat metrics
+     * @param loader pencari member berdasarkan ID, mengembalikan {@code null} jika tidak ada
+     * @param maximumSize jumlah ringkasan maksimal di cache
+     *
+     * @throws IllegalArgumentException jika maximumSize tidak positif
+     *
+     * @since 3.0
+     */
+    public MemberSummaryCache(RewardSystem rewardSystem, LongFunction<Customer> loader, int maximumSize) {
+        this(rewardSystem, loader, maximumSize, DEFAULT_RECENT_TRANSACTIONS);
+    }
+
+    /**
+     * Constructor lengkap.
+     *
+     * @param rewardSystem engine yang menghitung ringkasan dan mencatat metrics
+     * @param loader pencari member berdasarkan ID, mengembalikan {@code null} jika tidak ada
+     * @param maximumSize jumlah ringkasan maksimal di cache
+     * @param recentTransactions jumlah transaksi terakhir di setiap ringkasan
+     *
+     * @throws IllegalArgumentException jika maximumSize tidak positif atau recentTransactions negatif
+     *
+     * @since 3.0
+     */
+    public MemberSummaryCache(RewardSystem rewardSystem, LongFunction<Customer> loader, int maximumSize,
+                              int recentTransactions) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Ukuran cache harus positif: " + maximumSize);
+        }
+        if (recentTransactions < 0) {
+            throw new IllegalArgumentException("Jumlah transaksi terakhir tidak boleh negatif: "
+                    + recentTransactions);
+        }
+        this.rewardSystem = rewardSystem;
+        this.loader = loader;
+        this.metrics = rewardSystem.getMetrics();
+        this.maximumSize = maximumSize;
+        this.recentTransactions = recentTransactions;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_SHARDS, maximumSize / MIN_SHARD_SIZE)));
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+        this.shardMask = count - 1;
+    }
+
+    /**
+     * Mengambil ringkasan member dari cache, atau menghitungnya lewat loader jika belum ada.
+     *
+     * @param memberId ID member
+     * @return ringkasan member, atau {@code null} jika loader tidak menemukan member
+     *         (hasil {@code null} tidak di-cache)
+     *
+     * @since 3.0
+     */
+    public MemberSummary get(long memberId) {
+        if (memberId <= 0) {
+            return null;
+        }
+        Shard shard = shardFor(memberId);
+        int token;
+        synchronized (shard) {
+            MemberSummary cached = shard.getIfPresent(memberId);
+            if (cached != null) {
+                if (cached.getValidUntilMillis() > System.currentTimeMillis()) {
+                    metrics.countSummaryCacheHit();
+                    return cached;
+                }
+                shard.remove(memberId);
+            }
+            token = shard.beginLoad(memberId);
+        }
+        metrics.countSummaryCacheMiss();
+        MemberSummary summary = null;
+        int evicted = 0;
+        try {
+            Customer customer = loader.apply(memberId);
+            if (customer == null) {
+                return null;
+            }
+            summary = rewardSystem.summarize(customer, recentTransactions);
+        } finally {
+            synchronized (shard) {
+                // Penanda hilang atau diganti jika member ini di-invalidasi selama load
+                if (shard.endLoad(memberId, token) && summary != null) {
+                    evicted = shard.put(memberId, summary);
+                }
+            }
+        }
+        if (evicted > 0) {
+            metrics.countSummaryCacheEvictions(evicted);
+        }
+        return summary;
+    }
+
+    /**
+     * Menghapus ringkasan member karena saldonya berubah.
+     *
+     * @param memberId ID member
+     *
+     * @since 3.0
+     */
+    public void invalidate(long memberId) {
+        if (memberId <= 0) {
+            return;
+        }
+        Shard shard = shardFor(memberId);
+        boolean removed;
+        synchronized (shard) {
+            shard.loading.remove(memberId);
+            removed = shard.remove(memberId);
+        }
+        if (removed) {
+            metrics.countSummaryCacheInvalidation();
+        }
+    }
+
+    /**
+     * Menghapus semua ringkasan, misalnya setelah dasar penentuan tier diganti.
+     *
+     * @since 3.0
+     */
+    public void invalidateAll() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.loading.clear();
+                shard.clear();
+            }
+        }
+    }
+
+    /**
+     * Getter untuk jumlah ringkasan di cache.
+     *
+     * @return jumlah entri saat ini
+     *
+     * @since 3.0
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Getter untuk kapasitas cache.
+     *
+     * @return jumlah ringkasan maksimal
+     *
+     * @since 3.0
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi terakhir di setiap ringkasan.
+     *
+     * @return jumlah transaksi terakhir
+     *
+     * @since 3.0
+     */
+    public int getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    private Shard shardFor(long memberId) {
+        return shards[(int) (CustomerRegistry.mix(memberId) >>> 32) & shardMask];
+    }
+
+    /**
+     * Satu partisi cache dengan lock sendiri. Entri disimpan di pool array
+     * dengan tiga list melingkar (window, probation, protected); index 0-2
+     * adalah sentinel masing-masing list, kepala list = LRU, ekor = MRU.
+     */
+    private static final class Shard {
+        private static final int WINDOW = 0;
+        private static final int PROBATION = 1;
+        private static final int PROTECTED = 2;
+        private static final int FIRST_NODE = 3;
+        private static final int NIL = -1;
+
+        private final int maximumSize;
+        private final int windowMax;
+        private final int protectedMax;
+        private final LongIntMap index;
+        private final FrequencySketch sketch;
+        private final int[] sizes = new int[3];
+
+        private long[] keys;
+        private MemberSummary[] values;
+        private int[] prev;
+        private int[] next;
+        private byte[] queue;
+        private int allocated;
+        private int freeList;
+        /** Penanda load yang sedang berjalan: member ID ke token load; dihapus oleh invalidasi. */
+        private final LongIntMap loading = new LongIntMap(16);
+        private int nextToken;
+
+        Shard(int maximumSize) {
+            this.maximumSize = maximumSize;
+            this.windowMax = Math.max(1, maximumSize / 100);
+            this.protectedMax = (maximumSize - windowMax) * 4 / 5;
+            this.index = new LongIntMap(Math.min(maximumSize, 1024));
+            this.sketch = new FrequencySketch(maximumSize);
+            int capacity = FIRST_NODE + Math.min(maximumSize + 1, 1024);
+            keys = new long[capacity];
+            values = new MemberSummary[capacity];
+            prev = new int[capacity];
+            next = new int[capacity];
+            queue = new byte[capacity];
+            reset();
+        }
+
+        /**
+         * Mencatat load baru untuk key; load lama untuk key yang sama tidak akan disimpan.
+         */
+        int beginLoad(long key) {
+            int token = nextToken;
+            nextToken = token == Integer.MAX_VALUE ? 0 : token + 1;
+            loading.put(key, token);
+            return token;
+        }
+
+        /**
+         * Mengakhiri load; {@code true} jika hasilnya masih boleh disimpan.
+         */
+        boolean endLoad(long key, int token) {
+            if (loading.get(key) != token) {
+                return false;
+            }
+            loading.remove(key);
+            return true;
+        }
+
+        MemberSummary getIfPresent(long key) {
+            sketch.increment(key);
+            int node = index.get(key);
+            if (node == LongIntMap.NO_VALUE) {
+                return null;
+            }
+            switch (queue[node]) {
+                case WINDOW:
+                    unlink(node);
+                    link(node, WINDOW);
+                    break;
+                case PROBATION:
+                    unlink(node);
+                    sizes[PROBATION]--;
+                    link(node, PROTECTED);
+                    sizes[PROTECTED]++;
+                    if (sizes[PROTECTED] > protectedMax) {
+                        int demoted = next[PROTECTED];
+                        unlink(demoted);
+                        sizes[PROTECTED]--;
+                        link(demoted, PROBATION);
+                        sizes[PROBATION]++;
+                    }
+                    break;
+                default:
+                    unlink(node);
+                    link(node, PROTECTED);
+                    break;
+            }
+            return values[node];
+        }
+
+        /**
+         * Menyimpan entri baru di window; mengembalikan jumlah entri yang di-evict (0 atau 1).
+         */
+        int put(long key, MemberSummary value) {
+            int node = index.get(key);
+            if (node != LongIntMap.NO_VALUE) {
+                values[node] = value;
+                return 0;
+            }
+            node = allocate();
+            keys[node] = key;
+            values[node] = value;
+            link(node, WINDOW);
+            sizes[WINDOW]++;
+            index.put(key, node);
+            if (sizes[WINDOW] <= windowMax) {
+                return 0;
+            }
+            int candidate = next[WINDOW];
+            unlink(candidate);
+            sizes[WINDOW]--;
+            link(candidate, PROBATION);
+            sizes[PROBATION]++;
+            if (size() <= maximumSize) {
+                return 0;
+            }
+            int victim = next[PROBATION];
+            if (victim == candidate) {
+                victim = sizes[PROTECTED] > 0 ? next[PROTECTED] : candidate;
+            }
+            // TinyLFU: kandidat baru hanya masuk jika lebih sering diakses daripada korban
+            evict(sketch.frequency(keys[candidate]) > sketch.frequency(keys[victim]) ? victim : candidate);
+            return 1;
+        }
+
+        boolean remove(long key) {
+            int node = index.remove(key);
+            if (node == LongIntMap.NO_VALUE) {
+                return false;
+            }
+            unlink(node);
+            sizes[queue[node]]--;
+            release(node);
+            return true;
+        }
+
+        int size() {
+            return sizes[WINDOW] + sizes[PROBATION] + sizes[PROTECTED];
+        }
+
+        void clear() {
+            index.clear();
+            Arrays.fill(values, null);
+            Arrays.fill(sizes, 0);
+            reset();
+        }
+
+        private void reset() {
+            for (int q = WINDOW; q <= PROTECTED; q++) {
+                prev[q] = q;
+                next[q] = q;
+            }
+            allocated = FIRST_NODE;
+            freeList = NIL;
+        }
+
+        private void evict(int node) {
+            index.remove(keys[node]);
+            unlink(node);
+            sizes[queue[node]]--;
+            release(node);
+        }
+
+        private void link(int node, int list) {
+            queue[node] = (byte) list;
+            int tail = prev[list];
+            next[tail] = node;
+            prev[node] = tail;
+            next[node] = list;
+            prev[list] = node;
+        }
+
+        private void unlink(int node) {
+            next[prev[node]] = next[node];
+            prev[next[node]] = prev[node];
+        }
+
+        private int allocate() {
+            if (freeList != NIL) {
+                int node = freeList;
+                freeList = next[node];
+                return node;
+            }
+            if (allocated == keys.length) {
+                int capacity = Math.min(keys.length << 1, FIRST_NODE + maximumSize + 1);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+                prev = Arrays.copyOf(prev, capacity);
+                next = Arrays.copyOf(next, capacity);
+                queue = Arrays.copyOf(queue, capacity);
+            }
+            return allocated++;
+        }
+
+        private void release(int node) {
+            values[node] = null;
+            next[node] = freeList;
+            freeList = node;
+        }
+    }
+}
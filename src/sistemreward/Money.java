@@ -0,0 +1,180 @@
+package sistemreward;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility untuk aritmatika uang fixed-point dalam satuan sen (1/100 Rupiah).
+ *
+ * <p>Semua nominal uang di sistem reward disimpan sebagai {@code long} sen,
+ * bukan {@code double}. Dengan begitu:</p>
+ * <ul>
+ *   <li>💰 Tidak ada floating-point drift pada total belanja seumur hidup</li>
+ *   <li>⚛️ Akumulator bisa di-update dengan CAS ({@code AtomicLong})</li>
+ *   <li>🚀 Kalkulasi poin tidak butuh alokasi {@link BigDecimal}</li>
+ * </ul>
+ *
+ * <p>{@link BigDecimal} hanya dipakai di tepi aplikasi (parsing input user),
+ * tidak pernah di jalur transaksi.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * long amount = Money.ofRupiah(150000);       // 15,000,000 sen
+ * String text = Money.format(amount);         // "150,000"
+ * long points = Money.applyRate(amount, 500, Money.BASIS_POINTS); // 5% → 7,500 poin
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#getTotalSpent()
+ * @see RewardSystem#calculateEarnedPoints(long, long)
+ */
+public final class Money {
+
+    /**
+     * Jumlah sen dalam 1 Rupiah.
+     *
+     * @since 3.0
+     */
+    public static final long SEN_PER_RUPIAH = 100;
+
+    /**
+     * Penyebut basis points (10,000 bp = 100%).
+     *
+     * @since 3.0
+     */
+    public static final long BASIS_POINTS = 10_000;
+
+    /**
+     * Jumlah digit bulat Rupiah maksimum yang masih muat di {@code long} sen.
+     */
+    private static final int MAX_RUPIAH_DIGITS = 17;
+
+    /**
+     * Jumlah digit desimal maksimum yang diterima dari input.
+     */
+    private static final int MAX_FRACTION_DIGITS = 18;
+
+    private Money() {
+        // Utility class
+    }
+
+    /**
+     * Konversi nominal Rupiah bulat ke sen.
+     *
+     * @param rupiah nominal dalam Rupiah
+     * @return nominal dalam sen
+     *
+     * @throws ArithmeticException jika hasil melebihi kapasitas {@code long}
+     *
+     * @since 3.0
+     */
+    public static long ofRupiah(long rupiah) {
+        return Math.multiplyExact(rupiah, SEN_PER_RUPIAH);
+    }
+
+    /**
+     * Konversi nominal Rupiah desimal (dari input user) ke sen.
+     *
+     * <p>Nominal dibulatkan ke sen terdekat dengan aturan HALF_UP.
+     * Hanya dipakai di tepi aplikasi, misalnya setelah {@code Scanner.nextBigDecimal()}.</p>
+     *
+     * <p>Jumlah digit diperiksa sebelum konversi: input seperti {@code 1e999999999}
+     * atau {@code 1e-999999999} ditolak langsung, bukan diskalakan dengan
+     * eksponen raksasa yang memakan CPU.</p>
+     *
+     * @param rupiah nominal dalam Rupiah
+     * @return nominal dalam sen
+     *
+     * @throws ArithmeticException jika hasil melebihi kapasitas {@code long} atau
+     *         digit desimalnya lebih dari {@value #MAX_FRACTION_DIGITS}
+     *
+     * @since 3.0
+     */
+    public static long ofRupiah(BigDecimal rupiah) {
+        if (rupiah.scale() > MAX_FRACTION_DIGITS) {
+            throw new ArithmeticException("Nominal terlalu banyak digit desimal: " + rupiah.scale());
+        }
+        if ((long) rupiah.precision() - rupiah.scale() > MAX_RUPIAH_DIGITS) {
+            throw new ArithmeticException("Nominal terlalu besar");
+        }
+        return rupiah.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Menghitung {@code floor(rupiah × rate / rateScale)} secara exact.
+     *
+     * <p>Dipakai untuk konversi belanja ke poin: {@code rate / rateScale} adalah
+     * jumlah poin per Rupiah. Pembagian dipecah menjadi bagian hasil bagi dan
+     * sisa, supaya perkalian tidak overflow untuk nominal sebesar apapun
+     * yang muat di {@code long}.</p>
+     *
+     * <p><strong>Rounding:</strong> selalu dibulatkan ke bawah (floor), sama
+     * seperti cast {@code (int)} pada versi lama.</p>
+     *
+     * @param amountSen nominal dalam sen (harus &gt;= 0)
+     * @param rate pembilang rate (harus &gt;= 0)
+     * @param rateScale penyebut rate (contoh: {@link #BASIS_POINTS})
+     * @return hasil perkalian dalam satuan utuh (dibulatkan ke bawah)
+     *
+     * @throws ArithmeticException jika hasil melebihi kapasitas {@code long}
+     *
+     * @since 3.0
+     */
+    public static long applyRate(long amountSen, long rate, long rateScale) {
+        long divisor = Math.multiplyExact(SEN_PER_RUPIAH, rateScale);
+        long whole = amountSen / divisor;
+        long remainder = amountSen % divisor;
+        return Math.addExact(Math.multiplyExact(whole, rate),
+                Math.multiplyExact(remainder, rate) / divisor);
+    }
+
+    /**
+     * Format nominal sen menjadi Rupiah dengan pemisah ribuan (contoh: "1,250,000").
+     *
+     * <p>Nominal dibulatkan ke Rupiah terdekat (HALF_UP), sama seperti format
+     * {@code "%,.0f"} pada versi lama, tapi tanpa boxing dan tanpa parsing pattern.</p>
+     *
+     * @param sen nominal dalam sen
+     * @return nominal Rupiah yang sudah diformat, tanpa prefix "Rp"
+     *
+     * @since 3.0
+     */
+    public static String format(long sen) {
+        return appendTo(new StringBuilder(24), sen).toString();
+    }
+
+    /**
+     * Menulis nominal sen yang sudah diformat ke {@link StringBuilder} yang ada.
+     *
+     * @param target builder tujuan
+     * @param sen nominal dalam sen
+     * @return builder yang sama, untuk chaining
+     *
+     * @see #format(long)
+     *
+     * @since 3.0
+     */
+    public static StringBuilder appendTo(StringBuilder target, long sen) {
+        long rupiah = sen / SEN_PER_RUPIAH;
+        long rest = sen % SEN_PER_RUPIAH;
+        if (Math.abs(rest) * 2 >= SEN_PER_RUPIAH) {
+            rupiah += sen < 0 ? -1 : 1;
+        }
+        if (rupiah < 0) {
+            target.append('-');
+        }
+        String digits = Long.toString(Math.abs(rupiah));
+        int lead = digits.length() % 3;
+        if (lead == 0) {
+            lead = 3;
+        }
+        target.append(digits, 0, lead);
+        for (int i = lead; i < digits.length(); i += 3) {
+            target.append(',').append(digits, i, i + 3);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,326 @@
+package sistemreward;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Engine kadaluarsa poin berbasis lot dan timer wheel.
+ *
+ * <p>Setiap accrual dicatat sebagai lot di {@link PointLots} member dengan
+ * masa berlaku tetap. Setiap member yang punya lot terjadwal tepat satu kali
+ * di {@link ExpiryWheel}, pada waktu kadaluarsa lot paling tuanya. Sweep
+ * hanya mengunjungi member yang jatuh tempo: lot kadaluarsanya dibuang,
+ * saldonya dikurangi, lalu member dijadwalkan ulang ke lot berikutnya.
+ * Sweep malam untuk jutaan lot karena itu sebanding dengan lot yang memang
+ * kadaluarsa, bukan dengan jumlah member.</p>
+ *
+ * <p><strong>Aturan saldo:</strong></p>
+ * <ul>
+ *   <li>🎁 Redeem memakai lot paling tua lebih dulu ({@link Customer#deductPoints(long)})</li>
+ *   <li>⏰ Poin kadaluarsa tidak pernah membuat saldo negatif ({@link Customer#expirePoints(long)})</li>
+ *   <li>♾️ Poin tanpa lot (saldo awal, recompute) tidak kadaluarsa</li>
+ * </ul>
+ *
+ * <p>Lot ikut dipulihkan oleh {@link BalanceJournal}; setelah recovery,
+ * jadwalkan member yang punya lot dengan {@link #schedule(CustomerRegistry)}.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * rewardSystem.setPointExpiry(new PointExpiry(TimeUnit.DAYS.toMillis(365)));
+ * ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor();
+ * sweeper.scheduleAtFixedRate(() -> rewardSystem.expirePoints(System.currentTimeMillis()),
+ *         1, 1, TimeUnit.HOURS);
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#setPointExpiry(PointExpiry)
+ */
+public class PointExpiry {
+
+    /**
+     * Resolusi timer wheel default: 1 jam.
+     *
+     * @since 3.0
+     */
+    public static final long DEFAULT_TICK_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Callback untuk setiap member yang saldonya berkurang karena kadaluarsa.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Dipanggil di thread sweep setelah saldo member dikurangi, sebelum
+         * update member selesai (lihat {@link BalanceJournal}).
+         *
+         * @param customer member yang poinnya kadaluarsa
+         * @param expiredPoints poin yang benar-benar dikurangi dari saldo
+         * @param newBalance saldo setelah dikurangi
+         * @param expiredLots lot yang dibuang, berpasangan {@code [poin, kadaluarsa, ...]}
+         */
+        void onExpired(Customer customer, long expiredPoints, long newBalance, long[] expiredLots);
+    }
+
+    private final long validityMillis;
+    private final ExpiryWheel wheel;
+
+    /**
+     * Constructor dengan resolusi wheel default dan waktu awal sekarang.
+     *
+     * @param validityMillis masa berlaku setiap lot sejak accrual
+     *
+     * @since 3.0
+     */
+    public PointExpiry(long validityMillis) {
+        this(validityMillis, DEFAULT_TICK_MILLIS, System.currentTimeMillis());
+    }
+
+    /**
+     * Constructor lengkap, misalnya untuk replay atau benchmark dengan jam sendiri.
+     *
+     * @param validityMillis masa berlaku setiap lot sejak accrual
+     * @param tickMillis resolusi timer wheel; lot bisa kadaluarsa paling lambat satu tick setelah waktunya
+     * @param nowMillis waktu awal wheel
+     *
+     * @throws IllegalArgumentException jika validityMillis atau tickMillis tidak positif
+     *
+     * @since 3.0
+     */
+    public PointExpiry(long validityMillis, long tickMillis, long nowMillis) {
+        if (validityMillis <= 0) {
+            throw new IllegalArgumentException("Masa berlaku harus positif: " + validityMillis);
+        }
+        this.validityMillis = validityMillis;
+        this.wheel = new ExpiryWheel(tickMillis, nowMillis);
+    }
+
+    /**
+     * Getter untuk masa berlaku lot.
+     *
+     * @return masa berlaku dalam millis
+     *
+     * @since 3.0
+     */
+    public long getValidityMillis() {
+        return validityMillis;
+    }
+
+    /**
+     * Getter untuk jumlah member yang sedang terjadwal di timer wheel.
+     *
+     * @return jumlah member dengan lot aktif (termasuk yang lotnya sudah habis di-redeem
+     *         tapi belum dikunjungi sweep)
+     *
+     * @since 3.0
+     */
+    public int getScheduledMembers() {
+        return wheel.size();
+    }
+
+    /**
+     * Menambahkan poin accrual ke saldo sekaligus mencatatnya sebagai lot baru.
+     *
+     * <p>Lot dan saldo diubah bersama di bawah monitor {@link PointLots}, lot
+     * lebih dulu, sehingga {@link Customer#deductPoints(long)} yang melihat poin
+     * baru pasti juga melihat lotnya, dan sweep tidak pernah melihat lot yang
+     * poinnya belum masuk saldo.</p>
+     *
+     * @param customer member yang mendapat poin
+     * @param points poin yang didapat (harus &gt; 0)
+     * @param earnedAtMillis waktu poin didapat; lot kadaluarsa {@link #getValidityMillis()} setelahnya
+     * @return saldo poin setelah ditambahkan
+     *
+     * @since 3.0
+     */
+    public long accrue(Customer customer, long points, long earnedAtMillis) {
+        return accrue(customer, points, earnedAtMillis, null);
+    }
+
+    /**
+     * Sama seperti {@link #accrue(Customer, long, long)}, dan melaporkan lot baru.
+     *
+     * @param customer member yang mendapat poin
+     * @param points poin yang didapat (harus &gt; 0)
+     * @param earnedAtMillis waktu poin didapat
+     * @param changes penerima lot baru, boleh {@code null}
+     * @return saldo poin setelah ditambahkan
+     *
+     * @since 3.0
+     */
+    public long accrue(Customer customer, long points, long earnedAtMillis, PointLots.Changes changes) {
+        PointLots lots = customer.getPointLots();
+        long newBalance;
+        boolean schedule;
+        synchronized (lots) {
+            long expiresAt = lots.add(points, earnedAtMillis + validityMillis);
+            if (changes != null) {
+                changes.lot(points, expiresAt);
+            }
+            newBalance = customer.addPoints(points);
+            schedule = lots.markScheduled();
+        }
+        if (schedule) {
+            wheel.schedule(customer, lots.getNextExpiry());
+        }
+        return newBalance;
+    }
+
+    /**
+     * Membatalkan redeem: poin kembali ke saldo dan ke lot asalnya.
+     *
+     * <p>Member dijadwalkan ulang di timer wheel jika sweep sudah
+     * mengeluarkannya karena lotnya sempat habis.</p>
+     *
+     * @param customer member yang redeem-nya dibatalkan
+     * @param points poin yang dikembalikan
+     * @param consumedLots lot yang terpakai, dari {@link PointLots.Changes} saat redeem
+     * @return saldo poin setelah dikembalikan
+     *
+     * @see Customer#refundPoints(long, long[])
+     *
+     * @since 3.0
+     */
+    public long refund(Customer customer, long points, long[] consumedLots) {
+        PointLots lots = customer.getPointLots();
+        long newBalance;
+        boolean schedule;
+        synchronized (lots) {
+            newBalance = customer.refundPoints(points, consumedLots);
+            schedule = lots.size() > 0 && lots.markScheduled();
+        }
+        if (schedule) {
+            wheel.schedule(customer, lots.getNextExpiry());
+        }
+        return newBalance;
+    }
+
+    /**
+     * Menjadwalkan semua member yang punya lot tapi belum terjadwal, misalnya
+     * member yang lotnya baru dipulihkan dari {@link BalanceJournal}.
+     *
+     * @param registry registry berisi member
+     * @return jumlah member yang dijadwalkan
+     *
+     * @since 3.0
+     */
+    public int schedule(CustomerRegistry registry) {
+        int scheduled = 0;
+        for (Customer customer : registry.snapshot()) {
+            PointLots lots = customer.getPointLots();
+            boolean schedule;
+            synchronized (lots) {
+                schedule = lots.size() > 0 && lots.markScheduled();
+            }
+            if (schedule) {
+                wheel.schedule(customer, lots.getNextExpiry());
+                scheduled++;
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Membuang semua lot yang kadaluarsa sampai {@code nowMillis}.
+     *
+     * @param nowMillis waktu acuan
+     * @return ringkasan sweep
+     *
+     * @since 3.0
+     */
+    public ExpiryResult expireDue(long nowMillis) {
+        return expireDue(nowMillis, null);
+    }
+
+    /**
+     * Membuang semua lot yang kadaluarsa sampai {@code nowMillis} dan mengurangi saldo member.
+     *
+     * <p>Hanya satu sweep yang berjalan pada satu waktu; pemanggil kedua menunggu.</p>
+     *
+     * @param nowMillis waktu acuan
+     * @param listener dipanggil untuk setiap member yang saldonya berkurang, boleh {@code null}
+     * @return ringkasan sweep
+     *
+     * @since 3.0
+     */
+    public ExpiryResult expireDue(long nowMillis, Listener listener) {
+        long start = System.nanoTime();
+        Sweep sweep = new Sweep(nowMillis, listener);
+        int visited = wheel.advance(nowMillis, sweep);
+        return new ExpiryResult(visited, sweep.expiredMembers, sweep.expiredLots, sweep.expiredPoints,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Pemrosesan satu member yang jatuh tempo, dengan counter untuk satu sweep.
+     *
+     * <p>Perubahan satu member dibuka dengan {@link Customer#beginUpdate()}
+     * sampai listener selesai, supaya snapshot {@link BalanceJournal} tidak
+     * membaca saldo yang sudah dikurangi sebelum record-nya dicatat.</p>
+     */
+    private final class Sweep implements Consumer<Customer>, PointLots.Changes {
+        private final long nowMillis;
+        private final Listener listener;
+        private long expiredMembers;
+        private long expiredLots;
+        private long expiredPoints;
+        private long[] removed = new long[8];
+        private int removedLength;
+
+        Sweep(long nowMillis, Listener listener) {
+            this.nowMillis = nowMillis;
+            this.listener = listener;
+        }
+
+        @Override
+        public void accept(Customer customer) {
+            PointLots lots = customer.getPointLots();
+            long expired;
+            long taken = 0;
+            long nextExpiry;
+            long newBalance = 0;
+            removedLength = 0;
+            customer.beginUpdate();
+            try {
+                // Lot dan saldo dikurangi bersama supaya redeem tidak bisa menyelip di antaranya
+                synchronized (lots) {
+                    int before = lots.size();
+                    expired = lots.expire(nowMillis, listener == null ? null : this);
+                    expiredLots += before - lots.size();
+                    nextExpiry = lots.reschedule();
+                    if (expired > 0) {
+                        taken = customer.expirePoints(expired);
+                        newBalance = customer.getPoints();
+                    }
+                }
+                if (expired > 0) {
+                    expiredMembers++;
+                    expiredPoints += expired;
+                    if (listener != null) {
+                        listener.onExpired(customer, taken, newBalance, Arrays.copyOf(removed, removedLength));
+                    }
+                }
+            } finally {
+                customer.endUpdate();
+            }
+            if (nextExpiry != Long.MAX_VALUE) {
+                wheel.schedule(customer, nextExpiry);
+            }
+        }
+
+        @Override
+        public void lot(long points, long expiresAtMillis) {
+            if (removedLength + 2 > removed.length) {
+                removed = Arrays.copyOf(removed, removed.length * 2);
+            }
+            // Dilaporkan negatif oleh PointLots; listener menerima poin lot yang dibuang
+            removed[removedLength++] = -points;
+            removed[removedLength++] = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package sistemreward;
+
+/**
+ * Daftar lot poin satu member: setiap accrual adalah satu lot dengan tanggal kadaluarsa.
+ *
+ * <p>Lot disimpan kolumnar (poin sisa dan waktu kadaluarsa) dalam ring buffer
+ * primitif, urut dari yang paling tua. Karena masa berlaku poin sama untuk
+ * semua accrual, urutan masuk sama dengan urutan kadaluarsa, sehingga:</p>
+ * <ul>
+ *   <li>🎁 Redeem memakai lot paling tua lebih dulu (FIFO)</li>
+ *   <li>⏰ Lot yang kadaluarsa selalu ada di depan antrian</li>
+ *   <li>📅 Lot berikutnya yang akan kadaluarsa cukup dibaca dari kepala antrian</li>
+ * </ul>
+ *
+ * <p>Hanya poin dari accrual yang tercatat sebagai lot (lihat {@link PointExpiry}).
+ * Poin dari sumber lain - {@link Customer#setPoints(long)} atau recompute -
+ * tidak punya lot dan tidak pernah kadaluarsa. Lot ikut dipersistenkan oleh
+ * {@link BalanceJournal}: setiap perubahan lot dilaporkan ke {@link Changes}
+ * dan dicatat di log sebagai delta, sedangkan snapshot menyimpan semua lot
+ * ({@link #toArray()} dan {@link #restore(long[])}).</p>
+ *
+ * <p><strong>Thread safety:</strong> Semua method {@code synchronized} pada
+ * objek ini; lock per member sehingga tidak ada kontensi antar member.
+ * Accrual, redeem, dan sweep kadaluarsa juga memegang monitor ini selama
+ * mengubah saldo {@link Customer}, sehingga saldo dan lot selalu berubah bersama.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#getPointLots()
+ * @see PointExpiry
+ */
+public final class PointLots {
+
+    /**
+     * Penerima perubahan lot, misalnya {@link BalanceJournal.Delta}.
+     *
+     * <p>Perubahan dilaporkan per lot dengan waktu kadaluarsanya, sehingga
+     * perubahan dari beberapa operasi bisa dijumlahkan dalam urutan apa pun
+     * dan hasilnya tetap sama.</p>
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    public interface Changes {
+        /**
+         * Dipanggil di bawah monitor {@link PointLots} untuk setiap lot yang berubah.
+         *
+         * @param points poin yang ditambahkan ke lot (positif) atau diambil darinya (negatif)
+         * @param expiresAtMillis waktu kadaluarsa lot
+         */
+        void lot(long points, long expiresAtMillis);
+    }
+
+    private static final long[] EMPTY = new long[0];
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] points = EMPTY;
+    private long[] expiresAt = EMPTY;
+    private int head;
+    private int size;
+    private volatile long total;
+    /** {@code true} selama member punya entri di timer wheel {@link PointExpiry}. */
+    private boolean scheduled;
+
+    /**
+     * Menambahkan lot baru di ekor antrian.
+     *
+     * <p>Jika waktu kadaluarsa lebih awal dari lot terakhir (misalnya masa
+     * berlaku dipersingkat), lot baru ikut kadaluarsa bersama lot terakhir
+     * supaya urutan FIFO tetap sama dengan urutan kadaluarsa.</p>
+     *
+     * @param lotPoints poin di lot ini (harus &gt; 0)
+     * @param expiresAtMillis waktu kadaluarsa dalam epoch millis
+     * @return waktu kadaluarsa lot yang benar-benar dipakai
+     *
+     * @since 3.0
+     */
+    public synchronized long add(long lotPoints, long expiresAtMillis) {
+        if (size == points.length) {
+            grow();
+        }
+        if (size > 0) {
+            expiresAtMillis = Math.max(expiresAtMillis, expiresAt[index(size - 1)]);
+        }
+        int tail = index(size);
+        points[tail] = lotPoints;
+        expiresAt[tail] = expiresAtMillis;
+        size++;
+        total += lotPoints;
+        return expiresAtMillis;
+    }
+
+    /**
+     * Memakai poin dari lot paling tua lebih dulu.
+     *
+     * @param requested jumlah poin yang dipakai
+     * @return poin yang benar-benar diambil dari lot (bisa lebih kecil jika lot tidak cukup)
+     *
+     * @since 3.0
+     */
+    public long consume(long requested) {
+        return consume(requested, null);
+    }
+
+    /**
+     * Sama seperti {@link #consume(long)}, dan melaporkan setiap lot yang terpakai.
+     *
+     * @param requested jumlah poin yang dipakai
+     * @param changes penerima perubahan lot, boleh {@code null}
+     * @return poin yang benar-benar diambil dari lot
+     *
+     * @since 3.0
+     */
+    public synchronized long consume(long requested, Changes changes) {
+        long consumed = 0;
+        while (consumed < requested && size > 0) {
+            long available = points[head];
+            long take = Math.min(available, requested - consumed);
+            consumed += take;
+            if (changes != null) {
+                changes.lot(-take, expiresAt[head]);
+            }
+            if (take == available) {
+                removeHead();
+            } else {
+                points[head] = available - take;
+            }
+        }
+        total -= consumed;
+        return consumed;
+    }
+
+    /**
+     * Mengembalikan poin yang diambil {@link #consume(long, Changes)} ke depan
+     * antrian, misalnya saat redeem dibatalkan.
+     *
+     * <p>Poin kembali ke lot dengan waktu kadaluarsa aslinya, sehingga urutan
+     * FIFO sama seperti sebelum consume.</p>
+     *
+     * @param consumed perubahan lot yang dilaporkan consume, berpasangan
+     *        {@code [-poin, kadaluarsa, ...]} dari yang paling tua
+     *
+     * @since 3.0
+     */
+    public synchronized void unconsume(long[] consumed) {
+        for (int i = consumed.length - 2; i >= 0; i -= 2) {
+            long lotPoints = -consumed[i];
+            if (lotPoints <= 0) {
+                continue;
+            }
+            if (size > 0 && expiresAt[head] == consumed[i + 1]) {
+                points[head] += lotPoints;
+            } else {
+                if (size == points.length) {
+                    grow();
+                }
+                head = head == 0 ? points.length - 1 : head - 1;
+                points[head] = lotPoints;
+                expiresAt[head] = consumed[i + 1];
+                size++;
+            }
+            total += lotPoints;
+        }
+    }
+
+    /**
+     * Membuang semua lot yang sudah kadaluarsa pada waktu tertentu.
+     *
+     * @param nowMillis waktu acuan
+     * @return jumlah poin yang kadaluarsa
+     *
+     * @since 3.0
+     */
+    public long expire(long nowMillis) {
+        return expire(nowMillis, null);
+    }
+
+    /**
+     * Sama seperti {@link #expire(long)}, dan melaporkan setiap lot yang dibuang.
+     *
+     * @param nowMillis waktu acuan
+     * @param changes penerima perubahan lot, boleh {@code null}
+     * @return jumlah poin yang kadaluarsa
+     *
+     * @since 3.0
+     */
+    public synchronized long expire(long nowMillis, Changes changes) {
+        long expired = 0;
+        while (size > 0 && expiresAt[head] <= nowMillis) {
+            expired += points[head];
+            if (changes != null) {
+                changes.lot(-points[head], expiresAt[head]);
+            }
+            removeHead();
+        }
+        total -= expired;
+        return expired;
+    }
+
+    /**
+     * Salinan semua lot, dari yang paling tua, untuk dipersistenkan.
+     *
+     * @return array berpasangan {@code [poin, kadaluarsa, poin, kadaluarsa, ...]}
+     *
+     * @since 3.0
+     */
+    public synchronized long[] toArray() {
+        long[] lots = new long[size * 2];
+        for (int i = 0; i < size; i++) {
+            int slot = index(i);
+            lots[2 * i] = points[slot];
+            lots[2 * i + 1] = expiresAt[slot];
+        }
+        return lots;
+    }
+
+    /**
+     * Mengganti semua lot dengan hasil {@link #toArray()}, dipakai saat recovery.
+     *
+     * <p>Lot hasil restore belum terjadwal di timer wheel; lihat
+     * {@link PointExpiry#schedule(CustomerRegistry)}.</p>
+     *
+     * @param lots array berpasangan {@code [poin, kadaluarsa, ...]}, urut dari yang paling tua
+     *
+     * @since 3.0
+     */
+    public synchronized void restore(long[] lots) {
+        points = EMPTY;
+        expiresAt = EMPTY;
+        head = 0;
+        size = 0;
+        total = 0;
+        for (int i = 0; i + 1 < lots.length; i += 2) {
+            if (lots[i] > 0) {
+                add(lots[i], lots[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Getter untuk total poin di semua lot.
+     *
+     * @return total poin yang masih punya masa berlaku
+     *
+     * @since 3.0
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Getter untuk jumlah lot yang masih ada.
+     *
+     * @return jumlah lot
+     *
+     * @since 3.0
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Waktu kadaluarsa lot paling tua.
+     *
+     * @return epoch millis, atau {@link Long#MAX_VALUE} jika tidak ada lot
+     *
+     * @since 3.0
+     */
+    public synchronized long getNextExpiry() {
+        return size == 0 ? Long.MAX_VALUE : expiresAt[head];
+    }
+
+    /**
+     * Menandai member sudah dijadwalkan di timer wheel.
+     *
+     * @return {@code true} jika sebelumnya belum terjadwal, artinya pemanggil harus menjadwalkan
+     */
+    synchronized boolean markScheduled() {
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * Dipanggil sweeper setelah entri wheel member ini diproses.
+     *
+     * @return waktu kadaluarsa berikutnya yang harus dijadwalkan, atau
+     *         {@link Long#MAX_VALUE} jika tidak ada lot (member keluar dari wheel)
+     */
+    synchronized long reschedule() {
+        if (size == 0) {
+            scheduled = false;
+            return Long.MAX_VALUE;
+        }
+        return expiresAt[head];
+    }
+
+    private void removeHead() {
+        points[head] = 0;
+        head = index(1);
+        size--;
+        if (size == 0) {
+            head = 0;
+        }
+    }
+
+    private int index(int offset) {
+        int i = head + offset;
+        return i >= points.length ? i - points.length : i;
+    }
+
+    private void grow() {
+        int capacity = points.length == 0 ? INITIAL_CAPACITY : points.length + (points.length >> 1);
+        long[] newPoints = new long[capacity];
+        long[] newExpiresAt = new long[capacity];
+        for (int i = 0; i < size; i++) {
+            newPoints[i] = points[index(i)];
+            newExpiresAt[i] = expiresAt[index(i)];
+        }
+        points = newPoints;
+        expiresAt = newExpiresAt;
+        head = 0;
+    }
+}
@@ -0,0 +1,406 @@
+package sistemreward;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Rencana evaluasi promo poin yang sudah dikompilasi dari daftar {@link PromotionRule}.
+ *
+ * <p>Saat dibuat, rule diurutkan sekali berdasarkan prioritas menjadi rencana
+ * datar: setiap rule punya nomor urut, dan semua field yang dibutuhkan saat
+ * evaluasi disalin ke array primitif. Untuk setiap predikat yang bisa
+ * di-index dibuat bitset "rule mana yang lolos":</p>
+ * <ul>
+ *   <li>🏷️ per kategori transaksi (rule kategori itu + rule semua kategori)</li>
+ *   <li>📅 per hari dalam minggu (WIB)</li>
+ *   <li>🛒 per threshold belanja minimum, di-binary search dari nominal transaksi</li>
+ *   <li>⏰ per interval waktu di antara batas masa berlaku rule, juga di-binary search</li>
+ * </ul>
+ *
+ * <p>Evaluasi satu transaksi cukup meng-AND empat bitset per word 64 rule;
+ * bit yang tersisa adalah rule yang cocok, berurutan sesuai prioritas.
+ * Ratusan rule hanya butuh beberapa word, tanpa alokasi dan tanpa lock.</p>
+ *
+ * <p><strong>Kombinasi:</strong> kelebihan multiplier setiap rule yang cocok
+ * dijumlahkan (poin ganda + kategori 1.5x = 2.5x poin dasar), bonus poin
+ * tetap ikut dijumlahkan. Rule eksklusif yang cocok menghentikan evaluasi
+ * rule dengan prioritas di bawahnya.</p>
+ *
+ * <p>Objek ini immutable dan aman dipakai banyak thread. Reload dilakukan
+ * dengan mengompilasi engine baru lalu menukar referensinya di
+ * {@link RewardSystem#setPromotionEngine(PromotionEngine)}; accrual yang sedang
+ * berjalan tetap memakai engine lama yang sudah dibacanya.</p>
+ *
+ * <p><strong>Format file</strong> (UTF-8, satu rule per baris, kolom dipisah {@code ;}):</p>
+ * <pre>
+ * # id;prioritas;multiplier;bonus poin;kategori;min belanja (Rp);hari;berlaku dari;berlaku sampai;eksklusif
+ * WEEKEND2X;10;2;-;-;-;SAT,SUN;-;-;-
+ * ELEKTRONIK;20;1.5;-;3;-;-;2025-12-01;2025-12-31;-
+ * BELANJA1JT;5;-;500;-;1000000;-;-;-;-
+ * </pre>
+ * <ul>
+ *   <li>📝 Baris kosong dan baris yang diawali {@code #} diabaikan</li>
+ *   <li>✖️ Multiplier desimal ({@code 2} = poin ganda), {@code -} berarti tanpa multiplier</li>
+ *   <li>🏷️ Kategori berupa angka; {@code -} berarti semua kategori</li>
+ *   <li>📅 Hari dipisah koma ({@code MON} sampai {@code SUN}); {@code -} berarti setiap hari</li>
+ *   <li>📆 Tanggal format {@code yyyy-MM-dd} (WIB), tanggal "sampai" ikut berlaku sepanjang hari</li>
+ *   <li>🛑 Kolom eksklusif {@code ya} atau {@code -}</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * rewardSystem.setPromotionEngine(new PromotionEngine(List.of(
+ *         new PromotionRule("WEEKEND2X", 10, 20_000, 0, PromotionRule.ANY_CATEGORY, 0,
+ *                 PromotionRule.WEEKEND, PromotionRule.ALWAYS_VALID_FROM,
+ *                 PromotionRule.ALWAYS_VALID_UNTIL, false))));
+ *
+ * rewardSystem.checkReward(customer, Money.ofRupiah(250_000), System.currentTimeMillis(), 3);
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see PromotionRule
+ * @see RewardSystem#reloadPromotions(Path)
+ */
+public final class PromotionEngine {
+
+    /**
+     * Kategori untuk transaksi yang tidak punya kategori; hanya rule
+     * {@link PromotionRule#ANY_CATEGORY} yang berlaku.
+     *
+     * @since 3.0
+     */
+    public static final int NO_CATEGORY = -1;
+
+    private static final String COLUMN_SEPARATOR = ";";
+    private static final int COLUMNS = 10;
+    private static final String EMPTY_COLUMN = "-";
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+    /**
+     * Engine tanpa rule: tidak pernah memberi bonus.
+     *
+     * @since 3.0
+     */
+    public static final PromotionEngine EMPTY = new PromotionEngine(List.of());
+
+    private final List<PromotionRule> rules;
+    private final int words;
+
+    private final long[] extraBasisPoints;
+    private final long[] bonusPoints;
+    private final long[] exclusiveMask;
+
+    /** Kategori (+1) ke index baris di {@link #categoryMasks}; baris 0 = kategori tanpa rule khusus. */
+    private final LongIntMap categoryIndex;
+    private final long[] categoryMasks;
+    private final long[] dayMasks;
+    private final long[] amountThresholds;
+    private final long[] amountMasks;
+    /** Batas masa berlaku (terurut); interval k dimulai di {@code timeBoundaries[k - 1]}. */
+    private final long[] timeBoundaries;
+    private final long[] timeMasks;
+
+    /**
+     * Mengompilasi daftar rule menjadi rencana evaluasi.
+     *
+     * <p>Rule dengan prioritas sama dievaluasi sesuai urutan di list.</p>
+     *
+     * @param rules rule promo yang aktif
+     *
+     * @throws IllegalArgumentException jika ada ID rule yang duplikat
+     *
+     * @since 3.0
+     */
+    public PromotionEngine(List<PromotionRule> rules) {
+        PromotionRule[] plan = rules.toArray(new PromotionRule[0]);
+        Arrays.sort(plan, Comparator.comparingInt(PromotionRule::getPriority).reversed());
+        Set<String> ids = new HashSet<>();
+        for (PromotionRule rule : plan) {
+            if (!ids.add(rule.getId())) {
+                throw new IllegalArgumentException("ID promo duplikat: " + rule.getId());
+            }
+        }
+        int n = plan.length;
+        this.rules = List.of(plan);
+        this.words = (n + 63) >>> 6;
+        this.extraBasisPoints = new long[n];
+        this.bonusPoints = new long[n];
+        this.exclusiveMask = new long[words];
+
+        this.categoryIndex = new LongIntMap(n);
+        int categories = 1;
+        for (PromotionRule rule : plan) {
+            if (rule.getCategory() != PromotionRule.ANY_CATEGORY
+                    && categoryIndex.putIfAbsent(rule.getCategory() + 1L, categories) == categories) {
+                categories++;
+            }
+        }
+        this.categoryMasks = new long[categories * words];
+        this.dayMasks = new long[DAYS.length * words];
+        this.amountThresholds = Arrays.stream(plan).mapToLong(PromotionRule::getMinAmount)
+                .sorted().distinct().toArray();
+        this.amountMasks = new long[amountThresholds.length * words];
+        this.timeBoundaries = Arrays.stream(plan)
+                .flatMapToLong(rule -> LongStream.of(rule.getValidFrom(), rule.getValidUntil()))
+                .filter(t -> t != PromotionRule.ALWAYS_VALID_FROM && t != PromotionRule.ALWAYS_VALID_UNTIL)
+                .sorted().distinct().toArray();
+        this.timeMasks = new long[(timeBoundaries.length + 1) * words];
+
+        for (int r = 0; r < n; r++) {
+            PromotionRule rule = plan[r];
+            int word = r >>> 6;
+            long bit = 1L << r;
+            extraBasisPoints[r] = rule.getMultiplierBasisPoints() - PromotionRule.NO_MULTIPLIER;
+            bonusPoints[r] = rule.getBonusPoints();
+            if (rule.isExclusive()) {
+                exclusiveMask[word] |= bit;
+            }
+            if (rule.getCategory() == PromotionRule.ANY_CATEGORY) {
+                for (int c = 0; c < categories; c++) {
+                    categoryMasks[c * words + word] |= bit;
+                }
+            } else {
+                categoryMasks[categoryIndex.get(rule.getCategory() + 1L) * words + word] |= bit;
+            }
+            for (int d = 0; d < DAYS.length; d++) {
+                if ((rule.getDayMask() & (1 << d)) != 0) {
+                    dayMasks[d * words + word] |= bit;
+                }
+            }
+            for (int k = Arrays.binarySearch(amountThresholds, rule.getMinAmount()); k < amountThresholds.length; k++) {
+                amountMasks[k * words + word] |= bit;
+            }
+            for (int k = 0; k <= timeBoundaries.length; k++) {
+                long intervalStart = k == 0 ? Long.MIN_VALUE : timeBoundaries[k - 1];
+                if (rule.getValidFrom() <= intervalStart && rule.getValidUntil() > intervalStart) {
+                    timeMasks[k * words + word] |= bit;
+                }
+            }
+        }
+    }
+
+    /**
+     * Memuat dan mengompilasi rule promo dari file.
+     *
+     * <p>File dibaca dan divalidasi seluruhnya sebelum engine dibuat; jika ada
+     * satu baris yang salah, tidak ada engine yang dihasilkan.</p>
+     *
+     * @param file path file rule promo
+     * @return engine baru
+     *
+     * @throws IOException jika file tidak bisa dibaca atau ada baris yang tidak valid
+     *
+     * @since 3.0
+     */
+    public static PromotionEngine load(Path file) throws IOException {
+        List<PromotionRule> rules = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    rules.add(parse(trimmed));
+                } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+                    throw new IOException(file + " baris " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        try {
+            return new PromotionEngine(rules);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Menghitung bonus promo untuk satu transaksi.
+     *
+     * <p>Tidak mengalokasi objek dan tidak mengambil lock; aman dipanggil dari
+     * jalur accrual mana pun.</p>
+     *
+     * <p>Transaksi dengan nominal 0 (atau negatif) tidak pernah cocok dengan rule
+     * apa pun, termasuk rule bonus poin tanpa belanja minimum - kalau tidak,
+     * bonus bisa dikumpulkan dengan mengirim transaksi kosong berulang-ulang.</p>
+     *
+     * @param basePoints poin dasar transaksi (rate × tier bonus) yang dikalikan multiplier promo
+     * @param amount nominal transaksi dalam sen
+     * @param epochMillis waktu transaksi
+     * @param category kategori transaksi, atau {@link #NO_CATEGORY}
+     * @return poin tambahan di atas poin dasar, dibulatkan ke bawah ({@code 0} jika tidak ada promo cocok)
+     *
+     * @since 3.0
+     */
+    public long calculateBonus(long basePoints, long amount, long epochMillis, int category) {
+        if (amount <= 0) {
+            return 0;
+        }
+        int threshold = floorIndex(amountThresholds, amount);
+        if (threshold < 0) {
+            return 0;
+        }
+        int categoryRow = category < 0 ? LongIntMap.NO_VALUE : categoryIndex.get(category + 1L);
+        int categoryBase = Math.max(categoryRow, 0) * words;
+        int dayBase = dayOfWeek(epochMillis) * words;
+        int amountBase = threshold * words;
+        int timeBase = (floorIndex(timeBoundaries, epochMillis) + 1) * words;
+        long extra = 0;
+        long bonus = 0;
+        for (int w = 0; w < words; w++) {
+            long matches = categoryMasks[categoryBase + w] & dayMasks[dayBase + w]
+                    & amountMasks[amountBase + w] & timeMasks[timeBase + w];
+            while (matches != 0) {
+                long bit = matches & -matches;
+                matches ^= bit;
+                int r = (w << 6) + Long.numberOfTrailingZeros(bit);
+                extra += extraBasisPoints[r];
+                bonus += bonusPoints[r];
+                if ((exclusiveMask[w] & bit) != 0) {
+                    return scale(basePoints, extra) + bonus;
+                }
+            }
+        }
+        return scale(basePoints, extra) + bonus;
+    }
+
+    /**
+     * Cek apakah engine tidak punya rule sama sekali.
+     *
+     * @return {@code true} jika tidak ada rule
+     *
+     * @since 3.0
+     */
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Getter untuk jumlah rule.
+     *
+     * @return jumlah rule di rencana evaluasi
+     *
+     * @since 3.0
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Getter untuk rule sesuai urutan evaluasi (prioritas tertinggi lebih dulu).
+     *
+     * @return list immutable
+     *
+     * @since 3.0
+     */
+    public List<PromotionRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Index elemen terbesar yang &lt;= value di array terurut, atau -1.
+     */
+    private static int floorIndex(long[] t, long value) {
+        int low = 0;
+        int high = t.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (t[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Hari dalam minggu (WIB) dengan Senin = 0, tanpa membuat objek tanggal.
+     */
+    private static int dayOfWeek(long epochMillis) {
+        long epochDay = BusinessClock.epochDay(epochMillis);
+        // 1970-01-01 adalah hari Kamis (index 3)
+        return (int) Math.floorMod(epochDay + 3, 7L);
+    }
+
+    private static long scale(long basePoints, long extraBasisPoints) {
+        if (extraBasisPoints == 0 || basePoints <= 0) {
+            return 0;
+        }
+        long whole = basePoints / Money.BASIS_POINTS;
+        long remainder = basePoints % Money.BASIS_POINTS;
+        return Math.addExact(Math.multiplyExact(whole, extraBasisPoints),
+                Math.multiplyExact(remainder, extraBasisPoints) / Money.BASIS_POINTS);
+    }
+
+    private static PromotionRule parse(String line) {
+        String[] columns = line.split(COLUMN_SEPARATOR, -1);
+        if (columns.length != COLUMNS) {
+            throw new IllegalArgumentException("harus ada " + COLUMNS + " kolom, ditemukan " + columns.length);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].strip();
+        }
+        long multiplier = EMPTY_COLUMN.equals(columns[2])
+                ? PromotionRule.NO_MULTIPLIER
+                : new BigDecimal(columns[2]).movePointRight(4).longValueExact();
+        long bonus = EMPTY_COLUMN.equals(columns[3]) ? 0 : Long.parseLong(columns[3]);
+        int category = EMPTY_COLUMN.equals(columns[4]) ? PromotionRule.ANY_CATEGORY : Integer.parseInt(columns[4]);
+        long minAmount = EMPTY_COLUMN.equals(columns[5]) ? 0 : Money.ofRupiah(Long.parseLong(columns[5]));
+        int dayMask = EMPTY_COLUMN.equals(columns[6]) ? PromotionRule.ALL_DAYS : parseDays(columns[6]);
+        long from = EMPTY_COLUMN.equals(columns[7])
+                ? PromotionRule.ALWAYS_VALID_FROM
+                : BusinessClock.startOfDay(LocalDate.parse(columns[7]));
+        long until = EMPTY_COLUMN.equals(columns[8])
+                ? PromotionRule.ALWAYS_VALID_UNTIL
+                : BusinessClock.startOfDay(LocalDate.parse(columns[8]).plusDays(1));
+        boolean exclusive;
+        if (EMPTY_COLUMN.equals(columns[9])) {
+            exclusive = false;
+        } else if ("ya".equalsIgnoreCase(columns[9])) {
+            exclusive = true;
+        } else {
+            throw new IllegalArgumentException("kolom eksklusif harus 'ya' atau '-': " + columns[9]);
+        }
+        return new PromotionRule(columns[0], Integer.parseInt(columns[1]), multiplier, bonus, category,
+                minAmount, dayMask, from, until, exclusive);
+    }
+
+    private static int parseDays(String column) {
+        int mask = 0;
+        for (String token : column.split(",")) {
+            String day = token.strip().toUpperCase();
+            DayOfWeek match = null;
+            for (DayOfWeek candidate : DAYS) {
+                if (day.length() >= 3 && candidate.name().startsWith(day)) {
+                    match = candidate;
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("hari tidak dikenal: " + token);
+            }
+            mask |= PromotionRule.days(match);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,273 @@
+package sistemreward;
+
+import java.time.DayOfWeek;
+
+/**
+ * Satu aturan promo poin, misalnya poin ganda di akhir pekan atau bonus belanja minimum.
+ *
+ * <p>Objek immutable. Rule tidak dievaluasi langsung; sekumpulan rule
+ * dikompilasi menjadi {@link PromotionEngine} yang kemudian dipasang di
+ * {@link RewardSystem#setPromotionEngine(PromotionEngine)}.</p>
+ *
+ * <p><strong>Syarat</strong> (semua harus terpenuhi):</p>
+ * <ul>
+ *   <li>🏷️ Kategori transaksi sama dengan {@link #getCategory()}, atau rule untuk {@link #ANY_CATEGORY}</li>
+ *   <li>🛒 Nominal transaksi &gt;= {@link #getMinAmount()}</li>
+ *   <li>📅 Hari transaksi (WIB) termasuk {@link #getDayMask()}</li>
+ *   <li>⏰ Waktu transaksi di rentang {@code [validFrom, validUntil)}</li>
+ * </ul>
+ *
+ * <p><strong>Efek:</strong> multiplier dalam basis points terhadap poin dasar
+ * (20000 = poin ganda) dan/atau bonus poin tetap per transaksi.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see PromotionEngine
+ */
+public final class PromotionRule {
+
+    /**
+     * Kategori untuk rule yang berlaku di semua kategori transaksi.
+     *
+     * @since 3.0
+     */
+    public static final int ANY_CATEGORY = -1;
+
+    /**
+     * Multiplier netral: poin dasar tidak berubah.
+     *
+     * @since 3.0
+     */
+    public static final long NO_MULTIPLIER = Money.BASIS_POINTS;
+
+    /**
+     * Mask untuk rule yang berlaku setiap hari.
+     *
+     * @since 3.0
+     */
+    public static final int ALL_DAYS = (1 << 7) - 1;
+
+    /**
+     * Mask untuk Sabtu dan Minggu.
+     *
+     * @since 3.0
+     */
+    public static final int WEEKEND = days(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    /**
+     * Awal masa berlaku untuk rule yang berlaku sejak kapan pun.
+     *
+     * @since 3.0
+     */
+    public static final long ALWAYS_VALID_FROM = Long.MIN_VALUE;
+
+    /**
+     * Akhir masa berlaku untuk rule tanpa tanggal berakhir.
+     *
+     * @since 3.0
+     */
+    public static final long ALWAYS_VALID_UNTIL = Long.MAX_VALUE;
+
+    private final String id;
+    private final int priority;
+    private final long multiplierBasisPoints;
+    private final long bonusPoints;
+    private final int category;
+    private final long minAmount;
+    private final int dayMask;
+    private final long validFrom;
+    private final long validUntil;
+    private final boolean exclusive;
+
+    /**
+     * Constructor rule promo.
+     *
+     * @param id ID unik rule, misalnya {@code "WEEKEND2X"}
+     * @param priority urutan evaluasi; nilai lebih besar dievaluasi lebih dulu
+     * @param multiplierBasisPoints multiplier poin dasar (harus &gt;= {@link #NO_MULTIPLIER})
+     * @param bonusPoints bonus poin tetap per transaksi (harus &gt;= 0)
+     * @param category kategori transaksi (&gt;= 0), atau {@link #ANY_CATEGORY}
+     * @param minAmount nominal minimum transaksi dalam sen (harus &gt;= 0)
+     * @param dayMask hari berlaku, gabungan bit dari {@link #days(DayOfWeek...)}
+     * @param validFrom awal masa berlaku (inklusif), epoch millis, atau {@link #ALWAYS_VALID_FROM}
+     * @param validUntil akhir masa berlaku (eksklusif), epoch millis, atau {@link #ALWAYS_VALID_UNTIL}
+     * @param exclusive jika {@code true}, rule dengan prioritas lebih rendah tidak
+     *        dievaluasi lagi setelah rule ini cocok
+     *
+     * @throws IllegalArgumentException jika salah satu nilai tidak valid
+     *
+     * @since 3.0
+     */
+    public PromotionRule(String id, int priority, long multiplierBasisPoints, long bonusPoints, int category,
+                         long minAmount, int dayMask, long validFrom, long validUntil, boolean exclusive) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("ID promo tidak boleh kosong");
+        }
+        if (multiplierBasisPoints < NO_MULTIPLIER) {
+            throw new IllegalArgumentException("Multiplier promo " + id + " minimal " + NO_MULTIPLIER
+                    + " bp: " + multiplierBasisPoints);
+        }
+        if (bonusPoints < 0) {
+            throw new IllegalArgumentException("Bonus poin promo " + id + " tidak boleh negatif: " + bonusPoints);
+        }
+        if (category < ANY_CATEGORY) {
+            throw new IllegalArgumentException("Kategori promo " + id + " tidak valid: " + category);
+        }
+        if (minAmount < 0) {
+            throw new IllegalArgumentException("Belanja minimum promo " + id + " tidak boleh negatif: " + minAmount);
+        }
+        if (dayMask <= 0 || (dayMask & ~ALL_DAYS) != 0) {
+            throw new IllegalArgumentException("Hari promo " + id + " tidak valid: " + dayMask);
+        }
+        if (validFrom >= validUntil) {
+            throw new IllegalArgumentException("Masa berlaku promo " + id + " kosong");
+        }
+        this.id = id;
+        this.priority = priority;
+        this.multiplierBasisPoints = multiplierBasisPoints;
+        this.bonusPoints = bonusPoints;
+        this.category = category;
+        this.minAmount = minAmount;
+        this.dayMask = dayMask;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+        this.exclusive = exclusive;
+    }
+
+    /**
+     * Membuat mask hari untuk parameter {@code dayMask}.
+     *
+     * @param days hari-hari berlaku
+     * @return mask dengan bit {@code ordinal()} setiap hari (Senin = bit 0)
+     *
+     * @since 3.0
+     */
+    public static int days(DayOfWeek... days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << day.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * Getter untuk ID rule.
+     *
+     * @return ID unik rule
+     *
+     * @since 3.0
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Getter untuk prioritas rule.
+     *
+     * @return prioritas; lebih besar dievaluasi lebih dulu
+     *
+     * @since 3.0
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Getter untuk multiplier poin dasar.
+     *
+     * @return multiplier dalam basis points (contoh: 20000 = poin ganda)
+     *
+     * @since 3.0
+     */
+    public long getMultiplierBasisPoints() {
+        return multiplierBasisPoints;
+    }
+
+    /**
+     * Getter untuk bonus poin tetap.
+     *
+     * @return bonus poin per transaksi yang cocok
+     *
+     * @since 3.0
+     */
+    public long getBonusPoints() {
+        return bonusPoints;
+    }
+
+    /**
+     * Getter untuk kategori transaksi.
+     *
+     * @return kategori, atau {@link #ANY_CATEGORY}
+     *
+     * @since 3.0
+     */
+    public int getCategory() {
+        return category;
+    }
+
+    /**
+     * Getter untuk nominal minimum transaksi.
+     *
+     * @return nominal minimum dalam sen
+     *
+     * @since 3.0
+     */
+    public long getMinAmount() {
+        return minAmount;
+    }
+
+    /**
+     * Getter untuk mask hari berlaku.
+     *
+     * @return mask dengan bit {@link DayOfWeek#ordinal()} (Senin = bit 0)
+     *
+     * @since 3.0
+     */
+    public int getDayMask() {
+        return dayMask;
+    }
+
+    /**
+     * Getter untuk awal masa berlaku.
+     *
+     * @return epoch millis (inklusif)
+     *
+     * @since 3.0
+     */
+    public long getValidFrom() {
+        return validFrom;
+    }
+
+    /**
+     * Getter untuk akhir masa berlaku.
+     *
+     * @return epoch millis (eksklusif)
+     *
+     * @since 3.0
+     */
+    public long getValidUntil() {
+        return validUntil;
+    }
+
+    /**
+     * Cek apakah rule ini menghentikan evaluasi rule berprioritas lebih rendah.
+     *
+     * @return {@code true} jika eksklusif
+     *
+     * @since 3.0
+     */
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    @Override
+    public String toString() {
+        return "PromotionRule[id=" + id + ", priority=" + priority
+                + ", multiplierBasisPoints=" + multiplierBasisPoints
+                + ", bonusPoints=" + bonusPoints + ", category=" + category
+                + ", minAmount=" + minAmount + ", dayMask=" + Integer.toBinaryString(dayMask)
+                + ", exclusive=" + exclusive + "]";
+    }
+}
@@ -0,0 +1,136 @@
+package sistemreward;
+
+/**
+ * Ringkasan hasil {@link BulkRecomputeEngine#recompute(CustomerRegistry, RewardSystem, RewardSystem, BulkRecomputeEngine.ProgressListener)}.
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see BulkRecomputeEngine
+ */
+public final class RecomputeResult {
+
+    private final long members;
+    private final long tierChanges;
+    private final long pointsDelta;
+    private final long skippedMembers;
+    private final long clampedPoints;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor untuk ringkasan recompute.
+     *
+     * @param members jumlah member yang dihitung ulang
+     * @param tierChanges jumlah member yang tier-nya berubah
+     * @param pointsDelta selisih total poin sesudah dikurangi sebelum recompute
+     * @param skippedMembers jumlah member yang sudah memakai aturan baru sehingga dilewati
+     * @param clampedPoints total koreksi negatif yang tidak bisa dipotong karena saldo tidak cukup
+     * @param elapsedNanos durasi recompute dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public RecomputeResult(long members, long tierChanges, long pointsDelta, long skippedMembers,
+                           long clampedPoints, long elapsedNanos) {
+        this.members = members;
+        this.tierChanges = tierChanges;
+        this.pointsDelta = pointsDelta;
+        this.skippedMembers = skippedMembers;
+        this.clampedPoints = clampedPoints;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Getter untuk jumlah member yang dihitung ulang.
+     *
+     * @return jumlah member
+     *
+     * @since 3.0
+     */
+    public long getMembers() {
+        return members;
+    }
+
+    /**
+     * Getter untuk jumlah member yang tier-nya berubah.
+     *
+     * @return jumlah perubahan tier
+     *
+     * @since 3.0
+     */
+    public long getTierChanges() {
+        return tierChanges;
+    }
+
+    /**
+     * Getter untuk selisih total poin semua member (sesudah - sebelum).
+     *
+     * @return selisih poin, bisa negatif jika aturan baru lebih ketat
+     *
+     * @since 3.0
+     */
+    public long getPointsDelta() {
+        return pointsDelta;
+    }
+
+    /**
+     * Getter untuk jumlah member yang dilewati karena saldonya sudah mencerminkan aturan baru.
+     *
+     * <p>Tidak nol jika recompute yang sama diulang, misalnya setelah checkpoint gagal.</p>
+     *
+     * @return jumlah member yang dilewati
+     *
+     * @since 3.0
+     */
+    public long getSkippedMembers() {
+        return skippedMembers;
+    }
+
+    /**
+     * Getter untuk total poin koreksi yang tidak diterapkan karena saldo tidak boleh negatif.
+     *
+     * <p>Jika aturan baru menurunkan poin lebih besar dari saldo member (misalnya
+     * poinnya sudah di-redeem), saldo berhenti di 0 dan sisanya dicatat di sini.
+     * Akibatnya recompute balik ke aturan lama tidak mengembalikan saldo persis
+     * seperti semula: member tersebut mendapat kembali poin sebesar nilai ini.</p>
+     *
+     * @return total poin yang tidak terpotong, selalu &gt;= 0
+     *
+     * @since 3.0
+     */
+    public long getClampedPoints() {
+        return clampedPoints;
+    }
+
+    /**
+     * Getter untuk durasi recompute.
+     *
+     * @return durasi dalam nanodetik
+     *
+     * @since 3.0
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Menghitung throughput recompute.
+     *
+     * @return jumlah member per detik
+     *
+     * @since 3.0
+     */
+    public double getMembersPerSecond() {
+        return elapsedNanos == 0 ? 0 : members * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RecomputeResult[members=" + members
+                + ", tierChanges=" + tierChanges
+                + ", pointsDelta=" + pointsDelta
+                + ", skippedMembers=" + skippedMembers
+                + ", clampedPoints=" + clampedPoints
+                + ", membersPerSecond=" + (long) getMembersPerSecond() + "]";
+    }
+}
@@ -0,0 +1,109 @@
+package sistemreward;
+
+/**
+ * Hasil immutable dari satu percobaan penukaran voucher, tanpa output ke console.
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#redeemVoucher(Customer, String)
+ * @see ConsoleRenderer#renderRedemption(RedemptionResult)
+ */
+public final class RedemptionResult {
+
+    private final RedemptionStatus status;
+    private final String voucherId;
+    private final Voucher voucher;
+    private final long remainingPoints;
+
+    /**
+     * Constructor untuk hasil penukaran.
+     *
+     * @param status status penukaran
+     * @param voucherId ID voucher yang diminta, boleh {@code null} jika dipilih lewat menu
+     * @param voucher voucher yang ditukar, {@code null} jika status {@link RedemptionStatus#NOT_FOUND}
+     * @param remainingPoints saldo poin pelanggan setelah percobaan penukaran
+     *
+     * @since 3.0
+     */
+    public RedemptionResult(RedemptionStatus status, String voucherId, Voucher voucher, long remainingPoints) {
+        this.status = status;
+        this.voucherId = voucherId;
+        this.voucher = voucher;
+        this.remainingPoints = remainingPoints;
+    }
+
+    /**
+     * Getter untuk status penukaran.
+     *
+     * @return status penukaran
+     *
+     * @since 3.0
+     */
+    public RedemptionStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Mengecek apakah penukaran berhasil.
+     *
+     * @return {@code true} jika status {@link RedemptionStatus#SUCCESS}
+     *
+     * @since 3.0
+     */
+    public boolean isSuccess() {
+        return status == RedemptionStatus.SUCCESS;
+    }
+
+    /**
+     * Getter untuk ID voucher yang diminta.
+     *
+     * @return ID voucher, atau {@code null} jika voucher dipilih lewat nomor menu
+     *
+     * @since 3.0
+     */
+    public String getVoucherId() {
+        return voucherId;
+    }
+
+    /**
+     * Getter untuk voucher yang ditukar.
+     *
+     * @return voucher, atau {@code null} jika voucher tidak ditemukan
+     *
+     * @since 3.0
+     */
+    public Voucher getVoucher() {
+        return voucher;
+    }
+
+    /**
+     * Getter untuk poin yang dibutuhkan voucher.
+     *
+     * @return harga voucher dalam poin, 0 jika voucher tidak ditemukan
+     *
+     * @since 3.0
+     */
+    public long getPointsNeeded() {
+        return voucher == null ? 0 : voucher.getPointCost();
+    }
+
+    /**
+     * Getter untuk saldo poin setelah percobaan penukaran.
+     *
+     * @return saldo poin
+     *
+     * @since 3.0
+     */
+    public long getRemainingPoints() {
+        return remainingPoints;
+    }
+
+    @Override
+    public String toString() {
+        return "RedemptionResult[status=" + status
+                + ", voucher=" + (voucher == null ? voucherId : voucher.getId())
+                + ", remainingPoints=" + remainingPoints + "]";
+    }
+}
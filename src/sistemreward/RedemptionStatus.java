@@ -0,0 +1,23 @@
+package sistemreward;
+
+/**
+ * Hasil percobaan penukaran voucher.
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#tryRedeem(Customer, Voucher)
+ */
+public enum RedemptionStatus {
+    /** Poin terpotong dan satu unit voucher terjual. */
+    SUCCESS,
+    /** Voucher tidak ada di katalog atau pilihan menu tidak valid. */
+    NOT_FOUND,
+    /** Voucher di luar masa berlakunya; tidak ada yang berubah. */
+    NOT_VALID,
+    /** Stok voucher habis; poin tidak dipotong. */
+    OUT_OF_STOCK,
+    /** Poin pelanggan tidak cukup; stok tidak berkurang. */
+    INSUFFICIENT_POINTS
+}
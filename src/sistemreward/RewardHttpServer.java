@@ -0,0 +1,521 @@
+package sistemreward;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * API HTTP/JSON ringan di atas {@link RewardSystem}, memakai {@code HttpServer} bawaan JDK.
+ *
+ * <p>Setiap request ditangani di virtual thread sendiri, sehingga request yang
+ * menunggu journal ({@link BalanceJournal#awaitDurable(long)}) tidak memakan
+ * thread platform dan ribuan koneksi bersamaan tetap murah.</p>
+ *
+ * <p><strong>Endpoints:</strong></p>
+ * <ul>
+ *   <li>➕ {@code POST /members} {@code {"memberId":1001,"name":"Budi"}} - registrasi member</li>
+ *   <li>👤 {@code GET /members/{id}} - saldo poin, tier, dan transaksi terakhir (lewat {@link MemberSummaryCache} jika terpasang)</li>
+ *   <li>🛒 {@code POST /members/{id}/transactions} {@code {"amount":150000,"category":3}} - transaksi (Rupiah) dan accrual</li>
+ *   <li>🎁 {@code POST /members/{id}/redemptions} {@code {"voucherId":"V50K"}} - tukar voucher</li>
+ *   <li>📜 {@code GET /members/{id}/history?limit=20&cursor=...} - history, terbaru lebih dulu</li>
+ *   <li>🎫 {@code GET /vouchers} - katalog voucher beserta sisa stok</li>
+ *   <li>📊 {@code GET /metrics} - dump teks {@link RewardMetrics}</li>
+ * </ul>
+ *
+ * <p>Error dikembalikan sebagai {@code {"error":"..."}} dengan status 400
+ * (input tidak valid), 404 (member/voucher tidak ada), 405, 409, atau 500.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>
+ * java -cp core/target/classes sistemreward.RewardHttpServer 8080
+ * curl -X POST localhost:8080/members -d '{"memberId":1001,"name":"Budi"}'
+ * curl -X POST localhost:8080/members/1001/transactions -d '{"amount":150000}'
+ * curl localhost:8080/members/1001
+ * </pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem
+ */
+public class RewardHttpServer implements Closeable {
+
+    /**
+     * Port default jika tidak diberikan lewat argumen.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Jumlah koneksi yang boleh antri sebelum di-accept.
+     *
+     * @since 3.0
+     */
+    private static final int BACKLOG = 4096;
+
+    /**
+     * Ukuran maksimum body request.
+     *
+     * @since 3.0
+     */
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    /**
+     * Kapasitas {@link MemberSummaryCache} untuk server mandiri.
+     *
+     * @since 3.0
+     */
+    private static final int SUMMARY_CACHE_SIZE = 100_000;
+
+    private static final int DEFAULT_HISTORY_LIMIT = 20;
+    private static final int MAX_HISTORY_LIMIT = 500;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final RewardSystem rewardSystem;
+    private final CustomerRegistry registry;
+
+    private RewardHttpServer(HttpServer server, ExecutorService executor,
+                             RewardSystem rewardSystem, CustomerRegistry registry) {
+        this.server = server;
+        this.executor = executor;
+        this.rewardSystem = rewardSystem;
+        this.registry = registry;
+    }
+
+    /**
+     * Membuat dan menjalankan server.
+     *
+     * @param address alamat bind; port 0 memilih port bebas
+     * @param rewardSystem engine reward yang dilayani
+     * @param registry registry member
+     * @return server yang sudah berjalan
+     *
+     * @throws IOException jika port tidak bisa di-bind
+     *
+     * @since 3.0
+     */
+    public static RewardHttpServer start(InetSocketAddress address, RewardSystem rewardSystem,
+                                         CustomerRegistry registry) throws IOException {
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("http-", 0).factory());
+        RewardHttpServer api = new RewardHttpServer(server, executor, rewardSystem, registry);
+        server.createContext("/", api::handle);
+        server.setExecutor(executor);
+        server.start();
+        return api;
+    }
+
+    /**
+     * Getter untuk port yang sedang dipakai, berguna jika server dibuat dengan port 0.
+     *
+     * @return port server
+     *
+     * @since 3.0
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Menghentikan server setelah request yang sedang berjalan selesai (maksimal 1 detik).
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    /**
+     * Menjalankan server mandiri untuk integrasi dan load test lokal.
+     *
+     * @param args {@code [port]}, default {@value #DEFAULT_PORT}
+     * @throws IOException jika katalog voucher atau rule promo tidak valid, atau port tidak bisa di-bind
+     *
+     * @since 3.0
+     */
+    public static void main(String[] args) throws IOException {
+        // Respons API kecil; tanpa ini Nagle + delayed ACK bisa menambah ~40ms per request keep-alive
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        RewardSystem rewardSystem = new RewardSystem();
+        Path catalog = Path.of("vouchers.csv");
+        if (Files.exists(catalog)) {
+            rewardSystem.reloadVoucherCatalog(catalog);
+        }
+        Path promotions = Path.of("promotions.csv");
+        if (Files.exists(promotions)) {
+            rewardSystem.reloadPromotions(promotions);
+        }
+        CustomerRegistry registry = new CustomerRegistry();
+        rewardSystem.setMemberSummaryCache(new MemberSummaryCache(rewardSystem, registry::get, SUMMARY_CACHE_SIZE));
+        RewardHttpServer api = start(new InetSocketAddress(port), rewardSystem, registry);
+        rewardSystem.getMetrics().registerMBean("http-" + api.getPort());
+        System.out.println("🌐 Sistem Reward API berjalan di http://localhost:" + api.getPort());
+    }
+
+    /**
+     * Routing request berdasarkan method dan segmen path.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/+");
+            if (path.length == 1 && path[0].equals("members")) {
+                requireMethod(method, "POST");
+                register(exchange);
+            } else if (path.length >= 2 && path.length <= 3 && path[0].equals("members")) {
+                Customer customer = findMember(path[1]);
+                String action = path.length == 3 ? path[2] : "";
+                switch (action) {
+                    case "":
+                        requireMethod(method, "GET");
+                        sendJson(exchange, 200, memberJson(summary(customer)));
+                        break;
+                    case "transactions":
+                        requireMethod(method, "POST");
+                        addTransaction(exchange, customer);
+                        break;
+                    case "redemptions":
+                        requireMethod(method, "POST");
+                        redeem(exchange, customer);
+                        break;
+                    case "history":
+                        requireMethod(method, "GET");
+                        history(exchange, customer);
+                        break;
+                    default:
+                        throw new ApiException(404, "Endpoint tidak ditemukan");
+                }
+            } else if (path.length == 1 && path[0].equals("vouchers")) {
+                requireMethod(method, "GET");
+                sendJson(exchange, 200, vouchersJson());
+            } else if (path.length == 1 && path[0].equals("metrics")) {
+                requireMethod(method, "GET");
+                send(exchange, 200, "text/plain; charset=utf-8", rewardSystem.getMetrics().dump());
+            } else {
+                throw new ApiException(404, "Endpoint tidak ditemukan");
+            }
+        } catch (ApiException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (RuntimeException e) {
+            // Input sudah divalidasi menjadi ApiException; exception lain berasal
+            // dari engine dan detailnya tidak dikirim ke client, cukup dihitung di /metrics
+            rewardSystem.getMetrics().countServerError();
+            sendError(exchange, 500, "Terjadi kesalahan internal");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void register(HttpExchange exchange) throws IOException {
+        Map<String, String> body = readBody(exchange);
+        long memberId = parseLong(required(body, "memberId"), "memberId");
+        String name = required(body, "name");
+        if (memberId <= 0) {
+            throw new ApiException(400, "memberId harus positif");
+        }
+        if (name.isBlank()) {
+            throw new ApiException(400, "name tidak boleh kosong");
+        }
+        Customer customer = new Customer(memberId, name, 0);
+        if (registry.putIfAbsent(customer) != null) {
+            throw new ApiException(409, "Member " + memberId + " sudah terdaftar");
+        }
+        sendJson(exchange, 201, memberJson(rewardSystem.summarize(customer, 0)));
+    }
+
+    private void addTransaction(HttpExchange exchange, Customer customer) throws IOException {
+        Map<String, String> body = readBody(exchange);
+        BigDecimal rupiah;
+        try {
+            rupiah = new BigDecimal(required(body, "amount"));
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "amount harus berupa angka");
+        }
+        if (rupiah.signum() <= 0) {
+            throw new ApiException(400, "amount harus lebih dari 0");
+        }
+        int category = PromotionEngine.NO_CATEGORY;
+        String categoryValue = body.get("category");
+        if (categoryValue != null) {
+            try {
+                category = Integer.parseInt(categoryValue);
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "category harus berupa angka");
+            }
+            if (category < 0) {
+                throw new ApiException(400, "category tidak boleh negatif");
+            }
+        }
+        long amount;
+        try {
+            amount = Money.ofRupiah(rupiah);
+        } catch (ArithmeticException e) {
+            throw new ApiException(400, "amount di luar batas yang didukung");
+        }
+        RewardResult result = rewardSystem.checkReward(customer, amount, System.currentTimeMillis(), category);
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"memberId\":").append(customer.getMemberId())
+                .append(",\"amountSen\":").append(result.getAmount())
+                .append(",\"earnedPoints\":").append(result.getEarnedPoints())
+                .append(",\"points\":").append(result.getNewBalance())
+                .append(",\"previousTier\":\"").append(result.getPreviousTier().name())
+                .append("\",\"tier\":\"").append(result.getTier().name())
+                .append("\",\"tierChanged\":").append(result.isTierChanged())
+                .append(",\"bonusBasisPoints\":").append(result.getBonusBasisPoints())
+                .append(",\"pointsToNextTier\":").append(result.getPointsToNextTier())
+                .append('}');
+        sendJson(exchange, 200, json);
+    }
+
+    private void redeem(HttpExchange exchange, Customer customer) throws IOException {
+        Map<String, String> body = readBody(exchange);
+        RedemptionResult result = rewardSystem.redeemVoucher(customer, required(body, "voucherId"));
+        int status;
+        switch (result.getStatus()) {
+            case SUCCESS:
+                status = 200;
+                break;
+            case NOT_FOUND:
+                status = 404;
+                break;
+            default:
+                status = 409;
+        }
+        StringBuilder json = new StringBuilder(192);
+        json.append("{\"memberId\":").append(customer.getMemberId())
+                .append(",\"status\":\"").append(result.getStatus().name())
+                .append("\",\"voucherId\":");
+        Json.appendString(json, result.getVoucherId());
+        json.append(",\"pointsNeeded\":").append(result.getPointsNeeded())
+                .append(",\"points\":").append(result.getRemainingPoints())
+                .append('}');
+        sendJson(exchange, status, json);
+    }
+
+    /**
+     * History terbaru lebih dulu. Cursor adalah nilai {@code nextCursor} dari
+     * halaman sebelumnya; {@code nextCursor = -1} berarti history sudah habis.
+     * Jika ledger terpasang, history dibaca dari ledger; jika tidak, dari memori.
+     */
+    private void history(HttpExchange exchange, Customer customer) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI());
+        long requestedLimit = query.containsKey("limit")
+                ? parseLong(query.get("limit"), "limit") : DEFAULT_HISTORY_LIMIT;
+        if (requestedLimit <= 0 || requestedLimit > MAX_HISTORY_LIMIT) {
+            throw new ApiException(400, "limit harus 1-" + MAX_HISTORY_LIMIT);
+        }
+        int limit = (int) requestedLimit;
+        StringBuilder json = new StringBuilder(64 + limit * 64);
+        json.append("{\"memberId\":").append(customer.getMemberId()).append(",\"transactions\":[");
+        TransactionHistory.Visitor appender = (index, amount, epochMillis) -> {
+            if (json.charAt(json.length() - 1) != '[') {
+                json.append(',');
+            }
+            json.append("{\"index\":").append(index)
+                    .append(",\"amountSen\":").append(amount)
+                    .append(",\"epochMillis\":").append(epochMillis).append('}');
+        };
+        long cursor = query.containsKey("cursor")
+                ? parseLong(query.get("cursor"), "cursor") : TransactionLedger.NEWEST;
+        if (cursor < TransactionLedger.END) {
+            throw new ApiException(400, "cursor di luar rentang history");
+        }
+        long next;
+        try {
+            if (rewardSystem.getLedger() != null) {
+                next = rewardSystem.readTransactionHistory(customer.getMemberId(), cursor, limit, appender);
+            } else {
+                next = customer.getTransactionHistory().readBackward(cursor, limit, appender);
+            }
+        } catch (IllegalArgumentException e) {
+            // Cursor dari client yang tidak menunjuk ke history member ini
+            throw new ApiException(400, "cursor di luar rentang history");
+        }
+        json.append("],\"nextCursor\":").append(next).append('}');
+        sendJson(exchange, 200, json);
+    }
+
+    /**
+     * Ringkasan member dari {@link MemberSummaryCache} jika terpasang, atau dihitung langsung.
+     */
+    private MemberSummary summary(Customer customer) {
+        MemberSummaryCache cache = rewardSystem.getMemberSummaryCache();
+        MemberSummary summary = cache == null ? null : cache.get(customer.getMemberId());
+        return summary != null
+                ? summary
+                : rewardSystem.summarize(customer, MemberSummaryCache.DEFAULT_RECENT_TRANSACTIONS);
+    }
+
+    private StringBuilder memberJson(MemberSummary summary) {
+        Tier next = summary.getNextTier();
+        StringBuilder json = new StringBuilder(256 + summary.getRecentTransactionCount() * 48);
+        json.append("{\"memberId\":").append(summary.getMemberId()).append(",\"name\":");
+        Json.appendString(json, summary.getName());
+        json.append(",\"points\":").append(summary.getPoints())
+                .append(",\"totalSpentSen\":").append(summary.getTotalSpent())
+                .append(",\"redeemedPoints\":").append(summary.getRedeemedPoints())
+                .append(",\"tier\":\"").append(summary.getTier().name())
+                .append("\",\"nextTier\":");
+        Json.appendString(json, next == null ? null : next.name());
+        json.append(",\"qualifyingPoints\":").append(summary.getQualifyingPoints())
+                .append(",\"pointsToNextTier\":").append(summary.getPointsToNextTier())
+                .append(",\"transactionCount\":").append(summary.getTransactionCount())
+                .append(",\"recentTransactions\":[");
+        for (int i = 0; i < summary.getRecentTransactionCount(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"amountSen\":").append(summary.getRecentAmount(i))
+                    .append(",\"epochMillis\":").append(summary.getRecentEpochMillis(i)).append('}');
+        }
+        json.append("]}");
+        return json;
+    }
+
+    private StringBuilder vouchersJson() {
+        VoucherCatalog catalog = rewardSystem.getVoucherCatalog();
+        VoucherInventory inventory = rewardSystem.getVoucherInventory();
+        long now = System.currentTimeMillis();
+        StringBuilder json = new StringBuilder(128 + catalog.size() * 160);
+        json.append("{\"vouchers\":[");
+        for (int i = 0; i < catalog.size(); i++) {
+            Voucher voucher = catalog.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":");
+            Json.appendString(json, voucher.getId());
+            json.append(",\"name\":");
+            Json.appendString(json, voucher.getName());
+            json.append(",\"pointCost\":").append(voucher.getPointCost())
+                    .append(",\"faceValueSen\":").append(voucher.getFaceValue())
+                    .append(",\"available\":");
+            if (voucher.isUnlimitedStock()) {
+                json.append("null");
+            } else {
+                json.append(inventory.getAvailable(voucher));
+            }
+            json.append(",\"valid\":").append(voucher.isValidAt(now)).append('}');
+        }
+        return json.append("]}");
+    }
+
+    private Customer findMember(String segment) {
+        long memberId = parseLong(segment, "memberId");
+        if (memberId <= 0) {
+            throw new ApiException(400, "memberId harus positif");
+        }
+        Customer customer = registry.get(memberId);
+        if (customer == null) {
+            throw new ApiException(404, "Member " + memberId + " tidak ditemukan");
+        }
+        return customer;
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Body request terlalu besar");
+            }
+            try {
+                return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                // Pesan parser hanya menyebut posisi dan token yang diharapkan
+                throw new ApiException(400, e.getMessage());
+            }
+        }
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getQuery();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return query;
+    }
+
+    private static String required(Map<String, String> body, String field) {
+        String value = body.get(field);
+        if (value == null) {
+            throw new ApiException(400, "Field " + field + " wajib diisi");
+        }
+        return value;
+    }
+
+    private static long parseLong(String value, String field) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, field + " harus berupa bilangan bulat: " + value);
+        }
+    }
+
+    private static void requireMethod(String actual, String expected) {
+        if (!actual.equals(expected)) {
+            throw new ApiException(405, "Method " + actual + " tidak didukung, gunakan " + expected);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder(64).append("{\"error\":");
+        Json.appendString(json, message);
+        sendJson(exchange, status, json.append('}'));
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", json);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, CharSequence body)
+            throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Error API dengan status HTTP tertentu.
+     */
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package sistemreward;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics jalur panas {@link RewardSystem}: counter dan histogram latency.
+ *
+ * <p>Dirancang untuk selalu aktif di production:</p>
+ * <ul>
+ *   <li>🔢 Counter memakai {@link LongAdder} (striped), jadi increment dari
+ *       banyak thread tidak berebut satu cache line</li>
+ *   <li>⏱️ Latency direkam ke {@link LatencyHistogram} tanpa alokasi dan tanpa lock;
+ *       biaya utamanya dua {@link System#nanoTime()} per operasi</li>
+ *   <li>🎲 Lookup tier hanya butuh beberapa nanodetik, lebih murah dari
+ *       {@code nanoTime} itu sendiri, jadi latency-nya disampel 1 dari
+ *       {@value #TIER_LOOKUP_SAMPLE_RATE}; jumlah lookup tetap dihitung semua</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * RewardMetrics metrics = rewardSystem.getMetrics();
+ * metrics.registerMBean("pos-utama");   // terlihat di JConsole
+ * System.out.println(metrics.dump());   // atau dump teks
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#getMetrics()
+ */
+public class RewardMetrics implements RewardMetricsMXBean {
+
+    /**
+     * Satu dari sekian lookup tier yang diukur latency-nya.
+     *
+     * @since 3.0
+     */
+    public static final int TIER_LOOKUP_SAMPLE_RATE = 64;
+
+    private static final RedemptionStatus[] STATUSES = RedemptionStatus.values();
+
+    private final LatencyHistogram accrualLatency = new LatencyHistogram();
+    private final LatencyHistogram redemptionLatency = new LatencyHistogram();
+    private final LatencyHistogram tierLookupLatency = new LatencyHistogram();
+    private final LatencyHistogram historyQueryLatency = new LatencyHistogram();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+
+    private final LongAdder accruals = new LongAdder();
+    private final LongAdder pointsEarned = new LongAdder();
+    private final LongAdder tierChanges = new LongAdder();
+    private final LongAdder tierLookups = new LongAdder();
+    private final LongAdder[] redemptions = new LongAdder[STATUSES.length];
+    private final LongAdder summaryCacheHits = new LongAdder();
+    private final LongAdder summaryCacheMisses = new LongAdder();
+    private final LongAdder summaryCacheEvictions = new LongAdder();
+    private final LongAdder summaryCacheInvalidations = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder pipelineFailures = new LongAdder();
+
+    /**
+     * Constructor dengan semua counter dan histogram kosong.
+     *
+     * @since 3.0
+     */
+    public RewardMetrics() {
+        for (int i = 0; i < redemptions.length; i++) {
+            redemptions[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Merekam satu accrual.
+     *
+     * @param earnedPoints poin yang diberikan
+     * @param nanos durasi accrual
+     *
+     * @since 3.0
+     */
+    public void recordAccrual(long earnedPoints, long nanos) {
+        accruals.increment();
+        pointsEarned.add(earnedPoints);
+        accrualLatency.record(nanos);
+    }
+
+    /**
+     * Merekam satu batch accrual.
+     *
+     * @param members jumlah member yang mendapat accrual
+     * @param earnedPoints total poin yang diberikan
+     * @param nanos durasi batch
+     *
+     * @since 3.0
+     */
+    public void recordBatch(int members, long earnedPoints, long nanos) {
+        accruals.add(members);
+        pointsEarned.add(earnedPoints);
+        batchLatency.record(nanos);
+    }
+
+    /**
+     * Merekam satu percobaan redeem beserta latency-nya.
+     *
+     * @param status hasil redeem
+     * @param nanos durasi redeem
+     *
+     * @since 3.0
+     */
+    public void recordRedemption(RedemptionStatus status, long nanos) {
+        redemptions[status.ordinal()].increment();
+        redemptionLatency.record(nanos);
+    }
+
+    /**
+     * Menghitung percobaan redeem yang gagal sebelum diproses (misalnya voucher tidak ditemukan).
+     *
+     * @param status hasil redeem
+     *
+     * @since 3.0
+     */
+    public void countRedemption(RedemptionStatus status) {
+        redemptions[status.ordinal()].increment();
+    }
+
+    /**
+     * Menghitung satu perubahan tier.
+     *
+     * @since 3.0
+     */
+    public void countTierChange() {
+        tierChanges.increment();
+    }
+
+    /**
+     * Menghitung satu lookup tier dan memutuskan apakah lookup ini disampel.
+     *
+     * @return {@code true} jika caller perlu mengukur latency lookup ini
+     *
+     * @since 3.0
+     */
+    public boolean countTierLookup() {
+        tierLookups.increment();
+        return ThreadLocalRandom.current().nextInt(TIER_LOOKUP_SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * Merekam latency satu lookup tier yang disampel.
+     *
+     * @param nanos durasi lookup
+     *
+     * @since 3.0
+     */
+    public void recordTierLookup(long nanos) {
+        tierLookupLatency.record(nanos);
+    }
+
+    /**
+     * Menghitung satu hit {@link MemberSummaryCache}.
+     *
+     * @since 3.0
+     */
+    public void countSummaryCacheHit() {
+        summaryCacheHits.increment();
+    }
+
+    /**
+     * Menghitung satu miss {@link MemberSummaryCache}.
+     *
+     * @since 3.0
+     */
+    public void countSummaryCacheMiss() {
+        summaryCacheMisses.increment();
+    }
+
+    /**
+     * Menghitung entri {@link MemberSummaryCache} yang di-evict karena cache penuh.
+     *
+     * @param count jumlah entri yang di-evict
+     *
+     * @since 3.0
+     */
+    public void countSummaryCacheEvictions(int count) {
+        summaryCacheEvictions.add(count);
+    }
+
+    /**
+     * Menghitung satu entri {@link MemberSummaryCache} yang dihapus karena saldo member berubah.
+     *
+     * @since 3.0
+     */
+    public void countSummaryCacheInvalidation() {
+        summaryCacheInvalidations.increment();
+    }
+
+    /**
+     * Menghitung satu request HTTP yang gagal dengan status 500.
+     *
+     * @since 3.0
+     */
+    public void countServerError() {
+        serverErrors.increment();
+    }
+
+    /**
+     * Menghitung satu batch {@link AccrualPipeline} yang gagal diterapkan.
+     *
+     * @since 3.0
+     */
+    public void countPipelineFailure() {
+        pipelineFailures.increment();
+    }
+
+    /**
+     * Merekam latency satu query history.
+     *
+     * @param nanos durasi query
+     *
+     * @since 3.0
+     */
+    public void recordHistoryQuery(long nanos) {
+        historyQueryLatency.record(nanos);
+    }
+
+    @Override
+    public LatencySnapshot getAccrualLatency() {
+        return accrualLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getRedemptionLatency() {
+        return redemptionLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getTierLookupLatency() {
+        return tierLookupLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getHistoryQueryLatency() {
+        return historyQueryLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getBatchLatency() {
+        return batchLatency.snapshot();
+    }
+
+    @Override
+    public long getAccrualCount() {
+        return accruals.sum();
+    }
+
+    @Override
+    public long getPointsEarned() {
+        return pointsEarned.sum();
+    }
+
+    @Override
+    public long getTierChangeCount() {
+        return tierChanges.sum();
+    }
+
+    @Override
+    public long getTierLookupCount() {
+        return tierLookups.sum();
+    }
+
+    @Override
+    public long getSummaryCacheHitCount() {
+        return summaryCacheHits.sum();
+    }
+
+    @Override
+    public long getSummaryCacheMissCount() {
+        return summaryCacheMisses.sum();
+    }
+
+    @Override
+    public double getSummaryCacheHitRate() {
+        long hits = summaryCacheHits.sum();
+        long requests = hits + summaryCacheMisses.sum();
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    @Override
+    public long getSummaryCacheEvictionCount() {
+        return summaryCacheEvictions.sum();
+    }
+
+    @Override
+    public long getSummaryCacheInvalidationCount() {
+        return summaryCacheInvalidations.sum();
+    }
+
+    @Override
+    public long getServerErrorCount() {
+        return serverErrors.sum();
+    }
+
+    @Override
+    public long getPipelineFailureCount() {
+        return pipelineFailures.sum();
+    }
+
+    /**
+     * Getter untuk jumlah percobaan redeem dengan status tertentu.
+     *
+     * @param status status redeem
+     * @return jumlah percobaan
+     *
+     * @since 3.0
+     */
+    public long getRedemptionCount(RedemptionStatus status) {
+        return redemptions[status.ordinal()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getRedemptionsByStatus() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (RedemptionStatus status : STATUSES) {
+            counts.put(status.name(), redemptions[status.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    /**
+     * Semua metrics sebagai teks, satu baris per metric.
+     *
+     * @return teks metrics
+     *
+     * @since 3.0
+     */
+    @Override
+    public String dump() {
+        StringBuilder text = new StringBuilder(1024);
+        text.append("accrual.count ").append(getAccrualCount()).append('\n');
+        text.append("accrual.points ").append(getPointsEarned()).append('\n');
+        text.append("tier.changes ").append(getTierChangeCount()).append('\n');
+        text.append("tier.lookups ").append(getTierLookupCount()).append('\n');
+        for (RedemptionStatus status : STATUSES) {
+            text.append("redemption.").append(status.name().toLowerCase(Locale.ROOT)).append(' ')
+                    .append(redemptions[status.ordinal()].sum()).append('\n');
+        }
+        text.append("summaryCache.hits ").append(getSummaryCacheHitCount()).append('\n');
+        text.append("summaryCache.misses ").append(getSummaryCacheMissCount()).append('\n');
+        text.append("summaryCache.hitRate ")
+                .append(String.format(Locale.ROOT, "%.4f", getSummaryCacheHitRate())).append('\n');
+        text.append("summaryCache.evictions ").append(getSummaryCacheEvictionCount()).append('\n');
+        text.append("summaryCache.invalidations ").append(getSummaryCacheInvalidationCount()).append('\n');
+        text.append("http.serverErrors ").append(getServerErrorCount()).append('\n');
+        text.append("pipeline.failures ").append(getPipelineFailureCount()).append('\n');
+        text.append("latency.accrual ").append(getAccrualLatency()).append('\n');
+        text.append("latency.redemption ").append(getRedemptionLatency()).append('\n');
+        text.append("latency.tierLookup ").append(getTierLookupLatency())
+                .append(" (sampel 1/").append(TIER_LOOKUP_SAMPLE_RATE).append(")\n");
+        text.append("latency.historyQuery ").append(getHistoryQueryLatency()).append('\n');
+        text.append("latency.batch ").append(getBatchLatency()).append('\n');
+        return text.toString();
+    }
+
+    /**
+     * Mendaftarkan metrics ini ke platform MBean server.
+     *
+     * @param name nama instance, misalnya nama terminal POS
+     * @return ObjectName yang didaftarkan, {@code sistemreward:type=RewardMetrics,name=<name>}
+     *
+     * @throws IllegalStateException jika registrasi gagal, misalnya nama sudah dipakai
+     *
+     * @since 3.0
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = objectName(name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Gagal mendaftarkan MBean " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Melepas metrics dari platform MBean server.
+     *
+     * @param name nama instance yang dipakai saat {@link #registerMBean(String)}
+     *
+     * @since 3.0
+     */
+    public void unregisterMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Gagal melepas MBean " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("sistemreward:type=RewardMetrics,name=" + ObjectName.quote(name));
+    }
+}
@@ -0,0 +1,142 @@
+package sistemreward;
+
+import java.util.Map;
+
+/**
+ * Antarmuka JMX untuk {@link RewardMetrics}, terlihat di JConsole/VisualVM
+ * di bawah domain {@code sistemreward}.
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardMetrics#registerMBean(String)
+ */
+public interface RewardMetricsMXBean {
+
+    /**
+     * Latency {@link RewardSystem#checkReward(Customer, long)}, termasuk menunggu journal.
+     *
+     * @return snapshot latency accrual
+     */
+    LatencySnapshot getAccrualLatency();
+
+    /**
+     * Latency {@link RewardSystem#tryRedeem(Customer, Voucher)}, termasuk menunggu journal.
+     *
+     * @return snapshot latency redeem
+     */
+    LatencySnapshot getRedemptionLatency();
+
+    /**
+     * Latency {@link RewardSystem#getTier(Customer)}, disampel.
+     *
+     * @return snapshot latency lookup tier
+     */
+    LatencySnapshot getTierLookupLatency();
+
+    /**
+     * Latency query history transaksi lewat {@link RewardSystem}.
+     *
+     * @return snapshot latency query history
+     */
+    LatencySnapshot getHistoryQueryLatency();
+
+    /**
+     * Latency satu {@link RewardSystem#processBatch(CustomerRegistry, TransactionBatch)}.
+     *
+     * @return snapshot latency per batch
+     */
+    LatencySnapshot getBatchLatency();
+
+    /**
+     * Jumlah accrual, dihitung per transaksi atau per member per batch.
+     *
+     * @return jumlah accrual
+     */
+    long getAccrualCount();
+
+    /**
+     * Total poin yang diberikan lewat accrual.
+     *
+     * @return total poin
+     */
+    long getPointsEarned();
+
+    /**
+     * Jumlah perubahan tier dari accrual dan redeem.
+     *
+     * @return jumlah perubahan tier
+     */
+    long getTierChangeCount();
+
+    /**
+     * Jumlah lookup tier lewat {@link RewardSystem#getTier(Customer)} (tidak disampel).
+     *
+     * @return jumlah lookup tier
+     */
+    long getTierLookupCount();
+
+    /**
+     * Jumlah percobaan redeem per {@link RedemptionStatus}.
+     *
+     * @return map nama status ke jumlah
+     */
+    Map<String, Long> getRedemptionsByStatus();
+
+    /**
+     * Jumlah {@link MemberSummaryCache#get(long)} yang dilayani dari cache.
+     *
+     * @return jumlah hit
+     */
+    long getSummaryCacheHitCount();
+
+    /**
+     * Jumlah {@link MemberSummaryCache#get(long)} yang harus menghitung ringkasan.
+     *
+     * @return jumlah miss
+     */
+    long getSummaryCacheMissCount();
+
+    /**
+     * Rasio hit {@link MemberSummaryCache} sejak start.
+     *
+     * @return hit / (hit + miss), atau 0 jika belum ada request
+     */
+    double getSummaryCacheHitRate();
+
+    /**
+     * Jumlah ringkasan yang di-evict karena cache penuh.
+     *
+     * @return jumlah eviction
+     */
+    long getSummaryCacheEvictionCount();
+
+    /**
+     * Jumlah ringkasan yang dihapus karena accrual, redeem, atau kadaluarsa poin.
+     *
+     * @return jumlah invalidasi
+     */
+    long getSummaryCacheInvalidationCount();
+
+    /**
+     * Jumlah request HTTP yang gagal dengan status 500.
+     *
+     * @return jumlah error server
+     */
+    long getServerErrorCount();
+
+    /**
+     * Jumlah batch {@link AccrualPipeline} yang gagal diterapkan (misalnya journal rusak).
+     *
+     * @return jumlah batch gagal
+     */
+    long getPipelineFailureCount();
+
+    /**
+     * Semua metrics sebagai teks, sama dengan {@link RewardMetrics#dump()}.
+     *
+     * @return teks metrics
+     */
+    String dump();
+}
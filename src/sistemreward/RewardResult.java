@@ -0,0 +1,176 @@
+package sistemreward;
+
+/**
+ * Hasil immutable dari satu accrual poin, tanpa output ke console.
+ *
+ * <p>Dikembalikan oleh {@link RewardSystem#checkReward(Customer, long)}. Semua nilai
+ * yang dibutuhkan untuk menampilkan banner reward sudah dihitung di sini,
+ * sehingga {@link ConsoleRenderer} tidak perlu membaca state customer lagi.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see ConsoleRenderer#renderReward(RewardResult)
+ */
+public final class RewardResult {
+
+    private final String customerName;
+    private final long amount;
+    private final long earnedPoints;
+    private final long newBalance;
+    private final Tier previousTier;
+    private final Tier tier;
+    private final Tier nextTier;
+    private final long pointsToNextTier;
+    private final int bonusBasisPoints;
+
+    /**
+     * Constructor untuk hasil accrual.
+     *
+     * @param customerName nama pelanggan
+     * @param amount nominal transaksi dalam sen
+     * @param earnedPoints poin yang didapat dari transaksi ini
+     * @param newBalance saldo poin setelah accrual
+     * @param previousTier tier sebelum accrual
+     * @param tier tier setelah accrual
+     * @param nextTier tier berikutnya, atau {@code null} jika sudah tertinggi
+     * @param pointsToNextTier sisa poin untuk naik tier (0 jika sudah tertinggi)
+     * @param bonusBasisPoints bonus rate tier saat ini dalam basis points
+     *
+     * @since 3.0
+     */
+    public RewardResult(String customerName, long amount, long earnedPoints, long newBalance,
+                        Tier previousTier, Tier tier, Tier nextTier, long pointsToNextTier,
+                        int bonusBasisPoints) {
+        this.customerName = customerName;
+        this.amount = amount;
+        this.earnedPoints = earnedPoints;
+        this.newBalance = newBalance;
+        this.previousTier = previousTier;
+        this.tier = tier;
+        this.nextTier = nextTier;
+        this.pointsToNextTier = pointsToNextTier;
+        this.bonusBasisPoints = bonusBasisPoints;
+    }
+
+    /**
+     * Getter untuk nama pelanggan.
+     *
+     * @return nama pelanggan
+     *
+     * @since 3.0
+     */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /**
+     * Getter untuk nominal transaksi.
+     *
+     * @return nominal dalam sen
+     *
+     * @since 3.0
+     */
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Getter untuk poin yang didapat dari transaksi ini.
+     *
+     * @return poin baru
+     *
+     * @since 3.0
+     */
+    public long getEarnedPoints() {
+        return earnedPoints;
+    }
+
+    /**
+     * Getter untuk saldo poin setelah accrual.
+     *
+     * @return saldo poin
+     *
+     * @since 3.0
+     */
+    public long getNewBalance() {
+        return newBalance;
+    }
+
+    /**
+     * Getter untuk tier sebelum accrual.
+     *
+     * @return tier lama
+     *
+     * @since 3.0
+     */
+    public Tier getPreviousTier() {
+        return previousTier;
+    }
+
+    /**
+     * Getter untuk tier setelah accrual.
+     *
+     * @return tier saat ini
+     *
+     * @since 3.0
+     */
+    public Tier getTier() {
+        return tier;
+    }
+
+    /**
+     * Mengecek apakah accrual ini membuat pelanggan pindah tier.
+     *
+     * @return {@code true} jika tier berubah
+     *
+     * @since 3.0
+     */
+    public boolean isTierChanged() {
+        return previousTier != tier;
+    }
+
+    /**
+     * Getter untuk tier berikutnya.
+     *
+     * @return tier berikutnya, atau {@code null} jika sudah di tier tertinggi
+     *
+     * @since 3.0
+     */
+    public Tier getNextTier() {
+        return nextTier;
+    }
+
+    /**
+     * Getter untuk sisa poin yang dibutuhkan untuk naik tier.
+     *
+     * @return sisa poin, 0 jika sudah di tier tertinggi
+     *
+     * @since 3.0
+     */
+    public long getPointsToNextTier() {
+        return pointsToNextTier;
+    }
+
+    /**
+     * Getter untuk bonus rate tier saat ini.
+     *
+     * @return bonus dalam basis points (1 bp = 0.01%)
+     *
+     * @since 3.0
+     */
+    public int getBonusBasisPoints() {
+        return bonusBasisPoints;
+    }
+
+    @Override
+    public String toString() {
+        return "RewardResult[customer=" + customerName
+                + ", earnedPoints=" + earnedPoints
+                + ", newBalance=" + newBalance
+                + ", tier=" + tier
+                + ", tierChanged=" + isTierChanged()
+                + ", pointsToNextTier=" + pointsToNextTier + "]";
+    }
+}
@@ -0,0 +1,1878 @@
+package sistemreward;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Core engine untuk loyalty reward program dengan sistem tier dan voucher redemption.
+ * 
+ * <p>Class ini bertanggung jawab untuk:</p>
+ * <ul>
+ *   <li>🎯 Kalkulasi poin reward berdasarkan total belanja</li>
+ *   <li>🏆 Manajemen sistem tier (Bronze, Silver, Gold, Platinum)</li>
+ *   <li>💳 Processing penukaran poin dengan voucher</li>
+ *   <li>📊 Bonus poin berdasarkan tier membership</li>
+ * </ul>
+ * 
+ * <p><strong>Tier System:</strong></p>
+ * <table border="1">
+ *   <tr><th>Tier</th><th>Min Points</th><th>Bonus Rate</th></tr>
+ *   <tr><td>🥉 Bronze</td><td>0</td><td>0%</td></tr>
+ *   <tr><td>🥈 Silver</td><td>500</td><td>+2%</td></tr>
+ *   <tr><td>🥇 Gold</td><td>2000</td><td>+5%</td></tr>
+ *   <tr><td>💎 Platinum</td><td>5000</td><td>+10%</td></tr>
+ * </table>
+ * Core engine untuk loyalty reward program dengan sistem tier dan voucher redemption.
+ * 
+ * <p>Class ini bertanggung jawab untuk:</p>
+ * <ul>
+ *   <li>🎯 Kalkulasi poin reward berdasarkan total belanja</li>
+ *   <li>🏆 Manajemen sistem tier (Bronze, Silver, Gold, Platinum)</li>
+ *   <li>💳 Processing penukaran poin dengan voucher</li>
+ *   <li>📊 Bonus poin berdasarkan tier membership</li>
+ * </ul>
+ * 
+ * <p><strong>Tier System:</strong></p>
+ * <table border="1">
+ *   <caption>Daftar Tier dan Benefit</caption>
+ *   <thead>
+ *     <tr><th>Tier</th><th>Min Points</th><th>Bonus Rate</th></tr>
+ *   </thead>
+ *   <tbody>
+ *     <tr><td>🥉 Bronze</td><td>0</td><td>0%</td></tr>
+ *     <tr><td>🥈 Silver</td><td>500</td><td>+2%</td></tr>
+ *     <tr><td>🥇 Gold</td><td>2000</td><td>+5%</td></tr>
+ *     <tr><td>💎 Platinum</td><td>5000</td><td>+10%</td></tr>
+ *   </tbody>
+ * </table>
+ * 
+ * <p><strong>Point Calculation Formula:</strong></p>
+ * <pre>
+ * basePoints = totalSpent × POINT_RATE (500 bp = 5%)
+ * tierBonus = basePoints × bonusRate
+ * totalPoints = basePoints + tierBonus
+ * </pre>
+ * 
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * RewardSystem system = new RewardSystem();
+ * Customer customer = new Customer("Alice", Money.ofRupiah(500000));
+ * 
+ * // Calculate and assign points
+ * RewardResult reward = system.checkReward(customer, Money.ofRupiah(150000));
+ * 
+ * // Check tier
+ * Tier tier = system.getTier(customer); // Tier.GOLD
+ * 
+ * // Redeem voucher
+ * RedemptionResult redemption = system.redeemVoucher(customer, "V50K"); // Redeem Rp 50k voucher
+ * 
+ * // Tampilkan ke console (opsional)
+ * new ConsoleRenderer().renderReward(reward);
+ * }</pre>
+ * 
+ * <p><strong>Note:</strong> Sejak 3.0 RewardSystem tidak menulis ke console;
+ * semua output ada di {@link ConsoleRenderer}.</p>
+ * 
+ * @author Sistem Reward Team
+ * @version 2.0
+ * @since 1.0
+ * 
+ * @see Customer
+ */
+public class RewardSystem {
+
+    /**
+     * Rasio konversi dari total belanja ke poin reward (5%).
+     * 
+     * <p>Setiap Rp 1 belanja = 0.05 poin</p>
+     * <p>Contoh: Belanja Rp 100,000 = 5,000 poin (sebelum tier bonus)</p>
+     * 
+     * <p>Disimpan dalam basis points (500 bp = 5%) supaya kalkulasi poin
+     * bisa dilakukan dengan aritmatika {@code long} yang exact.</p>
+     * 
+     * @since 1.0
+     */
+    public static final long POINT_RATE_BASIS_POINTS = 500;
+    
+    /**
+     * Rasio konversi belanja ke poin yang dipakai engine ini, dalam basis points.
+     * 
+     * @since 3.0
+     */
+    private final long pointRateBasisPoints;
+    
+    /**
+     * Sidik aturan poin tier engine ini (point rate dan bonus per tier).
+     * 
+     * @see #getRulesFingerprint()
+     * 
+     * @since 3.0
+     */
+    private final long rulesFingerprint;
+    
+    /**
+     * Ledger on-disk opsional tempat setiap transaksi ikut dicatat.
+     * 
+     * @since 3.0
+     */
+    private volatile TransactionLedger ledger;
+    
+    /**
+     * Write-ahead log opsional untuk saldo member.
+     * 
+     * @since 3.0
+     */
+    private volatile BalanceJournal journal;
+    
+    /**
+     * Sink opsional untuk event audit accrual dan redeem.
+     * 
+     * @since 3.0
+     */
+    private volatile EventSink eventSink;
+    
+    /**
+     * Publisher event perubahan tier ke listener yang terdaftar.
+     * 
+     * @since 3.0
+     */
+    private volatile TierChangePublisher tierChangePublisher = new TierChangePublisher();
+    
+    /**
+     * Dasar penentuan tier: saldo poin (default) atau belanja bergulir.
+     * 
+     * @since 3.0
+     */
+    private volatile TierQualification tierQualification = TierQualification.POINT_BALANCE;
+    
+    /**
+     * Engine kadaluarsa poin opsional; tanpa ini poin tidak pernah kadaluarsa.
+     * 
+     * @since 3.0
+     */
+    private volatile PointExpiry pointExpiry;
+    
+    /**
+     * Rencana evaluasi promo poin aktif. Diganti secara atomik saat reload;
+     * accrual cukup membaca field ini sekali tanpa lock.
+     * 
+     * @since 3.0
+     */
+    private volatile PromotionEngine promotionEngine = PromotionEngine.EMPTY;
+    
+    /**
+     * Cache ringkasan member opsional yang di-invalidasi setiap saldo berubah.
+     * 
+     * @since 3.0
+     */
+    private volatile MemberSummaryCache memberSummaryCache;
+    
+    /**
+     * Counter dan histogram latency jalur panas; selalu aktif.
+     * 
+     * @since 3.0
+     */
+    private final RewardMetrics metrics = new RewardMetrics();
+    
+    /**
+     * Katalog voucher aktif. Diganti secara atomik saat reload;
+     * pembaca cukup membaca field ini sekali tanpa lock.
+     * 
+     * @since 3.0
+     */
+    private volatile VoucherCatalog voucherCatalog = VoucherCatalog.DEFAULT;
+    
+    /**
+     * Stok runtime voucher, disinkronkan setiap kali katalog diganti.
+     * 
+     * @since 3.0
+     */
+    private final VoucherInventory voucherInventory = new VoucherInventory(VoucherCatalog.DEFAULT);
+    
+    /**
+     * Tabel threshold dan bonus rate tier yang dipakai engine ini.
+     * 
+     * @since 3.0
+     */
+    private final TierTable tierTable;
+
+    /**
+     * Constructor default untuk RewardSystem.
+     * 
+     * <p>Membuat instance baru dari RewardSystem dengan semua konstanta
+     * sudah terinisialisasi dan tier table default ({@link TierTable#DEFAULT}).</p>
+     * 
+     * @since 1.0
+     */
+    public RewardSystem() {
+        this(TierTable.DEFAULT);
+    }
+
+    /**
+     * Constructor untuk RewardSystem dengan tier table sendiri.
+     * 
+     * <p>Berguna untuk program promo atau pengujian dengan threshold
+     * dan bonus rate yang berbeda dari default.</p>
+     * 
+     * @param tierTable tabel threshold dan bonus tier (tidak boleh null)
+     * 
+     * @see TierTable
+     * 
+     * @since 3.0
+     */
+    public RewardSystem(TierTable tierTable) {
+        this(tierTable, POINT_RATE_BASIS_POINTS);
+    }
+
+    /**
+     * Constructor untuk RewardSystem dengan tier table dan point rate sendiri.
+     * 
+     * <p>Dipakai saat kebijakan poin berubah: buat RewardSystem baru dengan
+     * rate baru, lalu hitung ulang semua member dengan {@link BulkRecomputeEngine}.</p>
+     * 
+     * @param tierTable tabel threshold dan bonus tier (tidak boleh null)
+     * @param pointRateBasisPoints rasio belanja ke poin dalam basis points (contoh: 500 = 5%)
+     * 
+     * @throws IllegalArgumentException jika pointRateBasisPoints negatif
+     * 
+     * @see BulkRecomputeEngine
+     * 
+     * @since 3.0
+     */
+    public RewardSystem(TierTable tierTable, long pointRateBasisPoints) {
+        if (pointRateBasisPoints < 0) {
+            throw new IllegalArgumentException("Point rate tidak boleh negatif: " + pointRateBasisPoints);
+        }
+        this.tierTable = tierTable;
+        this.pointRateBasisPoints = pointRateBasisPoints;
+        this.rulesFingerprint = fingerprint(tierTable, pointRateBasisPoints);
+    }
+    
+    /**
+     * Getter untuk sidik aturan poin tier engine ini.
+     * 
+     * <p>Dua engine dengan point rate dan bonus per tier yang sama punya sidik
+     * yang sama, karena {@link #calculateTierPoints(Customer)} keduanya juga
+     * sama. Member mencatat sidik aturan yang tercermin di saldonya
+     * ({@link Customer#getRulesFingerprint()}): diisi saat accrual pertama dan
+     * diganti oleh {@link BulkRecomputeEngine}, sehingga recompute yang diulang
+     * melewati member yang sudah memakai aturan baru.</p>
+     * 
+     * @return sidik aturan, tidak pernah 0
+     * 
+     * @since 3.0
+     */
+    public long getRulesFingerprint() {
+        return rulesFingerprint;
+    }
+    
+    /**
+     * Menghitung sidik dari semua parameter yang dipakai {@link #calculateTierPoints(Customer)}.
+     * 
+     * @since 3.0
+     */
+    private static long fingerprint(TierTable tierTable, long pointRateBasisPoints) {
+        long hash = CustomerRegistry.mix(pointRateBasisPoints);
+        for (Tier tier : Tier.values()) {
+            hash = CustomerRegistry.mix(hash ^ tierTable.getBonusBasisPoints(tier));
+        }
+        // 0 dipakai Customer untuk "belum diketahui"
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Memasang ledger on-disk supaya setiap transaksi juga dicatat secara durable.
+     * 
+     * <p>Setelah dipasang, {@link #checkReward(Customer, long)} dan
+     * {@link #processBatch(CustomerRegistry, TransactionBatch)} menulis setiap
+     * transaksi member terdaftar ({@code memberId > 0}) ke ledger saja, tidak
+     * lagi ke {@link TransactionHistory} di heap: ringkasan, query rentang
+     * waktu, dan history HTTP membaca dari ledger. Jika journal juga terpasang,
+     * ledger di-{@link TransactionLedger#sync() sync} setiap
+     * {@link BalanceJournal#checkpoint(CustomerRegistry) checkpoint}.</p>
+     * 
+     * @param ledger ledger tujuan, atau {@code null} untuk berhenti mencatat
+     * 
+     * @see TransactionLedger
+     * 
+     * @since 3.0
+     */
+    public void setLedger(TransactionLedger ledger) {
+        this.ledger = ledger;
+        BalanceJournal target = journal;
+        if (target != null) {
+            target.setLedger(ledger);
+        }
+    }
+    
+    /**
+     * Membangun ulang {@link RollingSpend} semua member di registry dari ledger.
+     * 
+     * <p>Rolling spend hanya disimpan di memori, sedangkan {@link BalanceJournal}
+     * hanya memulihkan saldo. Panggil method ini saat startup, setelah journal
+     * dibuka dan ledger dipasang, sebelum transaksi baru diterima - terutama jika
+     * {@link TierQualification#ROLLING_SPEND} dipakai. Biayanya satu scan
+     * berurutan seluruh ledger. Ringkasan di {@link MemberSummaryCache} dikosongkan.</p>
+     * 
+     * @param registry registry berisi member yang sudah dipulihkan
+     * 
+     * @throws IllegalStateException jika belum ada ledger yang dipasang
+     * 
+     * @see TransactionLedger#forEach(TransactionLedger.RecordVisitor)
+     * 
+     * @since 3.0
+     */
+    public void rebuildRollingSpend(CustomerRegistry registry) {
+        TransactionLedger source = ledger;
+        if (source == null) {
+            throw new IllegalStateException("Ledger belum dipasang");
+        }
+        for (Customer customer : registry.snapshot()) {
+            customer.getRollingSpend().clear();
+        }
+        source.forEach((memberId, amount, epochMillis) -> {
+            Customer customer = registry.get(memberId);
+            if (customer != null) {
+                customer.getRollingSpend().add(amount, epochMillis);
+            }
+        });
+        MemberSummaryCache cache = memberSummaryCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+    
+    /**
+     * Getter untuk ledger on-disk yang terpasang.
+     * 
+     * @return ledger, atau {@code null} jika transaksi hanya disimpan di memori
+     * 
+     * @since 3.0
+     */
+    public TransactionLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * Memasang write-ahead log supaya saldo member bertahan saat restart.
+     * 
+     * <p>Setelah dipasang, setiap perubahan saldo member terdaftar
+     * ({@code memberId > 0}) dicatat ke journal dan ditunggu sampai durable
+     * sebelum method kembali. Satu {@link #processBatch(CustomerRegistry, TransactionBatch)}
+     * hanya menunggu satu group commit untuk seluruh batch.</p>
+     * 
+     * <p>Jumlah voucher terjual yang tersimpan di journal dipulihkan ke
+     * {@link VoucherInventory}, sehingga pasang journal sebelum menerima redeem.</p>
+     * 
+     * @param journal journal tujuan, atau {@code null} untuk berhenti mencatat
+     * 
+     * @see BalanceJournal#open(java.nio.file.Path, CustomerRegistry)
+     * 
+     * @since 3.0
+     */
+    public void setJournal(BalanceJournal journal) {
+        this.journal = journal;
+        if (journal != null) {
+            journal.setLedger(ledger);
+            voucherInventory.restoreSold(journal.getVoucherSales());
+        }
+    }
+    
+    /**
+     * Getter untuk write-ahead log yang terpasang.
+     * 
+     * @return journal, atau {@code null} jika saldo tidak dipersistenkan
+     * 
+     * @since 3.0
+     */
+    public BalanceJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Memasang sink audit untuk setiap accrual dan percobaan penukaran voucher.
+     * 
+     * <p>Event dikirim setelah saldo berubah (dan durable, jika journal
+     * terpasang). Pakai {@link AsyncEventSink} supaya penulisan audit tidak
+     * menambah latency di jalur checkout.</p>
+     * 
+     * @param eventSink sink tujuan, atau {@code null} untuk berhenti mengirim event
+     * 
+     * @see AsyncEventSink
+     * 
+     * @since 3.0
+     */
+    public void setEventSink(EventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    /**
+     * Getter untuk publisher perubahan tier.
+     * 
+     * <p>Daftarkan listener di sini untuk menerima {@link TierChangeEvent}
+     * setiap kali accrual atau penukaran voucher membuat tier pelanggan berubah.
+     * Listener berjalan di virtual thread, terpisah dari thread accrual.</p>
+     * 
+     * @return publisher perubahan tier
+     * 
+     * @see TierChangePublisher#subscribe(String, TierChangeListener)
+     * 
+     * @since 3.0
+     */
+    public TierChangePublisher getTierChangePublisher() {
+        return tierChangePublisher;
+    }
+
+    /**
+     * Mengganti publisher perubahan tier, misalnya untuk memakai executor sendiri.
+     * 
+     * @param tierChangePublisher publisher baru (tidak boleh null)
+     * 
+     * @since 3.0
+     */
+    public void setTierChangePublisher(TierChangePublisher tierChangePublisher) {
+        this.tierChangePublisher = tierChangePublisher;
+    }
+
+    /**
+     * Getter untuk dasar penentuan tier yang sedang dipakai.
+     * 
+     * @return dasar penentuan tier (never null)
+     * 
+     * @since 3.0
+     */
+    public TierQualification getTierQualification() {
+        return tierQualification;
+    }
+
+    /**
+     * Mengganti dasar penentuan tier.
+     * 
+     * <p>Berlaku untuk {@link #getTier(Customer)}, bonus tier pada accrual
+     * berikutnya, dan {@link TierChangeEvent}. Saldo poin yang sudah ada tidak
+     * berubah. Dengan {@link TierQualification#ROLLING_SPEND}, redeem tidak
+     * lagi menurunkan tier.</p>
+     * 
+     * @param tierQualification dasar penentuan tier baru (tidak boleh null)
+     * 
+     * @see Customer#getRollingSpend()
+     * 
+     * @since 3.0
+     */
+    public void setTierQualification(TierQualification tierQualification) {
+        this.tierQualification = tierQualification;
+        MemberSummaryCache cache = memberSummaryCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Mengaktifkan kadaluarsa poin: setiap accrual berikutnya dicatat sebagai
+     * lot dengan masa berlaku dari {@code pointExpiry}.
+     * 
+     * <p>Poin yang sudah ada sebelum diaktifkan tidak punya lot dan tidak
+     * kadaluarsa. Lot yang dipulihkan journal saat restart dijadwalkan dengan
+     * {@link PointExpiry#schedule(CustomerRegistry)}. Jalankan
+     * {@link #expirePoints(long)} secara berkala.</p>
+     * 
+     * @param pointExpiry engine kadaluarsa, atau {@code null} untuk berhenti mencatat lot baru
+     * 
+     * @since 3.0
+     */
+    public void setPointExpiry(PointExpiry pointExpiry) {
+        this.pointExpiry = pointExpiry;
+    }
+
+    /**
+     * Getter untuk engine kadaluarsa poin yang terpasang.
+     * 
+     * @return engine kadaluarsa, atau {@code null} jika poin tidak kadaluarsa
+     * 
+     * @since 3.0
+     */
+    public PointExpiry getPointExpiry() {
+        return pointExpiry;
+    }
+
+    /**
+     * Getter untuk rencana evaluasi promo yang sedang aktif.
+     * 
+     * @return engine promo aktif (tidak pernah {@code null})
+     * 
+     * @since 3.0
+     */
+    public PromotionEngine getPromotionEngine() {
+        return promotionEngine;
+    }
+
+    /**
+     * Mengganti rule promo secara atomik.
+     * 
+     * <p>Accrual yang sedang berjalan tetap memakai engine lama yang sudah
+     * dibacanya; accrual berikutnya memakai engine baru. Tidak ada accrual
+     * yang diblokir atau dijeda.</p>
+     * 
+     * @param promotionEngine engine promo baru, atau {@link PromotionEngine#EMPTY} untuk mematikan promo
+     * 
+     * @throws IllegalArgumentException jika promotionEngine null
+     * 
+     * @since 3.0
+     */
+    public void setPromotionEngine(PromotionEngine promotionEngine) {
+        if (promotionEngine == null) {
+            throw new IllegalArgumentException("Engine promo tidak boleh null");
+        }
+        this.promotionEngine = promotionEngine;
+    }
+
+    /**
+     * Memuat ulang rule promo dari file, mengompilasinya, lalu menukarnya secara atomik.
+     * 
+     * <p>Jika file tidak valid, rule lama tetap aktif.</p>
+     * 
+     * @param file path file rule promo
+     * @return engine baru yang sekarang aktif
+     * 
+     * @throws IOException jika file tidak bisa dibaca atau tidak valid
+     * 
+     * @see PromotionEngine#load(Path)
+     * 
+     * @since 3.0
+     */
+    public PromotionEngine reloadPromotions(Path file) throws IOException {
+        PromotionEngine loaded = PromotionEngine.load(file);
+        setPromotionEngine(loaded);
+        return loaded;
+    }
+
+    /**
+     * Memasang cache ringkasan member yang di-invalidasi oleh engine ini.
+     * 
+     * <p>Setelah dipasang, setiap accrual, redeem, dan kadaluarsa poin lewat
+     * engine ini menghapus ringkasan member yang bersangkutan dari cache.</p>
+     * 
+     * @param memberSummaryCache cache ringkasan, atau {@code null} untuk melepas
+     * 
+     * @see MemberSummaryCache
+     * 
+     * @since 3.0
+     */
+    public void setMemberSummaryCache(MemberSummaryCache memberSummaryCache) {
+        this.memberSummaryCache = memberSummaryCache;
+    }
+
+    /**
+     * Getter untuk cache ringkasan member yang terpasang.
+     * 
+     * @return cache ringkasan, atau {@code null} jika tidak ada
+     * 
+     * @since 3.0
+     */
+    public MemberSummaryCache getMemberSummaryCache() {
+        return memberSummaryCache;
+    }
+
+    /**
+     * Menghitung ringkasan member untuk layar profil.
+     * 
+     * <p>Tier dan sisa poin ke tier berikutnya mengikuti
+     * {@link #getTierQualification()} yang aktif. Untuk layar yang sering
+     * dibuka, pakai {@link MemberSummaryCache} supaya ringkasan tidak dihitung
+     * ulang setiap request. Dengan {@link TierQualification#ROLLING_SPEND},
+     * ringkasan hanya berlaku sampai awal bulan berikutnya
+     * ({@link MemberSummary#getValidUntilMillis()}).</p>
+     * 
+     * @param customer member yang diringkas
+     * @param recentTransactions jumlah transaksi terakhir yang disertakan
+     * @return ringkasan member
+     * 
+     * @since 3.0
+     */
+    public MemberSummary summarize(Customer customer, int recentTransactions) {
+        TierQualification mode = tierQualification;
+        long points = customer.getPoints();
+        long qualifying = qualifyingPoints(mode, customer, points);
+        long validUntil = mode == TierQualification.ROLLING_SPEND
+                ? RollingSpend.nextMonthStart(System.currentTimeMillis())
+                : Long.MAX_VALUE;
+        Tier tier = tierTable.lookup(qualifying);
+        Tier next = tierTable.next(tier);
+        TransactionLedger source = ledger;
+        int count;
+        long[] amounts;
+        long[] epochMillis;
+        if (source != null && customer.getMemberId() > 0) {
+            count = (int) Math.min(Integer.MAX_VALUE, source.count(customer.getMemberId()));
+            int recent = Math.min(Math.max(0, recentTransactions), count);
+            amounts = new long[recent];
+            epochMillis = new long[recent];
+            int[] filled = new int[1];
+            source.readBackward(customer.getMemberId(), TransactionLedger.NEWEST, recent, (index, amount, time) -> {
+                amounts[filled[0]] = amount;
+                epochMillis[filled[0]++] = time;
+            });
+        } else {
+            TransactionHistory history = customer.getTransactionHistory();
+            count = history.size();
+            int recent = Math.min(Math.max(0, recentTransactions), count);
+            amounts = new long[recent];
+            epochMillis = new long[recent];
+            for (int i = 0; i < recent; i++) {
+                amounts[i] = history.getAmount(count - 1 - i);
+                epochMillis[i] = history.getEpochMillis(count - 1 - i);
+            }
+        }
+        return new MemberSummary(customer.getMemberId(), customer.getName(), points, qualifying, tier, next,
+                next == null ? 0 : tierTable.getThreshold(next) - qualifying, customer.getTotalSpent(),
+                customer.getRedeemedPoints(), count, amounts, epochMillis, validUntil);
+    }
+
+    /**
+     * Getter untuk metrics engine ini: jumlah operasi dan latency accrual,
+     * redeem, lookup tier, query history, dan batch.
+     * 
+     * @return metrics (never null)
+     * 
+     * @see RewardMetrics#registerMBean(String)
+     * @see RewardMetrics#dump()
+     * 
+     * @since 3.0
+     */
+    public RewardMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Menghitung total poin reward dengan bonus tier untuk pelanggan.
+     * 
+     * <p>Kalkulasi meliputi:</p>
+     * <ol>
+     *   <li>Base points: totalSpent × POINT_RATE (5%)</li>
+     *   <li>Tier bonus: basePoints × bonusRate (tergantung tier)</li>
+     *   <li>Total: basePoints × (1 + bonusRate)</li>
+     * </ol>
+     * 
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * // Customer dengan totalSpent Rp 1,000,000 dan tier Gold (+5% bonus)
+     * basePoints = 1,000,000 × 0.05 = 50,000
+     * totalPoints = 50,000 × 1.05 = 52,500 poin
+     * </pre>
+     * 
+     * @param customer objek Customer yang akan dihitung poinnya
+     * @return total poin yang dihitung (sudah termasuk tier bonus), dibulatkan ke bawah
+     * 
+     * @see #getBonusBasisPoints(long)
+     * @see Customer#getTotalSpent()
+     * 
+     * @since 1.0
+     */
+    public long calculateRewardPoints(Customer customer) {
+        return calculateRewardPoints(customer.getTotalSpent(), customer.getPoints());
+    }
+    
+    /**
+     * Kalkulasi poin dari snapshot total belanja dan saldo poin.
+     * 
+     * <p>Dipisah dari {@link #calculateRewardPoints(Customer)} supaya tier bonus
+     * dihitung dari saldo yang sama dengan yang akan di-CAS di
+     * {@link #checkReward(Customer)}.</p>
+     * 
+     * <p>Seluruh kalkulasi memakai {@code long}: rate efektif adalah
+     * {@code POINT_RATE × (1 + bonus)} dalam satuan bp × bp, lalu
+     * {@link Money#applyRate(long, long, long)} membulatkan hasilnya ke bawah
+     * tanpa floating-point drift.</p>
+     * 
+     * @param totalSpent total belanja dalam sen
+     * @param currentPoints saldo poin yang menentukan tier bonus
+     * @return total poin (sudah termasuk tier bonus), dibulatkan ke bawah
+     * 
+     * @since 3.0
+     */
+    private long calculateRewardPoints(long totalSpent, long currentPoints) {
+        long rate = pointRateBasisPoints * (Money.BASIS_POINTS + getBonusBasisPoints(currentPoints));
+        
+        return Money.applyRate(totalSpent, rate, Money.BASIS_POINTS * Money.BASIS_POINTS);
+    }
+    
+    /**
+     * Menghitung poin dari belanja member per tier, dengan point rate dan bonus
+     * tier milik engine ini.
+     * 
+     * <p>Dipakai oleh {@link BulkRecomputeEngine} saat threshold tier atau point
+     * rate berubah: selisih hasil engine baru dan engine lama untuk member yang
+     * sama adalah koreksi saldonya. Belanja dikelompokkan menurut tier yang
+     * berlaku saat transaksi terjadi ({@link Customer#getTierSpend(Tier)}), jadi
+     * tier saldo hari ini tidak dipakai untuk belanja lama. Poin promo, redeem,
+     * dan kadaluarsa tidak ikut dihitung, sehingga tidak tersentuh recompute.</p>
+     * 
+     * <p>Hasilnya dibulatkan ke bawah sekali per tier, bukan per transaksi,
+     * sehingga bisa sedikit berbeda dengan jumlah poin accrual yang sebenarnya;
+     * karena itu hanya selisihnya yang dipakai.</p>
+     * 
+     * @param customer member yang dihitung
+     * @return poin dari belanja dengan aturan engine ini
+     * 
+     * @see BulkRecomputeEngine#recompute(CustomerRegistry, RewardSystem, RewardSystem, BulkRecomputeEngine.ProgressListener)
+     * 
+     * @since 3.0
+     */
+    public long calculateTierPoints(Customer customer) {
+        long points = 0;
+        for (Tier tier : Tier.values()) {
+            long spend = customer.getTierSpend(tier);
+            if (spend > 0) {
+                long rate = pointRateBasisPoints * (Money.BASIS_POINTS + tierTable.getBonusBasisPoints(tier));
+                points += Money.applyRate(spend, rate, Money.BASIS_POINTS * Money.BASIS_POINTS);
+            }
+        }
+        return points;
+    }
+    
+    /**
+     * Mendapatkan bonus rate berdasarkan tier membership pelanggan.
+     * 
+     * <p>Method helper private untuk menentukan persentase bonus
+     * yang didapat customer berdasarkan tier-nya saat ini. Bonus diambil
+     * dari {@link TierTable} dalam basis points.</p>
+     * 
+     * <p><strong>Bonus mapping:</strong></p>
+     * <ul>
+     *   <li>🥉 Bronze → 0% (no bonus)</li>
+     *   <li>🥈 Silver → +2% bonus</li>
+     *   <li>🥇 Gold → +5% bonus</li>
+     *   <li>💎 Platinum → +10% bonus</li>
+     * </ul>
+     * 
+     * @param points saldo poin untuk dicek tier-nya
+     * @return bonus rate dalam basis points (0, 200, 500, atau 1000)
+     * 
+     * @see #getTier(Customer)
+     * 
+     * @since 2.0
+     */
+    private int getBonusBasisPoints(long points) {
+        return tierTable.getBonusBasisPoints(tierTable.lookup(points));
+    }
+    
+    /**
+     * Menentukan tier/level membership pelanggan berdasarkan total poin.
+     * 
+     * <p>Tier ditentukan secara otomatis berdasarkan akumulasi poin:</p>
+     * <ul>
+     *   <li>0-499 poin → 🥉 Bronze</li>
+     *   <li>500-1999 poin → 🥈 Silver</li>
+     *   <li>2000-4999 poin → 🥇 Gold</li>
+     *   <li>5000+ poin → 💎 Platinum</li>
+     * </ul>
+     * 
+     * <p>Tier lebih tinggi = bonus poin lebih besar untuk transaksi selanjutnya.
+     * Threshold di atas adalah nilai default; nilai sebenarnya diambil dari
+     * {@link TierTable} milik engine ini.</p>
+     * 
+     * <p>Dengan {@link TierQualification#ROLLING_SPEND}, yang dicocokkan ke
+     * threshold adalah {@link #getQualifyingPoints(Customer)}: belanja 12 bulan
+     * terakhir yang dikonversi ke poin. Biayanya tetap O(1) berapapun panjang
+     * history, karena total jendela dijaga incremental oleh {@link RollingSpend}.</p>
+     * 
+     * <p>Untuk ditampilkan ke user, gunakan {@link Tier#getDisplayName()}.</p>
+     * 
+     * @param customer objek Customer yang akan dicek tier-nya
+     * @return tier pelanggan (contoh: {@link Tier#GOLD})
+     * 
+     * @see Customer#getPoints()
+     * @see TierTable#lookup(long)
+     * 
+     * @since 2.0
+     */
+    public Tier getTier(Customer customer) {
+        if (!metrics.countTierLookup()) {
+            return tierTable.lookup(getQualifyingPoints(customer));
+        }
+        long start = System.nanoTime();
+        Tier tier = tierTable.lookup(getQualifyingPoints(customer));
+        metrics.recordTierLookup(System.nanoTime() - start);
+        return tier;
+    }
+    
+    /**
+     * Menghitung poin yang dicocokkan ke threshold tier.
+     * 
+     * <p>Untuk {@link TierQualification#POINT_BALANCE} sama dengan saldo poin;
+     * untuk {@link TierQualification#ROLLING_SPEND} adalah belanja di jendela
+     * bergulir dikali point rate dasar (tanpa bonus tier).</p>
+     * 
+     * @param customer objek Customer yang akan dicek
+     * @return poin penentu tier
+     * 
+     * @see #setTierQualification(TierQualification)
+     * 
+     * @since 3.0
+     */
+    public long getQualifyingPoints(Customer customer) {
+        return qualifyingPoints(tierQualification, customer, customer.getPoints());
+    }
+    
+    /**
+     * Poin penentu tier untuk saldo tertentu, dengan mode yang sudah dibaca sekali oleh pemanggil.
+     * 
+     * @param mode dasar penentuan tier
+     * @param customer objek Customer yang dicek
+     * @param balance saldo poin yang dipakai untuk {@link TierQualification#POINT_BALANCE}
+     * @return poin penentu tier
+     * 
+     * @since 3.0
+     */
+    private long qualifyingPoints(TierQualification mode, Customer customer, long balance) {
+        if (mode == TierQualification.POINT_BALANCE) {
+            return balance;
+        }
+        return Money.applyRate(customer.getRollingSpend().getTotal(), pointRateBasisPoints, Money.BASIS_POINTS);
+    }
+    
+    /**
+     * Getter untuk tier table yang dipakai engine ini.
+     * 
+     * @return tier table (never null)
+     * 
+     * @since 3.0
+     */
+    public TierTable getTierTable() {
+        return tierTable;
+    }
+    
+    /**
+     * Menghitung poin yang didapat dari satu transaksi baru (incremental).
+     * 
+     * <p>Berbeda dengan {@link #calculateRewardPoints(Customer)} yang menghitung
+     * ulang dari total belanja seumur hidup, method ini hanya melihat nominal
+     * transaksi baru dan tier saat ini, sehingga biayanya konstan per transaksi.</p>
+     * 
+     * <p><strong>Example:</strong></p>
+     * <pre>
+     * // Transaksi Rp 200,000 oleh member Silver (+2% bonus)
+     * earnedPoints = 200,000 × 0.05 × 1.02 = 10,200 poin
+     * </pre>
+     * 
+     * @param amount nominal transaksi baru dalam sen
+     * @param currentPoints saldo poin saat ini (menentukan tier bonus)
+     * @return poin yang didapat dari transaksi ini, dibulatkan ke bawah
+     * 
+     * @see #accruePoints(Customer, long)
+     * 
+     * @since 3.0
+     */
+    public long calculateEarnedPoints(long amount, long currentPoints) {
+        return calculateRewardPoints(amount, currentPoints);
+    }
+    
+    /**
+     * Poin dari satu transaksi termasuk bonus promo yang aktif.
+     * 
+     * @param amount nominal transaksi dalam sen
+     * @param qualifying poin penentu tier bonus
+     * @param epochMillis waktu transaksi
+     * @param category kategori transaksi, atau {@link PromotionEngine#NO_CATEGORY}
+     * @return poin dasar ditambah bonus promo
+     * 
+     * @since 3.0
+     */
+    private long promotedPoints(long amount, long qualifying, long epochMillis, int category) {
+        long basePoints = calculateEarnedPoints(amount, qualifying);
+        return basePoints + promotionEngine.calculateBonus(basePoints, amount, epochMillis, category);
+    }
+    
+    /**
+     * Menambahkan poin dari satu transaksi baru ke saldo pelanggan secara atomik.
+     * 
+     * <p>Poin yang didapat dihitung dari nominal transaksi dan tier saat ini,
+     * lalu ditambahkan ke saldo dengan {@link Customer#addPoints(long)}. Saldo
+     * tidak pernah ditimpa, sehingga poin yang sudah di-redeem tetap berkurang.</p>
+     * 
+     * <p>Promo aktif dievaluasi dengan waktu sekarang dan tanpa kategori.</p>
+     * 
+     * <p><strong>Note:</strong> Method ini tidak mencatat transaksi ke history
+     * dan tidak menampilkan apapun - gunakan {@link #checkReward(Customer, long)}
+     * untuk flow lengkap. Perubahan saldo dicatat ke journal (jika terpasang)
+     * tanpa menunggu fsync; record ikut durable di group commit berikutnya.</p>
+     * 
+     * @param customer objek Customer yang mendapat poin
+     * @param amount nominal transaksi baru dalam sen (should be &gt;= 0)
+     * @return poin yang didapat dari transaksi ini
+     * 
+     * @see #calculateEarnedPoints(long, long)
+     * 
+     * @since 3.0
+     */
+    public long accruePoints(Customer customer, long amount) {
+        long qualifying = getQualifyingPoints(customer);
+        // Dibaca sekali: hari promo dan tanggal lot harus jatuh di hari yang sama
+        long now = System.currentTimeMillis();
+        long earnedPoints = promotedPoints(amount, qualifying, now, PromotionEngine.NO_CATEGORY);
+        BalanceJournal.Delta delta = new BalanceJournal.Delta();
+        customer.beginUpdate();
+        try {
+            if (amount > 0) {
+                addTierSpend(customer, tierTable.lookup(qualifying), amount, delta);
+            }
+            creditPoints(customer, earnedPoints, now, delta);
+            journal(journal, customer, delta);
+        } finally {
+            customer.endUpdate();
+        }
+        invalidateSummary(customer);
+        return earnedPoints;
+    }
+
+    /**
+     * Mencatat transaksi baru, menambahkan poinnya, dan mengembalikan hasilnya.
+     * 
+     * <p>Method utama untuk processing reward setelah transaksi. Berbeda dengan
+     * {@link #checkReward(Customer)}, poin dihitung secara incremental dari
+     * nominal transaksi baru saja.</p>
+     * 
+     * <p><strong>Process flow:</strong></p>
+     * <ol>
+     *   <li>Catat transaksi ke history customer (jika amount &gt; 0)</li>
+     *   <li>Hitung poin dari amount dengan tier bonus saat ini</li>
+     *   <li>Tambahkan poin ke saldo secara atomik</li>
+     *   <li>Kembalikan {@link RewardResult} - tidak ada output ke console</li>
+     * </ol>
+     * 
+     * @param customer objek Customer yang melakukan transaksi
+     * @param amount nominal transaksi baru dalam sen (should be &gt;= 0)
+     * @return hasil accrual; tampilkan dengan {@link ConsoleRenderer#renderReward(RewardResult)}
+     * 
+     * @see #accruePoints(Customer, long)
+     * @see Customer#addTransaction(long)
+     * 
+     * @since 3.0
+     */
+    public RewardResult checkReward(Customer customer, long amount) {
+        return checkReward(customer, amount, System.currentTimeMillis());
+    }
+
+    /**
+     * Sama seperti {@link #checkReward(Customer, long)}, dengan waktu transaksi
+     * yang sudah diketahui, misalnya transaksi yang diteruskan lewat antrian.
+     * 
+     * @param customer objek Customer yang melakukan transaksi
+     * @param amount nominal transaksi baru dalam sen (should be &gt;= 0)
+     * @param epochMillis waktu transaksi dalam epoch millis
+     * @return hasil accrual
+     * 
+     * @see AccrualPipeline
+     * 
+     * @since 3.0
+     */
+    public RewardResult checkReward(Customer customer, long amount, long epochMillis) {
+        return checkReward(customer, amount, epochMillis, PromotionEngine.NO_CATEGORY);
+    }
+
+    /**
+     * Sama seperti {@link #checkReward(Customer, long, long)}, dengan kategori
+     * transaksi untuk promo per kategori.
+     * 
+     * @param customer objek Customer yang melakukan transaksi
+     * @param amount nominal transaksi baru dalam sen (should be &gt;= 0)
+     * @param epochMillis waktu transaksi dalam epoch millis
+     * @param category kategori transaksi, atau {@link PromotionEngine#NO_CATEGORY}
+     * @return hasil accrual; poin yang didapat sudah termasuk bonus promo
+     * 
+     * @see #setPromotionEngine(PromotionEngine)
+     * 
+     * @since 3.0
+     */
+    public RewardResult checkReward(Customer customer, long amount, long epochMillis, int category) {
+        long start = System.nanoTime();
+        TierQualification mode = tierQualification;
+        BalanceJournal target = journal;
+        long qualifying = qualifyingPoints(mode, customer, customer.getPoints());
+        long earnedPoints = promotedPoints(amount, qualifying, epochMillis, category);
+        BalanceJournal.Delta delta = new BalanceJournal.Delta();
+        long newBalance;
+        long lsn;
+        customer.beginUpdate();
+        try {
+            if (amount > 0) {
+                recordTransaction(customer, amount, epochMillis);
+                addTierSpend(customer, tierTable.lookup(qualifying), amount, delta);
+            }
+            newBalance = creditPoints(customer, earnedPoints, epochMillis, delta);
+            lsn = journal(target, customer, delta);
+        } finally {
+            customer.endUpdate();
+        }
+        invalidateSummary(customer);
+        long previous = mode == TierQualification.POINT_BALANCE ? newBalance - earnedPoints : qualifying;
+        long current = qualifyingPoints(mode, customer, newBalance);
+        awaitDurable(target, lsn);
+        emitAccrual(customer.getMemberId(), amount, earnedPoints, newBalance, current);
+        publishTierChange(customer, previous, current);
+        metrics.recordAccrual(earnedPoints, System.nanoTime() - start);
+        return rewardResult(customer, amount, earnedPoints, newBalance, previous, current);
+    }
+
+    /**
+     * Memproses banyak transaksi sekaligus, misalnya upload POS akhir hari.
+     * 
+     * <p>Transaksi dikelompokkan per member, lalu accrual dan perubahan tier
+     * diterapkan satu kali per member per batch - bukan per baris. Tidak ada
+     * output ke console; hasilnya berupa ringkasan {@link BatchResult}.</p>
+     * 
+     * <p><strong>Process flow:</strong></p>
+     * <ol>
+     *   <li>Pass 1: kelompokkan baris per member dan jumlahkan nominalnya</li>
+     *   <li>Cari setiap member di registry sekali saja</li>
+     *   <li>Pass 2: catat setiap baris ke history member dengan timestamp aslinya</li>
+     *   <li>Hitung poin dari total nominal per member dengan tier awal batch,
+     *       lalu tambahkan ke saldo secara atomik</li>
+     * </ol>
+     * 
+     * <p><strong>Note:</strong> Karena poin dihitung dari total per member,
+     * pembulatan ke bawah hanya terjadi sekali per member, sehingga hasilnya
+     * bisa sedikit lebih besar dibanding memproses baris satu per satu.</p>
+     * 
+     * <p>Promo dievaluasi per baris (hari dan belanja minimum mengikuti
+     * transaksinya sendiri), tanpa kategori, lalu bonusnya dijumlahkan ke
+     * poin member.</p>
+     * 
+     * <p>Jika kadaluarsa poin aktif, poin satu member dalam batch dicatat
+     * sebagai satu lot dengan waktu transaksi paling awal milik member itu,
+     * sehingga poin tidak pernah berlaku lebih lama dari masa berlakunya.</p>
+     * 
+     * <p>Baris dengan nominal negatif atau ID member tidak positif ditolak;
+     * baris untuk member yang tidak terdaftar dilewati. Baris dengan nominal 0
+     * dihitung diterapkan tetapi, seperti di {@link #checkReward(Customer, long)},
+     * tidak dicatat ke history maupun ledger.</p>
+     * 
+     * <p>Event audit dan {@link TierChangeEvent} dikirim setelah group commit
+     * journal selesai, sehingga subscriber tidak pernah melihat perubahan yang
+     * bisa hilang saat crash.</p>
+     * 
+     * @param registry registry tempat member dicari
+     * @param batch kumpulan transaksi yang akan diproses
+     * @return ringkasan hasil pemrosesan batch
+     * 
+     * @see TransactionBatch
+     * @see #accruePoints(Customer, long)
+     * 
+     * @since 3.0
+     */
+    public BatchResult processBatch(CustomerRegistry registry, TransactionBatch batch) {
+        long start = System.nanoTime();
+        int records = batch.size();
+        LongIntMap groupIndex = new LongIntMap(Math.min(records, 1 << 16));
+        int[] groupOfRecord = new int[records];
+        long[] groupMemberIds = new long[16];
+        long[] groupAmounts = new long[16];
+        long[] groupEarliest = new long[16];
+        int groupCount = 0;
+        int rejected = 0;
+        
+        for (int i = 0; i < records; i++) {
+            long memberId = batch.getMemberId(i);
+            long amount = batch.getAmount(i);
+            if (memberId <= 0 || amount < 0) {
+                groupOfRecord[i] = -1;
+                rejected++;
+                continue;
+            }
+            int group = groupIndex.putIfAbsent(memberId, groupCount);
+            if (group == groupCount) {
+                if (groupCount == groupMemberIds.length) {
+                    groupMemberIds = Arrays.copyOf(groupMemberIds, groupCount << 1);
+                    groupAmounts = Arrays.copyOf(groupAmounts, groupCount << 1);
+                    groupEarliest = Arrays.copyOf(groupEarliest, groupCount << 1);
+                }
+                groupEarliest[groupCount] = Long.MAX_VALUE;
+                groupMemberIds[groupCount++] = memberId;
+            }
+            if (amount > 0) {
+                groupEarliest[group] = Math.min(groupEarliest[group], batch.getTimestamp(i));
+            }
+            groupAmounts[group] = Math.addExact(groupAmounts[group], amount);
+            groupOfRecord[i] = group;
+        }
+        
+        TierQualification mode = tierQualification;
+        Customer[] groupCustomers = new Customer[groupCount];
+        long[] groupQualifying = new long[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            Customer customer = registry.get(groupMemberIds[g]);
+            groupCustomers[g] = customer;
+            if (customer != null) {
+                groupQualifying[g] = qualifyingPoints(mode, customer, customer.getPoints());
+            }
+        }
+        
+        PromotionEngine promotions = promotionEngine;
+        long[] groupBonus = promotions.isEmpty() ? null : new long[groupCount];
+        long[] groupEarned = new long[groupCount];
+        long[] groupPrevious = new long[groupCount];
+        BalanceJournal target = journal;
+        EventSink sink = eventSink;
+        long lastLsn = 0;
+        int applied = 0;
+        int unknown = 0;
+        int members = 0;
+        int tierChanges = 0;
+        long pointsEarned = 0;
+        for (Customer customer : groupCustomers) {
+            if (customer != null) {
+                customer.beginUpdate();
+            }
+        }
+        try {
+            for (int i = 0; i < records; i++) {
+                int group = groupOfRecord[i];
+                if (group < 0) {
+                    continue;
+                }
+                Customer customer = groupCustomers[group];
+                if (customer == null) {
+                    unknown++;
+                    continue;
+                }
+                applied++;
+                long amount = batch.getAmount(i);
+                if (amount == 0) {
+                    // Sama seperti checkReward: transaksi kosong tidak dicatat ke history maupun ledger
+                    continue;
+                }
+                recordTransaction(customer, amount, batch.getTimestamp(i));
+                if (groupBonus != null) {
+                    groupBonus[group] += promotions.calculateBonus(
+                            calculateEarnedPoints(amount, groupQualifying[group]),
+                            amount, batch.getTimestamp(i), PromotionEngine.NO_CATEGORY);
+                }
+            }
+            
+            for (int g = 0; g < groupCount; g++) {
+                Customer customer = groupCustomers[g];
+                if (customer == null) {
+                    continue;
+                }
+                long earnedPoints = calculateEarnedPoints(groupAmounts[g], groupQualifying[g]);
+                if (groupBonus != null) {
+                    earnedPoints += groupBonus[g];
+                }
+                BalanceJournal.Delta delta = new BalanceJournal.Delta();
+                if (groupAmounts[g] > 0) {
+                    addTierSpend(customer, tierTable.lookup(groupQualifying[g]), groupAmounts[g], delta);
+                }
+                long newPoints = creditPoints(customer, earnedPoints, groupEarliest[g], delta);
+                invalidateSummary(customer);
+                groupPrevious[g] = mode == TierQualification.POINT_BALANCE ? newPoints - earnedPoints : groupQualifying[g];
+                groupQualifying[g] = qualifyingPoints(mode, customer, newPoints);
+                groupEarned[g] = earnedPoints;
+                pointsEarned += earnedPoints;
+                members++;
+                lastLsn = Math.max(lastLsn, journal(target, customer, delta));
+            }
+        } finally {
+            for (Customer customer : groupCustomers) {
+                if (customer != null) {
+                    customer.endUpdate();
+                }
+            }
+        }
+        awaitDurable(target, lastLsn);
+        // Event baru dikirim setelah saldo durable, sama seperti checkReward
+        for (int g = 0; g < groupCount; g++) {
+            Customer customer = groupCustomers[g];
+            if (customer == null) {
+                continue;
+            }
+            if (sink != null) {
+                sink.onAccrual(groupMemberIds[g], groupAmounts[g], groupEarned[g], customer.getPoints(),
+                        tierTable.lookup(groupQualifying[g]));
+            }
+            if (publishTierChange(customer, groupPrevious[g], groupQualifying[g])) {
+                tierChanges++;
+            }
+        }
+        
+        metrics.recordBatch(members, pointsEarned, System.nanoTime() - start);
+        return new BatchResult(records, applied, unknown, rejected, members, pointsEarned, tierChanges);
+    }
+    
+    /**
+     * Mencatat transaksi ke ledger jika ledger terpasang dan member terdaftar,
+     * atau ke {@link TransactionHistory} di heap jika tidak.
+     * 
+     * @param customer member yang bertransaksi
+     * @param amount nominal transaksi dalam sen
+     * @param epochMillis waktu transaksi
+     * 
+     * @since 3.0
+     */
+    private void recordTransaction(Customer customer, long amount, long epochMillis) {
+        TransactionLedger target = ledger;
+        if (target != null && customer.getMemberId() > 0) {
+            customer.addSpend(amount, epochMillis);
+            target.append(customer.getMemberId(), amount, epochMillis);
+        } else {
+            customer.addTransaction(amount, epochMillis);
+        }
+    }
+    
+    /**
+     * Mencatat perubahan saldo member ke journal tanpa menunggu fsync.
+     * 
+     * <p>Dipanggil setelah perubahan diterapkan, masih di dalam
+     * {@link Customer#beginUpdate()}.</p>
+     * 
+     * @param target journal, atau {@code null}
+     * @param customer member yang saldonya baru berubah
+     * @param delta perubahan yang sudah diterapkan
+     * @return LSN record, atau 0 jika tidak ada yang dicatat
+     * 
+     * @since 3.0
+     */
+    private static long journal(BalanceJournal target, Customer customer, BalanceJournal.Delta delta) {
+        return target != null && customer.getMemberId() > 0 ? target.append(customer, delta) : 0;
+    }
+    
+    /**
+     * Menunggu record journal sampai durable, jika ada yang dicatat.
+     * 
+     * @param target journal, atau {@code null}
+     * @param lsn LSN dari {@link #journal(BalanceJournal, Customer, BalanceJournal.Delta)}
+     * 
+     * @since 3.0
+     */
+    private static void awaitDurable(BalanceJournal target, long lsn) {
+        if (lsn > 0) {
+            target.awaitDurable(lsn);
+        }
+    }
+    
+    /**
+     * Menambahkan belanja ke tier yang berlaku dan ke delta journal.
+     * 
+     * @param customer member yang bertransaksi
+     * @param tier tier saat transaksi
+     * @param amount nominal dalam sen
+     * @param delta delta journal transaksi ini
+     * 
+     * @since 3.0
+     */
+    private static void addTierSpend(Customer customer, Tier tier, long amount, BalanceJournal.Delta delta) {
+        customer.addTierSpend(tier, amount);
+        delta.spend(tier, amount);
+    }
+    
+    /**
+     * Menambahkan poin accrual ke saldo, dan mencatatnya sebagai lot jika
+     * kadaluarsa poin aktif. Member yang belum punya sidik aturan ditandai
+     * dengan aturan engine ini.
+     * 
+     * @param customer member yang mendapat poin
+     * @param earnedPoints poin yang didapat
+     * @param earnedAtMillis waktu poin didapat
+     * @param delta delta journal yang menerima poin dan lot baru
+     * @return saldo poin setelah ditambahkan
+     * 
+     * @see PointExpiry#accrue(Customer, long, long, PointLots.Changes)
+     * 
+     * @since 3.0
+     */
+    private long creditPoints(Customer customer, long earnedPoints, long earnedAtMillis,
+                              BalanceJournal.Delta delta) {
+        customer.stampRulesFingerprint(rulesFingerprint);
+        delta.points(earnedPoints);
+        PointExpiry expiry = pointExpiry;
+        if (expiry != null && earnedPoints > 0) {
+            return expiry.accrue(customer, earnedPoints, earnedAtMillis, delta);
+        }
+        return customer.addPoints(earnedPoints);
+    }
+    
+    /**
+     * Menghapus ringkasan member dari cache setelah saldonya berubah.
+     * 
+     * @param customer member yang saldonya baru berubah
+     * 
+     * @since 3.0
+     */
+    private void invalidateSummary(Customer customer) {
+        MemberSummaryCache cache = memberSummaryCache;
+        if (cache != null) {
+            cache.invalidate(customer.getMemberId());
+        }
+    }
+    
+    /**
+     * Membuang lot poin yang sudah kadaluarsa dan mengurangi saldo member.
+     * 
+     * <p>Hanya member yang lot tertuanya jatuh tempo yang dikunjungi. Saldo
+     * baru dicatat ke journal (jika terpasang) dan ditunggu durable sekali di
+     * akhir sweep. Dengan {@link TierQualification#POINT_BALANCE}, penurunan
+     * tier karena kadaluarsa dikirim sebagai {@link TierChangeEvent}.</p>
+     * 
+     * <p>Biasanya dijadwalkan tiap jam atau tiap malam dengan
+     * {@code ScheduledExecutorService}; aman dipanggil bersamaan dengan accrual
+     * dan redeem.</p>
+     * 
+     * @param nowMillis waktu acuan; lot dengan waktu kadaluarsa &lt;= nilai ini dibuang
+     * @return ringkasan sweep
+     * 
+     * @throws IllegalStateException jika kadaluarsa poin belum diaktifkan
+     * 
+     * @see #setPointExpiry(PointExpiry)
+     * 
+     * @since 3.0
+     */
+    public ExpiryResult expirePoints(long nowMillis) {
+        PointExpiry expiry = pointExpiry;
+        if (expiry == null) {
+            throw new IllegalStateException("Kadaluarsa poin belum diaktifkan, panggil setPointExpiry dulu");
+        }
+        BalanceJournal target = journal;
+        boolean tiersFollowBalance = tierQualification == TierQualification.POINT_BALANCE;
+        long[] lastLsn = new long[1];
+        ExpiryResult result = expiry.expireDue(nowMillis, (customer, expiredPoints, newBalance, expiredLots) -> {
+            invalidateSummary(customer);
+            BalanceJournal.Delta delta = new BalanceJournal.Delta().points(-expiredPoints).expired(expiredPoints);
+            for (int i = 0; i < expiredLots.length; i += 2) {
+                delta.lot(-expiredLots[i], expiredLots[i + 1]);
+            }
+            lastLsn[0] = Math.max(lastLsn[0], journal(target, customer, delta));
+            if (tiersFollowBalance) {
+                publishTierChange(customer, newBalance + expiredPoints, newBalance);
+            }
+        });
+        awaitDurable(target, lastLsn[0]);
+        return result;
+    }
+    
+    /**
+     * Mengirim event accrual ke sink audit jika terpasang.
+     * 
+     * @param memberId ID member
+     * @param amount nominal transaksi dalam sen
+     * @param earnedPoints poin yang didapat
+     * @param newBalance saldo poin setelah accrual
+     * @param qualifying poin penentu tier setelah accrual
+     * 
+     * @since 3.0
+     */
+    private void emitAccrual(long memberId, long amount, long earnedPoints, long newBalance, long qualifying) {
+        EventSink sink = eventSink;
+        if (sink != null) {
+            sink.onAccrual(memberId, amount, earnedPoints, newBalance, tierTable.lookup(qualifying));
+        }
+    }
+    
+    /**
+     * Mengecek perubahan tier dan mengirim {@link TierChangeEvent} jika ada listener.
+     * 
+     * @param customer pelanggan yang saldonya berubah
+     * @param oldPoints poin penentu tier tepat sebelum perubahan
+     * @param newPoints poin penentu tier tepat setelah perubahan
+     * @return {@code true} jika tier berubah
+     * 
+     * @since 3.0
+     */
+    private boolean publishTierChange(Customer customer, long oldPoints, long newPoints) {
+        Tier previousTier = tierTable.lookup(oldPoints);
+        Tier newTier = tierTable.lookup(newPoints);
+        if (previousTier == newTier) {
+            return false;
+        }
+        metrics.countTierChange();
+        TierChangePublisher publisher = tierChangePublisher;
+        if (publisher.hasSubscribers()) {
+            publisher.publish(new TierChangeEvent(customer.getMemberId(), customer.getName(),
+                    previousTier, newTier, System.currentTimeMillis()));
+        }
+        return true;
+    }
+    
+    /**
+     * Mengirim event penukaran voucher ke sink audit jika terpasang.
+     * 
+     * @param customer pelanggan yang menukar
+     * @param voucherId ID voucher, atau {@code null} jika pilihan menu tidak valid
+     * @param status hasil penukaran
+     * @param pointsSpent poin yang terpotong
+     * 
+     * @since 3.0
+     */
+    private void emitRedemption(Customer customer, String voucherId, RedemptionStatus status, long pointsSpent) {
+        EventSink sink = eventSink;
+        if (sink != null) {
+            sink.onRedemption(customer.getMemberId(), voucherId, status, pointsSpent, customer.getPoints());
+        }
+    }
+    
+    /**
+     * Memproses kalkulasi reward dan update poin pelanggan.
+     * 
+     * <p>Method utama untuk processing reward setelah transaksi.
+     * Melakukan kalkulasi poin baru dan update ke customer.</p>
+     * 
+     * <p><strong>Process flow:</strong></p>
+     * <ol>
+     *   <li>Ambil poin lama customer</li>
+     *   <li>Hitung total poin baru (dengan tier bonus)</li>
+     *   <li>Hitung selisih poin yang didapat</li>
+     *   <li>Update poin ke customer object dengan CAS (ulang dari langkah 1 jika gagal)</li>
+     *   <li>Kembalikan {@link RewardResult}</li>
+     * </ol>
+     * 
+     * <p><strong>⚠️ Important:</strong> Saldo dihitung ulang dari total belanja
+     * seumur hidup dan menimpa saldo lama, sehingga poin yang sudah di-redeem
+     * akan kembali. Gunakan {@link #checkReward(Customer, long)}.</p>
+     * 
+     * @param customer objek Customer yang akan diproses reward-nya
+     * @return hasil kalkulasi reward
+     * 
+     * @deprecated sejak 3.0, diganti accrual incremental
+     *             {@link #checkReward(Customer, long)}
+     * 
+     * @see #calculateRewardPoints(Customer)
+     * @see Customer#compareAndSetPoints(long, long)
+     * 
+     * @since 1.0
+     */
+    @Deprecated
+    public RewardResult checkReward(Customer customer) {
+        long start = System.nanoTime();
+        BalanceJournal target = journal;
+        long oldPoints;
+        long newTotalPoints;
+        long lsn;
+        customer.beginUpdate();
+        try {
+            do {
+                oldPoints = customer.getPoints();
+                newTotalPoints = calculateRewardPoints(customer.getTotalSpent(), oldPoints);
+            } while (!customer.compareAndSetPoints(oldPoints, newTotalPoints));
+            lsn = journal(target, customer, new BalanceJournal.Delta().points(newTotalPoints - oldPoints));
+        } finally {
+            customer.endUpdate();
+        }
+        invalidateSummary(customer);
+        TierQualification mode = tierQualification;
+        long previous = qualifyingPoints(mode, customer, oldPoints);
+        long current = qualifyingPoints(mode, customer, newTotalPoints);
+        awaitDurable(target, lsn);
+        emitAccrual(customer.getMemberId(), 0, newTotalPoints - oldPoints, newTotalPoints, current);
+        publishTierChange(customer, previous, current);
+        metrics.recordAccrual(newTotalPoints - oldPoints, System.nanoTime() - start);
+        return rewardResult(customer, 0, newTotalPoints - oldPoints, newTotalPoints, previous, current);
+    }
+    
+    /**
+     * Menyusun {@link RewardResult} dari saldo sebelum dan sesudah accrual.
+     * 
+     * @param customer objek Customer yang mendapat poin
+     * @param amount nominal transaksi dalam sen
+     * @param earnedPoints poin yang baru didapat
+     * @param newBalance saldo poin setelah update
+     * @param previousQualifying poin penentu tier sebelum accrual
+     * @param qualifying poin penentu tier setelah accrual
+     * @return hasil accrual
+     * 
+     * @since 3.0
+     */
+    private RewardResult rewardResult(Customer customer, long amount, long earnedPoints, long newBalance,
+                                      long previousQualifying, long qualifying) {
+        Tier tier = tierTable.lookup(qualifying);
+        Tier next = tierTable.next(tier);
+        return new RewardResult(customer.getName(), amount, earnedPoints, newBalance,
+                tierTable.lookup(previousQualifying), tier, next,
+                next == null ? 0 : tierTable.getThreshold(next) - qualifying,
+                tierTable.getBonusBasisPoints(tier));
+    }
+    
+    /**
+     * Memproses reward untuk member yang dicari lewat {@link CustomerRegistry}.
+     * 
+     * <p>Versi multi-customer dari {@link #checkReward(Customer, long)}: pelanggan
+     * dicari berdasarkan ID member, lalu diproses dengan flow yang sama.</p>
+     * 
+     * @param registry registry tempat pelanggan terdaftar
+     * @param memberId ID member yang melakukan transaksi
+     * @param amount nominal transaksi baru dalam sen
+     * @return hasil accrual, atau {@code null} jika member tidak terdaftar
+     * 
+     * @see CustomerRegistry#get(long)
+     * @see #checkReward(Customer, long)
+     * 
+     * @since 3.0
+     */
+    public RewardResult checkReward(CustomerRegistry registry, long memberId, long amount) {
+        Customer customer = registry.get(memberId);
+        return customer == null ? null : checkReward(customer, amount);
+    }
+    
+    /**
+     * Menampilkan informasi lengkap tentang sistem tier reward.
+     * 
+     * <p>Method ini menampilkan dashboard tier yang berisi:</p>
+     * <ul>
+     *   <li>📊 Tier current user</li>
+     *   <li>🎯 Total poin user saat ini</li>
+     *   <li>📋 Daftar semua tier dengan requirement dan benefit</li>
+     * </ul>
+     * 
+     * <p>Berguna untuk edukasi user tentang sistem tier dan
+     * memotivasi mereka untuk naik level.</p>
+     * 
+     * @param customer objek Customer yang informasi tier-nya akan ditampilkan
+     * 
+     * @deprecated sejak 3.0, tampilan dipindah ke
+     *             {@link ConsoleRenderer#renderTierInfo(Customer, TierTable)}
+     * 
+     * @see #getTier(Customer)
+     * 
+     * @since 2.0
+     */
+    @Deprecated
+    public void displayTierInfo(Customer customer) {
+        new ConsoleRenderer().renderTierInfo(customer, tierTable);
+    }
+    
+    /**
+     * Iterasi transaksi pelanggan dalam rentang waktu, dengan latency tercatat di metrics.
+     * 
+     * <p>Latency yang direkam mencakup waktu visitor, jadi visitor sebaiknya
+     * hanya mengumpulkan data, bukan melakukan I/O.</p>
+     * 
+     * <p>Jika ledger terpasang, history member dibaca dari ledger, dari transaksi
+     * terbaru, dan penelusuran berhenti di transaksi pertama sebelum
+     * {@code fromMillis} (lihat
+     * {@link TransactionLedger#forEachInRange(long, long, long, TransactionHistory.Visitor)}).</p>
+     * 
+     * @param customer pelanggan yang history-nya dibaca
+     * @param fromMillis awal rentang (inklusif), epoch millis
+     * @param toMillis akhir rentang (eksklusif), epoch millis
+     * @param visitor callback untuk setiap transaksi dalam rentang
+     * 
+     * @see TransactionHistory#forEachInRange(long, long, TransactionHistory.Visitor)
+     * 
+     * @since 3.0
+     */
+    public void forEachTransactionInRange(Customer customer, long fromMillis, long toMillis,
+                                          TransactionHistory.Visitor visitor) {
+        long start = System.nanoTime();
+        TransactionLedger source = ledger;
+        if (source != null && customer.getMemberId() > 0) {
+            source.forEachInRange(customer.getMemberId(), fromMillis, toMillis, visitor);
+        } else {
+            customer.getTransactionHistory().forEachInRange(fromMillis, toMillis, visitor);
+        }
+        metrics.recordHistoryQuery(System.nanoTime() - start);
+    }
+    
+    /**
+     * Membaca satu halaman history member dari ledger, terbaru lebih dulu,
+     * dengan latency tercatat di metrics.
+     * 
+     * @param memberId ID member
+     * @param cursor {@link TransactionLedger#NEWEST} untuk halaman pertama, atau cursor sebelumnya
+     * @param limit jumlah maksimum transaksi yang dibaca
+     * @param visitor callback per transaksi
+     * @return cursor halaman berikutnya, atau {@link TransactionLedger#END}
+     * 
+     * @throws IllegalStateException jika belum ada ledger yang dipasang
+     * @throws IllegalArgumentException jika cursor di luar rentang ledger atau bukan milik member
+     * 
+     * @see TransactionLedger#readBackward(long, long, int, TransactionHistory.Visitor)
+     * 
+     * @since 3.0
+     */
+    public long readTransactionHistory(long memberId, long cursor, int limit, TransactionHistory.Visitor visitor) {
+        TransactionLedger source = ledger;
+        if (source == null) {
+            throw new IllegalStateException("Ledger belum dipasang");
+        }
+        long start = System.nanoTime();
+        long next = source.readBackward(memberId, cursor, limit, visitor);
+        metrics.recordHistoryQuery(System.nanoTime() - start);
+        return next;
+    }
+    
+    /**
+     * Getter untuk katalog voucher yang sedang aktif.
+     * 
+     * @return katalog voucher aktif (tidak pernah {@code null})
+     * 
+     * @since 3.0
+     */
+    public VoucherCatalog getVoucherCatalog() {
+        return voucherCatalog;
+    }
+    
+    /**
+     * Mengganti katalog voucher secara atomik.
+     * 
+     * <p>Penukaran yang sedang berjalan tetap memakai katalog lama yang sudah
+     * dibacanya; penukaran berikutnya memakai katalog baru. Tidak ada pembaca
+     * yang diblokir. Stok di {@link VoucherInventory} disesuaikan lebih dulu,
+     * sebelum katalog baru terlihat oleh penukaran.</p>
+     * 
+     * @param voucherCatalog katalog baru
+     * 
+     * @throws IllegalArgumentException jika voucherCatalog null
+     * 
+     * @since 3.0
+     */
+    public synchronized void setVoucherCatalog(VoucherCatalog voucherCatalog) {
+        if (voucherCatalog == null) {
+            throw new IllegalArgumentException("Katalog voucher tidak boleh null");
+        }
+        voucherInventory.sync(voucherCatalog);
+        this.voucherCatalog = voucherCatalog;
+    }
+    
+    /**
+     * Getter untuk stok runtime voucher.
+     * 
+     * @return inventory voucher milik engine ini
+     * 
+     * @since 3.0
+     */
+    public VoucherInventory getVoucherInventory() {
+        return voucherInventory;
+    }
+    
+    /**
+     * Memuat ulang katalog voucher dari file lalu menukarnya secara atomik.
+     * 
+     * <p>Jika file tidak valid, katalog lama tetap aktif.</p>
+     * 
+     * @param file path file katalog
+     * @return katalog baru yang sekarang aktif
+     * 
+     * @throws IOException jika file tidak bisa dibaca atau tidak valid
+     * 
+     * @see VoucherCatalog#load(Path)
+     * 
+     * @since 3.0
+     */
+    public VoucherCatalog reloadVoucherCatalog(Path file) throws IOException {
+        VoucherCatalog loaded = VoucherCatalog.load(file);
+        setVoucherCatalog(loaded);
+        return loaded;
+    }
+    
+    /**
+     * Memproses penukaran poin dengan voucher belanja berdasarkan pilihan menu.
+     * 
+     * <p>Method ini handle complete flow voucher redemption:</p>
+     * <ol>
+     *   <li>Validasi pilihan voucher (1 sampai jumlah voucher)</li>
+     *   <li>Ambil voucher di posisi tersebut dari {@link VoucherCatalog}</li>
+     *   <li>Tukar poin dengan voucher lewat {@link #tryRedeem(Customer, Voucher)}</li>
+     *   <li>Kembalikan {@link RedemptionResult} - tidak ada output ke console</li>
+     * </ol>
+     * 
+     * <p><strong>Error handling:</strong> Pilihan di luar daftar menghasilkan
+     * status {@link RedemptionStatus#NOT_FOUND}; poin yang tidak cukup menghasilkan
+     * {@link RedemptionStatus#INSUFFICIENT_POINTS} beserta saldo saat ini.</p>
+     * 
+     * @param customer objek Customer yang akan redeem voucher
+     * @param voucherChoice pilihan voucher dari user input (1-based)
+     * @return hasil penukaran; tampilkan dengan {@link ConsoleRenderer#renderRedemption(RedemptionResult)}
+     * 
+     * @see #redeemVoucher(Customer, String)
+     * @see Customer#redeemPoints(long)
+     * 
+     * @since 2.0
+     */
+    public RedemptionResult redeemVoucher(Customer customer, int voucherChoice) {
+        VoucherCatalog catalog = voucherCatalog;
+        if (voucherChoice < 1 || voucherChoice > catalog.size()) {
+            metrics.countRedemption(RedemptionStatus.NOT_FOUND);
+            emitRedemption(customer, null, RedemptionStatus.NOT_FOUND, 0);
+            return new RedemptionResult(RedemptionStatus.NOT_FOUND, null, null, customer.getPoints());
+        }
+        return redeem(customer, null, catalog.get(voucherChoice - 1));
+    }
+    
+    /**
+     * Memproses penukaran poin dengan voucher berdasarkan ID voucher.
+     * 
+     * @param customer objek Customer yang akan redeem voucher
+     * @param voucherId ID voucher di katalog, misalnya {@code "V50K"}
+     * @return hasil penukaran, status {@link RedemptionStatus#NOT_FOUND} jika ID tidak dikenal
+     * 
+     * @see VoucherCatalog#find(String)
+     * 
+     * @since 3.0
+     */
+    public RedemptionResult redeemVoucher(Customer customer, String voucherId) {
+        Voucher voucher = voucherCatalog.find(voucherId);
+        if (voucher == null) {
+            metrics.countRedemption(RedemptionStatus.NOT_FOUND);
+            emitRedemption(customer, voucherId, RedemptionStatus.NOT_FOUND, 0);
+            return new RedemptionResult(RedemptionStatus.NOT_FOUND, voucherId, null, customer.getPoints());
+        }
+        return redeem(customer, voucherId, voucher);
+    }
+    
+    /**
+     * Menukar poin customer dengan satu voucher tanpa output ke console.
+     * 
+     * <p>Pemotongan poin dan pengambilan stok berhasil atau gagal bersama-sama:</p>
+     * <ol>
+     *   <li>Cek masa berlaku voucher</li>
+     *   <li>Tolak lebih awal jika saldo jelas tidak cukup, supaya stok tidak ditahan sia-sia</li>
+     *   <li>Reserve satu unit stok (CAS, lock-free)</li>
+     *   <li>Potong poin customer (CAS); jika gagal, unit stok di-release kembali</li>
+     *   <li>Catat redeem ke journal dan tunggu sampai durable</li>
+     *   <li>Commit unit stok</li>
+     *   <li>Kirim {@link TierChangeEvent} jika saldo turun melewati threshold tier</li>
+     * </ol>
+     * 
+     * <p>Jika journal gagal, redeem dibatalkan: poin kembali ke saldo dan lot
+     * asalnya, unit stok di-release, lalu exception journal diteruskan. Status
+     * {@link RedemptionStatus#SUCCESS} hanya dikembalikan untuk redeem yang
+     * sudah durable.</p>
+     * 
+     * <p>Setiap percobaan, berhasil atau tidak, dikirim ke sink audit jika terpasang.</p>
+     * 
+     * @param customer objek Customer yang akan redeem voucher
+     * @param voucher voucher yang ditukar
+     * @return status penukaran
+     * 
+     * @throws UncheckedIOException jika journal gagal mencatat redeem
+     * 
+     * @see VoucherInventory
+     * @see Customer#deductPoints(long)
+     * 
+     * @since 3.0
+     */
+    public RedemptionStatus tryRedeem(Customer customer, Voucher voucher) {
+        long start = System.nanoTime();
+        RedemptionStatus status = reserveAndDeduct(customer, voucher);
+        metrics.recordRedemption(status, System.nanoTime() - start);
+        emitRedemption(customer, voucher.getId(), status,
+                status == RedemptionStatus.SUCCESS ? voucher.getPointCost() : 0);
+        return status;
+    }
+    
+    /**
+     * Langkah-langkah penukaran dari {@link #tryRedeem(Customer, Voucher)}, tanpa event audit.
+     * 
+     * @param customer objek Customer yang akan redeem voucher
+     * @param voucher voucher yang ditukar
+     * @return status penukaran
+     * 
+     * @since 3.0
+     */
+    private RedemptionStatus reserveAndDeduct(Customer customer, Voucher voucher) {
+        if (!voucher.isValidAt(System.currentTimeMillis())) {
+            return RedemptionStatus.NOT_VALID;
+        }
+        long pointsNeeded = voucher.getPointCost();
+        if (customer.getPoints() < pointsNeeded) {
+            return RedemptionStatus.INSUFFICIENT_POINTS;
+        }
+        if (!voucherInventory.reserve(voucher)) {
+            return RedemptionStatus.OUT_OF_STOCK;
+        }
+        BalanceJournal target = journal;
+        BalanceJournal.Delta delta = new BalanceJournal.Delta();
+        long remaining;
+        long lsn;
+        if (!voucher.isUnlimitedStock()) {
+            delta.voucher(voucher.getId());
+        }
+        customer.beginUpdate();
+        try {
+            remaining = customer.deductPoints(pointsNeeded, delta);
+            if (remaining < 0) {
+                voucherInventory.release(voucher);
+                return RedemptionStatus.INSUFFICIENT_POINTS;
+            }
+            lsn = journal(target, customer, delta.points(-pointsNeeded).redeemed(pointsNeeded));
+        } catch (UncheckedIOException e) {
+            cancelRedemption(customer, voucher, delta);
+            throw e;
+        } finally {
+            customer.endUpdate();
+        }
+        invalidateSummary(customer);
+        try {
+            awaitDurable(target, lsn);
+        } catch (UncheckedIOException e) {
+            cancelRedemption(customer, voucher, delta);
+            throw e;
+        }
+        voucherInventory.commit(voucher);
+        // Redeem tidak mengubah belanja, jadi hanya bisa menurunkan tier berbasis saldo
+        if (tierQualification == TierQualification.POINT_BALANCE) {
+            publishTierChange(customer, remaining + pointsNeeded, remaining);
+        }
+        return RedemptionStatus.SUCCESS;
+    }
+    
+    /**
+     * Membatalkan redeem yang gagal dicatat ke journal: poin dan lot yang
+     * terpakai dikembalikan, dan unit stok yang di-reserve di-release.
+     * 
+     * @param customer member yang redeem-nya gagal
+     * @param voucher voucher yang batal ditukar
+     * @param delta delta redeem, berisi poin dan lot yang terpakai
+     */
+    private void cancelRedemption(Customer customer, Voucher voucher, BalanceJournal.Delta delta) {
+        long points = voucher.getPointCost();
+        PointExpiry expiry = pointExpiry;
+        customer.beginUpdate();
+        try {
+            if (expiry != null) {
+                expiry.refund(customer, points, delta.lots());
+            } else {
+                customer.refundPoints(points, delta.lots());
+            }
+        } finally {
+            customer.endUpdate();
+        }
+        voucherInventory.release(voucher);
+        invalidateSummary(customer);
+    }
+    
+    /**
+     * Menukar poin customer dengan satu voucher dan membungkus hasilnya.
+     * 
+     * @param customer objek Customer yang akan redeem voucher
+     * @param voucherId ID voucher yang diminta, atau {@code null} jika dipilih lewat menu
+     * @param voucher voucher yang ditukar
+     * @return hasil penukaran
+     * 
+     * @since 3.0
+     */
+    private RedemptionResult redeem(Customer customer, String voucherId, Voucher voucher) {
+        RedemptionStatus status = tryRedeem(customer, voucher);
+        return new RedemptionResult(status, voucherId, voucher, customer.getPoints());
+    }
+    
+    /**
+     * Memproses penukaran voucher untuk member yang dicari lewat {@link CustomerRegistry}.
+     * 
+     * <p>Versi multi-customer dari {@link #redeemVoucher(Customer, int)}.</p>
+     * 
+     * @param registry registry tempat pelanggan terdaftar
+     * @param memberId ID member yang akan redeem voucher
+     * @param voucherChoice pilihan voucher dari user input (1-based)
+     * @return hasil penukaran, atau {@code null} jika member tidak terdaftar
+     * 
+     * @see CustomerRegistry#get(long)
+     * @see #redeemVoucher(Customer, int)
+     * 
+     * @since 3.0
+     */
+    public RedemptionResult redeemVoucher(CustomerRegistry registry, long memberId, int voucherChoice) {
+        Customer customer = registry.get(memberId);
+        return customer == null ? null : redeemVoucher(customer, voucherChoice);
+    }
+}
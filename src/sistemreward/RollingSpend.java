@@ -0,0 +1,221 @@
+package sistemreward;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Total belanja satu member dalam jendela N bulan terakhir, di-update secara incremental.
+ *
+ * <p>Belanja dikumpulkan ke bucket per bulan kalender dalam ring berukuran
+ * tetap. Saat bulan berganti, bucket yang keluar dari jendela dikurangkan
+ * dari total berjalan, sehingga query total tidak pernah memindai
+ * {@link TransactionHistory} - biayanya konstan berapapun panjang history.</p>
+ *
+ * <p><strong>Aturan jendela</strong> (default 12 bulan, zona WIB):</p>
+ * <ul>
+ *   <li>📅 Jendela untuk waktu {@code t} mencakup bulan {@code t} dan N-1 bulan sebelumnya</li>
+ *   <li>⏪ Transaksi terlambat tetap masuk ke bucket bulannya selama masih di jendela</li>
+ *   <li>🗑️ Transaksi yang lebih tua dari jendela terbaru diabaikan</li>
+ * </ul>
+ *
+ * <p><strong>Persistensi:</strong> Bucket hanya ada di memori dan tidak
+ * ikut {@link BalanceJournal}. Setelah restart, bangun ulang dari ledger
+ * dengan {@link RewardSystem#rebuildRollingSpend(CustomerRegistry)}.</p>
+ *
+ * <p><strong>Thread safety:</strong> Semua method {@code synchronized}; lock
+ * per member sehingga tidak ada kontensi antar member.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#getRollingSpend()
+ * @see TierQualification#ROLLING_SPEND
+ */
+public final class RollingSpend {
+
+    /**
+     * Panjang jendela default dalam bulan.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_MONTHS = 12;
+
+    private static final long NO_MONTH = Long.MIN_VALUE;
+
+    private final long[] amounts;
+    private final long[] months;
+    /** Bulan terbaru yang pernah dilihat; jendela berjalan berakhir di bulan ini. */
+    private long newestMonth = NO_MONTH;
+    /** Batas waktu bulan terbaru [start, end), supaya query di bulan berjalan tidak perlu konversi tanggal. */
+    private long newestMonthStart = Long.MAX_VALUE;
+    private long newestMonthEnd = Long.MIN_VALUE;
+    /** Jumlah semua bucket di jendela berjalan. */
+    private long total;
+
+    /**
+     * Constructor dengan jendela {@value #DEFAULT_MONTHS} bulan.
+     *
+     * @since 3.0
+     */
+    public RollingSpend() {
+        this(DEFAULT_MONTHS);
+    }
+
+    /**
+     * Constructor dengan panjang jendela sendiri.
+     *
+     * @param months panjang jendela dalam bulan
+     *
+     * @throws IllegalArgumentException jika months tidak positif
+     *
+     * @since 3.0
+     */
+    public RollingSpend(int months) {
+        if (months <= 0) {
+            throw new IllegalArgumentException("Jendela harus minimal 1 bulan: " + months);
+        }
+        this.amounts = new long[months];
+        this.months = new long[months];
+        Arrays.fill(this.months, NO_MONTH);
+    }
+
+    /**
+     * Mencatat belanja pada waktu tertentu.
+     *
+     * @param amount nominal dalam sen
+     * @param epochMillis waktu transaksi
+     *
+     * @since 3.0
+     */
+    public synchronized void add(long amount, long epochMillis) {
+        long month = monthOf(epochMillis);
+        if (month > newestMonth) {
+            advanceTo(month);
+        } else if (month <= newestMonth - amounts.length) {
+            return;
+        }
+        int index = (int) Math.floorMod(month, (long) amounts.length);
+        months[index] = month;
+        amounts[index] += amount;
+        total += amount;
+    }
+
+    /**
+     * Mengosongkan semua bucket, misalnya sebelum dibangun ulang dari ledger.
+     *
+     * @see RewardSystem#rebuildRollingSpend(CustomerRegistry)
+     *
+     * @since 3.0
+     */
+    public synchronized void clear() {
+        Arrays.fill(amounts, 0L);
+        Arrays.fill(months, NO_MONTH);
+        newestMonth = NO_MONTH;
+        newestMonthStart = Long.MAX_VALUE;
+        newestMonthEnd = Long.MIN_VALUE;
+        total = 0;
+    }
+
+    /**
+     * Total belanja di jendela yang berakhir pada bulan sekarang.
+     *
+     * @return total belanja dalam sen
+     *
+     * @since 3.0
+     */
+    public long getTotal() {
+        return getTotal(System.currentTimeMillis());
+    }
+
+    /**
+     * Total belanja di jendela yang berakhir pada bulan {@code nowMillis}.
+     *
+     * <p>O(1) untuk waktu di bulan terbaru yang pernah dicatat (kasus umum).
+     * Saat bulan baru dimulai, bucket kadaluarsa dibuang sekali (paling banyak
+     * N bucket). Query ke bulan sebelum bulan terbaru menjumlahkan paling banyak
+     * N bucket dan hanya melihat bucket yang masih tersimpan, yaitu bulan di
+     * jendela terbaru.</p>
+     *
+     * @param nowMillis waktu acuan
+     * @return total belanja dalam sen
+     *
+     * @since 3.0
+     */
+    public synchronized long getTotal(long nowMillis) {
+        if (nowMillis >= newestMonthStart && nowMillis < newestMonthEnd) {
+            return total;
+        }
+        long month = monthOf(nowMillis);
+        if (month > newestMonth) {
+            advanceTo(month);
+        }
+        if (month == newestMonth) {
+            return total;
+        }
+        long sum = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            if (months[i] <= month && months[i] > month - amounts.length) {
+                sum += amounts[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Getter untuk panjang jendela.
+     *
+     * @return panjang jendela dalam bulan
+     *
+     * @since 3.0
+     */
+    public int getMonths() {
+        return amounts.length;
+    }
+
+    /**
+     * Menggeser jendela ke bulan baru dan membuang bucket yang keluar.
+     */
+    private void advanceTo(long month) {
+        long oldest = month - amounts.length;
+        for (int i = 0; i < amounts.length; i++) {
+            if (months[i] != NO_MONTH && months[i] <= oldest) {
+                total -= amounts[i];
+                amounts[i] = 0;
+                months[i] = NO_MONTH;
+            }
+        }
+        newestMonth = month;
+        newestMonthStart = startOf(month);
+        newestMonthEnd = startOf(month + 1);
+    }
+
+    /**
+     * Index bulan kalender (tahun * 12 + bulan) di zona WIB.
+     */
+    static long monthOf(long epochMillis) {
+        LocalDate date = LocalDate.ofEpochDay(BusinessClock.epochDay(epochMillis));
+        return date.getYear() * 12L + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Epoch millis awal bulan berikutnya di zona WIB, yaitu saat bucket
+     * tertua keluar dari jendela dan total bisa berubah tanpa transaksi baru.
+     *
+     * @param epochMillis waktu acuan
+     * @return awal bulan setelah bulan {@code epochMillis}
+     *
+     * @since 3.0
+     */
+    static long nextMonthStart(long epochMillis) {
+        return startOf(monthOf(epochMillis) + 1);
+    }
+
+    /**
+     * Epoch millis awal bulan (index dari {@link #monthOf(long)}) di zona WIB.
+     */
+    private static long startOf(long month) {
+        LocalDate first = LocalDate.of((int) Math.floorDiv(month, 12L), (int) Math.floorMod(month, 12L) + 1, 1);
+        return BusinessClock.startOfDay(first);
+    }
+}
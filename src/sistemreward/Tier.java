@@ -0,0 +1,119 @@
+package sistemreward;
+
+/**
+ * Level membership dalam sistem reward loyalty program.
+ * 
+ * <p>Setiap tier membawa threshold poin minimum dan bonus rate default
+ * dalam basis points (1 bp = 0.01%). Nilai default ini bisa diganti
+ * lewat {@link TierTable} tanpa mengubah enum.</p>
+ * 
+ * <p><strong>Default tier:</strong></p>
+ * <table border="1">
+ *   <caption>Default Threshold dan Bonus</caption>
+ *   <thead>
+ *     <tr><th>Tier</th><th>Min Points</th><th>Bonus</th></tr>
+ *   </thead>
+ *   <tbody>
+ *     <tr><td>🥉 Bronze</td><td>0</td><td>0 bp (0%)</td></tr>
+ *     <tr><td>🥈 Silver</td><td>500</td><td>200 bp (+2%)</td></tr>
+ *     <tr><td>🥇 Gold</td><td>2000</td><td>500 bp (+5%)</td></tr>
+ *     <tr><td>💎 Platinum</td><td>5000</td><td>1000 bp (+10%)</td></tr>
+ *   </tbody>
+ * </table>
+ * 
+ * <p><strong>Design note:</strong> Urutan konstanta enum = urutan tier dari
+ * terendah ke tertinggi. {@link TierTable} bergantung pada urutan ini.</p>
+ * 
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ * 
+ * @see TierTable
+ * @see RewardSystem#getTier(Customer)
+ */
+public enum Tier {
+    /** Tier awal untuk semua member baru. */
+    BRONZE("🥉", "Bronze", 0, 0),
+    /** Tier kedua dengan bonus +2%. */
+    SILVER("🥈", "Silver", 500, 200),
+    /** Tier ketiga dengan bonus +5%. */
+    GOLD("🥇", "Gold", 2000, 500),
+    /** Tier tertinggi dengan bonus +10%. */
+    PLATINUM("💎", "Platinum", 5000, 1000);
+
+    private final String icon;
+    private final String label;
+    private final String displayName;
+    private final int defaultThreshold;
+    private final int defaultBonusBasisPoints;
+
+    Tier(String icon, String label, int defaultThreshold, int defaultBonusBasisPoints) {
+        this.icon = icon;
+        this.label = label;
+        this.displayName = icon + " " + label;
+        this.defaultThreshold = defaultThreshold;
+        this.defaultBonusBasisPoints = defaultBonusBasisPoints;
+    }
+
+    /**
+     * Getter untuk icon emoji tier.
+     * 
+     * @return icon tier (contoh: "🥇")
+     * 
+     * @since 3.0
+     */
+    public String getIcon() {
+        return icon;
+    }
+
+    /**
+     * Getter untuk nama tier tanpa icon.
+     * 
+     * @return nama tier (contoh: "Gold")
+     * 
+     * @since 3.0
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Getter untuk nama tier lengkap dengan icon, untuk ditampilkan ke user.
+     * 
+     * <p>String ini sudah dibuat sekali saat enum diinisialisasi, jadi
+     * aman dipanggil berulang kali tanpa alokasi.</p>
+     * 
+     * @return nama tier dengan emoji (contoh: "🥇 Gold")
+     * 
+     * @since 3.0
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Getter untuk threshold poin minimum default tier ini.
+     * 
+     * @return threshold poin default
+     * 
+     * @see TierTable#getThreshold(Tier)
+     * 
+     * @since 3.0
+     */
+    public int getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    /**
+     * Getter untuk bonus rate default tier ini dalam basis points.
+     * 
+     * @return bonus rate default (contoh: 500 = +5%)
+     * 
+     * @see TierTable#getBonusBasisPoints(Tier)
+     * 
+     * @since 3.0
+     */
+    public int getDefaultBonusBasisPoints() {
+        return defaultBonusBasisPoints;
+    }
+}
@@ -0,0 +1,115 @@
+package sistemreward;
+
+/**
+ * Event immutable saat tier seorang pelanggan berubah, naik maupun turun.
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TierChangePublisher
+ * @see TierChangeListener
+ */
+public final class TierChangeEvent {
+
+    private final long memberId;
+    private final String customerName;
+    private final Tier previousTier;
+    private final Tier newTier;
+    private final long epochMillis;
+
+    /**
+     * Constructor untuk event perubahan tier.
+     *
+     * @param memberId ID member (0 untuk pelanggan tanpa ID)
+     * @param customerName nama pelanggan
+     * @param previousTier tier sebelum perubahan
+     * @param newTier tier setelah perubahan
+     * @param epochMillis waktu perubahan
+     *
+     * @since 3.0
+     */
+    public TierChangeEvent(long memberId, String customerName, Tier previousTier, Tier newTier,
+                           long epochMillis) {
+        this.memberId = memberId;
+        this.customerName = customerName;
+        this.previousTier = previousTier;
+        this.newTier = newTier;
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Getter untuk ID member.
+     *
+     * @return ID member
+     *
+     * @since 3.0
+     */
+    public long getMemberId() {
+        return memberId;
+    }
+
+    /**
+     * Getter untuk nama pelanggan.
+     *
+     * @return nama pelanggan
+     *
+     * @since 3.0
+     */
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /**
+     * Getter untuk tier sebelum perubahan.
+     *
+     * @return tier lama
+     *
+     * @since 3.0
+     */
+    public Tier getPreviousTier() {
+        return previousTier;
+    }
+
+    /**
+     * Getter untuk tier setelah perubahan.
+     *
+     * @return tier baru
+     *
+     * @since 3.0
+     */
+    public Tier getNewTier() {
+        return newTier;
+    }
+
+    /**
+     * Getter untuk waktu perubahan.
+     *
+     * @return waktu perubahan dalam epoch millis
+     *
+     * @since 3.0
+     */
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    /**
+     * Mengecek apakah pelanggan naik tier.
+     *
+     * @return {@code true} jika tier baru lebih tinggi dari tier lama
+     *
+     * @since 3.0
+     */
+    public boolean isUpgrade() {
+        return newTier.ordinal() > previousTier.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return "TierChangeEvent[memberId=" + memberId
+                + ", customerName=" + customerName
+                + ", previousTier=" + previousTier
+                + ", newTier=" + newTier
+                + ", epochMillis=" + epochMillis + "]";
+    }
+}
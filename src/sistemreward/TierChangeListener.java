@@ -0,0 +1,27 @@
+package sistemreward;
+
+/**
+ * Subscriber untuk perubahan tier pelanggan, misalnya pengirim e-mail atau sinkronisasi CRM.
+ *
+ * <p>Listener dipanggil di thread milik {@link TierChangePublisher}, tidak pernah
+ * di thread accrual, sehingga listener boleh lambat atau melakukan I/O.
+ * Untuk satu listener, event dikirim satu per satu sesuai urutan publish.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TierChangePublisher#subscribe(String, TierChangeListener)
+ */
+@FunctionalInterface
+public interface TierChangeListener {
+
+    /**
+     * Dipanggil sekali untuk setiap perubahan tier.
+     *
+     * @param event detail perubahan tier
+     *
+     * @since 3.0
+     */
+    void onTierChanged(TierChangeEvent event);
+}
@@ -0,0 +1,454 @@
+package sistemreward;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publish/subscribe untuk {@link TierChangeEvent}.
+ *
+ * <p>Setiap listener punya antrian sendiri yang dikosongkan oleh satu task di
+ * {@link Executor} (default: satu virtual thread per task). Publish hanya
+ * memasukkan event ke antrian setiap listener, jadi listener yang lambat
+ * (e-mail, sinkronisasi CRM) tidak pernah menahan accrual maupun listener lain.</p>
+ *
+ * <p><strong>Jaminan pengiriman:</strong></p>
+ * <ul>
+ *   <li>🔁 Satu listener tidak pernah dipanggil bersamaan dari dua thread,
+ *       dan menerima event sesuai urutan publish</li>
+ *   <li>📦 Antrian per listener dibatasi; event yang melebihi kapasitas dibuang
+ *       dan dihitung di {@link Subscription#getDropped()}</li>
+ *   <li>🛑 Jika executor menolak task (misalnya sudah di-shutdown), event yang
+ *       menunggu di antrian dibuang dan juga dihitung sebagai dropped</li>
+ *   <li>⚠️ Exception dari listener dihitung di {@link Subscription#getFailed()}
+ *       dan tidak menghentikan pengiriman event berikutnya</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * TierChangePublisher.Subscription crm = rewardSystem.getTierChangePublisher()
+ *         .subscribe("crm-sync", event -> crmClient.updateTier(event.getMemberId(), event.getNewTier()));
+ *
+ * // Metrics
+ * System.out.println(crm.getQueueDepth() + " antri, lag " + crm.getCurrentLagNanos() + " ns");
+ *
+ * // Saat aplikasi berhenti: kirim sisa antrian lalu hentikan virtual thread
+ * rewardSystem.getTierChangePublisher().close();
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#getTierChangePublisher()
+ */
+public class TierChangePublisher implements AutoCloseable {
+
+    /**
+     * Kapasitas default antrian per listener.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    private final Executor executor;
+    /** Executor yang dibuat sendiri oleh publisher dan ikut dihentikan di {@link #close()}; null jika dari luar. */
+    private final ExecutorService ownedExecutor;
+    private volatile Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+    private volatile boolean closed;
+
+    /**
+     * Constructor default: setiap listener dijalankan di virtual thread.
+     *
+     * @since 3.0
+     */
+    public TierChangePublisher() {
+        this(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tier-listener-", 0).factory()), true);
+    }
+
+    /**
+     * Constructor dengan executor sendiri, misalnya thread pool berukuran tetap.
+     *
+     * <p>Executor tetap milik pemanggil: {@link #close()} tidak menghentikannya.</p>
+     *
+     * @param executor executor tempat listener dijalankan
+     *
+     * @since 3.0
+     */
+    public TierChangePublisher(Executor executor) {
+        this(executor, false);
+    }
+
+    private TierChangePublisher(Executor executor, boolean owned) {
+        this.executor = executor;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Mendaftarkan listener dengan kapasitas antrian default.
+     *
+     * @param name nama listener untuk metrics
+     * @param listener listener yang dipanggil untuk setiap perubahan tier
+     * @return handle subscription berisi metrics listener
+     *
+     * @since 3.0
+     */
+    public Subscription subscribe(String name, TierChangeListener listener) {
+        return subscribe(name, listener, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Mendaftarkan listener dengan kapasitas antrian tertentu.
+     *
+     * @param name nama listener untuk metrics
+     * @param listener listener yang dipanggil untuk setiap perubahan tier
+     * @param queueCapacity jumlah maksimum event yang menunggu untuk listener ini
+     * @return handle subscription berisi metrics listener
+     *
+     * @throws IllegalArgumentException jika queueCapacity tidak positif
+     *
+     * @since 3.0
+     */
+    public synchronized Subscription subscribe(String name, TierChangeListener listener, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Kapasitas antrian harus positif: " + queueCapacity);
+        }
+        Subscription subscription = new Subscription(name, listener, queueCapacity, executor);
+        Subscription[] current = subscriptions;
+        Subscription[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = subscription;
+        subscriptions = next;
+        return subscription;
+    }
+
+    /**
+     * Melepas listener. Event yang sudah di antrian tetap dikirim.
+     *
+     * @param subscription handle dari {@link #subscribe(String, TierChangeListener)}
+     * @return {@code true} jika listener ditemukan dan dilepas
+     *
+     * @since 3.0
+     */
+    public synchronized boolean unsubscribe(Subscription subscription) {
+        Subscription[] current = subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscription) {
+                Subscription[] next = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                subscriptions = next;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mengecek apakah ada listener terdaftar.
+     *
+     * <p>Dipakai {@link RewardSystem} supaya tidak membuat event sama sekali
+     * jika tidak ada yang mendengarkan.</p>
+     *
+     * @return {@code true} jika minimal satu listener terdaftar
+     *
+     * @since 3.0
+     */
+    public boolean hasSubscribers() {
+        return subscriptions.length > 0;
+    }
+
+    /**
+     * Mengirim event ke antrian setiap listener tanpa menunggu listener selesai.
+     *
+     * @param event perubahan tier
+     *
+     * @since 3.0
+     */
+    public void publish(TierChangeEvent event) {
+        boolean rejected = closed;
+        for (Subscription subscription : subscriptions) {
+            if (rejected) {
+                subscription.dropped.increment();
+            } else {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Menghentikan publisher.
+     *
+     * <p>Event yang dipublish setelah close dibuang dan dihitung sebagai dropped.
+     * Jika publisher memakai executor default, method ini menunggu sampai antrian
+     * yang sudah terjadwal selesai dikirim lalu menghentikan executor tersebut.
+     * Executor dari luar tidak dihentikan.</p>
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownedExecutor != null) {
+            ownedExecutor.close();
+        }
+    }
+
+    /**
+     * Getter untuk semua subscription yang aktif.
+     *
+     * @return daftar subscription (snapshot)
+     *
+     * @since 3.0
+     */
+    public List<Subscription> getSubscriptions() {
+        return List.of(subscriptions);
+    }
+
+    /**
+     * Ringkasan metrics semua listener, satu baris per listener.
+     *
+     * @return teks metrics
+     *
+     * @since 3.0
+     */
+    public String dumpMetrics() {
+        List<String> lines = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            lines.add(subscription.toString());
+        }
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Satu listener terdaftar beserta antrian dan metrics-nya.
+     *
+     * @since 3.0
+     */
+    public static final class Subscription {
+
+        private final String name;
+        private final TierChangeListener listener;
+        private final int queueCapacity;
+        private final Executor executor;
+
+        private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queueDepth = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        private volatile long lastLagNanos;
+
+        private Subscription(String name, TierChangeListener listener, int queueCapacity, Executor executor) {
+            this.name = name;
+            this.listener = listener;
+            this.queueCapacity = queueCapacity;
+            this.executor = executor;
+        }
+
+        /**
+         * Memasukkan event ke antrian dan menjadwalkan drain jika belum berjalan.
+         */
+        private void offer(TierChangeEvent event) {
+            if (queueDepth.incrementAndGet() > queueCapacity) {
+                queueDepth.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            queue.offer(new Pending(event, System.nanoTime()));
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    discard();
+                }
+            }
+        }
+
+        /**
+         * Membuang isi antrian saat executor menolak drain.
+         *
+         * <p>Dipanggil selagi flag {@code scheduled} dipegang, jadi tidak bisa
+         * bersamaan dengan {@link #drain()}. Tanpa ini event tetap tercatat di
+         * queueDepth tetapi tidak pernah dikirim maupun dihitung.</p>
+         */
+        private void discard() {
+            do {
+                while (queue.poll() != null) {
+                    queueDepth.decrementAndGet();
+                    dropped.increment();
+                }
+                scheduled.set(false);
+            } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        /**
+         * Mengirim semua event di antrian ke listener, satu per satu.
+         *
+         * <p>Setelah antrian kosong flag {@code scheduled} dilepas, lalu antrian
+         * dicek sekali lagi untuk event yang masuk di antara keduanya.</p>
+         */
+        private void drain() {
+            do {
+                Pending pending;
+                while ((pending = queue.poll()) != null) {
+                    queueDepth.decrementAndGet();
+                    long lag = System.nanoTime() - pending.publishedNanos;
+                    lastLagNanos = lag;
+                    if (lag > maxLagNanos.get()) {
+                        maxLagNanos.accumulateAndGet(lag, Math::max);
+                    }
+                    try {
+                        listener.onTierChanged(pending.event);
+                        delivered.increment();
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                    }
+                }
+                scheduled.set(false);
+            } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        /**
+         * Getter untuk nama listener.
+         *
+         * @return nama listener
+         *
+         * @since 3.0
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Getter untuk jumlah event yang menunggu dikirim ke listener ini.
+         *
+         * @return kedalaman antrian
+         *
+         * @since 3.0
+         */
+        public int getQueueDepth() {
+            return queueDepth.get();
+        }
+
+        /**
+         * Getter untuk kapasitas antrian listener ini.
+         *
+         * @return kapasitas antrian
+         *
+         * @since 3.0
+         */
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        /**
+         * Getter untuk jumlah event yang sudah diproses listener tanpa exception.
+         *
+         * @return jumlah event terkirim
+         *
+         * @since 3.0
+         */
+        public long getDelivered() {
+            return delivered.sum();
+        }
+
+        /**
+         * Getter untuk jumlah event yang dibuang karena antrian penuh, executor
+         * menolak task, atau publisher sudah ditutup.
+         *
+         * @return jumlah event dibuang
+         *
+         * @since 3.0
+         */
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        /**
+         * Getter untuk jumlah event yang membuat listener melempar exception.
+         *
+         * @return jumlah event gagal
+         *
+         * @since 3.0
+         */
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        /**
+         * Getter untuk lag event terakhir: waktu dari publish sampai listener mulai memprosesnya.
+         *
+         * @return lag dalam nanodetik
+         *
+         * @since 3.0
+         */
+        public long getLastLagNanos() {
+            return lastLagNanos;
+        }
+
+        /**
+         * Getter untuk lag terbesar sejak listener didaftarkan.
+         *
+         * @return lag maksimum dalam nanodetik
+         *
+         * @since 3.0
+         */
+        public long getMaxLagNanos() {
+            return maxLagNanos.get();
+        }
+
+        /**
+         * Getter untuk umur event tertua yang masih menunggu di antrian.
+         *
+         * @return lag saat ini dalam nanodetik, 0 jika antrian kosong
+         *
+         * @since 3.0
+         */
+        public long getCurrentLagNanos() {
+            Pending head = queue.peek();
+            return head == null ? 0 : Math.max(0, System.nanoTime() - head.publishedNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "Subscription[name=" + name
+                    + ", queueDepth=" + getQueueDepth() + "/" + queueCapacity
+                    + ", delivered=" + getDelivered()
+                    + ", dropped=" + getDropped()
+                    + ", failed=" + getFailed()
+                    + ", currentLagMs=" + getCurrentLagNanos() / 1_000_000
+                    + ", maxLagMs=" + getMaxLagNanos() / 1_000_000 + "]";
+        }
+    }
+
+    /**
+     * Event di antrian beserta waktu publish untuk menghitung lag.
+     */
+    private static final class Pending {
+        private final TierChangeEvent event;
+        private final long publishedNanos;
+
+        private Pending(TierChangeEvent event, long publishedNanos) {
+            this.event = event;
+            this.publishedNanos = publishedNanos;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package sistemreward;
+
+/**
+ * Dasar penentuan tier member.
+ *
+ * <p>Dengan {@link #ROLLING_SPEND}, belanja 12 bulan terakhir dikonversi ke
+ * poin dengan rate dasar (tanpa bonus tier), lalu dicocokkan ke threshold
+ * {@link TierTable} yang sama. Member yang menukar poin tidak turun tier,
+ * dan member yang berhenti belanja turun tier setelah belanjanya keluar
+ * dari jendela.</p>
+ *
+ * <p>Rolling spend tidak dipersistenkan journal; setelah restart bangun ulang
+ * dengan {@link RewardSystem#rebuildRollingSpend(CustomerRegistry)}.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#setTierQualification(TierQualification)
+ */
+public enum TierQualification {
+    /** Tier dari saldo poin saat ini (perilaku sejak 2.0). */
+    POINT_BALANCE,
+    /** Tier dari belanja dalam jendela bergulir {@link RollingSpend}. */
+    ROLLING_SPEND
+}
@@ -0,0 +1,166 @@
+package sistemreward;
+
+import java.util.Arrays;
+
+/**
+ * Tabel konfigurasi tier: threshold poin dan bonus rate untuk setiap {@link Tier}.
+ *
+ * <p>Objek ini immutable, sehingga satu instance aman dipakai bersama oleh
+ * banyak thread. Threshold disimpan dalam array primitif yang sudah terurut,
+ * dan {@link #lookup(long)} memakai binary search tanpa cabang (hasil
+ * perbandingan hanya memilih offset), tanpa alokasi dan tanpa perbandingan String.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * // Tier table promo: Silver lebih mudah dicapai, bonus Platinum lebih besar
+ * TierTable promo = new TierTable(
+ *         new long[] {0, 300, 2000, 5000},
+ *         new int[]  {0, 200, 500, 1500});
+ * RewardSystem system = new RewardSystem(promo);
+ *
+ * Tier tier = promo.lookup(750); // Tier.SILVER
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Tier
+ * @see RewardSystem#RewardSystem(TierTable)
+ */
+public final class TierTable {
+
+    private static final Tier[] TIERS = Tier.values();
+
+    /**
+     * Tier table default sesuai nilai yang dibawa setiap konstanta {@link Tier}.
+     *
+     * @since 3.0
+     */
+    public static final TierTable DEFAULT = createDefault();
+
+    private final long[] thresholds;
+    private final int[] bonusBasisPoints;
+
+    /**
+     * Constructor untuk membuat tier table dengan konfigurasi sendiri.
+     *
+     * <p>Index array mengikuti urutan {@link Tier#ordinal()}: index 0 = Bronze,
+     * index terakhir = Platinum. Array di-copy, jadi perubahan array asli
+     * setelahnya tidak berpengaruh.</p>
+     *
+     * @param thresholds threshold poin minimum per tier (index 0 harus 0, naik tegas)
+     * @param bonusBasisPoints bonus rate per tier dalam basis points (harus &gt;= 0)
+     *
+     * @throws IllegalArgumentException jika panjang array tidak sama dengan jumlah tier,
+     *         threshold tidak terurut naik, atau ada bonus negatif
+     *
+     * @since 3.0
+     */
+    public TierTable(long[] thresholds, int[] bonusBasisPoints) {
+        if (thresholds.length != TIERS.length || bonusBasisPoints.length != TIERS.length) {
+            throw new IllegalArgumentException("Tier table harus berisi tepat "
+                    + TIERS.length + " tier");
+        }
+        if (thresholds[0] != 0) {
+            throw new IllegalArgumentException("Threshold tier terendah harus 0");
+        }
+        for (int i = 0; i < TIERS.length; i++) {
+            if (i > 0 && thresholds[i] <= thresholds[i - 1]) {
+                throw new IllegalArgumentException("Threshold tier harus naik: "
+                        + Arrays.toString(thresholds));
+            }
+            if (bonusBasisPoints[i] < 0) {
+                throw new IllegalArgumentException("Bonus tier tidak boleh negatif: "
+                        + Arrays.toString(bonusBasisPoints));
+            }
+        }
+        this.thresholds = thresholds.clone();
+        this.bonusBasisPoints = bonusBasisPoints.clone();
+    }
+
+    private static TierTable createDefault() {
+        Tier[] tiers = Tier.values();
+        long[] thresholds = new long[tiers.length];
+        int[] bonus = new int[tiers.length];
+        for (Tier tier : tiers) {
+            thresholds[tier.ordinal()] = tier.getDefaultThreshold();
+            bonus[tier.ordinal()] = tier.getDefaultBonusBasisPoints();
+        }
+        return new TierTable(thresholds, bonus);
+    }
+
+    /**
+     * Menentukan tier untuk saldo poin tertentu.
+     *
+     * <p>Binary search mencari threshold terbesar yang &lt;= points. Setiap
+     * iterasi hanya memilih offset berdasarkan satu perbandingan, sehingga
+     * JIT bisa menerjemahkannya menjadi conditional move.</p>
+     *
+     * @param points saldo poin (nilai negatif dianggap tier terendah)
+     * @return tier yang sesuai (never null)
+     *
+     * @since 3.0
+     */
+    public Tier lookup(long points) {
+        long[] t = thresholds;
+        int base = 0;
+        int n = t.length;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = t[base + half] <= points ? base + half : base;
+            n -= half;
+        }
+        return TIERS[base];
+    }
+
+    /**
+     * Getter untuk threshold poin minimum sebuah tier.
+     *
+     * @param tier tier yang dicek
+     * @return threshold poin minimum
+     *
+     * @since 3.0
+     */
+    public long getThreshold(Tier tier) {
+        return thresholds[tier.ordinal()];
+    }
+
+    /**
+     * Getter untuk bonus rate sebuah tier dalam basis points.
+     *
+     * @param tier tier yang dicek
+     * @return bonus rate (contoh: 500 = +5%)
+     *
+     * @since 3.0
+     */
+    public int getBonusBasisPoints(Tier tier) {
+        return bonusBasisPoints[tier.ordinal()];
+    }
+
+    /**
+     * Mendapatkan tier satu level di atas tier tertentu.
+     *
+     * @param tier tier saat ini
+     * @return tier berikutnya, atau {@code null} jika sudah tier tertinggi
+     *
+     * @since 3.0
+     */
+    public Tier next(Tier tier) {
+        int index = tier.ordinal() + 1;
+        return index < TIERS.length ? TIERS[index] : null;
+    }
+
+    /**
+     * Menghitung sisa poin yang dibutuhkan untuk naik ke tier berikutnya.
+     *
+     * @param points saldo poin saat ini
+     * @return sisa poin ke tier berikutnya, atau {@code 0} jika sudah tier tertinggi
+     *
+     * @since 3.0
+     */
+    public long pointsToNextTier(long points) {
+        Tier next = next(lookup(points));
+        return next == null ? 0 : thresholds[next.ordinal()] - points;
+    }
+}
@@ -0,0 +1,78 @@
+package sistemreward;
+
+/**
+ * Satu transaksi dari {@link TransactionHistory} atau {@link TransactionLedger}, hasil query
+ * {@link TransactionHistory#stream(long, long)} dan {@link TransactionLedger#stream(long, long, long)}.
+ *
+ * <p>History sendiri tetap disimpan kolumnar; objek ini hanya dibuat saat
+ * stream dikonsumsi, satu per elemen. Untuk iterasi tanpa alokasi, pakai
+ * {@link TransactionHistory.Visitor}.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see TransactionHistory#stream(long, long)
+ * @see TransactionLedger#stream(long, long, long)
+ */
+public final class Transaction {
+
+    private final int index;
+    private final long amount;
+    private final long epochMillis;
+
+    /**
+     * Constructor untuk satu transaksi.
+     *
+     * @param index nomor urut transaksi di history (0-based)
+     * @param amount nominal transaksi dalam sen
+     * @param epochMillis waktu transaksi dalam epoch millis
+     *
+     * @since 3.0
+     */
+    public Transaction(int index, long amount, long epochMillis) {
+        this.index = index;
+        this.amount = amount;
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Getter untuk nomor urut transaksi.
+     *
+     * @return nomor urut di history (0-based), bisa dipakai sebagai cursor
+     *         {@link TransactionHistory#readBackward(long, int, TransactionHistory.Visitor)}
+     *
+     * @since 3.0
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Getter untuk nominal transaksi.
+     *
+     * @return nominal dalam sen
+     *
+     * @since 3.0
+     */
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Getter untuk waktu transaksi.
+     *
+     * @return waktu transaksi dalam epoch millis
+     *
+     * @since 3.0
+     */
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    @Override
+    public String toString() {
+        return (index + 1) + ". Rp " + Money.format(amount)
+                + " - " + TransactionHistory.formatTimestamp(epochMillis);
+    }
+}
@@ -0,0 +1,152 @@
+package sistemreward;
+
+import java.util.Arrays;
+
+/**
+ * Kumpulan transaksi {@code (memberId, amount, timestamp)} untuk diproses sekaligus.
+ *
+ * <p>Data disimpan secara kolumnar dalam tiga array primitif yang tumbuh otomatis,
+ * bukan sebagai list objek. Satu baris transaksi hanya memakan 24 byte dan
+ * batch bisa di-{@link #clear()} lalu dipakai ulang untuk upload berikutnya.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * TransactionBatch batch = new TransactionBatch(1024);
+ * batch.add(1001L, Money.ofRupiah(150000), System.currentTimeMillis());
+ * batch.add(1002L, Money.ofRupiah(75000), System.currentTimeMillis());
+ *
+ * BatchResult result = rewardSystem.processBatch(registry, batch);
+ * }</pre>
+ *
+ * <p><strong>⚠️ Important:</strong> Class ini tidak thread-safe; isi batch dari
+ * satu thread lalu serahkan ke {@link RewardSystem#processBatch(CustomerRegistry, TransactionBatch)}.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see BatchResult
+ */
+public final class TransactionBatch {
+
+    private long[] memberIds;
+    private long[] amounts;
+    private long[] timestamps;
+    private int size;
+
+    /**
+     * Constructor dengan kapasitas awal tertentu.
+     *
+     * @param initialCapacity perkiraan jumlah transaksi (minimal 1)
+     *
+     * @since 3.0
+     */
+    public TransactionBatch(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        memberIds = new long[capacity];
+        amounts = new long[capacity];
+        timestamps = new long[capacity];
+    }
+
+    /**
+     * Membungkus tiga array paralel menjadi batch (array di-copy).
+     *
+     * @param memberIds ID member per transaksi
+     * @param amounts nominal per transaksi dalam sen
+     * @param timestamps waktu transaksi dalam epoch millis
+     * @return batch baru berisi semua baris
+     *
+     * @throws IllegalArgumentException jika panjang ketiga array berbeda
+     *
+     * @since 3.0
+     */
+    public static TransactionBatch of(long[] memberIds, long[] amounts, long[] timestamps) {
+        if (memberIds.length != amounts.length || amounts.length != timestamps.length) {
+            throw new IllegalArgumentException("Panjang array batch harus sama");
+        }
+        TransactionBatch batch = new TransactionBatch(memberIds.length);
+        System.arraycopy(memberIds, 0, batch.memberIds, 0, memberIds.length);
+        System.arraycopy(amounts, 0, batch.amounts, 0, amounts.length);
+        System.arraycopy(timestamps, 0, batch.timestamps, 0, timestamps.length);
+        batch.size = memberIds.length;
+        return batch;
+    }
+
+    /**
+     * Menambahkan satu transaksi ke batch.
+     *
+     * @param memberId ID member
+     * @param amount nominal transaksi dalam sen
+     * @param timestamp waktu transaksi dalam epoch millis
+     *
+     * @since 3.0
+     */
+    public void add(long memberId, long amount, long timestamp) {
+        if (size == memberIds.length) {
+            int capacity = memberIds.length << 1;
+            memberIds = Arrays.copyOf(memberIds, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        memberIds[size] = memberId;
+        amounts[size] = amount;
+        timestamps[size] = timestamp;
+        size++;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi di batch.
+     *
+     * @return jumlah baris
+     *
+     * @since 3.0
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Getter untuk ID member pada baris tertentu.
+     *
+     * @param index nomor baris (0-based)
+     * @return ID member
+     *
+     * @since 3.0
+     */
+    public long getMemberId(int index) {
+        return memberIds[index];
+    }
+
+    /**
+     * Getter untuk nominal transaksi pada baris tertentu.
+     *
+     * @param index nomor baris (0-based)
+     * @return nominal dalam sen
+     *
+     * @since 3.0
+     */
+    public long getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Getter untuk timestamp transaksi pada baris tertentu.
+     *
+     * @param index nomor baris (0-based)
+     * @return waktu transaksi dalam epoch millis
+     *
+     * @since 3.0
+     */
+    public long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * Mengosongkan batch tanpa melepas array internal, supaya bisa dipakai ulang.
+     *
+     * @since 3.0
+     */
+    public void clear() {
+        size = 0;
+    }
+}
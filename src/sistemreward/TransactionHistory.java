@@ -0,0 +1,320 @@
+package sistemreward;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Riwayat transaksi satu pelanggan dalam format kolumnar (array primitif).
+ *
+ * <p>Setiap transaksi disimpan sebagai satu elemen di {@code long[] amounts}
+ * dan satu elemen di {@code long[] epochMillis} - 16 byte per transaksi,
+ * tanpa objek per transaksi, tanpa {@code java.util.Date}, dan tanpa
+ * referensi tersembunyi ke outer class. Array tumbuh 1.5× saat penuh.</p>
+ *
+ * <p><strong>Concurrency model:</strong></p>
+ * <ul>
+ *   <li>✏️ {@link #append(long, long)} diserialkan antar writer, lalu mempublikasikan
+ *       array dan {@code size} lewat field volatile (size ditulis paling akhir)</li>
+ *   <li>🔍 Pembaca membaca {@code size} dulu, baru array. Elemen di bawah
+ *       {@code size} tidak pernah diubah lagi, jadi iterasi berjalan tanpa lock
+ *       dan tidak menghalangi transaksi baru</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * TransactionHistory history = customer.getTransactionHistory();
+ * history.forEach((index, amount, epochMillis) ->
+ *         System.out.println(index + ": " + Money.format(amount)));
+ *
+ * // Semua transaksi bulan ini
+ * history.forEachInRange(startOfMonth, endOfMonth, visitor);
+ *
+ * // Sama, sebagai stream lazy
+ * long total = history.stream(startOfMonth, endOfMonth).mapToLong(Transaction::getAmount).sum();
+ *
+ * // Halaman demi halaman, terbaru lebih dulu
+ * long cursor = TransactionLedger.NEWEST;
+ * while (cursor != TransactionLedger.END) {
+ *     cursor = history.readBackward(cursor, 20, visitor);
+ * }
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#getTransactionHistory()
+ */
+public final class TransactionHistory {
+
+    /**
+     * Kapasitas awal array; kebanyakan member hanya punya sedikit transaksi.
+     *
+     * @since 3.0
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Format tanggal dan waktu transaksi untuk ditampilkan ({@code dd/MM/yyyy HH:mm:ss},
+     * zona {@link BusinessClock#ZONE}, bukan zona default JVM).
+     *
+     * <p>{@link DateTimeFormatter} immutable dan thread-safe, jadi satu instance
+     * dipakai bersama oleh semua tampilan history, tidak seperti
+     * {@code SimpleDateFormat} yang harus dibuat ulang setiap kali dipakai.</p>
+     *
+     * @since 3.0
+     */
+    public static final DateTimeFormatter TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss").withZone(BusinessClock.ZONE);
+
+    private volatile long[] amounts = new long[INITIAL_CAPACITY];
+    private volatile long[] epochMillis = new long[INITIAL_CAPACITY];
+    private volatile boolean sorted = true;
+    private volatile int size;
+
+    /**
+     * Visitor untuk iterasi transaksi tanpa membuat objek per transaksi.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Dipanggil sekali untuk setiap transaksi, urut sesuai urutan dicatat.
+         *
+         * @param index nomor urut transaksi (0-based)
+         * @param amount nominal transaksi dalam sen
+         * @param epochMillis waktu transaksi dalam epoch millis
+         */
+        void visit(int index, long amount, long epochMillis);
+    }
+
+    /**
+     * Menambahkan satu transaksi ke akhir riwayat.
+     *
+     * @param amount nominal transaksi dalam sen
+     * @param epochMillis waktu transaksi dalam epoch millis
+     *
+     * @since 3.0
+     */
+    public synchronized void append(long amount, long epochMillis) {
+        int n = size;
+        long[] a = amounts;
+        long[] t = this.epochMillis;
+        if (n == a.length) {
+            int capacity = a.length + (a.length >>> 1) + 1;
+            a = Arrays.copyOf(a, capacity);
+            t = Arrays.copyOf(t, capacity);
+        }
+        a[n] = amount;
+        t[n] = epochMillis;
+        if (n > 0 && t[n - 1] > epochMillis) {
+            sorted = false;
+        }
+        amounts = a;
+        this.epochMillis = t;
+        size = n + 1;
+    }
+
+    /**
+     * Getter untuk jumlah transaksi yang tercatat.
+     *
+     * @return jumlah transaksi
+     *
+     * @since 3.0
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mengecek apakah belum ada transaksi sama sekali.
+     *
+     * @return {@code true} jika riwayat kosong
+     *
+     * @since 3.0
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Iterasi semua transaksi dari yang paling lama.
+     *
+     * @param visitor callback untuk setiap transaksi
+     *
+     * @since 3.0
+     */
+    public void forEach(Visitor visitor) {
+        int n = size;
+        long[] a = amounts;
+        long[] t = epochMillis;
+        for (int i = 0; i < n; i++) {
+            visitor.visit(i, a[i], t[i]);
+        }
+    }
+
+    /**
+     * Iterasi transaksi dengan waktu di rentang {@code [fromMillis, toMillis)}.
+     *
+     * <p>Jika transaksi dicatat dengan timestamp yang naik (kasus normal),
+     * awal rentang dicari dengan binary search sehingga biayanya
+     * {@code O(log n + hasil)}. Jika ada transaksi yang masuk dengan timestamp
+     * mundur (misalnya dari batch upload), fallback ke scan linear.</p>
+     *
+     * @param fromMillis awal rentang (inklusif), epoch millis
+     * @param toMillis akhir rentang (eksklusif), epoch millis
+     * @param visitor callback untuk setiap transaksi dalam rentang
+     *
+     * @since 3.0
+     */
+    public void forEachInRange(long fromMillis, long toMillis, Visitor visitor) {
+        int n = size;
+        long[] a = amounts;
+        long[] t = epochMillis;
+        if (sorted) {
+            for (int i = lowerBound(t, n, fromMillis); i < n; i++) {
+                long time = t[i];
+                if (time >= toMillis) {
+                    break;
+                }
+                visitor.visit(i, a[i], time);
+            }
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            long time = t[i];
+            if (time >= fromMillis && time < toMillis) {
+                visitor.visit(i, a[i], time);
+            }
+        }
+    }
+
+    /**
+     * Stream lazy transaksi dengan waktu di rentang {@code [fromMillis, toMillis)},
+     * urut dari yang paling lama.
+     *
+     * <p>Stream membaca snapshot history saat method ini dipanggil; transaksi
+     * yang dicatat setelahnya tidak ikut. Objek {@link Transaction} baru dibuat
+     * saat elemen dikonsumsi, jadi {@code limit}/{@code findFirst} tidak
+     * menyentuh sisa rentang. Seperti {@link #forEachInRange(long, long, Visitor)},
+     * batas rentang dicari dengan binary search jika timestamp history naik.</p>
+     *
+     * @param fromMillis awal rentang (inklusif), epoch millis
+     * @param toMillis akhir rentang (eksklusif), epoch millis
+     * @return stream transaksi dalam rentang
+     *
+     * @since 3.0
+     */
+    public Stream<Transaction> stream(long fromMillis, long toMillis) {
+        int n = size;
+        long[] a = amounts;
+        long[] t = epochMillis;
+        IntStream indexes;
+        if (sorted) {
+            indexes = IntStream.range(lowerBound(t, n, fromMillis), lowerBound(t, n, toMillis));
+        } else {
+            indexes = IntStream.range(0, n).filter(i -> t[i] >= fromMillis && t[i] < toMillis);
+        }
+        return indexes.mapToObj(i -> new Transaction(i, a[i], t[i]));
+    }
+
+    /**
+     * Membaca history dari yang terbaru ke yang terlama, maksimal {@code limit} transaksi.
+     *
+     * <p>Cursor adalah nomor urut transaksi berikutnya yang dibaca, sama dengan
+     * konvensi {@link TransactionLedger#readBackward(long, long, int, Visitor)}.
+     * Halaman ke-N langsung dibaca dari posisinya, jadi biayanya {@code O(limit)}
+     * berapapun panjang history.</p>
+     *
+     * @param cursor {@link TransactionLedger#NEWEST} untuk halaman pertama,
+     *               atau cursor hasil pemanggilan sebelumnya
+     * @param limit jumlah maksimum transaksi yang dibaca
+     * @param visitor callback per transaksi
+     * @return cursor untuk halaman berikutnya, atau {@link TransactionLedger#END} jika history sudah habis
+     *
+     * @throws IllegalArgumentException jika cursor di luar rentang history
+     *
+     * @since 3.0
+     */
+    public long readBackward(long cursor, int limit, Visitor visitor) {
+        int n = size;
+        long[] a = amounts;
+        long[] t = epochMillis;
+        if (cursor == TransactionLedger.NEWEST) {
+            cursor = n - 1L;
+        } else if (cursor < TransactionLedger.END || cursor >= n) {
+            throw new IllegalArgumentException("Cursor " + cursor + " di luar rentang history (" + n + " transaksi)");
+        }
+        int index = (int) cursor;
+        for (int read = 0; read < limit && index >= 0; read++, index--) {
+            visitor.visit(index, a[index], t[index]);
+        }
+        return index < 0 ? TransactionLedger.END : index;
+    }
+
+    /**
+     * Format waktu transaksi dengan {@link #TIMESTAMP_FORMAT}.
+     *
+     * @param epochMillis waktu transaksi dalam epoch millis
+     * @return contoh: {@code "26/10/2025 14:30:45"}
+     *
+     * @since 3.0
+     */
+    public static String formatTimestamp(long epochMillis) {
+        return TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(epochMillis));
+    }
+
+    /**
+     * Getter untuk nominal transaksi ke-{@code index}.
+     *
+     * @param index nomor urut transaksi (0-based)
+     * @return nominal dalam sen
+     *
+     * @throws IndexOutOfBoundsException jika index di luar jumlah transaksi
+     *
+     * @since 3.0
+     */
+    public long getAmount(int index) {
+        checkIndex(index, size);
+        return amounts[index];
+    }
+
+    /**
+     * Getter untuk waktu transaksi ke-{@code index}.
+     *
+     * @param index nomor urut transaksi (0-based)
+     * @return waktu transaksi dalam epoch millis
+     *
+     * @throws IndexOutOfBoundsException jika index di luar jumlah transaksi
+     *
+     * @since 3.0
+     */
+    public long getEpochMillis(int index) {
+        checkIndex(index, size);
+        return epochMillis[index];
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index transaksi " + index + ", jumlah " + size);
+        }
+    }
+
+    private static int lowerBound(long[] sorted, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
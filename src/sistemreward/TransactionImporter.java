@@ -0,0 +1,528 @@
+package sistemreward;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Import file transaksi besar (CSV atau NDJSON) langsung ke engine accrual.
+ *
+ * <p>File dibaca lewat {@link FileChannel} ke satu buffer berukuran tetap yang
+ * dipakai ulang, lalu setiap baris di-parse langsung dari byte - tanpa
+ * {@code String}, tanpa {@code split}, tanpa objek per baris. Baris yang sudah
+ * di-parse dikumpulkan ke satu {@link TransactionBatch} yang juga dipakai ulang
+ * dan diserahkan ke engine setiap {@code batchSize} baris. Memori yang dipakai
+ * hanya buffer + satu batch, berapapun ukuran filenya.</p>
+ *
+ * <p><strong>Format yang didukung</strong> (satu transaksi per baris, nominal dalam Rupiah):</p>
+ * <pre>
+ * # CSV - pemisah ',' atau ';', header opsional
+ * memberId,amount,timestamp
+ * 1001,150000,1730000000000
+ * 1002,75000.50,1730000000123
+ *
+ * # NDJSON - urutan field bebas, field lain diabaikan
+ * {"memberId":1001,"amount":150000,"timestamp":1730000000000}
+ * </pre>
+ *
+ * <p>{@code timestamp} adalah epoch millis. Nominal boleh punya pecahan;
+ * lebih dari 2 digit desimal dibulatkan HALF_UP ke sen, sama seperti
+ * {@link Money#ofRupiah(java.math.BigDecimal)}. Baris yang tidak valid dihitung
+ * di {@link ImportResult#getMalformedLines()} dan dilewati; import tetap berjalan.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * TransactionImporter importer = new TransactionImporter(rewardSystem, registry);
+ * ImportResult result = importer.importFile(Path.of("pos-2025-01-31.csv"));
+ * System.out.printf("%d transaksi, %.0f MB/s%n", result.getAppliedRecords(), result.getMegabytesPerSecond());
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#processBatch(CustomerRegistry, TransactionBatch)
+ */
+public final class TransactionImporter {
+
+    /**
+     * Format file transaksi.
+     *
+     * @since 3.0
+     */
+    public enum Format {
+        /** Tiga kolom {@code memberId,amount,timestamp}. */
+        CSV,
+        /** Satu objek JSON per baris. */
+        NDJSON;
+
+        /**
+         * Menebak format dari ekstensi file: {@code .ndjson}, {@code .jsonl},
+         * dan {@code .json} dianggap NDJSON, selain itu CSV.
+         *
+         * @param file path file
+         * @return format file
+         *
+         * @since 3.0
+         */
+        public static Format detect(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")
+                    ? NDJSON : CSV;
+        }
+    }
+
+    /**
+     * Penerima batch hasil parsing, biasanya {@link RewardSystem#processBatch(CustomerRegistry, TransactionBatch)}.
+     *
+     * <p>Batch dikosongkan dan dipakai ulang setelah method ini kembali, jadi
+     * implementasi tidak boleh menyimpan referensinya.</p>
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    public interface BatchHandler {
+        /**
+         * Memproses satu batch transaksi.
+         *
+         * @param batch transaksi hasil parsing
+         * @return ringkasan hasil batch
+         */
+        BatchResult process(TransactionBatch batch);
+    }
+
+    /**
+     * Jumlah baris per batch default.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_BATCH_SIZE = 65_536;
+
+    /**
+     * Ukuran buffer baca default; juga panjang maksimum satu baris.
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final byte[] KEY_MEMBER_ID = "memberId".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_AMOUNT = "amount".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_TIMESTAMP = "timestamp".getBytes(StandardCharsets.US_ASCII);
+    private static final int ALL_FIELDS = 0b111;
+
+    private final BatchHandler handler;
+    private final int batchSize;
+    private final int bufferSize;
+
+    /**
+     * Constructor yang meneruskan setiap batch ke
+     * {@link RewardSystem#processBatch(CustomerRegistry, TransactionBatch)}.
+     *
+     * @param rewardSystem engine reward
+     * @param registry registry member
+     *
+     * @since 3.0
+     */
+    public TransactionImporter(RewardSystem rewardSystem, CustomerRegistry registry) {
+        this(batch -> rewardSystem.processBatch(registry, batch), DEFAULT_BATCH_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor dengan penerima batch dan ukuran sendiri.
+     *
+     * @param handler penerima setiap batch
+     * @param batchSize jumlah baris per batch
+     * @param bufferSize ukuran buffer baca dalam byte, sekaligus panjang maksimum satu baris
+     *
+     * @throws IllegalArgumentException jika batchSize atau bufferSize tidak positif
+     *
+     * @since 3.0
+     */
+    public TransactionImporter(BatchHandler handler, int batchSize, int bufferSize) {
+        if (batchSize <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("batchSize dan bufferSize harus positif");
+        }
+        this.handler = handler;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Import file dengan format ditebak dari ekstensinya.
+     *
+     * @param file path file transaksi
+     * @return ringkasan import
+     *
+     * @throws IOException jika file gagal dibaca atau ada baris yang lebih panjang dari buffer
+     *
+     * @see Format#detect(Path)
+     *
+     * @since 3.0
+     */
+    public ImportResult importFile(Path file) throws IOException {
+        return importFile(file, Format.detect(file));
+    }
+
+    /**
+     * Import file dengan format tertentu.
+     *
+     * @param file path file transaksi
+     * @param format format file
+     * @return ringkasan import
+     *
+     * @throws IOException jika file gagal dibaca atau ada baris yang lebih panjang dari buffer
+     *
+     * @since 3.0
+     */
+    public ImportResult importFile(Path file, Format format) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return importChannel(channel, format);
+        }
+    }
+
+    /**
+     * Import dari channel apapun, misalnya socket atau pipe.
+     *
+     * @param channel sumber data, dibaca sampai habis (tidak ditutup)
+     * @param format format data
+     * @return ringkasan import
+     *
+     * @throws IOException jika channel gagal dibaca atau ada baris yang lebih panjang dari buffer
+     *
+     * @since 3.0
+     */
+    public ImportResult importChannel(ReadableByteChannel channel, Format format) throws IOException {
+        return new Run(format).read(channel);
+    }
+
+    /**
+     * State satu import: buffer, batch, counter, dan hasil parsing baris terakhir.
+     */
+    private final class Run {
+        private final boolean csv;
+        private final byte[] data = new byte[bufferSize];
+        private final TransactionBatch batch = new TransactionBatch(batchSize);
+
+        private long bytes;
+        private long lineNumber;
+        private long lines;
+        private long malformed;
+        private long firstMalformed = -1;
+        private long records;
+        private long applied;
+        private long unknown;
+        private long rejected;
+        private long memberUpdates;
+        private long pointsEarned;
+        private long tierChanges;
+        private int batches;
+
+        /** Hasil parse angka terakhir; posisi dikembalikan lewat return value. */
+        private long value;
+        private long memberId;
+        private long amount;
+        private long timestamp;
+
+        Run(Format format) {
+            this.csv = format == Format.CSV;
+        }
+
+        ImportResult read(ReadableByteChannel channel) throws IOException {
+            long start = System.nanoTime();
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (true) {
+                int n = channel.read(buffer);
+                if (n > 0) {
+                    bytes += n;
+                }
+                int filled = buffer.position();
+                int lineStart = 0;
+                for (int i = lineStart; i < filled; i++) {
+                    if (data[i] == '\n') {
+                        line(lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+                if (n < 0) {
+                    if (lineStart < filled) {
+                        line(lineStart, filled);
+                    }
+                    break;
+                }
+                int rest = filled - lineStart;
+                if (rest == data.length) {
+                    throw new IOException("Baris " + (lineNumber + 1) + " lebih panjang dari buffer "
+                            + data.length + " byte");
+                }
+                System.arraycopy(data, lineStart, data, 0, rest);
+                buffer.position(rest);
+            }
+            flush();
+            return new ImportResult(bytes, lines, malformed, firstMalformed, records, applied, unknown,
+                    rejected, memberUpdates, pointsEarned, tierChanges, batches, System.nanoTime() - start);
+        }
+
+        private void line(int from, int to) {
+            lineNumber++;
+            if (to > from && data[to - 1] == '\r') {
+                to--;
+            }
+            from = skipSpaces(from, to);
+            if (from == to) {
+                return;
+            }
+            if (csv && lineNumber == 1 && !isDigit(data[from])) {
+                return;
+            }
+            lines++;
+            boolean parsed = csv ? parseCsv(from, to) : parseJson(from, to);
+            if (!parsed) {
+                malformed++;
+                if (firstMalformed < 0) {
+                    firstMalformed = lineNumber;
+                }
+                return;
+            }
+            batch.add(memberId, amount, timestamp);
+            records++;
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch.size() == 0) {
+                return;
+            }
+            BatchResult result = handler.process(batch);
+            applied += result.getAppliedRecords();
+            unknown += result.getUnknownMemberRecords();
+            rejected += result.getRejectedRecords();
+            memberUpdates += result.getMembers();
+            pointsEarned += result.getPointsEarned();
+            tierChanges += result.getTierChanges();
+            batches++;
+            batch.clear();
+        }
+
+        private boolean parseCsv(int p, int to) {
+            p = parseInteger(p, to);
+            if (p < 0) {
+                return false;
+            }
+            memberId = value;
+            p = separator(p, to);
+            if (p < 0) {
+                return false;
+            }
+            p = parseAmount(p, to);
+            if (p < 0) {
+                return false;
+            }
+            amount = value;
+            p = separator(p, to);
+            if (p < 0) {
+                return false;
+            }
+            p = parseInteger(p, to);
+            if (p < 0) {
+                return false;
+            }
+            timestamp = value;
+            return skipSpaces(p, to) == to;
+        }
+
+        private int separator(int p, int to) {
+            p = skipSpaces(p, to);
+            if (p == to || (data[p] != ',' && data[p] != ';')) {
+                return -1;
+            }
+            return skipSpaces(p + 1, to);
+        }
+
+        private boolean parseJson(int p, int to) {
+            if (data[p] != '{') {
+                return false;
+            }
+            p = skipSpaces(p + 1, to);
+            int seen = 0;
+            if (p < to && data[p] == '}') {
+                return false;
+            }
+            while (true) {
+                if (p == to || data[p] != '"') {
+                    return false;
+                }
+                int keyStart = ++p;
+                while (p < to && data[p] != '"') {
+                    if (data[p] == '\\') {
+                        return false;
+                    }
+                    p++;
+                }
+                if (p == to) {
+                    return false;
+                }
+                int keyEnd = p;
+                p = skipSpaces(p + 1, to);
+                if (p == to || data[p] != ':') {
+                    return false;
+                }
+                p = skipSpaces(p + 1, to);
+                if (p == to) {
+                    return false;
+                }
+                int field = field(keyStart, keyEnd);
+                boolean quoted = data[p] == '"';
+                if (field >= 0) {
+                    if (quoted) {
+                        p++;
+                    }
+                    p = field == 1 ? parseAmount(p, to) : parseInteger(p, to);
+                    if (p < 0) {
+                        return false;
+                    }
+                    if (quoted) {
+                        if (p == to || data[p] != '"') {
+                            return false;
+                        }
+                        p++;
+                    }
+                    if (field == 0) {
+                        memberId = value;
+                    } else if (field == 1) {
+                        amount = value;
+                    } else {
+                        timestamp = value;
+                    }
+                    seen |= 1 << field;
+                } else {
+                    p = skipValue(p, to);
+                    if (p < 0) {
+                        return false;
+                    }
+                }
+                p = skipSpaces(p, to);
+                if (p == to) {
+                    return false;
+                }
+                if (data[p] == '}') {
+                    return seen == ALL_FIELDS && skipSpaces(p + 1, to) == to;
+                }
+                if (data[p] != ',') {
+                    return false;
+                }
+                p = skipSpaces(p + 1, to);
+            }
+        }
+
+        private int field(int keyStart, int keyEnd) {
+            if (Arrays.equals(data, keyStart, keyEnd, KEY_MEMBER_ID, 0, KEY_MEMBER_ID.length)) {
+                return 0;
+            }
+            if (Arrays.equals(data, keyStart, keyEnd, KEY_AMOUNT, 0, KEY_AMOUNT.length)) {
+                return 1;
+            }
+            if (Arrays.equals(data, keyStart, keyEnd, KEY_TIMESTAMP, 0, KEY_TIMESTAMP.length)) {
+                return 2;
+            }
+            return -1;
+        }
+
+        /**
+         * Melewati nilai field yang tidak dikenal: string atau literal datar.
+         */
+        private int skipValue(int p, int to) {
+            if (data[p] == '"') {
+                for (p++; p < to; p++) {
+                    if (data[p] == '\\') {
+                        p++;
+                    } else if (data[p] == '"') {
+                        return p + 1;
+                    }
+                }
+                return -1;
+            }
+            while (p < to && data[p] != ',' && data[p] != '}') {
+                if (data[p] == '{' || data[p] == '[') {
+                    return -1;
+                }
+                p++;
+            }
+            return p;
+        }
+
+        /**
+         * Bilangan bulat non-negatif ke {@link #value}.
+         *
+         * @return posisi setelah angka, atau -1 jika tidak valid atau overflow
+         */
+        private int parseInteger(int p, int to) {
+            int start = p;
+            long result = 0;
+            while (p < to && isDigit(data[p])) {
+                int digit = data[p] - '0';
+                if (result > (Long.MAX_VALUE - digit) / 10) {
+                    return -1;
+                }
+                result = result * 10 + digit;
+                p++;
+            }
+            if (p == start) {
+                return -1;
+            }
+            value = result;
+            return p;
+        }
+
+        /**
+         * Nominal Rupiah desimal ke {@link #value} dalam sen, dibulatkan HALF_UP.
+         *
+         * @return posisi setelah angka, atau -1 jika tidak valid atau overflow
+         */
+        private int parseAmount(int p, int to) {
+            p = parseInteger(p, to);
+            if (p < 0 || value > Long.MAX_VALUE / Money.SEN_PER_RUPIAH - 1) {
+                return -1;
+            }
+            long sen = value * Money.SEN_PER_RUPIAH;
+            if (p < to && data[p] == '.') {
+                p++;
+                int start = p;
+                long scale = Money.SEN_PER_RUPIAH / 10;
+                while (p < to && isDigit(data[p])) {
+                    int digit = data[p] - '0';
+                    if (scale > 0) {
+                        sen += digit * scale;
+                    } else if (p == start + 2 && digit >= 5) {
+                        sen++;
+                    }
+                    scale /= 10;
+                    p++;
+                }
+                if (p == start) {
+                    return -1;
+                }
+            }
+            value = sen;
+            return p;
+        }
+
+        private int skipSpaces(int p, int to) {
+            while (p < to && (data[p] == ' ' || data[p] == '\t')) {
+                p++;
+            }
+            return p;
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
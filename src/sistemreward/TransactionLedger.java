@@ -0,0 +1,651 @@
+package sistemreward;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Ledger transaksi append-only di luar heap, disimpan dalam file segment yang di-memory-map.
+ *
+ * <p>Setiap transaksi ditulis sebagai record fixed-width 40 byte ke
+ * {@link MappedByteBuffer}. Record menyimpan nomor record sebelumnya milik member
+ * yang sama, sehingga history satu member bisa dibaca mundur halaman demi halaman
+ * langsung dari page cache, tanpa memuat seluruh history ke heap.</p>
+ *
+ * <p><strong>Record layout (big endian, default {@link java.nio.ByteBuffer}):</strong></p>
+ * <table border="1">
+ *   <caption>Format Record Ledger</caption>
+ *   <thead>
+ *     <tr><th>Offset</th><th>Field</th><th>Keterangan</th></tr>
+ *   </thead>
+ *   <tbody>
+ *     <tr><td>0</td><td>memberId</td><td>0 = slot kosong</td></tr>
+ *     <tr><td>8</td><td>amount</td><td>nominal dalam sen</td></tr>
+ *     <tr><td>16</td><td>epochMillis</td><td>waktu transaksi</td></tr>
+ *     <tr><td>24</td><td>previous</td><td>nomor record sebelumnya milik member ini, -1 jika tidak ada</td></tr>
+ *     <tr><td>32</td><td>sequence</td><td>nomor urut transaksi member (0-based)</td></tr>
+ *   </tbody>
+ * </table>
+ *
+ * <p><strong>Index:</strong> Di heap hanya disimpan {@code memberId → (record terakhir,
+ * jumlah, waktu terakhir, urut/tidak)}. Index dibangun ulang dengan scan berurutan
+ * saat ledger dibuka.</p>
+ *
+ * <p><strong>Query rentang waktu:</strong> {@link #forEachInRange(long, long, long, TransactionHistory.Visitor)}
+ * dan {@link #stream(long, long, long)} menelusuri rantai member dari yang terbaru.
+ * Selama waktu transaksi member dicatat naik (kasus normal), penelusuran berhenti
+ * di record pertama yang lebih lama dari awal rentang, jadi biayanya sebanding
+ * dengan jumlah transaksi sejak awal rentang, bukan seluruh history. Member yang
+ * pernah mendapat transaksi mundur (misalnya import data lama) ditelusuri penuh.</p>
+ *
+ * <p><strong>Durability:</strong> Record sampai ke disk saat OS melakukan
+ * writeback, saat {@link #syncAppended()} dipanggil (leader group commit
+ * {@link BalanceJournal} memanggilnya sebelum setiap fsync log, sehingga
+ * transaksi yang saldonya sudah durable pasti ada di ledger), atau saat
+ * {@link #sync()} dan {@link #close()} dipanggil. Setelah crash,
+ * writeback bisa tidak berurutan, jadi recovery berhenti di record pertama
+ * yang kosong atau tidak konsisten dengan rantai member-nya (pointer
+ * {@code previous} dan {@code sequence}); record sesudahnya dianggap tail
+ * yang robek dan dikosongkan. File segment harus berurutan tanpa celah
+ * ({@code ledger-00000000.seg}, {@code ledger-00000001.seg}, ...) dan
+ * berukuran sama dengan segment size; jika tidak, ledger menolak dibuka.</p>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * try (TransactionLedger ledger = TransactionLedger.open(Path.of("data/ledger"))) {
+ *     ledger.append(1001L, Money.ofRupiah(150000), System.currentTimeMillis());
+ *
+ *     long cursor = TransactionLedger.NEWEST;
+ *     while (cursor != TransactionLedger.END) {
+ *         cursor = ledger.readBackward(1001L, cursor, 20, visitor);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Customer#displayTransactionHistory(TransactionLedger, long, int)
+ */
+public class TransactionLedger implements Closeable {
+
+    /**
+     * Ukuran satu record dalam byte.
+     *
+     * @since 3.0
+     */
+    public static final int RECORD_SIZE = 40;
+
+    /**
+     * Ukuran default satu file segment (64 MiB, sekitar 1.6 juta transaksi).
+     *
+     * @since 3.0
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Cursor untuk mulai membaca dari transaksi terbaru.
+     *
+     * @since 3.0
+     */
+    public static final long NEWEST = Long.MAX_VALUE;
+
+    /**
+     * Cursor yang menandakan history sudah habis dibaca.
+     *
+     * @since 3.0
+     */
+    public static final long END = -1L;
+
+    private static final int OFFSET_MEMBER = 0;
+    private static final int OFFSET_AMOUNT = 8;
+    private static final int OFFSET_TIME = 16;
+    private static final int OFFSET_PREVIOUS = 24;
+    private static final int OFFSET_SEQUENCE = 32;
+    private static final String SEGMENT_PREFIX = "ledger-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final StampedLock lock = new StampedLock();
+    private volatile MappedByteBuffer[] segments;
+    private long nextRecord;
+    /** Index segment pertama yang mungkin berubah sejak {@link #sync()} terakhir. */
+    private int unsyncedFrom;
+    /** Jumlah record yang pasti sudah di-force ke disk. */
+    private long syncedRecords;
+
+    private final LongIntMap memberIndex = new LongIntMap(1024);
+    private long[] lastRecords = new long[1024];
+    private long[] counts = new long[1024];
+    private long[] lastTimes = new long[1024];
+    /** {@code true} jika waktu transaksi member pernah mundur; rentang waktu harus ditelusuri penuh. */
+    private boolean[] unordered = new boolean[1024];
+    private int memberCount;
+
+    /**
+     * Callback untuk scan semua record ledger.
+     *
+     * @since 3.0
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * Dipanggil sekali per record, urut sesuai urutan tulis.
+         *
+         * @param memberId ID member pemilik record
+         * @param amount nominal transaksi dalam sen
+         * @param epochMillis waktu transaksi
+         */
+        void visit(long memberId, long amount, long epochMillis);
+    }
+
+    private TransactionLedger(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.recordsPerSegment = segmentSize / RECORD_SIZE;
+        this.segments = new MappedByteBuffer[0];
+    }
+
+    /**
+     * Membuka (atau membuat) ledger di direktori tertentu dengan ukuran segment default.
+     *
+     * @param directory direktori tempat file segment disimpan
+     * @return ledger yang siap dipakai
+     *
+     * @throws IOException jika direktori atau file segment tidak bisa dibuka
+     *
+     * @since 3.0
+     */
+    public static TransactionLedger open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Membuka (atau membuat) ledger dengan ukuran segment tertentu.
+     *
+     * <p>Semua segment yang sudah ada di-map ulang dan index member dibangun
+     * kembali dengan scan berurutan. Ukuran segment harus sama dengan saat
+     * ledger pertama kali dibuat.</p>
+     *
+     * @param directory direktori tempat file segment disimpan
+     * @param segmentSize ukuran satu segment dalam byte (minimal satu record)
+     * @return ledger yang siap dipakai
+     *
+     * @throws IOException jika direktori atau file segment tidak bisa dibuka
+     * @throws IllegalArgumentException jika segmentSize lebih kecil dari satu record
+     *
+     * @since 3.0
+     */
+    public static TransactionLedger open(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Ukuran segment terlalu kecil: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        TransactionLedger ledger = new TransactionLedger(directory, segmentSize - segmentSize % RECORD_SIZE);
+        ledger.recover();
+        return ledger;
+    }
+
+    /**
+     * Menambahkan satu transaksi ke ledger.
+     *
+     * <p>Record langsung ditulis ke memory-mapped buffer; data sampai ke disk
+     * saat OS melakukan writeback atau saat {@link #sync()} dipanggil.</p>
+     *
+     * @param memberId ID member (harus &gt; 0)
+     * @param amount nominal transaksi dalam sen
+     * @param epochMillis waktu transaksi dalam epoch millis
+     * @return nomor record yang ditulis
+     *
+     * @throws IllegalArgumentException jika memberId tidak positif
+     * @throws UncheckedIOException jika segment baru gagal dibuat
+     *
+     * @since 3.0
+     */
+    public long append(long memberId, long amount, long epochMillis) {
+        if (memberId <= 0) {
+            throw new IllegalArgumentException("ID member harus positif: " + memberId);
+        }
+        long stamp = lock.writeLock();
+        try {
+            long record = nextRecord;
+            MappedByteBuffer segment = segmentFor(record);
+            int slot = memberIndex.get(memberId);
+            long previous = slot == LongIntMap.NO_VALUE ? END : lastRecords[slot];
+            long sequence = slot == LongIntMap.NO_VALUE ? 0 : counts[slot];
+
+            int offset = (int) (record % recordsPerSegment) * RECORD_SIZE;
+            segment.putLong(offset + OFFSET_AMOUNT, amount);
+            segment.putLong(offset + OFFSET_TIME, epochMillis);
+            segment.putLong(offset + OFFSET_PREVIOUS, previous);
+            segment.putLong(offset + OFFSET_SEQUENCE, sequence);
+            // memberId ditulis terakhir: record dengan memberId != 0 dianggap lengkap saat recovery
+            segment.putLong(offset + OFFSET_MEMBER, memberId);
+
+            index(memberId, slot, record, epochMillis);
+            nextRecord = record + 1;
+            return record;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Menghitung jumlah transaksi milik satu member.
+     *
+     * @param memberId ID member
+     * @return jumlah transaksi, atau 0 jika member belum punya transaksi
+     *
+     * @since 3.0
+     */
+    public long count(long memberId) {
+        long stamp = lock.readLock();
+        try {
+            int slot = memberIndex.get(memberId);
+            return slot == LongIntMap.NO_VALUE ? 0 : counts[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Membaca history member dari yang terbaru ke yang terlama, maksimal {@code limit} transaksi.
+     *
+     * <p>Biaya satu halaman hanya {@code O(limit)}: cursor menunjuk langsung ke
+     * record berikutnya, jadi membaca halaman ke-N tidak perlu melewati
+     * halaman-halaman sebelumnya.</p>
+     *
+     * @param memberId ID member
+     * @param cursor {@link #NEWEST} untuk halaman pertama, atau cursor hasil pemanggilan sebelumnya
+     * @param limit jumlah maksimum transaksi yang dibaca
+     * @param visitor callback per transaksi; {@code index} adalah nomor urut transaksi member
+     * @return cursor untuk halaman berikutnya, atau {@link #END} jika history sudah habis
+     *
+     * @throws IllegalArgumentException jika cursor di luar record yang sudah ditulis
+     *         atau bukan milik member
+     *
+     * @since 3.0
+     */
+    public long readBackward(long memberId, long cursor, int limit, TransactionHistory.Visitor visitor) {
+        long record = cursor;
+        long stamp = lock.readLock();
+        try {
+            if (cursor == NEWEST) {
+                int slot = memberIndex.get(memberId);
+                record = slot == LongIntMap.NO_VALUE ? END : lastRecords[slot];
+            } else if (cursor < END || cursor >= nextRecord) {
+                throw new IllegalArgumentException("Cursor " + cursor + " di luar rentang ledger");
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        MappedByteBuffer[] mapped = segments;
+        for (int read = 0; read < limit && record != END; read++) {
+            MappedByteBuffer segment = mapped[(int) (record / recordsPerSegment)];
+            int offset = (int) (record % recordsPerSegment) * RECORD_SIZE;
+            if (segment.getLong(offset + OFFSET_MEMBER) != memberId) {
+                throw new IllegalArgumentException("Cursor " + cursor + " bukan milik member " + memberId);
+            }
+            visitor.visit((int) segment.getLong(offset + OFFSET_SEQUENCE),
+                    segment.getLong(offset + OFFSET_AMOUNT),
+                    segment.getLong(offset + OFFSET_TIME));
+            record = segment.getLong(offset + OFFSET_PREVIOUS);
+        }
+        return record;
+    }
+
+    /**
+     * Mengunjungi transaksi member dalam rentang waktu, dari yang terbaru.
+     *
+     * <p>Penelusuran berhenti di transaksi pertama yang lebih lama dari
+     * {@code fromMillis} jika waktu transaksi member selalu naik; lihat
+     * penjelasan query rentang waktu di dokumentasi class. Transaksi yang
+     * ditulis setelah method ini dipanggil tidak ikut dikunjungi.</p>
+     *
+     * @param memberId ID member
+     * @param fromMillis awal rentang (inklusif), epoch millis
+     * @param toMillis akhir rentang (eksklusif), epoch millis
+     * @param visitor callback per transaksi; {@code index} adalah nomor urut transaksi member
+     *
+     * @since 3.0
+     */
+    public void forEachInRange(long memberId, long fromMillis, long toMillis, TransactionHistory.Visitor visitor) {
+        long record = newestRecord(memberId);
+        boolean ordered = isOrdered(memberId);
+        MappedByteBuffer[] mapped = segments;
+        while (record != END) {
+            MappedByteBuffer segment = mapped[(int) (record / recordsPerSegment)];
+            int offset = (int) (record % recordsPerSegment) * RECORD_SIZE;
+            long time = segment.getLong(offset + OFFSET_TIME);
+            if (time < fromMillis && ordered) {
+                return;
+            }
+            if (time >= fromMillis && time < toMillis) {
+                visitor.visit((int) segment.getLong(offset + OFFSET_SEQUENCE),
+                        segment.getLong(offset + OFFSET_AMOUNT), time);
+            }
+            record = segment.getLong(offset + OFFSET_PREVIOUS);
+        }
+    }
+
+    /**
+     * Stream lazy transaksi member dalam rentang waktu, dari yang terbaru.
+     *
+     * <p>Record dibaca dari segment saat elemen dikonsumsi, jadi
+     * {@code limit}/{@code findFirst} hanya menyentuh record yang dibutuhkan.
+     * Batas penelusuran sama dengan
+     * {@link #forEachInRange(long, long, long, TransactionHistory.Visitor)}.</p>
+     *
+     * @param memberId ID member
+     * @param fromMillis awal rentang (inklusif), epoch millis
+     * @param toMillis akhir rentang (eksklusif), epoch millis
+     * @return stream transaksi dalam rentang; {@link Transaction#getIndex()} adalah
+     *         nomor urut transaksi member
+     *
+     * @since 3.0
+     */
+    public Stream<Transaction> stream(long memberId, long fromMillis, long toMillis) {
+        long newest = newestRecord(memberId);
+        boolean ordered = isOrdered(memberId);
+        MappedByteBuffer[] mapped = segments;
+        Spliterator<Transaction> chain = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private long record = newest;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Transaction> action) {
+                while (record != END) {
+                    MappedByteBuffer segment = mapped[(int) (record / recordsPerSegment)];
+                    int offset = (int) (record % recordsPerSegment) * RECORD_SIZE;
+                    long time = segment.getLong(offset + OFFSET_TIME);
+                    if (time < fromMillis && ordered) {
+                        record = END;
+                        return false;
+                    }
+                    record = segment.getLong(offset + OFFSET_PREVIOUS);
+                    if (time >= fromMillis && time < toMillis) {
+                        action.accept(new Transaction((int) segment.getLong(offset + OFFSET_SEQUENCE),
+                                segment.getLong(offset + OFFSET_AMOUNT), time));
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(chain, false);
+    }
+
+    /**
+     * Membaca semua record yang sudah ditulis, dari yang paling lama, secara berurutan.
+     *
+     * <p>Record yang ditulis setelah scan dimulai tidak ikut dikunjungi.</p>
+     *
+     * @param visitor callback per record
+     *
+     * @see RewardSystem#rebuildRollingSpend(CustomerRegistry)
+     *
+     * @since 3.0
+     */
+    public void forEach(RecordVisitor visitor) {
+        long end;
+        long stamp = lock.readLock();
+        try {
+            end = nextRecord;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        MappedByteBuffer[] mapped = segments;
+        for (long record = 0; record < end; record++) {
+            MappedByteBuffer segment = mapped[(int) (record / recordsPerSegment)];
+            int offset = (int) (record % recordsPerSegment) * RECORD_SIZE;
+            visitor.visit(segment.getLong(offset + OFFSET_MEMBER),
+                    segment.getLong(offset + OFFSET_AMOUNT),
+                    segment.getLong(offset + OFFSET_TIME));
+        }
+    }
+
+    /**
+     * Memaksa semua perubahan di segment ditulis ke disk.
+     *
+     * <p>Segment yang sudah penuh dan sudah di-sync tidak di-force ulang.</p>
+     *
+     * @since 3.0
+     */
+    public synchronized void sync() {
+        long appended = appendedRecords();
+        MappedByteBuffer[] mapped = segments;
+        for (int i = unsyncedFrom; i < mapped.length; i++) {
+            mapped[i].force();
+        }
+        // Segment terakhir masih bisa ditulis, jadi ikut di-force pada sync berikutnya
+        unsyncedFrom = Math.max(0, mapped.length - 1);
+        syncedRecords = Math.max(syncedRecords, appended);
+    }
+
+    /**
+     * Memaksa record yang di-append sejak sync terakhir ditulis ke disk.
+     *
+     * <p>Hanya rentang byte record baru yang di-force, bukan seluruh segment,
+     * sehingga biayanya sebanding dengan jumlah transaksi sejak pemanggilan
+     * sebelumnya. Semua record yang sudah di-append sebelum method ini
+     * dipanggil ikut durable.</p>
+     *
+     * @throws UncheckedIOException jika force gagal
+     *
+     * @since 3.0
+     */
+    public synchronized void syncAppended() {
+        long appended = appendedRecords();
+        MappedByteBuffer[] mapped = segments;
+        long from = syncedRecords;
+        while (from < appended) {
+            int index = (int) (from / recordsPerSegment);
+            if (index >= mapped.length) {
+                break;
+            }
+            long to = Math.min(appended, (index + 1L) * recordsPerSegment);
+            int offset = (int) (from % recordsPerSegment) * RECORD_SIZE;
+            mapped[index].force(offset, (int) (to - from) * RECORD_SIZE);
+            from = to;
+        }
+        syncedRecords = from;
+    }
+
+    /**
+     * Getter untuk jumlah record yang pasti sudah ada di disk.
+     *
+     * @return jumlah record sampai {@link #sync()} atau {@link #syncAppended()} terakhir
+     *
+     * @since 3.0
+     */
+    public synchronized long getSyncedRecords() {
+        return syncedRecords;
+    }
+
+    /**
+     * Menulis semua perubahan ke disk. Setelah ditutup, ledger tidak boleh dipakai lagi.
+     *
+     * @since 3.0
+     */
+    @Override
+    public void close() {
+        sync();
+        segments = new MappedByteBuffer[0];
+    }
+
+    private long appendedRecords() {
+        long stamp = lock.readLock();
+        try {
+            return nextRecord;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private MappedByteBuffer segmentFor(long record) {
+        int index = (int) (record / recordsPerSegment);
+        MappedByteBuffer[] mapped = segments;
+        if (index < mapped.length) {
+            return mapped[index];
+        }
+        try {
+            MappedByteBuffer segment = map(index);
+            MappedByteBuffer[] grown = Arrays.copyOf(mapped, index + 1);
+            grown[index] = segment;
+            segments = grown;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membuat segment ledger " + index, e);
+        }
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+        Path file = directory.resolve(segmentName(index));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        }
+    }
+
+    private void index(long memberId, int slot, long record, long epochMillis) {
+        if (slot == LongIntMap.NO_VALUE) {
+            slot = memberCount++;
+            if (slot == lastRecords.length) {
+                lastRecords = Arrays.copyOf(lastRecords, slot << 1);
+                counts = Arrays.copyOf(counts, slot << 1);
+                lastTimes = Arrays.copyOf(lastTimes, slot << 1);
+                unordered = Arrays.copyOf(unordered, slot << 1);
+            }
+            memberIndex.put(memberId, slot);
+        } else if (epochMillis < lastTimes[slot]) {
+            unordered[slot] = true;
+        }
+        lastRecords[slot] = record;
+        counts[slot]++;
+        lastTimes[slot] = epochMillis;
+    }
+
+    /**
+     * Record terbaru milik member, atau {@link #END} jika belum ada.
+     */
+    private long newestRecord(long memberId) {
+        long stamp = lock.readLock();
+        try {
+            int slot = memberIndex.get(memberId);
+            return slot == LongIntMap.NO_VALUE ? END : lastRecords[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Mengecek apakah waktu transaksi member selalu naik. Flag hanya bisa berubah
+     * dari urut ke tidak urut, jadi jika dibaca sesudah {@link #newestRecord(long)}
+     * nilainya juga berlaku untuk rantai yang dimulai dari record tersebut.
+     */
+    private boolean isOrdered(long memberId) {
+        long stamp = lock.readLock();
+        try {
+            int slot = memberIndex.get(memberId);
+            return slot == LongIntMap.NO_VALUE || !unordered[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static String segmentName(int index) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Map ulang semua segment yang ada, bangun index dengan scan berurutan,
+     * lalu kosongkan tail yang robek.
+     */
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        long segmentBytes = (long) recordsPerSegment * RECORD_SIZE;
+        MappedByteBuffer[] mapped = new MappedByteBuffer[files.size()];
+        for (int i = 0; i < mapped.length; i++) {
+            Path file = directory.resolve(segmentName(i));
+            if (!Files.exists(file)) {
+                throw new IOException("Segment ledger " + file.getFileName() + " hilang; ada "
+                        + mapped.length + " file segment");
+            }
+            if (Files.size(file) != segmentBytes) {
+                throw new IOException("Ukuran " + file.getFileName() + " " + Files.size(file)
+                        + " byte, bukan " + segmentBytes + "; segment size berbeda dengan saat ledger dibuat?");
+            }
+            mapped[i] = map(i);
+        }
+        segments = mapped;
+
+        long record = 0;
+        scan:
+        for (MappedByteBuffer segment : mapped) {
+            for (int slot = 0; slot < recordsPerSegment; slot++) {
+                int offset = slot * RECORD_SIZE;
+                long memberId = segment.getLong(offset + OFFSET_MEMBER);
+                if (memberId <= 0L) {
+                    break scan;
+                }
+                int member = memberIndex.get(memberId);
+                long previous = member == LongIntMap.NO_VALUE ? END : lastRecords[member];
+                long sequence = member == LongIntMap.NO_VALUE ? 0 : counts[member];
+                if (segment.getLong(offset + OFFSET_PREVIOUS) != previous
+                        || segment.getLong(offset + OFFSET_SEQUENCE) != sequence) {
+                    break scan;
+                }
+                index(memberId, member, record++, segment.getLong(offset + OFFSET_TIME));
+            }
+        }
+        nextRecord = record;
+        // Record yang terbaca saat recovery sudah ada di disk
+        syncedRecords = record;
+        clearTail(record);
+    }
+
+    /**
+     * Mengosongkan memberId semua record mulai dari {@code from}, supaya record
+     * lama di belakang tail yang robek tidak ikut terbaca pada recovery berikutnya.
+     */
+    private void clearTail(long from) {
+        MappedByteBuffer[] mapped = segments;
+        boolean cleared = false;
+        for (int index = (int) (from / recordsPerSegment); index < mapped.length; index++) {
+            MappedByteBuffer segment = mapped[index];
+            int first = index == from / recordsPerSegment ? (int) (from % recordsPerSegment) : 0;
+            for (int slot = first; slot < recordsPerSegment; slot++) {
+                int offset = slot * RECORD_SIZE + OFFSET_MEMBER;
+                if (segment.getLong(offset) != 0L) {
+                    segment.putLong(offset, 0L);
+                    cleared = true;
+                }
+            }
+        }
+        if (cleared) {
+            sync();
+        }
+    }
+}
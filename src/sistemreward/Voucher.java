@@ -0,0 +1,198 @@
+package sistemreward;
+
+/**
+ * Satu jenis voucher yang bisa ditukar dengan poin.
+ *
+ * <p>Objek immutable; perubahan voucher dilakukan dengan memuat ulang
+ * {@link VoucherCatalog} yang baru, bukan dengan mengubah objek ini.</p>
+ *
+ * <p><strong>Masa berlaku:</strong> voucher bisa ditukar pada rentang waktu
+ * {@code [validFrom, validUntil)} dalam epoch millis. {@link #ALWAYS_VALID_FROM}
+ * dan {@link #ALWAYS_VALID_UNTIL} dipakai untuk voucher tanpa batas waktu.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see VoucherCatalog
+ */
+public final class Voucher {
+
+    /**
+     * Nilai stok untuk voucher tanpa batas jumlah.
+     *
+     * @since 3.0
+     */
+    public static final long UNLIMITED_STOCK = -1L;
+
+    /**
+     * Awal masa berlaku untuk voucher yang berlaku sejak kapan pun.
+     *
+     * @since 3.0
+     */
+    public static final long ALWAYS_VALID_FROM = Long.MIN_VALUE;
+
+    /**
+     * Akhir masa berlaku untuk voucher yang tidak pernah kedaluwarsa.
+     *
+     * @since 3.0
+     */
+    public static final long ALWAYS_VALID_UNTIL = Long.MAX_VALUE;
+
+    private final String id;
+    private final String name;
+    private final long pointCost;
+    private final long faceValue;
+    private final long stock;
+    private final long validFrom;
+    private final long validUntil;
+
+    /**
+     * Constructor voucher.
+     *
+     * @param id ID unik voucher, misalnya {@code "V50K"}
+     * @param name nama yang ditampilkan ke pelanggan
+     * @param pointCost jumlah poin yang dibutuhkan (harus &gt; 0)
+     * @param faceValue nilai voucher dalam sen (harus &gt;= 0)
+     * @param stock stok awal, atau {@link #UNLIMITED_STOCK}
+     * @param validFrom awal masa berlaku (inklusif), epoch millis
+     * @param validUntil akhir masa berlaku (eksklusif), epoch millis
+     *
+     * @throws IllegalArgumentException jika salah satu nilai tidak valid
+     *
+     * @since 3.0
+     */
+    public Voucher(String id, String name, long pointCost, long faceValue, long stock,
+                   long validFrom, long validUntil) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("ID voucher tidak boleh kosong");
+        }
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Nama voucher " + id + " tidak boleh kosong");
+        }
+        if (pointCost <= 0) {
+            throw new IllegalArgumentException("Poin voucher " + id + " harus positif: " + pointCost);
+        }
+        if (faceValue < 0) {
+            throw new IllegalArgumentException("Nilai voucher " + id + " tidak boleh negatif: " + faceValue);
+        }
+        if (stock < 0 && stock != UNLIMITED_STOCK) {
+            throw new IllegalArgumentException("Stok voucher " + id + " tidak valid: " + stock);
+        }
+        if (validFrom >= validUntil) {
+            throw new IllegalArgumentException("Masa berlaku voucher " + id + " kosong");
+        }
+        this.id = id;
+        this.name = name;
+        this.pointCost = pointCost;
+        this.faceValue = faceValue;
+        this.stock = stock;
+        this.validFrom = validFrom;
+        this.validUntil = validUntil;
+    }
+
+    /**
+     * Getter untuk ID voucher.
+     *
+     * @return ID unik voucher
+     *
+     * @since 3.0
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Getter untuk nama voucher.
+     *
+     * @return nama yang ditampilkan, misalnya "Voucher Rp 50.000"
+     *
+     * @since 3.0
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Getter untuk harga voucher dalam poin.
+     *
+     * @return jumlah poin yang dibutuhkan
+     *
+     * @since 3.0
+     */
+    public long getPointCost() {
+        return pointCost;
+    }
+
+    /**
+     * Getter untuk nilai nominal voucher.
+     *
+     * @return nilai voucher dalam sen
+     *
+     * @since 3.0
+     */
+    public long getFaceValue() {
+        return faceValue;
+    }
+
+    /**
+     * Getter untuk stok awal voucher sesuai katalog.
+     *
+     * @return stok awal, atau {@link #UNLIMITED_STOCK}
+     *
+     * @since 3.0
+     */
+    public long getStock() {
+        return stock;
+    }
+
+    /**
+     * Mengecek apakah stok voucher tidak dibatasi.
+     *
+     * @return {@code true} jika stok tidak terbatas
+     *
+     * @since 3.0
+     */
+    public boolean isUnlimitedStock() {
+        return stock == UNLIMITED_STOCK;
+    }
+
+    /**
+     * Getter untuk awal masa berlaku.
+     *
+     * @return epoch millis (inklusif)
+     *
+     * @since 3.0
+     */
+    public long getValidFrom() {
+        return validFrom;
+    }
+
+    /**
+     * Getter untuk akhir masa berlaku.
+     *
+     * @return epoch millis (eksklusif)
+     *
+     * @since 3.0
+     */
+    public long getValidUntil() {
+        return validUntil;
+    }
+
+    /**
+     * Mengecek apakah voucher berlaku pada waktu tertentu.
+     *
+     * @param epochMillis waktu yang dicek
+     * @return {@code true} jika waktu berada di dalam masa berlaku
+     *
+     * @since 3.0
+     */
+    public boolean isValidAt(long epochMillis) {
+        return epochMillis >= validFrom && epochMillis < validUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "Voucher[" + id + ", " + name + ", " + pointCost + " poin]";
+    }
+}
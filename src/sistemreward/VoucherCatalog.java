@@ -0,0 +1,201 @@
+package sistemreward;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Katalog voucher immutable yang dimuat dari file.
+ *
+ * <p>Voucher disimpan dua kali: dalam list berurutan (urutan menu, akses
+ * by index) dan dalam map immutable berdasarkan ID (lookup O(1)). Karena
+ * katalog tidak pernah berubah setelah dibuat, pembaca tidak butuh lock.
+ * Reload dilakukan dengan membangun katalog baru lalu menukar referensinya
+ * secara atomik di {@link RewardSystem#setVoucherCatalog(VoucherCatalog)}.</p>
+ *
+ * <p><strong>Format file</strong> (UTF-8, satu voucher per baris, kolom dipisah {@code ;}):</p>
+ * <pre>
+ * # id;nama;poin;nilai (Rp);stok;berlaku dari;berlaku sampai
+ * V50K;Voucher Rp 50.000;100;50000;-;-;-
+ * PROMO12;Voucher Harbolnas;150;100000;500;2025-12-01;2025-12-12
+ * </pre>
+ * <ul>
+ *   <li>📝 Baris kosong dan baris yang diawali {@code #} diabaikan</li>
+ *   <li>📦 Stok {@code -} berarti tidak terbatas</li>
+ *   <li>📅 Tanggal format {@code yyyy-MM-dd}, zona {@link BusinessClock#ZONE} (WIB); tanggal
+ *       "sampai" ikut berlaku sepanjang hari. {@code -} berarti tanpa batas</li>
+ * </ul>
+ *
+ * <p><strong>Example usage:</strong></p>
+ * <pre>{@code
+ * VoucherCatalog catalog = VoucherCatalog.load(Path.of("vouchers.csv"));
+ * rewardSystem.setVoucherCatalog(catalog);
+ *
+ * Voucher voucher = catalog.find("V50K");
+ * }</pre>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see Voucher
+ * @see RewardSystem#reloadVoucherCatalog(Path)
+ */
+public final class VoucherCatalog {
+
+    /**
+     * Katalog bawaan, sama dengan daftar voucher versi 2.0.
+     *
+     * @since 3.0
+     */
+    public static final VoucherCatalog DEFAULT = new VoucherCatalog(List.of(
+            defaultVoucher("V50K", "Voucher Rp 50.000", 100, 50_000),
+            defaultVoucher("V100K", "Voucher Rp 100.000", 200, 100_000),
+            defaultVoucher("V250K", "Voucher Rp 250.000", 500, 250_000),
+            defaultVoucher("V500K", "Voucher Rp 500.000", 1000, 500_000)));
+
+    private static final String COLUMN_SEPARATOR = ";";
+    private static final int COLUMNS = 7;
+    private static final String EMPTY = "-";
+
+    private final List<Voucher> vouchers;
+    private final Map<String, Voucher> byId;
+
+    /**
+     * Constructor katalog dari daftar voucher.
+     *
+     * @param vouchers daftar voucher sesuai urutan menu
+     *
+     * @throws IllegalArgumentException jika ada ID voucher yang duplikat
+     *
+     * @since 3.0
+     */
+    public VoucherCatalog(List<Voucher> vouchers) {
+        Map<String, Voucher> index = new HashMap<>();
+        for (Voucher voucher : vouchers) {
+            if (index.putIfAbsent(voucher.getId(), voucher) != null) {
+                throw new IllegalArgumentException("ID voucher duplikat: " + voucher.getId());
+            }
+        }
+        this.vouchers = List.copyOf(vouchers);
+        this.byId = Map.copyOf(index);
+    }
+
+    /**
+     * Memuat katalog dari file.
+     *
+     * <p>File dibaca dan divalidasi seluruhnya sebelum katalog dibuat; jika ada
+     * satu baris yang salah, tidak ada katalog yang dihasilkan.</p>
+     *
+     * @param file path file katalog
+     * @return katalog baru
+     *
+     * @throws IOException jika file tidak bisa dibaca atau ada baris yang tidak valid
+     *
+     * @since 3.0
+     */
+    public static VoucherCatalog load(Path file) throws IOException {
+        List<Voucher> vouchers = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    vouchers.add(parse(trimmed));
+                } catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+                    throw new IOException(file + " baris " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        try {
+            return new VoucherCatalog(vouchers);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mencari voucher berdasarkan ID.
+     *
+     * @param id ID voucher
+     * @return voucher, atau {@code null} jika tidak ada di katalog
+     *
+     * @since 3.0
+     */
+    public Voucher find(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Mengambil voucher berdasarkan posisinya di menu.
+     *
+     * @param index posisi voucher (0-based)
+     * @return voucher di posisi tersebut
+     *
+     * @throws IndexOutOfBoundsException jika index di luar jumlah voucher
+     *
+     * @since 3.0
+     */
+    public Voucher get(int index) {
+        return vouchers.get(index);
+    }
+
+    /**
+     * Getter untuk jumlah voucher di katalog.
+     *
+     * @return jumlah voucher
+     *
+     * @since 3.0
+     */
+    public int size() {
+        return vouchers.size();
+    }
+
+    /**
+     * Getter untuk semua voucher sesuai urutan menu.
+     *
+     * @return list immutable berisi semua voucher
+     *
+     * @since 3.0
+     */
+    public List<Voucher> getVouchers() {
+        return vouchers;
+    }
+
+    private static Voucher parse(String line) {
+        String[] columns = line.split(COLUMN_SEPARATOR, -1);
+        if (columns.length != COLUMNS) {
+            throw new IllegalArgumentException("harus ada " + COLUMNS + " kolom, ditemukan " + columns.length);
+        }
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].strip();
+        }
+        long stock = EMPTY.equals(columns[4]) ? Voucher.UNLIMITED_STOCK : Long.parseLong(columns[4]);
+        long validFrom = EMPTY.equals(columns[5])
+                ? Voucher.ALWAYS_VALID_FROM
+                : BusinessClock.startOfDay(LocalDate.parse(columns[5]));
+        long validUntil = EMPTY.equals(columns[6])
+                ? Voucher.ALWAYS_VALID_UNTIL
+                : BusinessClock.startOfDay(LocalDate.parse(columns[6]).plusDays(1));
+        return new Voucher(columns[0], columns[1], Long.parseLong(columns[2]),
+                Money.ofRupiah(Long.parseLong(columns[3])), stock, validFrom, validUntil);
+    }
+
+    private static Voucher defaultVoucher(String id, String name, long pointCost, long faceValueRupiah) {
+        return new Voucher(id, name, pointCost, Money.ofRupiah(faceValueRupiah), Voucher.UNLIMITED_STOCK,
+                Voucher.ALWAYS_VALID_FROM, Voucher.ALWAYS_VALID_UNTIL);
+    }
+}
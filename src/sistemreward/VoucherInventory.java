@@ -0,0 +1,227 @@
+package sistemreward;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stok runtime per voucher dengan operasi reserve/commit/release yang lock-free.
+ *
+ * <p>Setiap voucher berstok terbatas punya counter sendiri; tidak ada lock global,
+ * sehingga penukaran voucher yang berbeda tidak saling menunggu dan penukaran
+ * voucher yang sama hanya berebut satu CAS.</p>
+ *
+ * <p><strong>Lifecycle satu unit stok:</strong></p>
+ * <ol>
+ *   <li>📦 {@link #reserve(Voucher)} - ambil satu unit dari stok tersedia (CAS, tidak pernah minus)</li>
+ *   <li>✅ {@link #commit(Voucher)} - unit yang di-reserve resmi terjual</li>
+ *   <li>↩️ {@link #release(Voucher)} - unit yang di-reserve dikembalikan, misalnya karena poin tidak cukup</li>
+ * </ol>
+ *
+ * <p><strong>Reload katalog:</strong> Stok di file katalog adalah total alokasi
+ * voucher. Saat katalog dimuat ulang lewat {@link #sync(VoucherCatalog)},
+ * counter voucher yang sudah ada dipertahankan dan hanya ditambah/dikurangi
+ * sebesar selisih alokasinya - unit yang sudah terjual tidak kembali.</p>
+ *
+ * <p><strong>Restart:</strong> Jumlah terjual dipersistenkan oleh
+ * {@link BalanceJournal} dan dipulihkan lewat {@link #restoreSold(Map)}, jadi
+ * stok tersedia setelah restart = alokasi dikurangi yang sudah terjual. Unit
+ * yang sedang di-reserve tidak dipersistenkan: reserve yang belum di-commit
+ * saat crash bukan penjualan, sehingga unitnya kembali ke stok.</p>
+ *
+ * @author Sistem Reward Team
+ * @version 3.0
+ * @since 3.0
+ *
+ * @see RewardSystem#tryRedeem(Customer, Voucher)
+ */
+public final class VoucherInventory {
+
+    /**
+     * Counter untuk voucher yang tidak ada di katalog mana pun.
+     */
+    private static final Stock NONE = new Stock(0);
+
+    /**
+     * Map immutable ID → counter, diganti copy-on-write saat sync.
+     * Lookup di jalur redeem hanya membaca field volatile ini.
+     */
+    private volatile Map<String, Stock> stocks = Map.of();
+
+    /**
+     * Constructor dengan stok awal dari katalog.
+     *
+     * @param catalog katalog voucher awal
+     *
+     * @since 3.0
+     */
+    public VoucherInventory(VoucherCatalog catalog) {
+        sync(catalog);
+    }
+
+    /**
+     * Menyesuaikan counter stok dengan katalog baru.
+     *
+     * <p>Harus dipanggil sebelum katalog baru dipakai untuk redeem. Counter voucher
+     * yang hilang dari katalog tetap disimpan supaya redeem yang masih memegang
+     * katalog lama tetap konsisten.</p>
+     *
+     * @param catalog katalog voucher baru
+     *
+     * @since 3.0
+     */
+    public synchronized void sync(VoucherCatalog catalog) {
+        Map<String, Stock> updated = new HashMap<>(stocks);
+        for (Voucher voucher : catalog.getVouchers()) {
+            if (voucher.isUnlimitedStock()) {
+                continue;
+            }
+            Stock stock = updated.get(voucher.getId());
+            if (stock == null) {
+                updated.put(voucher.getId(), new Stock(voucher.getStock()));
+            } else {
+                stock.reallocate(voucher.getStock());
+            }
+        }
+        stocks = Map.copyOf(updated);
+    }
+
+    /**
+     * Memulihkan jumlah voucher yang sudah terjual dari data persisten.
+     *
+     * <p>Stok tersedia setiap voucher dikurangi sebesar selisih antara jumlah
+     * terjual yang dipulihkan dan yang sudah tercatat. Voucher yang belum ada
+     * di katalog tetap dicatat; alokasinya ditambahkan saat
+     * {@link #sync(VoucherCatalog)} memuat voucher tersebut.</p>
+     *
+     * @param sold map ID voucher → jumlah terjual, misalnya dari {@link BalanceJournal#getVoucherSales()}
+     *
+     * @since 3.0
+     */
+    public synchronized void restoreSold(Map<String, Long> sold) {
+        Map<String, Stock> updated = new HashMap<>(stocks);
+        sold.forEach((voucherId, count) -> updated.computeIfAbsent(voucherId, id -> new Stock(0)).restoreSold(count));
+        stocks = Map.copyOf(updated);
+    }
+
+    /**
+     * Mengambil satu unit stok voucher.
+     *
+     * @param voucher voucher yang akan ditukar
+     * @return {@code true} jika unit berhasil di-reserve (selalu {@code true}
+     *         untuk voucher tanpa batas stok)
+     *
+     * @since 3.0
+     */
+    public boolean reserve(Voucher voucher) {
+        return voucher.isUnlimitedStock() || stockOf(voucher).reserve();
+    }
+
+    /**
+     * Menandai unit yang sudah di-reserve sebagai terjual.
+     *
+     * @param voucher voucher yang berhasil ditukar
+     *
+     * @since 3.0
+     */
+    public void commit(Voucher voucher) {
+        if (!voucher.isUnlimitedStock()) {
+            stockOf(voucher).commit();
+        }
+    }
+
+    /**
+     * Mengembalikan unit yang sudah di-reserve ke stok tersedia.
+     *
+     * @param voucher voucher yang batal ditukar
+     *
+     * @since 3.0
+     */
+    public void release(Voucher voucher) {
+        if (!voucher.isUnlimitedStock()) {
+            stockOf(voucher).release();
+        }
+    }
+
+    /**
+     * Getter untuk sisa stok yang masih bisa di-reserve.
+     *
+     * @param voucher voucher yang dicek
+     * @return sisa stok, atau {@link Voucher#UNLIMITED_STOCK} jika tidak terbatas
+     *
+     * @since 3.0
+     */
+    public long getAvailable(Voucher voucher) {
+        return voucher.isUnlimitedStock() ? Voucher.UNLIMITED_STOCK : stockOf(voucher).available.get();
+    }
+
+    /**
+     * Getter untuk jumlah voucher yang sudah terjual.
+     *
+     * @param voucher voucher yang dicek
+     * @return jumlah unit yang sudah di-commit (0 untuk voucher tanpa batas stok)
+     *
+     * @since 3.0
+     */
+    public long getSold(Voucher voucher) {
+        return voucher.isUnlimitedStock() ? 0 : stockOf(voucher).sold.sum();
+    }
+
+    private Stock stockOf(Voucher voucher) {
+        Stock stock = stocks.get(voucher.getId());
+        return stock == null ? NONE : stock;
+    }
+
+    /**
+     * Counter stok satu voucher.
+     *
+     * <p>{@code available} adalah satu-satunya nilai yang diperebutkan (CAS);
+     * {@code sold} hanya statistik sehingga memakai {@link LongAdder}.</p>
+     */
+    private static final class Stock {
+        private final AtomicLong available;
+        private final LongAdder sold = new LongAdder();
+        private long allocated;
+
+        Stock(long allocated) {
+            this.allocated = allocated;
+            this.available = new AtomicLong(allocated);
+        }
+
+        boolean reserve() {
+            long current;
+            do {
+                current = available.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        void commit() {
+            sold.increment();
+        }
+
+        void release() {
+            available.incrementAndGet();
+        }
+
+        void restoreSold(long count) {
+            long missing = count - sold.sum();
+            sold.add(missing);
+            available.addAndGet(-missing);
+        }
+
+        /**
+         * Dipanggil di bawah lock {@link VoucherInventory#sync(VoucherCatalog)}.
+         * Stok tersedia bisa negatif sementara jika alokasi dikurangi di bawah
+         * jumlah yang sedang di-reserve; reserve akan gagal sampai kembali positif.
+         */
+        void reallocate(long newAllocated) {
+            available.addAndGet(newAllocated - allocated);
+            allocated = newAllocated;
+        }
+    }
+}